@@ -0,0 +1,72 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.model.AleatorioSplitMix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el camino aleatorio de la generación: sacar enteros acotados y barajar el orden de retiro de las pistas
+ * de un 9x9 empezando desde la semilla del tablero. Con {@link AleatorioSplitMix} el generador se reinicia en el
+ * lugar; con {@link SplittableRandom}, que no admite otra semilla, hay que crear uno por tablero.
+ * El perfilador de GC debe reportar 0 B/op en los casos de {@code AleatorioSplitMix}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AleatorioBenchmark {
+    private static final int CELDAS = 81;
+
+    private final AleatorioSplitMix splitMix = new AleatorioSplitMix(42);
+    private final SplittableRandom splittable = new SplittableRandom(42);
+    private final int[] orden = new int[CELDAS];
+    private long semilla;
+
+    @Benchmark
+    public int enteroAcotadoSplitMix() {
+        return splitMix.siguienteEntero(CELDAS);
+    }
+
+    @Benchmark
+    public int enteroAcotadoSplittableRandom() {
+        return splittable.nextInt(CELDAS);
+    }
+
+    @Benchmark
+    public int[] barajarDesdeSemillaSplitMix() {
+        splitMix.reiniciar(semilla++);
+        for (int i = 0; i < CELDAS; i++) orden[i] = i;
+        for (int i = CELDAS - 1; i > 0; i--) {
+            int j = splitMix.siguienteEntero(i + 1);
+            int temporal = orden[i];
+            orden[i] = orden[j];
+            orden[j] = temporal;
+        }
+        return orden;
+    }
+
+    @Benchmark
+    public int[] barajarDesdeSemillaSplittableRandom() {
+        SplittableRandom aleatorio = new SplittableRandom(semilla++);
+        for (int i = 0; i < CELDAS; i++) orden[i] = i;
+        for (int i = CELDAS - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int temporal = orden[i];
+            orden[i] = orden[j];
+            orden[j] = temporal;
+        }
+        return orden;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.miniproject2.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks.
+ * Acepta las mismas opciones que JMH, añade siempre el perfilador de GC para reportar la tasa
+ * de asignación ({@code gc.alloc.rate.norm}) y guarda los resultados en JSON para compararlos
+ * entre versiones antes de publicar.
+ */
+public final class EjecutarBenchmarks {
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        OptionsBuilder opciones = new OptionsBuilder();
+        opciones.parent(lineaDeComandos).addProfiler(GCProfiler.class);
+        if (!lineaDeComandos.getResult().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON).result("target/jmh-result.json");
+        }
+        Options construidas = opciones.build();
+        new Runner(construidas).run();
+    }
+}
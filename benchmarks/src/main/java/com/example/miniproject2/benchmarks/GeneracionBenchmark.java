@@ -0,0 +1,70 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.TableroBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación de tableros con solución única, que es el trabajo de
+ * {@code SudokuModel.generarNuevoTablero} sin la impresión de depuración en consola.
+ * La cantidad de pistas se expresa como proporción de {@link Geometria#pistasPorDefecto()}:
+ * menos pistas implican más verificaciones de unicidad por tablero (por debajo de 1.0 el caso
+ * de 16x16 pasa a tardar cientos de milisegundos por tablero). {@code regenerarPorSemilla} es el mismo trabajo
+ * partiendo de una semilla explícita, como al regenerar un tablero desde su identificador; el perfilador de GC
+ * debe reportar 0 B/op en ambos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneracionBenchmark {
+
+    @Param({"6", "9", "16"})
+    public int tamano;
+
+    @Param({"1.0", "1.2"})
+    public double proporcionPistas;
+
+    private GeneradorSudoku generador;
+    private TableroBits pistas;
+    private TableroBits solucion;
+    private int pistasObjetivo;
+    private long semilla;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Geometria geometria = Geometria.de(tamano);
+        generador = new GeneradorSudoku(geometria, 42);
+        pistas = new TableroBits(geometria);
+        solucion = new TableroBits(geometria);
+        pistasObjetivo = (int) Math.round(geometria.pistasPorDefecto() * proporcionPistas);
+    }
+
+    @Benchmark
+    public TableroBits generarNuevoTablero() {
+        generador.generar(pistas, solucion, pistasObjetivo);
+        return pistas;
+    }
+
+    @Benchmark
+    public TableroBits regenerarPorSemilla() {
+        generador.generar(semilla++, pistas, solucion, pistasObjetivo);
+        return pistas;
+    }
+}
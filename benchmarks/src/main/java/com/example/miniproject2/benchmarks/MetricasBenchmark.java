@@ -0,0 +1,54 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.metricas.HistogramaLatencias;
+import com.example.miniproject2.metricas.Metricas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de registrar en {@link Metricas} desde los caminos calientes, con uno y con cuatro hilos
+ * registrando a la vez, que es lo que pasa cuando la fábrica y las reservas generan en paralelo.
+ * El perfilador de GC debe reportar 0 B/op en todos los casos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricasBenchmark {
+    private final HistogramaLatencias histograma = new HistogramaLatencias();
+    private long nanos = 1;
+
+    @Benchmark
+    public void registrarLatencia() {
+        histograma.registrar(nanos = nanos * 31 & 0xFF_FFFF);
+    }
+
+    @Benchmark
+    public void contarMovimiento() {
+        Metricas.movimiento();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void registrarGeneracionCuatroHilos() {
+        Metricas.generacion(700_000, 150);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contarMovimientoCuatroHilos() {
+        Metricas.movimiento();
+    }
+}
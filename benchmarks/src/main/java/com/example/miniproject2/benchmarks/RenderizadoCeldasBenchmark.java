@@ -0,0 +1,91 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.view.SudokuView;
+import javafx.application.Platform;
+import javafx.css.PseudoClass;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo de un destello de reinicio sobre todas las celdas, con la hoja de estilos del juego,
+ * cambiando el estilo en línea (como hacía antes la vista) o encendiendo una pseudo-clase.
+ * Cada operación enciende y apaga el destello y aplica CSS a la cuadrícula tras cada cambio.
+ * La cuadrícula no se muestra en ninguna ventana, así que se manipula desde el hilo del benchmark,
+ * pero el toolkit de JavaFX debe poder iniciarse (requiere un display, real o virtual).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderizadoCeldasBenchmark {
+    private static final PseudoClass DESTELLO = PseudoClass.getPseudoClass("destello");
+
+    @Param({"6", "9", "16"})
+    public int tamano;
+
+    private GridPane cuadricula;
+    private TextField[] celdas;
+    private String estiloBase = "-fx-control-inner-background: white;";
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException yaIniciado) {
+            // El toolkit ya estaba iniciado en esta JVM
+        }
+        cuadricula = new GridPane();
+        celdas = new TextField[tamano * tamano];
+        for (int i = 0; i < celdas.length; i++) {
+            TextField celda = new TextField(String.valueOf(1 + i % tamano));
+            celda.getStyleClass().add("celda");
+            celdas[i] = celda;
+            cuadricula.add(celda, i % tamano, i / tamano);
+        }
+        Scene escena = new Scene(cuadricula);
+        escena.getStylesheets().add(
+                SudokuView.class.getResource("/com/example/miniproject2/styles/sudoku.css").toExternalForm());
+        cuadricula.applyCss();
+    }
+
+    @Benchmark
+    public void destelloConEstiloEnLinea() {
+        for (TextField celda : celdas) {
+            celda.setStyle(estiloBase + "-fx-background-color: #FFA07A;");
+        }
+        cuadricula.applyCss();
+        for (TextField celda : celdas) {
+            celda.setStyle(estiloBase);
+        }
+        cuadricula.applyCss();
+    }
+
+    @Benchmark
+    public void destelloConPseudoClase() {
+        for (TextField celda : celdas) {
+            celda.pseudoClassStateChanged(DESTELLO, true);
+        }
+        cuadricula.applyCss();
+        for (TextField celda : celdas) {
+            celda.pseudoClassStateChanged(DESTELLO, false);
+        }
+        cuadricula.applyCss();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.analisis.ReproductorPartidas;
+import com.example.miniproject2.analisis.ResumenAnalisis;
+import com.example.miniproject2.model.AleatorioSplitMix;
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.persistencia.RegistroJugadas;
+import com.example.miniproject2.persistencia.TipoJugada;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la repetición de partidas registradas: {@value #ARCHIVOS} archivos de {@value #PARTIDAS_POR_ARCHIVO}
+ * partidas 9x9 resueltas celda por celda, con un intento inválido por celda y una ayuda al empezar,
+ * analizados con uno y con todos los procesadores. El resultado dividido por
+ * {@code ARCHIVOS * PARTIDAS_POR_ARCHIVO} da el tiempo por partida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReproduccionBenchmark {
+    private static final int ARCHIVOS = 8;
+    private static final int PARTIDAS_POR_ARCHIVO = 500;
+    private static final int TABLEROS = 16;
+
+    private Path carpeta;
+    private final List<Path> archivos = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        Geometria geometria = Geometria.de(9);
+        GeneradorSudoku generador = new GeneradorSudoku(geometria, 42);
+        Sudoku[] tableros = new Sudoku[TABLEROS];
+        for (int i = 0; i < TABLEROS; i++) {
+            TableroBits pistas = new TableroBits(geometria);
+            TableroBits solucion = new TableroBits(geometria);
+            generador.generar(pistas, solucion, geometria.pistasPorDefecto());
+            tableros[i] = Sudoku.desde(pistas, solucion);
+        }
+        AleatorioSplitMix aleatorio = new AleatorioSplitMix(42);
+        carpeta = Files.createTempDirectory("reproduccion");
+        for (int archivo = 0; archivo < ARCHIVOS; archivo++) {
+            Path ruta = carpeta.resolve("jugadas-" + archivo + ".dat");
+            try (RegistroJugadas registro = new RegistroJugadas(ruta)) {
+                for (int partida = 0; partida < PARTIDAS_POR_ARCHIVO; partida++) {
+                    registrarPartida(registro, tableros[aleatorio.siguienteEntero(TABLEROS)]);
+                }
+            }
+            archivos.add(ruta);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        for (Path archivo : archivos) Files.deleteIfExists(archivo);
+        Files.deleteIfExists(carpeta);
+    }
+
+    @Benchmark
+    public ResumenAnalisis unHilo() {
+        return ReproductorPartidas.analizar(archivos, 1, null);
+    }
+
+    @Benchmark
+    public ResumenAnalisis todosLosProcesadores() {
+        return ReproductorPartidas.analizar(archivos, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    private static void registrarPartida(RegistroJugadas registro, Sudoku sudoku) {
+        Geometria geometria = sudoku.getGeometria();
+        TableroBits tablero = new TableroBits(geometria);
+        sudoku.copiarPistasEn(tablero);
+        registro.empezar(sudoku, tablero, "jugador");
+        registro.registrar(TipoJugada.AYUDA, 0, 0);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            if (tablero.obtener(celda) != 0) continue;
+            int correcto = sudoku.obtenerSolucion(celda);
+            for (int numero = 1; numero <= geometria.getTamano(); numero++) {
+                if (numero != correcto && !tablero.puedeColocar(celda, numero)) {
+                    registro.registrar(TipoJugada.INVALIDO, celda, numero);
+                    break;
+                }
+            }
+            tablero.establecer(celda, correcto);
+            registro.registrar(TipoJugada.COLOCAR, celda, correcto);
+        }
+        registro.terminar();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.MotorSolucion;
+import com.example.miniproject2.model.Solucionador;
+import com.example.miniproject2.model.TableroBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los motores de backtracking y Dancing Links al contar soluciones (con límite 2,
+ * como hace el generador) y al resolver tableros con solución única.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolucionadoresBenchmark {
+    private static final int TABLEROS = 16;
+
+    @Param({"6", "9", "16"})
+    public int tamano;
+
+    @Param({"BACKTRACKING", "DLX"})
+    public MotorSolucion motor;
+
+    private TableroBits[] tableros;
+    private TableroBits trabajo;
+    private Solucionador solucionador;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Geometria geometria = Geometria.de(tamano);
+        GeneradorSudoku generador = new GeneradorSudoku(geometria, 42);
+        TableroBits solucion = new TableroBits(geometria);
+        tableros = new TableroBits[TABLEROS];
+        for (int i = 0; i < TABLEROS; i++) {
+            tableros[i] = new TableroBits(geometria);
+            generador.generar(tableros[i], solucion, geometria.pistasPorDefecto());
+        }
+        trabajo = new TableroBits(geometria);
+        solucionador = motor.crear(geometria, null);
+    }
+
+    @Benchmark
+    public int contarSoluciones() {
+        TableroBits tablero = tableros[siguiente++ & (TABLEROS - 1)];
+        return solucionador.contarSoluciones(tablero, 2);
+    }
+
+    @Benchmark
+    public boolean resolver() {
+        trabajo.copiarDe(tableros[siguiente++ & (TABLEROS - 1)]);
+        return solucionador.resolver(trabajo);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.miniproject2.benchmarks;
+
+import com.example.miniproject2.model.AleatorioSplitMix;
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.SudokuModel;
+import com.example.miniproject2.model.TableroBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las consultas que la interfaz hace sobre {@link SudokuModel} en cada tecla:
+ * {@code movimientoValido} y {@code juegoCompleto}, sobre un tablero a medio resolver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SudokuModelBenchmark {
+    private static final int CONSULTAS = 1024;
+
+    @Param({"6", "9", "16"})
+    public int tamano;
+
+    @Param({"1.0", "1.2"})
+    public double proporcionPistas;
+
+    private SudokuModel modelo;
+    private final int[] filas = new int[CONSULTAS];
+    private final int[] columnas = new int[CONSULTAS];
+    private final int[] numeros = new int[CONSULTAS];
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Geometria geometria = Geometria.de(tamano);
+        AleatorioSplitMix aleatorio = new AleatorioSplitMix(42);
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        new GeneradorSudoku(geometria, 42).generar(pistas, solucion,
+                (int) Math.round(geometria.pistasPorDefecto() * proporcionPistas));
+        modelo = new SudokuModel(geometria);
+        modelo.cargarTablero(Sudoku.desde(pistas, solucion));
+
+        for (int i = 0; i < CONSULTAS; i++) {
+            filas[i] = aleatorio.siguienteEntero(tamano);
+            columnas[i] = aleatorio.siguienteEntero(tamano);
+            numeros[i] = 1 + aleatorio.siguienteEntero(tamano);
+        }
+    }
+
+    @Benchmark
+    public boolean movimientoValido() {
+        int i = siguiente++ & (CONSULTAS - 1);
+        return modelo.movimientoValido(filas[i], columnas[i], numeros[i]);
+    }
+
+    @Benchmark
+    public boolean juegoCompleto() {
+        return modelo.juegoCompleto();
+    }
+}
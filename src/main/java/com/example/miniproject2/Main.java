@@ -1,19 +1,54 @@
 package com.example.miniproject2;
 
 import com.example.miniproject2.controller.SudokuController;
+import com.example.miniproject2.metricas.Metricas;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.FuenteSudokus;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.PoolSudokus;
 import com.example.miniproject2.model.SudokuModel;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.persistencia.BibliotecaSudokus;
+import com.example.miniproject2.persistencia.DiarioPartida;
+import com.example.miniproject2.persistencia.EstadoPartida;
+import com.example.miniproject2.persistencia.RegistroJugadas;
+import com.example.miniproject2.persistencia.TablaPuntajes;
 import com.example.miniproject2.view.SudokuView;
+import com.example.miniproject2.view.TableroCampos;
+import com.example.miniproject2.view.TableroLienzo;
+import com.example.miniproject2.view.VistaTablero;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.TextInputDialog;
 import javafx.stage.Stage;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Map;
 
 public class Main extends Application {
+    private static final int CAPACIDAD_POOL = 32;
+    private static final int NIVEL_MINIMO_POOL = 8;
+    private static final System.Logger REGISTRO = System.getLogger(Main.class.getName());
+
+    private SudokuController controlador;
+
     /**
-     * Método de inicio.
+     * Método de inicio. El tamaño del tablero se puede elegir con el parámetro {@code --tamano=N} (6 por defecto)
+     * y los tableros pueden tomarse de una biblioteca con {@code --biblioteca=archivo}.
+     * Con {@code --tablero=campos} o {@code --tablero=lienzo} se fuerza la representación del tablero;
+     * si no se indica, el controlador la elige según el tamaño. Con {@code --dificultad=FACIL|MEDIO|DIFICIL|EXPERTO}
+     * la reserva solo ofrece tableros de esa dificultad.
+     * La partida se guarda en el diario {@code --diario=archivo} (por defecto {@code ~/.miniproject2/partida.diario})
+     * y, si quedó una sin terminar, se ofrece reanudarla. Los tiempos de los juegos terminados se guardan en
+     * {@code --puntajes=archivo} (por defecto {@code ~/.miniproject2/puntajes.dat}), que se carga en segundo plano.
+     * Las jugadas de cada partida se agregan a {@code --jugadas=archivo} (por defecto
+     * {@code ~/.miniproject2/jugadas.dat}) para analizarlas con el comando {@code analizar} de la consola.
+     * Las métricas del juego se publican por JMX como {@value Metricas#NOMBRE_JMX}.
      *
      * @author Juan Felipe Chapal 2415537 - Jeremy Astaiza 2415667
      * @version 1.0
@@ -26,8 +61,28 @@ public class Main extends Application {
         Parent raiz = cargador.load();
 
         SudokuView vista = cargador.getController();
-        SudokuModel modelo = new SudokuModel();
-        SudokuController controlador = new SudokuController(modelo, vista);
+        Metricas.registrarJmx();
+        Map<String, String> parametros = getParameters().getNamed();
+        Path carpeta = Path.of(System.getProperty("user.home"), ".miniproject2");
+        Path rutaDiario = Path.of(parametros.getOrDefault("diario", carpeta.resolve("partida.diario").toString()));
+        TablaPuntajes puntajes = new TablaPuntajes(
+                Path.of(parametros.getOrDefault("puntajes", carpeta.resolve("puntajes.dat").toString())));
+        EstadoPartida guardada = recuperarPartida(rutaDiario);
+        FuenteSudokus fuente = crearFuente(parametros, guardada);
+        Geometria geometria = fuente.getGeometria();
+        if (guardada != null && guardada.getGeometria() != geometria) guardada = null;
+        SudokuModel modelo = new SudokuModel(geometria);
+        controlador = new SudokuController(modelo, vista, crearTablero(parametros, geometria), fuente);
+        controlador.setDiario(new DiarioPartida(rutaDiario));
+        controlador.setTablaPuntajes(puntajes);
+        controlador.setRegistroJugadas(new RegistroJugadas(
+                Path.of(parametros.getOrDefault("jugadas", carpeta.resolve("jugadas.dat").toString()))));
+
+        if (guardada != null && confirmarReanudacion(guardada)) {
+            controlador.reanudarPartida(guardada);
+            mostrarVentana(escenarioPrincipal, raiz, geometria);
+            return;
+        }
 
         TextInputDialog dialogo = new TextInputDialog("Jugador");
         dialogo.setTitle("Bienvenido a Sudoku");
@@ -36,17 +91,104 @@ public class Main extends Application {
             controlador.setNombreJugador(nombre);
             vista.mostrarNombreJugador(nombre);
             vista.mostrarTableroVacio();
+            mostrarVentana(escenarioPrincipal, raiz, geometria);
+        });
 
-            Scene escena = new Scene(raiz, 600, 600);
-            URL urlCSS = getClass().getResource("/com/example/miniproject2/view/styles/sudoku.css");
-            if (urlCSS != null) escena.getStylesheets().add(urlCSS.toExternalForm());
+    }
 
-            escenarioPrincipal.setTitle("Sudoku 6x6");
-            escenarioPrincipal.setScene(escena);
-            escenarioPrincipal.show();
-        });
+    /**
+     * Detiene el juego al cerrar la aplicación para que el diario quede completo en el disco.
+     * @throws Exception Si falla el cierre del diario
+     */
+    @Override
+    public void stop() throws Exception {
+        if (controlador != null) controlador.cerrar();
+    }
+
+    /**
+     * Muestra la ventana principal con la hoja de estilos del juego.
+     */
+    private void mostrarVentana(Stage escenarioPrincipal, Parent raiz, Geometria geometria) {
+        Scene escena = new Scene(raiz, 600, 600);
+        URL urlCSS = getClass().getResource("/com/example/miniproject2/view/styles/sudoku.css");
+        if (urlCSS != null) escena.getStylesheets().add(urlCSS.toExternalForm());
+
+        escenarioPrincipal.setTitle("Sudoku " + geometria);
+        escenarioPrincipal.setScene(escena);
+        escenarioPrincipal.show();
+    }
 
+    /**
+     * Lee la última partida del diario.
+     * @param rutaDiario Ruta del diario
+     * @return La partida si quedó sin terminar, o null si no hay ninguna o el diario no se puede leer
+     */
+    private static EstadoPartida recuperarPartida(Path rutaDiario) {
+        try {
+            EstadoPartida estado = DiarioPartida.recuperar(rutaDiario);
+            if (estado == null) return null;
+            TableroBits tablero = new TableroBits(estado.getGeometria());
+            estado.copiarTableroEn(tablero);
+            return tablero.vacias() == 0 ? null : estado;
+        } catch (IOException e) {
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo leer la partida guardada", e);
+            return null;
+        }
+    }
+
+    /**
+     * Pregunta al jugador si quiere continuar la partida guardada.
+     * @param estado Partida guardada
+     * @return true si elige continuarla
+     */
+    private static boolean confirmarReanudacion(EstadoPartida estado) {
+        Alert alerta = new Alert(Alert.AlertType.CONFIRMATION);
+        alerta.setTitle("Partida guardada");
+        alerta.setHeaderText(null);
+        alerta.setContentText(String.format("Hay una partida de %s sin terminar (%02d:%02d). ¿Quieres continuarla?",
+                estado.getNombreJugador(), estado.getSegundos() / 60, estado.getSegundos() % 60));
+        return alerta.showAndWait().filter(ButtonType.OK::equals).isPresent();
     }
+
+    /**
+     * Crea el origen de los tableros: una biblioteca mapeada en memoria si se indica {@code --biblioteca=archivo},
+     * o una reserva que se rellena en segundo plano con tableros del tamaño {@code --tamano=N}
+     * (o el de la partida guardada, si no se indica) y, si se indica, de la dificultad {@code --dificultad=D}.
+     * @param parametros Parámetros con nombre de la aplicación
+     * @param guardada Partida guardada, o null si no hay
+     * @return La fuente de tableros lista para usar
+     * @throws Exception Si no se puede abrir la biblioteca
+     */
+    private static FuenteSudokus crearFuente(Map<String, String> parametros, EstadoPartida guardada) throws Exception {
+        String biblioteca = parametros.get("biblioteca");
+        if (biblioteca != null) {
+            return new BibliotecaSudokus(Path.of(biblioteca));
+        }
+        String tamanoGuardado = guardada == null ? "6" : String.valueOf(guardada.getGeometria().getTamano());
+        Geometria geometria = Geometria.de(Integer.parseInt(parametros.getOrDefault("tamano", tamanoGuardado)));
+        String nombreDificultad = parametros.get("dificultad");
+        Dificultad dificultad = nombreDificultad == null ? null : Dificultad.valueOf(nombreDificultad.toUpperCase());
+        PoolSudokus pool = new PoolSudokus(geometria, CAPACIDAD_POOL, NIVEL_MINIMO_POOL, geometria.pistasPara(dificultad),
+                dificultad);
+        pool.iniciar();
+        return pool;
+    }
+
+    /**
+     * Crea la representación del tablero indicada con {@code --tablero=campos|lienzo},
+     * o la que corresponde al tamaño si no se indica.
+     * @param parametros Parámetros con nombre de la aplicación
+     * @param geometria Geometría del tablero
+     * @return La representación del tablero, sin construir
+     */
+    private static VistaTablero crearTablero(Map<String, String> parametros, Geometria geometria) {
+        String tablero = parametros.get("tablero");
+        if ("campos".equals(tablero)) return new TableroCampos();
+        if ("lienzo".equals(tablero)) return new TableroLienzo();
+        if (tablero != null) throw new IllegalArgumentException("Tablero desconocido: " + tablero);
+        return SudokuController.tableroPara(geometria);
+    }
+
     /**
      * Método principal de la aplicación.
      * @param args Argumentos de línea de comandos
@@ -0,0 +1,232 @@
+package com.example.miniproject2.analisis;
+
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Tecnica;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas de una partida repetida por {@link ReproductorPartidas}: cuántas jugadas de cada tipo hubo, cuántas
+ * colocaciones no coincidían con la solución, qué técnica justificaba cada ayuda y cuánto tiempo pasó el jugador
+ * en cada celda. El tiempo de una jugada se carga a la celda donde se hizo.
+ * El reproductor reutiliza el mismo objeto para todas las partidas, así que solo es válido mientras se lo entrega.
+ */
+public final class EstadisticasPartida {
+    /** Posición de {@link #getAyudas(int)} para las ayudas que la lógica no alcanzó a justificar. */
+    public static final int SIN_TECNICA = Tecnica.values().length;
+
+    private Geometria geometria;
+    private String jugador;
+    private long inicio;
+    private boolean completa;
+    private long milisTotales;
+    private int colocaciones;
+    private int vaciados;
+    private int errores;
+    private int invalidos;
+    private int deshechos;
+    private int rehechos;
+    private int reinicios;
+    private int inconsistencias;
+    private final int[] ayudas = new int[SIN_TECNICA + 1];
+    private long[] milisPorCelda = new long[0];
+
+    /**
+     * Deja las estadísticas en cero para una partida nueva.
+     */
+    void empezar(Geometria geometria, String jugador, long inicio) {
+        this.geometria = geometria;
+        this.jugador = jugador;
+        this.inicio = inicio;
+        completa = false;
+        milisTotales = 0;
+        colocaciones = 0;
+        vaciados = 0;
+        errores = 0;
+        invalidos = 0;
+        deshechos = 0;
+        rehechos = 0;
+        reinicios = 0;
+        inconsistencias = 0;
+        Arrays.fill(ayudas, 0);
+        if (milisPorCelda.length != geometria.getCeldas()) {
+            milisPorCelda = new long[geometria.getCeldas()];
+        } else {
+            Arrays.fill(milisPorCelda, 0);
+        }
+    }
+
+    void agregarTiempo(int celda, long milis) {
+        milisTotales += milis;
+        if (celda >= 0) milisPorCelda[celda] += milis;
+    }
+
+    void contarColocacion(boolean correcta) {
+        colocaciones++;
+        if (!correcta) errores++;
+    }
+
+    void contarVaciado() {
+        vaciados++;
+    }
+
+    void contarInvalido() {
+        invalidos++;
+    }
+
+    void contarAyuda(int tecnica) {
+        ayudas[tecnica]++;
+    }
+
+    void contarDeshecho() {
+        deshechos++;
+    }
+
+    void contarRehecho() {
+        rehechos++;
+    }
+
+    void contarReinicio() {
+        reinicios++;
+    }
+
+    void contarInconsistencia() {
+        inconsistencias++;
+    }
+
+    void setCompleta(boolean completa) {
+        this.completa = completa;
+    }
+
+    /**
+     * Obtiene la geometría del tablero.
+     * @return Geometría del tablero de la partida
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Obtiene el nombre del jugador.
+     * @return Nombre del jugador
+     */
+    public String getJugador() {
+        return jugador;
+    }
+
+    /**
+     * Obtiene el instante de inicio de la partida.
+     * @return Instante en que empezó el registro, en milisegundos desde la época
+     */
+    public long getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Indica si el jugador completó el tablero.
+     * @return true si el tablero quedó lleno al terminar la partida
+     */
+    public boolean esCompleta() {
+        return completa;
+    }
+
+    /**
+     * Obtiene la duración de la partida.
+     * @return Milisegundos desde el inicio del registro hasta la última jugada
+     */
+    public long getMilisTotales() {
+        return milisTotales;
+    }
+
+    /**
+     * Obtiene la cantidad de colocaciones.
+     * @return Números válidos colocados, incluidos los que no coinciden con la solución
+     */
+    public int getColocaciones() {
+        return colocaciones;
+    }
+
+    /**
+     * Obtiene la cantidad de celdas vaciadas.
+     * @return Celdas vaciadas por el jugador
+     */
+    public int getVaciados() {
+        return vaciados;
+    }
+
+    /**
+     * Obtiene la cantidad de colocaciones equivocadas.
+     * @return Números que respetaban las reglas pero no coincidían con la solución
+     */
+    public int getErrores() {
+        return errores;
+    }
+
+    /**
+     * Obtiene la cantidad de intentos inválidos.
+     * @return Números rechazados por romper las reglas
+     */
+    public int getInvalidos() {
+        return invalidos;
+    }
+
+    /**
+     * Obtiene la cantidad de ayudas.
+     * @return Ayudas pedidas en total
+     */
+    public int getAyudas() {
+        int total = 0;
+        for (int cuenta : ayudas) total += cuenta;
+        return total;
+    }
+
+    /**
+     * Obtiene la cantidad de ayudas de una técnica.
+     * @param tecnica Ordinal de la {@link Tecnica}, o {@link #SIN_TECNICA}
+     * @return Ayudas justificadas con esa técnica
+     */
+    public int getAyudas(int tecnica) {
+        return ayudas[tecnica];
+    }
+
+    /**
+     * Obtiene la cantidad de movimientos deshechos.
+     * @return Movimientos deshechos
+     */
+    public int getDeshechos() {
+        return deshechos;
+    }
+
+    /**
+     * Obtiene la cantidad de movimientos rehechos.
+     * @return Movimientos rehechos
+     */
+    public int getRehechos() {
+        return rehechos;
+    }
+
+    /**
+     * Obtiene la cantidad de reinicios.
+     * @return Veces que se volvió al tablero inicial
+     */
+    public int getReinicios() {
+        return reinicios;
+    }
+
+    /**
+     * Obtiene la cantidad de jugadas inconsistentes.
+     * @return Jugadas que no pudieron repetirse tal como se registraron; en un registro sano es 0
+     */
+    public int getInconsistencias() {
+        return inconsistencias;
+    }
+
+    /**
+     * Obtiene el tiempo que el jugador dedicó a una celda.
+     * @param celda Índice plano de la celda
+     * @return Milisegundos de las jugadas hechas en la celda
+     */
+    public long getMilisEnCelda(int celda) {
+        return milisPorCelda[celda];
+    }
+}
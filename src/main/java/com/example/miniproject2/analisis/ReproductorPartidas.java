@@ -0,0 +1,199 @@
+package com.example.miniproject2.analisis;
+
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.PasoLogico;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.SudokuModel;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.persistencia.OyenteJugadas;
+import com.example.miniproject2.persistencia.RegistroJugadas;
+import com.example.miniproject2.persistencia.TipoJugada;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Repite sin interfaz las partidas de un {@link RegistroJugadas} sobre un {@link SudokuModel}, jugada por jugada,
+ * y calcula sus {@link EstadisticasPartida}. Las ayudas se vuelven a pedir al modelo en el mismo punto de la
+ * partida, así que se sabe qué técnica las justificaba aunque el registro solo guarde la celda.
+ *
+ * <p>Cada archivo se lee por bloques mientras se repite, sin cargarlo en memoria; el modelo de cada tamaño y las
+ * estadísticas se reutilizan entre partidas. Un reproductor no es seguro para hilos:
+ * {@link #analizar(List, int, Consumer)} reparte los archivos entre varios, uno por hilo, y junta sus resúmenes.</p>
+ */
+public final class ReproductorPartidas implements OyenteJugadas {
+    private static final System.Logger REGISTRO = System.getLogger(ReproductorPartidas.class.getName());
+
+    private final Map<Geometria, SudokuModel> modelos = new HashMap<>();
+    private final EstadisticasPartida partida = new EstadisticasPartida();
+    private final ResumenAnalisis resumen = new ResumenAnalisis();
+    private final Consumer<EstadisticasPartida> porPartida;
+    private SudokuModel modelo;
+    private Geometria geometria;
+    /** Tiempos de las jugadas con celda de la partida en curso; se suman al resumen solo si la partida es íntegra. */
+    private long[] tiempos = new long[256];
+    private int cantidadTiempos;
+
+    /**
+     * Crea un reproductor.
+     * @param porPartida Recibe las estadísticas de cada partida íntegra, o null; el objeto se reutiliza
+     */
+    public ReproductorPartidas(Consumer<EstadisticasPartida> porPartida) {
+        this.porPartida = porPartida;
+    }
+
+    /**
+     * Analiza varios registros de jugadas en paralelo, un archivo por hilo a la vez.
+     * @param archivos Registros a analizar
+     * @param hilos Cantidad de hilos
+     * @param porPartida Recibe las estadísticas de cada partida íntegra, desde cualquiera de los hilos, o null
+     * @return Los totales de todos los archivos
+     */
+    public static ResumenAnalisis analizar(List<Path> archivos, int hilos, Consumer<EstadisticasPartida> porPartida) {
+        if (hilos < 1) throw new IllegalArgumentException("Cantidad de hilos no válida: " + hilos);
+        int trabajadores = Math.min(hilos, Math.max(1, archivos.size()));
+        AtomicInteger siguiente = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(trabajadores, tarea -> {
+            Thread hilo = new Thread(tarea, "reproductor-partidas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        try {
+            List<Future<ResumenAnalisis>> parciales = new ArrayList<>(trabajadores);
+            for (int i = 0; i < trabajadores; i++) {
+                parciales.add(ejecutor.submit(() -> {
+                    ReproductorPartidas reproductor = new ReproductorPartidas(porPartida);
+                    for (int indice; (indice = siguiente.getAndIncrement()) < archivos.size(); ) {
+                        reproductor.reproducir(archivos.get(indice));
+                    }
+                    return reproductor.getResumen();
+                }));
+            }
+            ResumenAnalisis total = new ResumenAnalisis();
+            for (Future<ResumenAnalisis> parcial : parciales) total.combinar(parcial.get());
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió el análisis", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Repite todas las partidas de un registro y las suma al resumen. Un archivo que no se puede leer
+     * se cuenta como ilegible y no detiene el análisis.
+     * @param archivo Registro de jugadas
+     */
+    public void reproducir(Path archivo) {
+        try {
+            RegistroJugadas.leer(archivo, this);
+        } catch (IOException e) {
+            resumen.contarArchivoIlegible();
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo leer el registro de jugadas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene los totales de las partidas repetidas por este reproductor.
+     * @return El resumen acumulado
+     */
+    public ResumenAnalisis getResumen() {
+        return resumen;
+    }
+
+    @Override
+    public void empezar(Sudoku sudoku, TableroBits progreso, String jugador, long inicio) {
+        geometria = sudoku.getGeometria();
+        modelo = modelos.computeIfAbsent(geometria, SudokuModel::new);
+        modelo.cargarTablero(sudoku, progreso);
+        modelo.drenarCambios(celda -> { });
+        partida.empezar(geometria, jugador, inicio);
+        cantidadTiempos = 0;
+    }
+
+    @Override
+    public void jugada(TipoJugada tipo, int celda, int numero, long milis) {
+        partida.agregarTiempo(celda, milis);
+        switch (tipo) {
+            case COLOCAR:
+                colocar(celda, numero);
+                agregarTiempo(milis);
+                break;
+            case INVALIDO:
+                partida.contarInvalido();
+                if (numero == 0 || modelo.movimientoValido(geometria.fila(celda), geometria.columna(celda), numero)) {
+                    partida.contarInconsistencia();
+                }
+                agregarTiempo(milis);
+                break;
+            case AYUDA:
+                PasoLogico paso = modelo.siguienteColocacionLogica();
+                partida.contarAyuda(paso == null ? EstadisticasPartida.SIN_TECNICA : paso.getTecnica().ordinal());
+                break;
+            case DESHACER:
+                partida.contarDeshecho();
+                if (!modelo.deshacer()) partida.contarInconsistencia();
+                break;
+            case REHACER:
+                partida.contarRehecho();
+                if (!modelo.rehacer()) partida.contarInconsistencia();
+                break;
+            case REINICIO:
+                partida.contarReinicio();
+                modelo.reiniciar();
+                break;
+        }
+    }
+
+    @Override
+    public void terminar(boolean integra) {
+        if (!integra) {
+            resumen.contarDescartada();
+            return;
+        }
+        partida.setCompleta(modelo.juegoCompleto());
+        resumen.agregar(partida);
+        for (int i = 0; i < cantidadTiempos; i++) resumen.registrarJugada(tiempos[i]);
+        if (porPartida != null) porPartida.accept(partida);
+    }
+
+    /**
+     * Aplica una colocación válida; si el registro no coincide con las reglas, la cuenta como inconsistencia
+     * y no toca el tablero.
+     */
+    private void colocar(int celda, int numero) {
+        int fila = geometria.fila(celda);
+        int columna = geometria.columna(celda);
+        if (modelo.esCeldaInicial(fila, columna)
+                || (numero != 0 && !modelo.movimientoValido(fila, columna, numero))) {
+            partida.contarInconsistencia();
+            return;
+        }
+        modelo.establecerNumero(fila, columna, numero);
+        if (numero == 0) {
+            partida.contarVaciado();
+        } else {
+            partida.contarColocacion(numero == modelo.obtenerNumeroCorrecto(fila, columna));
+        }
+    }
+
+    private void agregarTiempo(long milis) {
+        if (cantidadTiempos == tiempos.length) tiempos = Arrays.copyOf(tiempos, tiempos.length * 2);
+        tiempos[cantidadTiempos++] = milis;
+    }
+}
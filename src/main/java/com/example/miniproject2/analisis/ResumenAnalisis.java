@@ -0,0 +1,208 @@
+package com.example.miniproject2.analisis;
+
+import com.example.miniproject2.metricas.HistogramaLatencias;
+import com.example.miniproject2.model.Tecnica;
+
+/**
+ * Totales de muchas partidas repetidas: cantidades por tipo de jugada, ayudas por técnica y la distribución
+ * del tiempo por jugada y de la duración de las partidas, en milisegundos. Cada hilo del análisis llena el suyo
+ * y al final se juntan con {@link #combinar(ResumenAnalisis)}, así que agregar no necesita sincronización.
+ */
+public final class ResumenAnalisis {
+    private long partidas;
+    private long completas;
+    private long descartadas;
+    private long archivosIlegibles;
+    private long colocaciones;
+    private long vaciados;
+    private long errores;
+    private long invalidos;
+    private long deshechos;
+    private long rehechos;
+    private long reinicios;
+    private long inconsistencias;
+    private long milisTotales;
+    private final long[] ayudas = new long[EstadisticasPartida.SIN_TECNICA + 1];
+    private final HistogramaLatencias milisPorJugada = new HistogramaLatencias();
+    private final HistogramaLatencias milisPorPartida = new HistogramaLatencias();
+
+    /**
+     * Suma una partida íntegra.
+     * @param partida Estadísticas de la partida
+     */
+    void agregar(EstadisticasPartida partida) {
+        partidas++;
+        if (partida.esCompleta()) completas++;
+        colocaciones += partida.getColocaciones();
+        vaciados += partida.getVaciados();
+        errores += partida.getErrores();
+        invalidos += partida.getInvalidos();
+        deshechos += partida.getDeshechos();
+        rehechos += partida.getRehechos();
+        reinicios += partida.getReinicios();
+        inconsistencias += partida.getInconsistencias();
+        milisTotales += partida.getMilisTotales();
+        for (int tecnica = 0; tecnica < ayudas.length; tecnica++) ayudas[tecnica] += partida.getAyudas(tecnica);
+        milisPorPartida.registrar(partida.getMilisTotales());
+    }
+
+    /**
+     * Registra el tiempo de una jugada con celda.
+     */
+    void registrarJugada(long milis) {
+        milisPorJugada.registrar(milis);
+    }
+
+    void contarDescartada() {
+        descartadas++;
+    }
+
+    void contarArchivoIlegible() {
+        archivosIlegibles++;
+    }
+
+    /**
+     * Suma a este resumen los totales de otro.
+     * @param otro Resumen a sumar; no cambia
+     */
+    public void combinar(ResumenAnalisis otro) {
+        partidas += otro.partidas;
+        completas += otro.completas;
+        descartadas += otro.descartadas;
+        archivosIlegibles += otro.archivosIlegibles;
+        colocaciones += otro.colocaciones;
+        vaciados += otro.vaciados;
+        errores += otro.errores;
+        invalidos += otro.invalidos;
+        deshechos += otro.deshechos;
+        rehechos += otro.rehechos;
+        reinicios += otro.reinicios;
+        inconsistencias += otro.inconsistencias;
+        milisTotales += otro.milisTotales;
+        for (int tecnica = 0; tecnica < ayudas.length; tecnica++) ayudas[tecnica] += otro.ayudas[tecnica];
+        milisPorJugada.agregar(otro.milisPorJugada);
+        milisPorPartida.agregar(otro.milisPorPartida);
+    }
+
+    /**
+     * Obtiene la cantidad de partidas íntegras analizadas.
+     * @return Partidas íntegras
+     */
+    public long getPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Obtiene la cantidad de partidas que terminaron con el tablero lleno.
+     * @return Partidas completas
+     */
+    public long getCompletas() {
+        return completas;
+    }
+
+    /**
+     * Obtiene la cantidad de partidas cortadas o dañadas, que no se suman.
+     * @return Partidas descartadas
+     */
+    public long getDescartadas() {
+        return descartadas;
+    }
+
+    /**
+     * Obtiene la cantidad de archivos que no se pudieron leer.
+     * @return Archivos ilegibles
+     */
+    public long getArchivosIlegibles() {
+        return archivosIlegibles;
+    }
+
+    /**
+     * Obtiene la cantidad de números colocados.
+     * @return Colocaciones de todas las partidas
+     */
+    public long getColocaciones() {
+        return colocaciones;
+    }
+
+    /**
+     * Obtiene la cantidad de colocaciones que no coincidían con la solución.
+     * @return Errores de todas las partidas
+     */
+    public long getErrores() {
+        return errores;
+    }
+
+    /**
+     * Obtiene la cantidad de intentos rechazados por romper las reglas.
+     * @return Intentos inválidos de todas las partidas
+     */
+    public long getInvalidos() {
+        return invalidos;
+    }
+
+    /**
+     * Obtiene la cantidad de ayudas justificadas con una técnica.
+     * @param tecnica Ordinal de la {@link Tecnica}, o {@link EstadisticasPartida#SIN_TECNICA}
+     * @return Ayudas de todas las partidas
+     */
+    public long getAyudas(int tecnica) {
+        return ayudas[tecnica];
+    }
+
+    /**
+     * Obtiene la cantidad de jugadas que no pudieron repetirse tal como se registraron.
+     * @return Inconsistencias de todas las partidas
+     */
+    public long getInconsistencias() {
+        return inconsistencias;
+    }
+
+    /**
+     * Obtiene la distribución del tiempo que el jugador tardó en cada jugada con celda.
+     * @return Histograma en milisegundos
+     */
+    public HistogramaLatencias getMilisPorJugada() {
+        return milisPorJugada;
+    }
+
+    /**
+     * Obtiene la distribución de la duración de las partidas.
+     * @return Histograma en milisegundos
+     */
+    public HistogramaLatencias getMilisPorPartida() {
+        return milisPorPartida;
+    }
+
+    /**
+     * Describe los totales en varias líneas de texto.
+     * @return El resumen para mostrar
+     */
+    public String describir() {
+        StringBuilder texto = new StringBuilder(1 << 10);
+        texto.append("partidas ").append(partidas).append(" (completas ").append(completas)
+                .append(", descartadas ").append(descartadas).append(", archivos ilegibles ").append(archivosIlegibles)
+                .append(")\n");
+        texto.append("jugadas colocaciones ").append(colocaciones).append(" errores ").append(errores)
+                .append(" invalidos ").append(invalidos).append(" vaciados ").append(vaciados)
+                .append(" deshechos ").append(deshechos).append(" rehechos ").append(rehechos)
+                .append(" reinicios ").append(reinicios).append(" inconsistencias ").append(inconsistencias).append('\n');
+        texto.append("ayudas");
+        Tecnica[] tecnicas = Tecnica.values();
+        for (int tecnica = 0; tecnica < ayudas.length; tecnica++) {
+            String nombre = tecnica < tecnicas.length ? tecnicas[tecnica].name() : "SIN_TECNICA";
+            texto.append(' ').append(nombre).append(' ').append(ayudas[tecnica]);
+        }
+        texto.append('\n');
+        describir(texto, "ms/jugada", milisPorJugada);
+        describir(texto, "ms/partida", milisPorPartida);
+        texto.append("tiempo jugado ").append(milisTotales / 1000).append(" s\n");
+        return texto.toString();
+    }
+
+    private static void describir(StringBuilder texto, String nombre, HistogramaLatencias histograma) {
+        texto.append(nombre).append(" p50 ").append(histograma.percentil(50))
+                .append(" p90 ").append(histograma.percentil(90))
+                .append(" p99 ").append(histograma.percentil(99))
+                .append(" max ").append(histograma.getMaximo()).append('\n');
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.miniproject2.cli;
+
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.TableroBits;
+
+/**
+ * Formato de texto de una línea por tablero: las N×N celdas fila por fila, cada una con el
+ * símbolo de su número ({@link Geometria#simbolo(int)}) o con '.' o '0' si está vacía.
+ * El tamaño del tablero se deduce de la longitud de la línea.
+ */
+public final class FormatoTexto {
+
+    private FormatoTexto() {
+    }
+
+    /**
+     * Deduce la geometría de una línea según su longitud.
+     * @param linea Línea con un tablero
+     * @return La geometría del tablero, o null si la longitud no es N×N para un tamaño soportado
+     */
+    public static Geometria geometriaDe(CharSequence linea) {
+        int tamano = (int) Math.round(Math.sqrt(linea.length()));
+        if (tamano < 1 || tamano > Geometria.TAMANO_MAXIMO || tamano * tamano != linea.length()) return null;
+        return Geometria.de(tamano);
+    }
+
+    /**
+     * Lee una línea sobre un tablero de la geometría correspondiente.
+     * @param linea Línea con el tablero
+     * @param tablero Tablero destino; se sobrescribe
+     * @return true si la línea es válida y no repite números, false en caso contrario
+     */
+    public static boolean leer(CharSequence linea, TableroBits tablero) {
+        Geometria geometria = tablero.getGeometria();
+        if (linea.length() != geometria.getCeldas()) return false;
+        tablero.limpiar();
+        for (int celda = 0; celda < linea.length(); celda++) {
+            char simbolo = linea.charAt(celda);
+            if (simbolo == '.' || simbolo == '0') continue;
+            int numero = geometria.numero(simbolo);
+            if (numero == 0 || !tablero.puedeColocar(celda, numero)) return false;
+            tablero.establecer(celda, numero);
+        }
+        return true;
+    }
+
+    /**
+     * Escribe un tablero como una línea, sin salto de línea final.
+     * @param tablero Tablero a escribir
+     * @param destino Donde se agregan los símbolos
+     */
+    public static void escribir(TableroBits tablero, StringBuilder destino) {
+        Geometria geometria = tablero.getGeometria();
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            int numero = tablero.obtener(celda);
+            destino.append(numero == 0 ? '.' : geometria.simbolo(numero));
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package com.example.miniproject2.cli;
+
+import com.example.miniproject2.analisis.EstadisticasPartida;
+import com.example.miniproject2.analisis.ReproductorPartidas;
+import com.example.miniproject2.analisis.ResumenAnalisis;
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.AleatorioSplitMix;
+import com.example.miniproject2.model.CalificadorSudoku;
+import com.example.miniproject2.model.CanonizadorSudoku;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.FabricaSudokus;
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.IndiceCanonico;
+import com.example.miniproject2.model.MotorSolucion;
+import com.example.miniproject2.model.Solucionador;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.persistencia.BibliotecaSudokus;
+import com.example.miniproject2.persistencia.EscritorBiblioteca;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Punto de entrada sin interfaz gráfica para trabajos en lote.
+ * No usa ninguna clase de JavaFX, así que arranca en milisegundos y procesa tableros
+ * por la entrada y salida estándar en el {@link FormatoTexto} de una línea por tablero.
+ *
+ * <pre>
+ * java -cp miniproject2.jar com.example.miniproject2.cli.SudokuConsola generar --tamano 9 --cantidad 1000
+ * java -cp miniproject2.jar com.example.miniproject2.cli.SudokuConsola resolver &lt; tableros.txt
+ * </pre>
+ */
+public final class SudokuConsola {
+    private static final int TAMANO_BUFER = 1 << 16;
+    private static final String USO = String.join("\n",
+            "Uso: SudokuConsola <comando> [opciones]",
+            "  generar   Genera tableros con solución única y los escribe uno por línea",
+            "            --tamano N (6)  --cantidad K (1)  --pistas P (según el tamaño y la dificultad)",
+            "            --dificultad FACIL|MEDIO|DIFICIL|EXPERTO busca esa dificultad o la más cercana",
+            "            --repetidos DESCARTAR|PERMITIR (DESCARTAR) descarta los equivalentes a uno ya generado",
+            "            --biblioteca ARCHIVO escribe en formato binario en lugar de texto",
+            "            --semilla HEX repite los tableros de un lote anterior (exacto con --repetidos PERMITIR)",
+            "            --salida TABLEROS|SEMILLAS (TABLEROS) SEMILLAS escribe solo el identificador de 16 dígitos",
+            "  regenerar Lee identificadores y escribe sus tableros  --tamano N (6)  --dificultad D",
+            "            --pistas P (según el tamaño y la dificultad; deben ser las del lote)",
+            "  extraer   Escribe como texto tableros de una biblioteca binaria",
+            "            --biblioteca ARCHIVO  --desde I (0)  --cantidad K (todos)",
+            "  resolver  Lee tableros y escribe su solución, o 'sin-solucion'",
+            "  validar   Lee tableros y escribe 'unica', 'multiple', 'sin-solucion' o 'invalido'",
+            "  calificar Lee tableros y escribe el tablero, sus pistas, los nodos de búsqueda,",
+            "            la dificultad y el puntaje",
+            "  canonizar Lee tableros y escribe su forma canónica, o 'multiple', 'sin-solucion' o 'invalido'",
+            "  analizar  Repite las partidas de registros de jugadas y escribe sus estadísticas",
+            "            --jugadas ARCHIVO|CARPETA (todos los archivos de la carpeta)  --hilos N (procesadores)",
+            "            --salida RESUMEN|PARTIDAS (RESUMEN) PARTIDAS escribe además una línea por partida",
+            "Opción común: --motor BACKTRACKING|DLX (BACKTRACKING)");
+
+    private final Map<String, String> opciones;
+    private final MotorSolucion motor;
+    private final Map<Geometria, Solucionador> solucionadores = new HashMap<>();
+    private final Map<Geometria, TableroBits> tableros = new HashMap<>();
+    private final Map<Geometria, CalificadorSudoku> calificadores = new HashMap<>();
+    private final Map<Geometria, CanonizadorSudoku> canonizadores = new HashMap<>();
+
+    private SudokuConsola(Map<String, String> opciones) {
+        this.opciones = opciones;
+        this.motor = MotorSolucion.valueOf(opciones.getOrDefault("motor", "BACKTRACKING").toUpperCase());
+    }
+
+    /**
+     * Método principal del modo consola.
+     * @param args Comando y opciones
+     */
+    public static void main(String[] args) {
+        System.exit(ejecutar(args, System.in, System.out, System.err));
+    }
+
+    /**
+     * Ejecuta un comando sobre los flujos indicados.
+     * @param args Comando y opciones
+     * @param entrada Flujo de donde se leen los tableros
+     * @param salida Flujo donde se escriben los resultados
+     * @param errores Flujo para mensajes de uso y errores
+     * @return Código de salida: 0 si terminó bien, 1 si hubo un error de E/S o no se pudieron generar tableros
+     *         distintos, y 2 si los argumentos no son válidos
+     */
+    public static int ejecutar(String[] args, InputStream entrada, OutputStream salida, PrintStream errores) {
+        if (args.length == 0) {
+            errores.println(USO);
+            return 2;
+        }
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                errores.println("Opción no válida: " + args[i] + "\n" + USO);
+                return 2;
+            }
+            opciones.put(args[i].substring(2), args[++i]);
+        }
+
+        try (Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFER)) {
+            SudokuConsola consola = new SudokuConsola(opciones);
+            switch (args[0]) {
+                case "generar":
+                    if (opciones.containsKey("biblioteca")) {
+                        consola.generarBiblioteca();
+                    } else {
+                        consola.generar(escritor);
+                    }
+                    break;
+                case "extraer":
+                    consola.extraer(escritor);
+                    break;
+                case "regenerar":
+                    consola.regenerar(entrada, escritor);
+                    break;
+                case "analizar":
+                    consola.analizar(escritor);
+                    break;
+                case "resolver":
+                case "validar":
+                case "calificar":
+                case "canonizar":
+                    consola.procesar(args[0], entrada, escritor);
+                    break;
+                default:
+                    errores.println("Comando desconocido: " + args[0] + "\n" + USO);
+                    return 2;
+            }
+        } catch (IllegalArgumentException e) {
+            errores.println(e.getMessage() + "\n" + USO);
+            return 2;
+        } catch (IOException | UncheckedIOException e) {
+            errores.println("Error de E/S: " + e.getMessage());
+            return 1;
+        } catch (IllegalStateException e) {
+            errores.println(e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Genera tableros en paralelo y los escribe a medida que se terminan.
+     */
+    private void generar(Writer escritor) {
+        Geometria geometria = Geometria.de(Integer.parseInt(opciones.getOrDefault("tamano", "6")));
+        int cantidad = Integer.parseInt(opciones.getOrDefault("cantidad", "1"));
+        int pistas = Integer.parseInt(opciones.getOrDefault("pistas", String.valueOf(geometria.pistasPara(dificultad()))));
+
+        IndiceCanonico repetidos = repetidos(cantidad);
+        boolean soloSemillas = salidaSemillas();
+        new FabricaSudokus().generar(geometria, cantidad, pistas, dificultad(), semilla(), repetidos, sudoku -> {
+            StringBuilder linea = new StringBuilder(geometria.getCeldas() + 1);
+            if (soloSemillas) {
+                escribirSemilla(sudoku.getSemilla(), linea);
+            } else {
+                TableroBits tablero = new TableroBits(geometria);
+                sudoku.copiarPistasEn(tablero);
+                FormatoTexto.escribir(tablero, linea);
+            }
+            linea.append('\n');
+            synchronized (escritor) {
+                try {
+                    escritor.append(linea);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Genera tableros en paralelo y los agrega a una biblioteca binaria.
+     */
+    private void generarBiblioteca() throws IOException {
+        Geometria geometria = Geometria.de(Integer.parseInt(opciones.getOrDefault("tamano", "6")));
+        int cantidad = Integer.parseInt(opciones.getOrDefault("cantidad", "1"));
+        int pistas = Integer.parseInt(opciones.getOrDefault("pistas", String.valueOf(geometria.pistasPara(dificultad()))));
+
+        try (EscritorBiblioteca biblioteca = new EscritorBiblioteca(Path.of(opciones.get("biblioteca")), geometria)) {
+            IndiceCanonico repetidos = repetidos(cantidad);
+            new FabricaSudokus().generar(geometria, cantidad, pistas, dificultad(), semilla(), repetidos, sudoku -> {
+                try {
+                    biblioteca.agregar(sudoku);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Obtiene la dificultad pedida con --dificultad.
+     * @return La dificultad, o null si no se pidió ninguna
+     */
+    private Dificultad dificultad() {
+        String nombre = opciones.get("dificultad");
+        return nombre == null ? null : Dificultad.valueOf(nombre.toUpperCase());
+    }
+
+    /**
+     * Obtiene la semilla del lote pedida con --semilla, o una nueva.
+     * @return La semilla del lote
+     */
+    private long semilla() {
+        String texto = opciones.get("semilla");
+        return texto == null ? AleatorioSplitMix.semillaNueva() : leerSemilla(texto);
+    }
+
+    /**
+     * Indica si se pidió --salida SEMILLAS en lugar de los tableros.
+     */
+    private boolean salidaSemillas() {
+        switch (opciones.getOrDefault("salida", "TABLEROS").toUpperCase()) {
+            case "TABLEROS":
+                return false;
+            case "SEMILLAS":
+                return true;
+            default:
+                throw new IllegalArgumentException("Valor no válido para --salida: " + opciones.get("salida"));
+        }
+    }
+
+    /**
+     * Lee identificadores línea por línea y escribe el tablero de cada uno.
+     * Las líneas vacías o que empiezan con '#' se ignoran.
+     */
+    private void regenerar(InputStream entrada, Writer escritor) throws IOException {
+        Geometria geometria = Geometria.de(Integer.parseInt(opciones.getOrDefault("tamano", "6")));
+        int pistasObjetivo = Integer.parseInt(opciones.getOrDefault("pistas", String.valueOf(geometria.pistasPara(dificultad()))));
+        GeneradorSudoku generador = new GeneradorSudoku(geometria);
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFER);
+        StringBuilder resultado = new StringBuilder(geometria.getCeldas() + 1);
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.charAt(0) == '#') continue;
+            resultado.setLength(0);
+            generador.generar(leerSemilla(linea), pistas, solucion, pistasObjetivo);
+            FormatoTexto.escribir(pistas, resultado);
+            escritor.append(resultado).append('\n');
+        }
+    }
+
+    /**
+     * Repite en paralelo las partidas de los registros de jugadas pedidos y escribe el resumen,
+     * precedido de una línea por partida si se pidió --salida PARTIDAS.
+     */
+    private void analizar(Writer escritor) throws IOException {
+        String ruta = opciones.get("jugadas");
+        if (ruta == null) throw new IllegalArgumentException("Falta --jugadas");
+        int hilos = Integer.parseInt(opciones.getOrDefault("hilos",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Consumer<EstadisticasPartida> porPartida;
+        switch (opciones.getOrDefault("salida", "RESUMEN").toUpperCase()) {
+            case "RESUMEN":
+                porPartida = null;
+                break;
+            case "PARTIDAS":
+                porPartida = partida -> escribirPartida(partida, escritor);
+                break;
+            default:
+                throw new IllegalArgumentException("Valor no válido para --salida: " + opciones.get("salida"));
+        }
+        List<Path> archivos;
+        Path origen = Path.of(ruta);
+        if (Files.isDirectory(origen)) {
+            try (Stream<Path> contenido = Files.list(origen)) {
+                archivos = contenido.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        } else {
+            archivos = List.of(origen);
+        }
+        ResumenAnalisis resumen = ReproductorPartidas.analizar(archivos, hilos, porPartida);
+        escritor.append(resumen.describir());
+    }
+
+    /**
+     * Escribe una línea con el jugador, el tamaño, si la completó, la duración en milisegundos, las colocaciones,
+     * los errores, los intentos inválidos, las ayudas y los movimientos deshechos de una partida.
+     */
+    private static void escribirPartida(EstadisticasPartida partida, Writer escritor) {
+        StringBuilder linea = new StringBuilder(64)
+                .append(partida.getJugador().isEmpty() ? "-" : partida.getJugador().replace(' ', '_')).append(' ')
+                .append(partida.getGeometria()).append(' ')
+                .append(partida.esCompleta() ? "completa" : "abandonada").append(' ')
+                .append(partida.getMilisTotales()).append(' ')
+                .append(partida.getColocaciones()).append(' ')
+                .append(partida.getErrores()).append(' ')
+                .append(partida.getInvalidos()).append(' ')
+                .append(partida.getAyudas()).append(' ')
+                .append(partida.getDeshechos()).append('\n');
+        synchronized (escritor) {
+            try {
+                escritor.append(linea);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Escribe una semilla como 16 dígitos hexadecimales.
+     */
+    private static void escribirSemilla(long semilla, StringBuilder destino) {
+        String digitos = Long.toHexString(semilla);
+        for (int i = digitos.length(); i < 16; i++) destino.append('0');
+        destino.append(digitos);
+    }
+
+    private static long leerSemilla(String texto) {
+        if (texto.length() > 16) throw new IllegalArgumentException("Semilla no válida: " + texto);
+        return Long.parseUnsignedLong(texto, 16);
+    }
+
+    /**
+     * Crea el índice para descartar tableros repetidos, salvo que se pida --repetidos PERMITIR.
+     * @param cantidad Tableros que se van a generar
+     * @return El índice, o null si se permiten repetidos
+     */
+    private IndiceCanonico repetidos(int cantidad) {
+        switch (opciones.getOrDefault("repetidos", "DESCARTAR").toUpperCase()) {
+            case "DESCARTAR":
+                return new IndiceCanonico(Math.max(1, cantidad));
+            case "PERMITIR":
+                return null;
+            default:
+                throw new IllegalArgumentException("Valor no válido para --repetidos: " + opciones.get("repetidos"));
+        }
+    }
+
+    /**
+     * Escribe como texto las pistas de un rango de tableros de una biblioteca binaria.
+     */
+    private void extraer(Writer escritor) throws IOException {
+        String archivo = opciones.get("biblioteca");
+        if (archivo == null) throw new IllegalArgumentException("Falta --biblioteca");
+        try (BibliotecaSudokus biblioteca = new BibliotecaSudokus(Path.of(archivo))) {
+            Geometria geometria = biblioteca.getGeometria();
+            long desde = Long.parseLong(opciones.getOrDefault("desde", "0"));
+            long hasta = Math.min(biblioteca.getCantidad(),
+                    desde + Long.parseLong(opciones.getOrDefault("cantidad", String.valueOf(biblioteca.getCantidad()))));
+            TableroBits pistas = new TableroBits(geometria);
+            TableroBits solucion = new TableroBits(geometria);
+            StringBuilder linea = new StringBuilder(geometria.getCeldas() + 1);
+            for (long indice = desde; indice < hasta; indice++) {
+                biblioteca.copiarEn(indice, pistas, solucion);
+                linea.setLength(0);
+                FormatoTexto.escribir(pistas, linea);
+                escritor.append(linea).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Lee tableros línea por línea y escribe una línea de resultado por cada uno.
+     * Las líneas vacías o que empiezan con '#' se ignoran.
+     */
+    private void procesar(String comando, InputStream entrada, Writer escritor) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANO_BUFER);
+        StringBuilder resultado = new StringBuilder();
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.charAt(0) == '#') continue;
+            resultado.setLength(0);
+
+            Geometria geometria = FormatoTexto.geometriaDe(linea);
+            TableroBits tablero = geometria == null ? null : tableros.computeIfAbsent(geometria, TableroBits::new);
+            if (tablero == null || !FormatoTexto.leer(linea, tablero)) {
+                resultado.append("invalido");
+            } else {
+                Solucionador solucionador = solucionadores.computeIfAbsent(geometria, g -> motor.crear(g, null));
+                switch (comando) {
+                    case "resolver":
+                        if (solucionador.resolver(tablero)) {
+                            FormatoTexto.escribir(tablero, resultado);
+                        } else {
+                            resultado.append("sin-solucion");
+                        }
+                        break;
+                    case "validar":
+                        int soluciones = solucionador.contarSoluciones(tablero, 2);
+                        resultado.append(soluciones == 0 ? "sin-solucion" : soluciones == 1 ? "unica" : "multiple");
+                        break;
+                    case "canonizar":
+                        canonizar(geometria, tablero, solucionador, resultado);
+                        break;
+                    default:
+                        Calificacion calificacion = calificadores.computeIfAbsent(geometria, CalificadorSudoku::new)
+                                .calificar(tablero);
+                        long nodosAntes = solucionador.getNodos();
+                        solucionador.contarSoluciones(tablero, 2);
+                        resultado.append(linea).append(' ')
+                                .append(geometria.getCeldas() - tablero.vacias()).append(' ')
+                                .append(solucionador.getNodos() - nodosAntes).append(' ')
+                                .append(calificacion.getDificultad()).append(' ')
+                                .append(calificacion.getPuntaje());
+                        break;
+                }
+            }
+            escritor.append(resultado).append('\n');
+        }
+    }
+
+    /**
+     * Escribe las pistas de la forma canónica de un tablero; necesita que la solución sea única.
+     */
+    private void canonizar(Geometria geometria, TableroBits tablero, Solucionador solucionador, StringBuilder resultado) {
+        int soluciones = solucionador.contarSoluciones(tablero, 2);
+        if (soluciones != 1) {
+            resultado.append(soluciones == 0 ? "sin-solucion" : "multiple");
+            return;
+        }
+        TableroBits solucion = new TableroBits(geometria);
+        solucion.copiarDe(tablero);
+        solucionador.resolver(solucion);
+        Sudoku canonico = canonizadores.computeIfAbsent(geometria, CanonizadorSudoku::new)
+                .canonizar(Sudoku.desde(tablero, solucion));
+        canonico.copiarPistasEn(solucion);
+        FormatoTexto.escribir(solucion, resultado);
+    }
+}
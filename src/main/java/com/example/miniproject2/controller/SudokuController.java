@@ -1,13 +1,37 @@
 package com.example.miniproject2.controller;
 
+import com.example.miniproject2.metricas.Metricas;
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.CalificadorSudoku;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.FuenteSudokus;
+import com.example.miniproject2.model.PasoLogico;
+import com.example.miniproject2.model.ResultadoValidacion;
+import com.example.miniproject2.model.Sudoku;
 import com.example.miniproject2.model.SudokuModel;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.model.Tecnica;
+import com.example.miniproject2.model.ValidadorMovimientos;
+import com.example.miniproject2.persistencia.DiarioPartida;
+import com.example.miniproject2.persistencia.EstadoPartida;
+import com.example.miniproject2.persistencia.Puntaje;
+import com.example.miniproject2.persistencia.RegistroJugadas;
+import com.example.miniproject2.persistencia.TablaPuntajes;
+import com.example.miniproject2.persistencia.TipoJugada;
 import com.example.miniproject2.view.SudokuView;
+import com.example.miniproject2.view.TableroCampos;
+import com.example.miniproject2.view.TableroLienzo;
+import com.example.miniproject2.view.VistaTablero;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.util.Duration;
+import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,26 +40,72 @@ import java.util.Optional;
  * manejando la lógica del juego, validaciones, temporizador y flujo del juego.
  */
 public class SudokuController {
+    /** Tamaño a partir del cual el tablero se dibuja en un lienzo en lugar de usar una celda de texto por casilla. */
+    private static final int TAMANO_MAXIMO_CAMPOS = 9;
+    /** Cada cuántos segundos se guarda el tiempo en el diario aunque no haya movimientos. */
+    private static final int SEGUNDOS_ENTRE_REGISTROS_TIEMPO = 10;
+    /** Cantidad de mejores tiempos que se muestran. */
+    private static final int MEJORES_MOSTRADOS = 10;
+
     private final SudokuModel modelo;
     private final SudokuView vista;
+    private final VistaTablero tablero;
+    private final FuenteSudokus fuente;
+    private final ValidadorMovimientos validador;
+    private DiarioPartida diario;
+    private TablaPuntajes puntajes;
+    private RegistroJugadas jugadas;
+    private boolean puntajeRegistrado;
+    private boolean modoNotas;
     private Timeline temporizador;
     private int segundos = 0;
     private String nombreJugador;
-    private static final int TAMANO = 6;
 
     /**
-     * Constructor que inicializa el controlador con el modelo y vista proporcionados.
+     * Constructor que inicializa el controlador con el modelo y vista proporcionados,
+     * eligiendo la representación del tablero según su tamaño con {@link #tableroPara(Geometria)}.
      *
      * @param modelo El modelo del juego
      * @param vista La vista del juego
+     * @param fuente Origen de tableros ya generados (reserva o biblioteca) del que se toma cada nuevo juego
      */
-    public SudokuController(SudokuModel modelo, SudokuView vista) {
+    public SudokuController(SudokuModel modelo, SudokuView vista, FuenteSudokus fuente) {
+        this(modelo, vista, tableroPara(modelo.getGeometria()), fuente);
+    }
+
+    /**
+     * Constructor que inicializa el controlador con el modelo, la vista y la representación del tablero indicados.
+     *
+     * @param modelo El modelo del juego
+     * @param vista La vista del juego
+     * @param tablero Representación del tablero que se coloca en la vista
+     * @param fuente Origen de tableros ya generados (reserva o biblioteca) del que se toma cada nuevo juego
+     */
+    public SudokuController(SudokuModel modelo, SudokuView vista, VistaTablero tablero, FuenteSudokus fuente) {
         this.modelo = modelo;
         this.vista = vista;
+        this.tablero = tablero;
+        this.fuente = fuente;
         this.vista.setControlador(this);
+        this.tablero.setControlador(this);
+        this.tablero.construir(modelo.getGeometria());
+        this.vista.mostrarTablero(tablero);
+        this.modelo.setOyenteCambios(() -> Platform.runLater(this::aplicarCambios));
+        this.validador = new ValidadorMovimientos(modelo.getGeometria(), Platform::runLater, this::aplicarValidacion);
         inicializarTemporizador();
     }
 
+    /**
+     * Elige la representación adecuada para el tamaño del tablero: celdas de texto hasta 9x9
+     * y un único lienzo para tableros mayores, donde un nodo por celda resulta costoso.
+     *
+     * @param geometria Geometría del tablero
+     * @return Una representación del tablero sin construir
+     */
+    public static VistaTablero tableroPara(Geometria geometria) {
+        return geometria.getTamano() > TAMANO_MAXIMO_CAMPOS ? new TableroLienzo() : new TableroCampos();
+    }
+
     /**
      * Establece el nombre del jugador.
      *
@@ -45,9 +115,81 @@ public class SudokuController {
         this.nombreJugador = nombre;
     }
 
+    /**
+     * Establece el diario donde se guarda la partida para poder reanudarla.
+     *
+     * @param diario Diario de la partida, o null para no guardar
+     */
+    public void setDiario(DiarioPartida diario) {
+        this.diario = diario;
+    }
+
+    /**
+     * Establece la tabla donde se guardan los tiempos de los juegos terminados.
+     *
+     * @param puntajes Tabla de puntajes, o null para no guardarlos
+     */
+    public void setTablaPuntajes(TablaPuntajes puntajes) {
+        this.puntajes = puntajes;
+    }
+
+    /**
+     * Establece el registro donde se guardan las jugadas de cada partida para analizarlas después.
+     *
+     * @param jugadas Registro de jugadas, o null para no guardarlas
+     */
+    public void setRegistroJugadas(RegistroJugadas jugadas) {
+        this.jugadas = jugadas;
+    }
+
+    /**
+     * Reanuda una partida guardada: carga el tablero con el avance del jugador, su nombre y su tiempo.
+     * Un diario de la versión 1 no guarda la calificación, así que el tablero se vuelve a calificar para que
+     * el tiempo final cuente en la tabla de su dificultad.
+     *
+     * @param estado Estado recuperado del diario; debe tener la geometría del modelo
+     */
+    public void reanudarPartida(EstadoPartida estado) {
+        TableroBits progreso = new TableroBits(estado.getGeometria());
+        estado.copiarTableroEn(progreso);
+        Sudoku sudoku = estado.getSudoku();
+        if (sudoku.getCalificacion() == null) sudoku = new CalificadorSudoku(sudoku.getGeometria()).calificar(sudoku);
+        modelo.cargarTablero(sudoku, progreso);
+        sincronizarValidador();
+        nombreJugador = estado.getNombreJugador();
+        reiniciarTemporizador();
+        segundos = estado.getSegundos();
+        puntajeRegistrado = false;
+        vista.actualizarTemporizador(formatearTiempo(segundos));
+        vista.mostrarNombreJugador(nombreJugador);
+        tablero.setCeldasEditables(true);
+        tablero.limpiarResaltados();
+        vista.actualizarHistorial(false, false);
+        vista.mostrarMensaje("¡Partida reanudada!", "nuevo-juego");
+        guardarInstantanea();
+        empezarRegistroJugadas();
+        temporizador.play();
+    }
+
+    /**
+     * Detiene el juego al cerrar la aplicación, guardando el tiempo y llevando el diario y las jugadas al disco.
+     *
+     * @throws IOException Si se interrumpe el cierre del diario o del registro de jugadas
+     */
+    public void cerrar() throws IOException {
+        temporizador.stop();
+        validador.close();
+        if (diario != null) {
+            if (modelo.getSudoku() != null) diario.registrarTiempo(segundos);
+            diario.close();
+        }
+        if (jugadas != null) jugadas.close();
+        if (puntajes != null) puntajes.close();
+    }
+
     /**
      * Inicia un nuevo juego después de confirmación del usuario.
-     * Genera un nuevo tablero, reinicia el temporizador y actualiza la vista.
+     * Toma un tablero ya generado de la fuente, reinicia el temporizador y actualiza la vista.
      *
      * @param nombre Nombre del jugador para mostrar en la interfaz
      */
@@ -59,12 +201,16 @@ public class SudokuController {
 
         Optional<ButtonType> resultado = alert.showAndWait();
         if (resultado.isPresent() && resultado.get() == ButtonType.OK) {
-            modelo.generarNuevoTablero();
+            modelo.cargarTablero(fuente.tomar());
+            sincronizarValidador();
             reiniciarTemporizador();
+            puntajeRegistrado = false;
+            guardarInstantanea();
+            empezarRegistroJugadas();
             vista.mostrarNombreJugador(nombreJugador);
-            actualizarVistaCompleta();
-            vista.setCeldasEditables(true);
-            vista.limpiarResaltados();
+            tablero.setCeldasEditables(true);
+            tablero.limpiarResaltados();
+            vista.actualizarHistorial(false, false);
             vista.mostrarMensaje("¡Nuevo juego!", "nuevo-juego");
             temporizador.play();
         }
@@ -82,53 +228,249 @@ public class SudokuController {
 
         Optional<ButtonType> resultado = alert.showAndWait();
         if (resultado.isPresent() && resultado.get() == ButtonType.OK) {
-            for (int fila = 0; fila < TAMANO; fila++) {
-                for (int columna = 0; columna < TAMANO; columna++) {
-                    if (!esCeldaInicial(fila, columna)) {
-                        modelo.establecerNumero(fila, columna, 0);
-                    }
-                }
-            }
-            vista.resaltarReinicio();
-            actualizarVistaCompleta();
+            modelo.reiniciar();
+            if (jugadas != null) jugadas.registrar(TipoJugada.REINICIO);
+            sincronizarValidador();
+            tablero.resaltarReinicio();
             reiniciarTemporizador();
-            vista.setCeldasEditables(true);
-            vista.limpiarResaltados();
+            puntajeRegistrado = false;
+            guardarInstantanea();
+            tablero.setCeldasEditables(true);
+            tablero.limpiarResaltados();
+            vista.actualizarHistorial(false, false);
             vista.mostrarMensaje("¡Juego reiniciado!", "reinicio");
             temporizador.play();
         }
     }
 
+    /**
+     * Deshace el último movimiento del jugador.
+     */
+    public void deshacerMovimiento() {
+        if (!modelo.deshacer()) return;
+        if (jugadas != null) jugadas.registrar(TipoJugada.DESHACER);
+        despuesDeRecorrerHistorial();
+    }
+
+    /**
+     * Vuelve a aplicar el último movimiento deshecho.
+     */
+    public void rehacerMovimiento() {
+        if (!modelo.rehacer()) return;
+        if (jugadas != null) jugadas.registrar(TipoJugada.REHACER);
+        despuesDeRecorrerHistorial();
+    }
+
+    /**
+     * Ajusta el validador, los resaltados y el temporizador tras moverse por el historial.
+     * Rehacer el último movimiento puede completar el tablero y deshacerlo reanuda el juego.
+     */
+    private void despuesDeRecorrerHistorial() {
+        sincronizarValidador();
+        tablero.limpiarResaltados();
+        vista.mostrarMensaje("", null);
+        if (modelo.juegoCompleto()) {
+            terminarJuego();
+        } else {
+            temporizador.play();
+        }
+    }
+
     /**
      * Valida una entrada del usuario en una celda específica.
+     * La validación y la verificación de tablero completo se hacen en segundo plano; el resultado
+     * llega a {@link #aplicarValidacion(ResultadoValidacion)} sin detener la interfaz.
      *
-     * @param fila Índice de la fila (0-5)
-     * @param columna Índice de la columna (0-5)
-     * @param numero Número ingresado por el usuario (0-6)
+     * @param fila Índice de la fila (0 a N-1)
+     * @param columna Índice de la columna (0 a N-1)
+     * @param numero Número ingresado por el usuario (0 a N)
      */
     public void validarEntrada(int fila, int columna, int numero) {
         if (esCeldaInicial(fila, columna)) return;
+        validador.enviar(modelo.getGeometria().indice(fila, columna), numero);
+    }
+
+    /**
+     * Activa o desactiva el modo notas, en el que lo que escribe el jugador se anota como candidato
+     * en lugar de colocarse.
+     *
+     * @param activo true para anotar, false para colocar números
+     */
+    public void setModoNotas(boolean activo) {
+        this.modoNotas = activo;
+    }
+
+    /**
+     * Indica si las entradas del jugador se anotan como candidatos.
+     *
+     * @return true si el modo notas está activo
+     */
+    public boolean enModoNotas() {
+        return modoNotas;
+    }
 
+    /**
+     * Activa o desactiva que colocar un número lo retire de las notas de su fila, su columna y su bloque.
+     *
+     * @param activa true para eliminar las notas al colocar
+     */
+    public void setEliminarNotas(boolean activa) {
+        modelo.setEliminarNotas(activa);
+    }
+
+    /**
+     * Anota o retira un candidato en una celda. Las notas no cuentan como movimientos: no pasan por el validador,
+     * el historial, el diario ni el registro de jugadas.
+     *
+     * @param fila Índice de la fila (0 a N-1)
+     * @param columna Índice de la columna (0 a N-1)
+     * @param numero Número a anotar o retirar (1 a N), o 0 para borrar todas las notas de la celda
+     */
+    public void anotar(int fila, int columna, int numero) {
+        if (esCeldaInicial(fila, columna)) return;
         if (numero == 0) {
-            modelo.establecerNumero(fila, columna, 0);
-            vista.limpiarResaltados();
-            vista.mostrarMensaje("Solo se permiten números del 1 al 6", "error");
+            modelo.borrarNotas(fila, columna);
+        } else {
+            modelo.alternarNota(fila, columna, numero);
+        }
+    }
+
+    /**
+     * Aplica al modelo el resultado de validar un movimiento y, si sigue siendo el último movimiento
+     * del jugador, muestra su efecto. Los movimientos válidos se aplican siempre, aunque ya no estén vigentes,
+     * para que el modelo siga a la réplica del validador, y un resultado que deja el tablero completo termina el
+     * juego aunque otro movimiento lo haya superado o sea inválido.
+     *
+     * @param resultado Resultado entregado por el validador en el hilo de JavaFX
+     */
+    private void aplicarValidacion(ResultadoValidacion resultado) {
+        Geometria geometria = modelo.getGeometria();
+        int fila = geometria.fila(resultado.getCelda());
+        int columna = geometria.columna(resultado.getCelda());
+        if (resultado.esValido()) {
+            modelo.establecerNumero(fila, columna, resultado.getNumero());
+            Metricas.movimiento();
+        }
+        if (jugadas != null) {
+            jugadas.registrar(resultado.esValido() ? TipoJugada.COLOCAR : TipoJugada.INVALIDO,
+                    resultado.getCelda(), resultado.getNumero());
+        }
+        if (!resultado.esVigente()) {
+            if (resultado.esCompleto() && !puntajeRegistrado) terminarJuego();
+            return;
+        }
+
+        if (resultado.getNumero() == 0) {
+            tablero.limpiarResaltados();
+            vista.mostrarMensaje("Solo se permiten números del 1 al " + geometria.simbolo(geometria.getTamano()), "error");
             return;
         }
 
-        if (modelo.movimientoValido(fila, columna, numero)) {
-            modelo.establecerNumero(fila, columna, numero);
-            vista.limpiarResaltados();
+        if (resultado.esValido()) {
+            tablero.limpiarResaltados();
             vista.mostrarMensaje("", null);
 
-            if (modelo.juegoCompleto()) {
-                temporizador.stop();
-                mostrarMensajeFelicitacion();
+            if (resultado.esCompleto()) {
+                terminarJuego();
             }
         } else {
-            vista.resaltarError(fila,columna);
+            tablero.resaltarError(fila, columna);
             vista.mostrarMensaje("¡Número Inválido!", "error");
+            if (resultado.esCompleto() && !puntajeRegistrado) terminarJuego();
+        }
+    }
+
+    /**
+     * Lleva al validador el tablero actual tras un cambio que no pasó por él, descartando sus resultados pendientes.
+     */
+    private void sincronizarValidador() {
+        TableroBits actual = new TableroBits(modelo.getGeometria());
+        modelo.copiarTableroEn(actual);
+        validador.sincronizar(actual);
+    }
+
+    /**
+     * Registra en el diario una instantánea de la partida actual, que reemplaza a lo guardado antes.
+     */
+    private void guardarInstantanea() {
+        if (diario == null || modelo.getSudoku() == null) return;
+        TableroBits actual = new TableroBits(modelo.getGeometria());
+        modelo.copiarTableroEn(actual);
+        diario.registrarInstantanea(new EstadoPartida(modelo.getSudoku(), actual, nombreJugador, segundos));
+    }
+
+    /**
+     * Empieza a registrar las jugadas de la partida actual desde el tablero que tiene ahora.
+     */
+    private void empezarRegistroJugadas() {
+        if (jugadas == null || modelo.getSudoku() == null) return;
+        TableroBits actual = new TableroBits(modelo.getGeometria());
+        modelo.copiarTableroEn(actual);
+        jugadas.empezar(modelo.getSudoku(), actual, nombreJugador);
+    }
+
+    /**
+     * Termina el juego completado: detiene el temporizador, guarda el tiempo en la tabla de puntajes,
+     * cierra el registro de sus jugadas y felicita al jugador. El puesto obtenido se muestra cuando la tabla
+     * termina de registrarlo.
+     */
+    private void terminarJuego() {
+        temporizador.stop();
+        if (jugadas != null) jugadas.terminar();
+        if (puntajes != null && !puntajeRegistrado) {
+            puntajeRegistrado = true;
+            String categoria = nombreCategoria();
+            puntajes.registrar(nombreJugador, modelo.getGeometria(), dificultadActual(), segundos)
+                    .thenAccept(puesto -> Platform.runLater(() ->
+                            vista.mostrarMensaje("¡Puesto " + puesto + " en " + categoria + "!", "exito")));
         }
+        mostrarMensajeFelicitacion();
+    }
+
+    /**
+     * Muestra los mejores tiempos del tamaño y la dificultad del juego actual, y el mejor tiempo del jugador.
+     */
+    public void mostrarMejoresTiempos() {
+        StringBuilder texto = new StringBuilder();
+        if (puntajes == null) {
+            texto.append("La tabla de puntajes no está disponible.");
+        } else {
+            List<Puntaje> mejores = puntajes.mejores(modelo.getGeometria(), dificultadActual(), MEJORES_MOSTRADOS);
+            if (mejores.isEmpty()) texto.append("Todavía no hay tiempos registrados.\n");
+            for (int i = 0; i < mejores.size(); i++) {
+                Puntaje puntaje = mejores.get(i);
+                texto.append(i + 1).append(". ").append(puntaje.getNombreJugador()).append("  ")
+                        .append(formatearTiempo(puntaje.getSegundos())).append('\n');
+            }
+            Puntaje personal = puntajes.mejorPersonal(nombreJugador, modelo.getGeometria(), dificultadActual());
+            if (personal != null) {
+                texto.append("\nTu mejor tiempo: ").append(formatearTiempo(personal.getSegundos()));
+            }
+        }
+
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Mejores tiempos");
+        alert.setHeaderText("Mejores tiempos en " + nombreCategoria());
+        alert.setContentText(texto.toString());
+        alert.showAndWait();
+    }
+
+    /**
+     * Obtiene la dificultad del juego actual.
+     *
+     * @return La dificultad, o null si no hay juego o su tablero no se calificó
+     */
+    private Dificultad dificultadActual() {
+        Calificacion calificacion = modelo.getSudoku() == null ? null : modelo.getSudoku().getCalificacion();
+        return calificacion == null ? null : calificacion.getDificultad();
+    }
+
+    /**
+     * Nombra el tamaño y la dificultad del juego actual, por ejemplo "9x9 Difícil".
+     */
+    private String nombreCategoria() {
+        Dificultad dificultad = dificultadActual();
+        return modelo.getGeometria() + (dificultad == null ? "" : " " + dificultad.getNombre());
     }
 
     /**
@@ -143,17 +485,36 @@ public class SudokuController {
     }
 
     /**
-     * Proporciona ayuda al jugador mostrando el número correcto para la primera celda vacía encontrada.
+     * Proporciona ayuda al jugador con el siguiente paso lógico: la celda donde un número puede deducirse
+     * y la técnica que lo justifica. Si la lógica no alcanza, muestra el número correcto para la primera celda vacía.
      */
     public void solicitarAyuda() {
-        for (int fila = 0; fila < TAMANO; fila++) {
-            for (int columna = 0; columna < TAMANO; columna++) {
+        Geometria geometria = modelo.getGeometria();
+        long inicio = System.nanoTime();
+        PasoLogico paso = modelo.siguienteColocacionLogica();
+        Metricas.ayuda(System.nanoTime() - inicio);
+        if (paso != null) {
+            int fila = geometria.fila(paso.getCelda());
+            int columna = geometria.columna(paso.getCelda());
+            if (jugadas != null) jugadas.registrar(TipoJugada.AYUDA, paso.getCelda(), paso.getNumero());
+            if (paso.getTecnica() == Tecnica.CONTRADICCION) {
+                tablero.resaltarError(fila, columna);
+                vista.mostrarMensaje(paso.describir(geometria), "error");
+            } else {
+                vista.mostrarMensaje(paso.describir(geometria), "ayuda");
+                tablero.resaltarPista(fila, columna);
+            }
+            return;
+        }
+        for (int fila = 0; fila < geometria.getTamano(); fila++) {
+            for (int columna = 0; columna < geometria.getTamano(); columna++) {
                 if (modelo.obtenerNumero(fila, columna) == 0) {
                     int numeroCorrecto = modelo.obtenerNumeroCorrecto(fila, columna);
+                    if (jugadas != null) jugadas.registrar(TipoJugada.AYUDA, geometria.indice(fila, columna), numeroCorrecto);
                     vista.mostrarMensaje(
-                            String.format("Número correcto: %d", numeroCorrecto), "ayuda"
+                            String.format("Número correcto: %c", geometria.simbolo(numeroCorrecto)), "ayuda"
                     );
-                    vista.resaltarCelda(fila, columna, "#FFD700");
+                    tablero.resaltarPista(fila, columna);
                     return;
                 }
             }
@@ -162,14 +523,27 @@ public class SudokuController {
     }
 
     /**
-     * Actualiza toda la vista con los valores actuales del modelo.
+     * Lleva a la vista, en un solo lote, las celdas y las notas que cambiaron en el modelo desde el último lote,
+     * registra las celdas en el diario y actualiza los botones del historial.
+     * El modelo avisa una vez por lote, así que el costo depende de la cantidad de cambios y no del tamaño del tablero.
      */
-    private void actualizarVistaCompleta() {
-        for (int fila = 0; fila < TAMANO; fila++) {
-            for (int columna = 0; columna < TAMANO; columna++) {
-                vista.actualizarCelda(fila, columna, modelo.obtenerNumero(fila, columna));
-            }
-        }
+    private void aplicarCambios() {
+        Geometria geometria = modelo.getGeometria();
+        modelo.drenarCambios(celda -> {
+            int fila = geometria.fila(celda);
+            int columna = geometria.columna(celda);
+            int numero = modelo.obtenerNumero(fila, columna);
+            boolean inicial = modelo.esCeldaInicial(fila, columna);
+            tablero.actualizarCelda(fila, columna, numero, inicial);
+            if (diario != null && !inicial) diario.registrarMovimiento(celda, numero, segundos);
+        });
+        modelo.drenarNotas(celda -> {
+            int fila = geometria.fila(celda);
+            int columna = geometria.columna(celda);
+            tablero.mostrarNotas(fila, columna, modelo.obtenerNotas(fila, columna));
+        });
+        if (diario != null && diario.pideInstantanea()) guardarInstantanea();
+        vista.actualizarHistorial(modelo.puedeDeshacer(), modelo.puedeRehacer());
     }
 
     /**
@@ -180,6 +554,7 @@ public class SudokuController {
                 new KeyFrame(Duration.seconds(1), evento -> {
                     segundos++;
                     vista.actualizarTemporizador(formatearTiempo(segundos));
+                    if (diario != null && segundos % SEGUNDOS_ENTRE_REGISTROS_TIEMPO == 0) diario.registrarTiempo(segundos);
                 })
         );
         temporizador.setCycleCount(Animation.INDEFINITE);
@@ -220,11 +595,14 @@ public class SudokuController {
      * @return String con las reglas del juego
      */
     public String obtenerTextoReglas() {
-        return "REGLAS DEL SUDOKU 6x6:\n\n" +
-                "1. Completa la cuadrícula con números del 1 al 6.\n" +
-                "2. No repetir números en filas, columnas o bloques 2x3.\n" +
+        Geometria geometria = modelo.getGeometria();
+        return "REGLAS DEL SUDOKU " + geometria + ":\n\n" +
+                "1. Completa la cuadrícula con números del 1 al " + geometria.simbolo(geometria.getTamano()) + ".\n" +
+                "2. No repetir números en filas, columnas o bloques " +
+                geometria.getAltoBloque() + "x" + geometria.getAnchoBloque() + ".\n" +
                 "3. Los números iniciales no pueden modificarse.\n" +
-                "4. Usa el botón 'Sugerir número' para obtener ayuda.";
+                "4. Usa el botón 'Sugerir número' para obtener ayuda.\n" +
+                "5. Activa 'Notas' para anotar candidatos en las celdas vacías; con 'Auto' se retiran al colocar un número.";
     }
 
     /**
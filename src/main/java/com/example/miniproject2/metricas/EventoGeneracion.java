@@ -0,0 +1,34 @@
+package com.example.miniproject2.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder que cubre la generación de un tablero. Mientras no haya una grabación que lo
+ * habilite, {@code begin}, {@code end} y {@code commit} no hacen nada y el compilador elimina el objeto,
+ * así que la generación sigue sin crear objetos.
+ */
+@Name("com.example.miniproject2.Generacion")
+@Label("Generación de tablero")
+@Category({"Sudoku", "Generación"})
+@Description("Genera un tablero con solución única a partir de una semilla")
+@StackTrace(false)
+public final class EventoGeneracion extends Event {
+    @Label("Tamaño")
+    public int tamano;
+
+    @Label("Semilla")
+    public long semilla;
+
+    @Label("Pistas")
+    @Description("Pistas que quedaron en el tablero")
+    public int pistas;
+
+    @Label("Nodos")
+    @Description("Nodos de búsqueda explorados al resolver y al verificar la unicidad")
+    public long nodos;
+}
@@ -0,0 +1,101 @@
+package com.example.miniproject2.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas log-lineales, al estilo de HdrHistogram: cada potencia de dos
+ * se parte en {@value #SUBCUBETAS} cubetas iguales, así que un percentil se lee con un error relativo menor al 3 %
+ * en todo el rango de {@code long}. Las cuentas viven en un {@link AtomicLongArray} de tamaño fijo y registrar
+ * es un incremento atómico, sin bloqueos ni objetos; varios hilos pueden registrar y leer a la vez.
+ */
+public final class HistogramaLatencias {
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra una medición.
+     * @param nanos Duración medida; los valores negativos cuentan como 0
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas.incrementAndGet(cubeta(valor));
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * Obtiene la cantidad de mediciones registradas.
+     * @return Total de mediciones
+     */
+    public long getCantidad() {
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) total += cuentas.get(i);
+        return total;
+    }
+
+    /**
+     * Obtiene la mayor medición registrada.
+     * @return El máximo exacto, o 0 si no hay mediciones
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Obtiene el valor por debajo del cual queda el porcentaje indicado de las mediciones.
+     * @param percentil Porcentaje entre 0 y 100
+     * @return El mayor valor de la cubeta donde cae el percentil, sin pasar del máximo, o 0 si no hay mediciones
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) throw new IllegalArgumentException("Percentil no válido: " + percentil);
+        long total = getCantidad();
+        if (total == 0) return 0;
+        long buscado = Math.max(1, (long) Math.ceil(percentil / 100 * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= buscado) return Math.min(limiteSuperior(i), getMaximo());
+        }
+        return getMaximo();
+    }
+
+    /**
+     * Suma a este histograma las mediciones de otro, por ejemplo para juntar los de varios hilos.
+     * @param otro Histograma a sumar; no cambia
+     */
+    public void agregar(HistogramaLatencias otro) {
+        for (int i = 0; i < CUBETAS; i++) {
+            long cuenta = otro.cuentas.get(i);
+            if (cuenta != 0) cuentas.addAndGet(i, cuenta);
+        }
+        maximo.accumulate(otro.getMaximo());
+    }
+
+    /**
+     * Borra todas las mediciones. Las que se registren mientras tanto pueden quedar o no.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) cuentas.set(i, 0);
+        maximo.reset();
+    }
+
+    /**
+     * Los valores menores que 2 · {@value #SUBCUBETAS} tienen una cubeta cada uno; a partir de ahí cada potencia
+     * de dos 2^e ocupa {@value #SUBCUBETAS} cubetas de ancho 2^(e - {@value #BITS_SUBCUBETA}).
+     */
+    private static int cubeta(long valor) {
+        int desplazamiento = Math.max(0, 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA);
+        return (desplazamiento << BITS_SUBCUBETA) + (int) (valor >>> desplazamiento);
+    }
+
+    private static long limiteSuperior(int cubeta) {
+        if (cubeta < 2 * SUBCUBETAS) return cubeta;
+        int desplazamiento = (cubeta >>> BITS_SUBCUBETA) - 1;
+        long inicio = (long) ((cubeta & (SUBCUBETAS - 1)) + SUBCUBETAS) << desplazamiento;
+        return inicio + (1L << desplazamiento) - 1;
+    }
+}
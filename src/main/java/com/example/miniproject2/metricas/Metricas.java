@@ -0,0 +1,196 @@
+package com.example.miniproject2.metricas;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de los caminos calientes del modelo y del controlador: generaciones y sus nodos de búsqueda, latencias
+ * de generación y de ayuda, y movimientos. Los contadores son {@link LongAdder} y las latencias
+ * {@link HistogramaLatencias}, así que registrar no usa bloqueos ni crea objetos y varios hilos (la fábrica, las
+ * reservas, el servidor y la interfaz) registran a la vez sin competir por una misma variable.
+ * Las métricas son de toda la JVM; {@link #registrarJmx()} las publica como un {@link MetricasMXBean}.
+ * La tasa de movimientos sale de muestras que un hilo demonio toma cada segundo, así que consultarla no cambia
+ * lo que ven otros clientes.
+ */
+public final class Metricas implements MetricasMXBean {
+    /** Nombre del MXBean en el servidor de plataforma. */
+    public static final String NOMBRE_JMX = "com.example.miniproject2:type=Metricas";
+    /** Segundos de la ventana sobre la que se calcula la tasa de movimientos. */
+    public static final int VENTANA_SEGUNDOS = 10;
+
+    private static final System.Logger REGISTRO = System.getLogger(Metricas.class.getName());
+    private static final Metricas INSTANCIA = new Metricas();
+
+    private final LongAdder generaciones = new LongAdder();
+    private final LongAdder nodosBusqueda = new LongAdder();
+    private final LongAdder movimientos = new LongAdder();
+    private final LongAdder ayudas = new LongAdder();
+    private final HistogramaLatencias latenciaGeneracion = new HistogramaLatencias();
+    private final HistogramaLatencias latenciaAyuda = new HistogramaLatencias();
+    /** Últimas muestras del contador de movimientos, en un arreglo circular, con el instante de cada una. */
+    private final long[] movimientosMuestreados = new long[VENTANA_SEGUNDOS + 1];
+    private final long[] instantesMuestras = new long[VENTANA_SEGUNDOS + 1];
+    private int muestras;
+    private ScheduledExecutorService muestreo;
+
+    private Metricas() {
+    }
+
+    /**
+     * Obtiene las métricas de la JVM.
+     * @return La única instancia
+     */
+    public static Metricas get() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Registra la generación de un tablero.
+     * @param nanos Duración de la generación
+     * @param nodos Nodos de búsqueda explorados
+     */
+    public static void generacion(long nanos, long nodos) {
+        INSTANCIA.generaciones.increment();
+        INSTANCIA.nodosBusqueda.add(nodos);
+        INSTANCIA.latenciaGeneracion.registrar(nanos);
+    }
+
+    /**
+     * Registra un movimiento de un jugador.
+     */
+    public static void movimiento() {
+        INSTANCIA.movimientos.increment();
+    }
+
+    /**
+     * Registra un pedido de ayuda.
+     * @param nanos Tiempo que tardó en encontrarse la ayuda
+     */
+    public static void ayuda(long nanos) {
+        INSTANCIA.ayudas.increment();
+        INSTANCIA.latenciaAyuda.registrar(nanos);
+    }
+
+    /**
+     * Publica las métricas en el servidor JMX de la plataforma, si no estaban ya.
+     * Un error al publicarlas solo se registra: el juego sigue sin métricas remotas.
+     */
+    public static void registrarJmx() {
+        INSTANCIA.iniciarMuestreo();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCIA, new ObjectName(NOMBRE_JMX));
+        } catch (InstanceAlreadyExistsException e) {
+            // Ya estaban publicadas.
+        } catch (JMException e) {
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudieron publicar las métricas por JMX", e);
+        }
+    }
+
+    /**
+     * Obtiene el histograma de latencias de generación.
+     * @return El histograma compartido
+     */
+    public HistogramaLatencias getLatenciaGeneracion() {
+        return latenciaGeneracion;
+    }
+
+    /**
+     * Obtiene el histograma de latencias de ayuda.
+     * @return El histograma compartido
+     */
+    public HistogramaLatencias getLatenciaAyuda() {
+        return latenciaAyuda;
+    }
+
+    @Override
+    public long getGeneraciones() {
+        return generaciones.sum();
+    }
+
+    @Override
+    public long getNodosBusqueda() {
+        return nodosBusqueda.sum();
+    }
+
+    @Override
+    public long getGeneracionP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latenciaGeneracion.percentil(50));
+    }
+
+    @Override
+    public long getGeneracionP90Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latenciaGeneracion.percentil(90));
+    }
+
+    @Override
+    public long getGeneracionP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latenciaGeneracion.percentil(99));
+    }
+
+    @Override
+    public long getGeneracionMaximaMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latenciaGeneracion.getMaximo());
+    }
+
+    @Override
+    public long getMovimientos() {
+        return movimientos.sum();
+    }
+
+    @Override
+    public synchronized double getMovimientosPorSegundo() {
+        iniciarMuestreo();
+        if (muestras < 2) return 0;
+        int ultima = (muestras - 1) % instantesMuestras.length;
+        int primera = muestras > instantesMuestras.length ? muestras % instantesMuestras.length : 0;
+        double segundos = (instantesMuestras[ultima] - instantesMuestras[primera]) / 1e9;
+        return segundos > 0 ? (movimientosMuestreados[ultima] - movimientosMuestreados[primera]) / segundos : 0;
+    }
+
+    @Override
+    public long getAyudas() {
+        return ayudas.sum();
+    }
+
+    @Override
+    public long getAyudaP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(latenciaAyuda.percentil(99));
+    }
+
+    @Override
+    public synchronized void reiniciar() {
+        generaciones.reset();
+        nodosBusqueda.reset();
+        movimientos.reset();
+        ayudas.reset();
+        latenciaGeneracion.reiniciar();
+        latenciaAyuda.reiniciar();
+        muestras = 0;
+    }
+
+    /**
+     * Arranca, si no estaba, el hilo que muestrea el contador de movimientos cada segundo.
+     */
+    private synchronized void iniciarMuestreo() {
+        if (muestreo != null) return;
+        muestreo = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "metricas-muestreo");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        muestreo.scheduleAtFixedRate(this::muestrear, 0, 1, TimeUnit.SECONDS);
+    }
+
+    private synchronized void muestrear() {
+        int lugar = muestras % instantesMuestras.length;
+        movimientosMuestreados[lugar] = movimientos.sum();
+        instantesMuestras[lugar] = System.nanoTime();
+        muestras++;
+    }
+}
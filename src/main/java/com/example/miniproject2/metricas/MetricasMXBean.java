@@ -0,0 +1,63 @@
+package com.example.miniproject2.metricas;
+
+/**
+ * Vista de {@link Metricas} que se publica por JMX con el nombre {@link Metricas#NOMBRE_JMX}.
+ * Las latencias se reportan en microsegundos.
+ */
+public interface MetricasMXBean {
+    /**
+     * @return Tableros generados
+     */
+    long getGeneraciones();
+
+    /**
+     * @return Nodos de búsqueda explorados por los solucionadores durante las generaciones
+     */
+    long getNodosBusqueda();
+
+    /**
+     * @return Mediana de la latencia de generación
+     */
+    long getGeneracionP50Micros();
+
+    /**
+     * @return Percentil 90 de la latencia de generación
+     */
+    long getGeneracionP90Micros();
+
+    /**
+     * @return Percentil 99 de la latencia de generación
+     */
+    long getGeneracionP99Micros();
+
+    /**
+     * @return Mayor latencia de generación
+     */
+    long getGeneracionMaximaMicros();
+
+    /**
+     * @return Movimientos de los jugadores, en la interfaz y en el servidor
+     */
+    long getMovimientos();
+
+    /**
+     * @return Movimientos por segundo en los últimos {@link Metricas#VENTANA_SEGUNDOS} segundos, o desde que
+     *         empezó el muestreo si es más reciente; no depende de cuándo ni de quién lo consulte
+     */
+    double getMovimientosPorSegundo();
+
+    /**
+     * @return Pedidos de ayuda atendidos
+     */
+    long getAyudas();
+
+    /**
+     * @return Percentil 99 de la latencia de una ayuda
+     */
+    long getAyudaP99Micros();
+
+    /**
+     * Pone en cero todas las métricas.
+     */
+    void reiniciar();
+}
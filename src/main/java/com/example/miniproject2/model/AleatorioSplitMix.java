@@ -0,0 +1,100 @@
+package com.example.miniproject2.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador pseudoaleatorio SplitMix64: el estado es un solo {@code long} que avanza con una constante y cada
+ * salida es una mezcla de ese estado. A diferencia de {@link java.util.SplittableRandom}, que usa el mismo
+ * algoritmo, se puede {@link #reiniciar(long) reiniciar} con otra semilla, así que regenerar un tablero a partir
+ * de su semilla no crea objetos. Además, {@link #semillaDe(long, long)} da acceso directo a la salida i-ésima,
+ * lo que permite repartir un lote entre hilos sin que el resultado dependa del reparto.
+ * No es seguro para hilos: cada hilo usa el suyo.
+ */
+public final class AleatorioSplitMix {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+    private static final AtomicLong SEMILLAS = new AtomicLong(mezclar(System.currentTimeMillis()) ^ mezclar(System.nanoTime()));
+
+    private long estado;
+
+    /**
+     * Crea un generador con una semilla nueva.
+     */
+    public AleatorioSplitMix() {
+        this(semillaNueva());
+    }
+
+    /**
+     * Crea un generador con la semilla indicada; dos generadores con la misma semilla dan la misma secuencia.
+     * @param semilla Semilla inicial
+     */
+    public AleatorioSplitMix(long semilla) {
+        this.estado = semilla;
+    }
+
+    /**
+     * Vuelve a empezar la secuencia desde otra semilla.
+     * @param semilla Semilla nueva
+     */
+    public void reiniciar(long semilla) {
+        this.estado = semilla;
+    }
+
+    /**
+     * Obtiene el siguiente valor de 64 bits.
+     * @return Un valor uniforme entre todos los {@code long}
+     */
+    public long siguiente() {
+        return mezclar(estado += GAMMA);
+    }
+
+    /**
+     * Obtiene un entero uniforme en {@code [0, limite)}, sin sesgo y casi siempre con una sola multiplicación.
+     * @param limite Cota superior exclusiva, mayor que 0
+     * @return Un entero entre 0 y limite - 1
+     */
+    public int siguienteEntero(int limite) {
+        long producto = (siguiente() >>> 32) * limite;
+        if ((producto & 0xFFFFFFFFL) < limite) {
+            long umbral = (0x1_0000_0000L - limite) % limite;
+            while ((producto & 0xFFFFFFFFL) < umbral) producto = (siguiente() >>> 32) * limite;
+        }
+        return (int) (producto >>> 32);
+    }
+
+    /**
+     * Crea un generador independiente cuya semilla sale de este.
+     * @return Un generador nuevo
+     */
+    public AleatorioSplitMix dividir() {
+        return new AleatorioSplitMix(siguiente());
+    }
+
+    /**
+     * Obtiene el valor i-ésimo que daría un generador creado con la semilla raíz, sin recorrer los anteriores.
+     * @param raiz Semilla raíz
+     * @param indice Posición en la secuencia, desde 0
+     * @return El mismo valor que la llamada número {@code indice + 1} a {@link #siguiente()}
+     */
+    public static long semillaDe(long raiz, long indice) {
+        return mezclar(raiz + (indice + 1) * GAMMA);
+    }
+
+    /**
+     * Obtiene una semilla distinta en cada llamada, también entre hilos.
+     * @return Una semilla nueva
+     */
+    public static long semillaNueva() {
+        return mezclar(SEMILLAS.addAndGet(GAMMA));
+    }
+
+    /**
+     * Mezcla final de SplitMix64: reparte cada bit de la entrada en todos los de la salida.
+     * @param x Valor a mezclar
+     * @return El valor mezclado
+     */
+    public static long mezclar(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+}
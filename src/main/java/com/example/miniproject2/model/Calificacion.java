@@ -0,0 +1,51 @@
+package com.example.miniproject2.model;
+
+/**
+ * Calificación de un Sudoku hecha por {@link CalificadorSudoku}. Es inmutable.
+ */
+public final class Calificacion {
+    private final Dificultad dificultad;
+    private final Tecnica tecnicaMaxima;
+    private final int puntaje;
+
+    /**
+     * Crea una calificación.
+     * @param dificultad Dificultad asignada
+     * @param tecnicaMaxima Técnica más elaborada que se usó, o null si no hizo falta ninguna
+     * @param puntaje Puntaje de dificultad, mayor cuanto más difícil
+     */
+    public Calificacion(Dificultad dificultad, Tecnica tecnicaMaxima, int puntaje) {
+        this.dificultad = dificultad;
+        this.tecnicaMaxima = tecnicaMaxima;
+        this.puntaje = puntaje;
+    }
+
+    /**
+     * Obtiene la dificultad asignada.
+     * @return La dificultad
+     */
+    public Dificultad getDificultad() {
+        return dificultad;
+    }
+
+    /**
+     * Obtiene la técnica más elaborada que se necesitó.
+     * @return La técnica, o null si el tablero no tenía celdas vacías
+     */
+    public Tecnica getTecnicaMaxima() {
+        return tecnicaMaxima;
+    }
+
+    /**
+     * Obtiene el puntaje: la suma del peso de cada paso lógico más un recargo por cada ramificación de la búsqueda.
+     * @return Puntaje de dificultad
+     */
+    public int getPuntaje() {
+        return puntaje;
+    }
+
+    @Override
+    public String toString() {
+        return dificultad.getNombre() + " (" + puntaje + ")";
+    }
+}
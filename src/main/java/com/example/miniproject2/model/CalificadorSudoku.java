@@ -0,0 +1,133 @@
+package com.example.miniproject2.model;
+
+/**
+ * Califica la dificultad de un Sudoku resolviéndolo como lo haría una persona.
+ * Aplica los pasos de {@link MotorDeduccion} hasta llenar el tablero o hasta que la lógica no alcance; en ese
+ * caso termina con backtracking y cuenta sus ramificaciones. La dificultad depende de la técnica más elaborada
+ * que se necesitó y de si hubo que probar números; el puntaje suma el peso de cada paso y un recargo por rama.
+ * Cada calificador reserva su memoria de trabajo al crearse y no es seguro para hilos: se usa uno por hilo.
+ */
+public final class CalificadorSudoku {
+    /** Puntaje que suma cada ramificación de la búsqueda. */
+    private static final int PESO_RAMA = 100;
+    /** Intentos de generación antes de conformarse con la dificultad más cercana a la pedida. */
+    private static final int INTENTOS_MAXIMOS = 200;
+
+    private final Geometria geometria;
+    private final TableroBits tablero;
+    private final TableroBits pistas;
+    private final TableroBits solucion;
+    private final MotorDeduccion motor;
+    private final Solucionador buscador;
+
+    /**
+     * Crea un calificador para la geometría indicada.
+     * @param geometria Geometría de los tableros a calificar
+     */
+    public CalificadorSudoku(Geometria geometria) {
+        this.geometria = geometria;
+        this.tablero = new TableroBits(geometria);
+        this.pistas = new TableroBits(geometria);
+        this.solucion = new TableroBits(geometria);
+        this.motor = new MotorDeduccion(tablero);
+        this.buscador = new SolucionadorBacktracking(geometria);
+    }
+
+    /**
+     * Califica un tablero a partir de sus pistas.
+     * @param pistas Tablero con las pistas; no se modifica
+     * @return La calificación del tablero
+     */
+    public Calificacion calificar(TableroBits pistas) {
+        tablero.copiarDe(pistas);
+        return calificarTablero();
+    }
+
+    /**
+     * Califica un Sudoku ya generado.
+     * @param sudoku Sudoku a calificar
+     * @return El mismo Sudoku con su calificación
+     */
+    public Sudoku calificar(Sudoku sudoku) {
+        sudoku.copiarPistasEn(tablero);
+        return sudoku.conCalificacion(calificarTablero());
+    }
+
+    /**
+     * Genera un Sudoku de la dificultad pedida por muestreo con rechazo: genera y califica hasta
+     * acertar. Si tras {@value #INTENTOS_MAXIMOS} intentos no lo consigue, entrega el más cercano que encontró.
+     * @param generador Generador a usar; debe ser de la misma geometría
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @param objetivo Dificultad buscada, o null para aceptar el primero
+     * @return Un Sudoku calificado
+     */
+    public Sudoku generar(GeneradorSudoku generador, int pistasObjetivo, Dificultad objetivo) {
+        Sudoku cercano = null;
+        int distanciaCercano = Integer.MAX_VALUE;
+        for (int intento = 0; intento < INTENTOS_MAXIMOS; intento++) {
+            long semilla = generador.generar(pistas, solucion, pistasObjetivo);
+            Calificacion calificacion = calificar(pistas);
+            int distancia = objetivo == null ? 0 : Math.abs(calificacion.getDificultad().ordinal() - objetivo.ordinal());
+            if (distancia < distanciaCercano) {
+                cercano = Sudoku.desde(pistas, solucion, calificacion, semilla);
+                distanciaCercano = distancia;
+                if (distancia == 0) break;
+            }
+        }
+        return cercano;
+    }
+
+    /**
+     * Regenera y califica el Sudoku de una semilla.
+     * @param generador Generador a usar; debe ser de la misma geometría
+     * @param semilla Semilla del tablero, por ejemplo la de {@link Sudoku#getSemilla()}
+     * @param pistasObjetivo Cantidad de pistas con la que se generó
+     * @return El Sudoku calificado, igual al que se generó con esa semilla
+     */
+    public Sudoku regenerar(GeneradorSudoku generador, long semilla, int pistasObjetivo) {
+        generador.generar(semilla, pistas, solucion, pistasObjetivo);
+        return Sudoku.desde(pistas, solucion, calificar(pistas), semilla);
+    }
+
+    /**
+     * Resuelve el tablero de trabajo con lógica y, si no alcanza, con búsqueda, acumulando el puntaje.
+     * La técnica más elaborada es la de mayor peso, no la que se busca más tarde: el motor prueba los apuntados
+     * después de los pares ocultos aunque sean más sencillos.
+     */
+    private Calificacion calificarTablero() {
+        motor.olvidarDescartes();
+        Tecnica maxima = null;
+        int puntaje = 0;
+        while (tablero.vacias() > 0) {
+            PasoLogico paso = motor.siguientePaso();
+            if (paso == null || paso.getTecnica() == Tecnica.CONTRADICCION) break;
+            if (maxima == null || paso.getTecnica().getPeso() > maxima.getPeso()) maxima = paso.getTecnica();
+            puntaje += paso.getTecnica().getPeso();
+            if (paso.esColocacion()) tablero.establecer(paso.getCelda(), paso.getNumero());
+        }
+
+        long ramas = 0;
+        if (tablero.vacias() > 0) {
+            long nodosAntes = buscador.getNodos();
+            buscador.contarSoluciones(tablero, 1);
+            ramas = Math.max(1, buscador.getNodos() - nodosAntes);
+            puntaje = (int) Math.min(Integer.MAX_VALUE, puntaje + ramas * PESO_RAMA);
+        }
+        return new Calificacion(dificultadDe(maxima, ramas), maxima, puntaje);
+    }
+
+    private static Dificultad dificultadDe(Tecnica maxima, long ramas) {
+        if (ramas > 0) return Dificultad.EXPERTO;
+        if (maxima == null || maxima == Tecnica.UNICO_DESNUDO) return Dificultad.FACIL;
+        if (maxima == Tecnica.UNICO_OCULTO) return Dificultad.MEDIO;
+        return Dificultad.DIFICIL;
+    }
+
+    /**
+     * Obtiene la geometría de los tableros que califica.
+     * @return La geometría con que se creó el calificador
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.miniproject2.model;
+
+import java.util.Arrays;
+
+/**
+ * Reduce un Sudoku a su forma canónica: el representante mínimo de todos los tableros equivalentes por
+ * cambio de nombre de los números, permutación de filas dentro de una banda, permutación de bandas, permutación
+ * de columnas dentro de una pila, permutación de pilas y, si los bloques son cuadrados, trasposición.
+ *
+ * <p>El orden usa primero la solución y después las pistas, ambas leídas fila por fila. Elegida la primera fila
+ * y el orden de las columnas, los números se renombran para que esa fila quede 1..N y, como en una solución no
+ * hay dos filas con el mismo número en la primera columna, el orden mínimo de las demás filas sale de ordenarlas
+ * por esa columna. Los órdenes de columnas no se prueban todos: para cada candidata a segunda fila se buscan,
+ * columna por columna y podando en cuanto un valor supera al mejor, solo los que dejan esa fila mínima, que
+ * suelen ser unos pocos. Cada uno se compara con el mejor tablero hasta la primera diferencia.</p>
+ * Cada canonizador reserva su memoria de trabajo al crearse y no es seguro para hilos: se usa uno por hilo.
+ */
+public final class CanonizadorSudoku {
+    private final Geometria geometria;
+    private final int tamano;
+    private final int altoBanda;
+    private final int anchoPila;
+    private final boolean trasponer;
+    private final TableroBits lectura;
+    private final byte[] solucion;
+    private final byte[] pistas;
+    private final byte[] solucionTraspuesta;
+    private final byte[] pistasTraspuestas;
+    private final byte[] mejorSolucion;
+    private final byte[] mejoresPistas;
+    private final byte[] candidatas;
+    private final int[] etiqueta;
+    private final int[] clave;
+    private final int[] orden;
+    private final int[] bandas;
+    private final int[] minimas;
+    private final int[] posicionEnPrimera;
+    private final int[] sigma;
+    private final int[] columnaEn;
+    private final int[] posicionDe;
+    private final int[] pilaEn;
+    private final int[] posicionPila;
+    private final int[] mejorSegunda;
+    private int[][] encontrados = new int[8][];
+    private int cantidadEncontrados;
+    private boolean hayMejor;
+
+    /**
+     * Crea un canonizador para la geometría indicada.
+     * @param geometria Geometría de los tableros a canonizar
+     */
+    public CanonizadorSudoku(Geometria geometria) {
+        this.geometria = geometria;
+        this.tamano = geometria.getTamano();
+        this.altoBanda = geometria.getAltoBloque();
+        this.anchoPila = geometria.getAnchoBloque();
+        this.trasponer = altoBanda == anchoPila;
+        int celdas = geometria.getCeldas();
+        this.lectura = new TableroBits(geometria);
+        this.solucion = new byte[celdas];
+        this.pistas = new byte[celdas];
+        this.solucionTraspuesta = new byte[celdas];
+        this.pistasTraspuestas = new byte[celdas];
+        this.mejorSolucion = new byte[celdas];
+        this.mejoresPistas = new byte[celdas];
+        this.candidatas = new byte[celdas];
+        this.etiqueta = new int[tamano + 1];
+        this.clave = new int[tamano];
+        this.orden = new int[tamano];
+        this.bandas = new int[tamano / altoBanda];
+        this.minimas = new int[tamano / altoBanda];
+        this.posicionEnPrimera = new int[tamano + 1];
+        this.sigma = new int[tamano];
+        this.columnaEn = new int[tamano];
+        this.posicionDe = new int[tamano];
+        this.pilaEn = new int[tamano / anchoPila];
+        this.posicionPila = new int[tamano / anchoPila];
+        this.mejorSegunda = new int[tamano];
+    }
+
+    /**
+     * Calcula una huella de 64 bits de la forma canónica, igual para todos los tableros equivalentes.
+     * @param sudoku Sudoku de la geometría del canonizador
+     * @return La huella de su forma canónica
+     */
+    public long huella(Sudoku sudoku) {
+        cargar(sudoku);
+        canonizar();
+        long huella = tamano;
+        for (byte numero : mejoresPistas) huella = huella * 0x9E3779B97F4A7C15L + numero + 1;
+        return AleatorioSplitMix.mezclar(huella);
+    }
+
+    /**
+     * Obtiene la forma canónica de un Sudoku.
+     * @param sudoku Sudoku de la geometría del canonizador
+     * @return Un Sudoku equivalente con sus pistas y su solución en forma canónica, con la misma calificación
+     */
+    public Sudoku canonizar(Sudoku sudoku) {
+        cargar(sudoku);
+        canonizar();
+        TableroBits pistasCanonicas = new TableroBits(geometria);
+        TableroBits solucionCanonica = new TableroBits(geometria);
+        for (int celda = 0; celda < mejorSolucion.length; celda++) {
+            pistasCanonicas.establecer(celda, mejoresPistas[celda]);
+            solucionCanonica.establecer(celda, mejorSolucion[celda]);
+        }
+        return Sudoku.desde(pistasCanonicas, solucionCanonica, sudoku.getCalificacion());
+    }
+
+    /**
+     * Obtiene la geometría de los tableros que canoniza.
+     * @return La geometría con que se creó el canonizador
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    private void cargar(Sudoku sudoku) {
+        if (sudoku.getGeometria() != geometria) {
+            throw new IllegalArgumentException("El tablero es de " + sudoku.getGeometria() + " y el canonizador de " + geometria);
+        }
+        sudoku.copiarSolucionEn(lectura);
+        for (int celda = 0; celda < solucion.length; celda++) solucion[celda] = (byte) lectura.obtener(celda);
+        sudoku.copiarPistasEn(lectura);
+        for (int celda = 0; celda < pistas.length; celda++) pistas[celda] = (byte) lectura.obtener(celda);
+    }
+
+    /**
+     * Deja en {@link #mejorSolucion} y {@link #mejoresPistas} el mínimo de todas las transformaciones.
+     */
+    private void canonizar() {
+        hayMejor = false;
+        recorrer(solucion, pistas);
+        if (trasponer) {
+            for (int fila = 0; fila < tamano; fila++) {
+                for (int columna = 0; columna < tamano; columna++) {
+                    solucionTraspuesta[columna * tamano + fila] = solucion[fila * tamano + columna];
+                    pistasTraspuestas[columna * tamano + fila] = pistas[fila * tamano + columna];
+                }
+            }
+            recorrer(solucionTraspuesta, pistasTraspuestas);
+        }
+    }
+
+    /**
+     * Prueba cada fila como primera con los órdenes de columnas que dejan mínima alguna candidata a segunda fila:
+     * otra fila de la misma banda o, si las bandas son de una fila, cualquier otra.
+     */
+    private void recorrer(byte[] grilla, byte[] conPistas) {
+        for (int primera = 0; primera < tamano; primera++) {
+            int base = primera * tamano;
+            for (int columna = 0; columna < tamano; columna++) posicionEnPrimera[grilla[base + columna]] = columna;
+            int desde = altoBanda == 1 ? 0 : primera / altoBanda * altoBanda;
+            int hasta = altoBanda == 1 ? tamano : desde + altoBanda;
+            for (int segunda = desde; segunda < hasta; segunda++) {
+                if (segunda == primera) continue;
+                for (int columna = 0; columna < tamano; columna++) {
+                    sigma[columna] = posicionEnPrimera[grilla[segunda * tamano + columna]];
+                }
+                buscarOrdenes();
+                for (int i = 0; i < cantidadEncontrados; i++) evaluar(grilla, conPistas, primera, encontrados[i]);
+            }
+            if (tamano == 1) evaluar(grilla, conPistas, primera, new int[]{0});
+        }
+    }
+
+    /**
+     * Compara el tablero que resulta de una primera fila y un orden de columnas con el mejor y lo guarda si no
+     * es mayor; ante la misma solución se queda con las pistas menores.
+     */
+    private void evaluar(byte[] grilla, byte[] conPistas, int primera, int[] columnas) {
+        int base = primera * tamano;
+        for (int posicion = 0; posicion < tamano; posicion++) {
+            etiqueta[grilla[base + columnas[posicion]]] = posicion + 1;
+        }
+        ordenarFilas(grilla, primera, columnas[0]);
+        int comparacion = hayMejor ? compararSolucion(grilla, columnas) : -1;
+        if (comparacion > 0) return;
+        if (comparacion < 0) {
+            escribir(grilla, columnas, mejorSolucion);
+            escribir(conPistas, columnas, mejoresPistas);
+            hayMejor = true;
+        } else {
+            escribir(conPistas, columnas, candidatas);
+            if (Arrays.compare(candidatas, mejoresPistas) < 0) {
+                System.arraycopy(candidatas, 0, mejoresPistas, 0, candidatas.length);
+            }
+        }
+    }
+
+    /**
+     * Busca todos los órdenes de columnas que minimizan la segunda fila, dada por {@link #sigma}: la columna de
+     * la primera fila donde está el número de cada columna de la segunda. Con la primera fila renombrada a 1..N,
+     * la segunda queda en la posición {@code j} con la posición que ocupa {@code sigma[columnaEn[j]]}.
+     */
+    private void buscarOrdenes() {
+        Arrays.fill(columnaEn, -1);
+        Arrays.fill(posicionDe, -1);
+        Arrays.fill(pilaEn, -1);
+        Arrays.fill(posicionPila, -1);
+        Arrays.fill(mejorSegunda, Integer.MAX_VALUE);
+        cantidadEncontrados = 0;
+        buscar(0);
+    }
+
+    /**
+     * Elige la columna de la posición {@code j}, si no quedó fijada antes, probando cada opción que respeta las pilas.
+     */
+    private void buscar(int j) {
+        if (j == tamano) {
+            if (cantidadEncontrados == encontrados.length) encontrados = Arrays.copyOf(encontrados, encontrados.length * 2);
+            if (encontrados[cantidadEncontrados] == null) encontrados[cantidadEncontrados] = new int[tamano];
+            System.arraycopy(columnaEn, 0, encontrados[cantidadEncontrados++], 0, tamano);
+            return;
+        }
+        if (columnaEn[j] >= 0) {
+            avanzar(j);
+            return;
+        }
+        int lugarPila = j / anchoPila;
+        if (pilaEn[lugarPila] >= 0) {
+            probarColumnas(j, pilaEn[lugarPila]);
+            return;
+        }
+        for (int pila = 0; pila < pilaEn.length; pila++) {
+            if (posicionPila[pila] >= 0) continue;
+            pilaEn[lugarPila] = pila;
+            posicionPila[pila] = lugarPila;
+            probarColumnas(j, pila);
+            pilaEn[lugarPila] = -1;
+            posicionPila[pila] = -1;
+        }
+    }
+
+    private void probarColumnas(int j, int pila) {
+        for (int columna = pila * anchoPila; columna < (pila + 1) * anchoPila; columna++) {
+            if (posicionDe[columna] >= 0) continue;
+            columnaEn[j] = columna;
+            posicionDe[columna] = j;
+            avanzar(j);
+            columnaEn[j] = -1;
+            posicionDe[columna] = -1;
+        }
+    }
+
+    /**
+     * Calcula el valor de la segunda fila en la posición {@code j}. Si su columna destino aún no tiene lugar,
+     * recibe el menor posible: el primero libre de su pila o, si la pila no está ubicada, el primero de la
+     * primera pila libre. Sigue solo si el valor no supera al mejor encontrado.
+     */
+    private void avanzar(int j) {
+        int destino = sigma[columnaEn[j]];
+        int valor = posicionDe[destino];
+        int lugarNuevo = -1;
+        boolean colocado = valor < 0;
+        if (colocado) {
+            int pila = destino / anchoPila;
+            int lugarPila = posicionPila[pila];
+            if (lugarPila < 0) {
+                lugarPila = 0;
+                while (pilaEn[lugarPila] >= 0) lugarPila++;
+                pilaEn[lugarPila] = pila;
+                posicionPila[pila] = lugarPila;
+                lugarNuevo = lugarPila;
+            }
+            valor = lugarPila * anchoPila;
+            while (columnaEn[valor] >= 0) valor++;
+            columnaEn[valor] = destino;
+            posicionDe[destino] = valor;
+        }
+        if (valor <= mejorSegunda[j]) {
+            if (valor < mejorSegunda[j]) {
+                mejorSegunda[j] = valor;
+                Arrays.fill(mejorSegunda, j + 1, tamano, Integer.MAX_VALUE);
+                cantidadEncontrados = 0;
+            }
+            buscar(j + 1);
+        }
+        if (colocado) {
+            columnaEn[valor] = -1;
+            posicionDe[destino] = -1;
+        }
+        if (lugarNuevo >= 0) {
+            posicionPila[pilaEn[lugarNuevo]] = -1;
+            pilaEn[lugarNuevo] = -1;
+        }
+    }
+
+    /**
+     * Ordena las filas: primero la elegida y el resto de su banda, después las demás bandas; dentro de cada banda
+     * y entre bandas, por el número renombrado de la primera columna.
+     */
+    private void ordenarFilas(byte[] grilla, int primera, int columna) {
+        for (int fila = 0; fila < tamano; fila++) clave[fila] = etiqueta[grilla[fila * tamano + columna]];
+        int bandaPrimera = primera / altoBanda;
+        int cantidadBandas = 0;
+        for (int banda = 0; banda < bandas.length; banda++) {
+            if (banda == bandaPrimera) continue;
+            int minima = Integer.MAX_VALUE;
+            for (int fila = banda * altoBanda; fila < (banda + 1) * altoBanda; fila++) minima = Math.min(minima, clave[fila]);
+            minimas[banda] = minima;
+            int i = cantidadBandas++;
+            while (i > 0 && minimas[bandas[i - 1]] > minima) {
+                bandas[i] = bandas[i - 1];
+                i--;
+            }
+            bandas[i] = banda;
+        }
+        orden[0] = primera;
+        int posicion = agregarBanda(bandaPrimera, primera, 1);
+        for (int i = 0; i < cantidadBandas; i++) posicion = agregarBanda(bandas[i], -1, posicion);
+    }
+
+    /**
+     * Agrega las filas de una banda ordenadas por clave, salvo la excluida.
+     * @return La siguiente posición libre de {@link #orden}
+     */
+    private int agregarBanda(int banda, int excluida, int posicion) {
+        int inicio = posicion;
+        for (int fila = banda * altoBanda; fila < (banda + 1) * altoBanda; fila++) {
+            if (fila == excluida) continue;
+            int i = posicion++;
+            while (i > inicio && clave[orden[i - 1]] > clave[fila]) {
+                orden[i] = orden[i - 1];
+                i--;
+            }
+            orden[i] = fila;
+        }
+        return posicion;
+    }
+
+    /**
+     * Compara la solución transformada con la mejor hasta la primera diferencia.
+     * La primera fila siempre queda 1..N, así que empieza por la segunda.
+     */
+    private int compararSolucion(byte[] grilla, int[] columnas) {
+        for (int posicionFila = 1; posicionFila < tamano; posicionFila++) {
+            int base = orden[posicionFila] * tamano;
+            int destino = posicionFila * tamano;
+            for (int posicion = 0; posicion < tamano; posicion++) {
+                int diferencia = etiqueta[grilla[base + columnas[posicion]]] - mejorSolucion[destino + posicion];
+                if (diferencia != 0) return diferencia;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Escribe un tablero transformado; las celdas vacías siguen en 0.
+     */
+    private void escribir(byte[] grilla, int[] columnas, byte[] destino) {
+        for (int posicionFila = 0; posicionFila < tamano; posicionFila++) {
+            int base = orden[posicionFila] * tamano;
+            int inicio = posicionFila * tamano;
+            for (int posicion = 0; posicion < tamano; posicion++) {
+                destino[inicio + posicion] = (byte) etiqueta[grilla[base + columnas[posicion]]];
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.miniproject2.model;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de celdas modificadas desde la última vez que se consultó, sin repeticiones.
+ * Guarda los índices en un arreglo preasignado y una marca por celda, así que marcar y
+ * drenar cuestan lo mismo que la cantidad de celdas cambiadas y no crean objetos.
+ */
+final class CeldasModificadas {
+    private final int[] pendientes;
+    private final boolean[] marcadas;
+    private int cantidad;
+
+    CeldasModificadas(int celdas) {
+        this.pendientes = new int[celdas];
+        this.marcadas = new boolean[celdas];
+    }
+
+    /**
+     * Marca una celda como modificada.
+     * @param celda Índice plano de la celda
+     * @return true si era la primera celda pendiente, es decir, si empieza un nuevo lote
+     */
+    boolean marcar(int celda) {
+        if (marcadas[celda]) return false;
+        marcadas[celda] = true;
+        pendientes[cantidad++] = celda;
+        return cantidad == 1;
+    }
+
+    /**
+     * Indica si no hay celdas pendientes.
+     * @return true si no se marcó ninguna celda desde el último {@link #drenar(IntConsumer)}
+     */
+    boolean vacio() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Entrega las celdas pendientes en el orden en que se marcaron y vacía el conjunto.
+     * @param consumidor Receptor de cada índice de celda
+     */
+    void drenar(IntConsumer consumidor) {
+        int total = cantidad;
+        cantidad = 0;
+        for (int i = 0; i < total; i++) {
+            marcadas[pendientes[i]] = false;
+            consumidor.accept(pendientes[i]);
+        }
+    }
+}
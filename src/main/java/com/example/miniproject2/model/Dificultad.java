@@ -0,0 +1,29 @@
+package com.example.miniproject2.model;
+
+/**
+ * Dificultad de un Sudoku según la técnica más elaborada que exige y si hace falta probar números.
+ */
+public enum Dificultad {
+    /** Se resuelve solo con únicos desnudos. */
+    FACIL("Fácil"),
+    /** Requiere únicos ocultos. */
+    MEDIO("Medio"),
+    /** Requiere pares, apuntados o reducción bloque-línea. */
+    DIFICIL("Difícil"),
+    /** La lógica no alcanza y hay que probar números. */
+    EXPERTO("Experto");
+
+    private final String nombre;
+
+    Dificultad(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Obtiene el nombre de la dificultad para mostrarlo al jugador.
+     * @return Nombre de la dificultad
+     */
+    public String getNombre() {
+        return nombre;
+    }
+}
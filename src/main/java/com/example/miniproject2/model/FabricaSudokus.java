@@ -0,0 +1,183 @@
+package com.example.miniproject2.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Fábrica de Sudokus en lote que reparte la generación entre todos los núcleos.
+ * El lote se divide recursivamente con fork-join; cada hoja tiene su propio
+ * {@link GeneradorSudoku} y su propio {@link CalificadorSudoku}, de modo que los hilos no comparten estado mutable
+ * y el rendimiento crece con los núcleos. El tablero i-ésimo del lote sale de las semillas que empiezan en
+ * {@link AleatorioSplitMix#semillaDe(long, long)} de la semilla del lote y de i, así que un lote sin descarte de
+ * repetidos es siempre el mismo para la misma semilla, sin importar cómo se reparta entre los hilos.
+ * Cada tablero se califica en el mismo hilo que lo genera y, si se pide una dificultad, se generan tableros
+ * hasta dar con ella; si no aparece en los intentos de {@link CalificadorSudoku#generar}, se entrega el de
+ * dificultad más cercana. {@link Geometria#pistasPara(Dificultad)} da pistas con que suele aparecer. Si se pasa un {@link IndiceCanonico}, también se descartan los equivalentes a uno ya entregado.
+ * Los tableros se entregan al destino a medida que se terminan, sin esperar al lote completo.
+ */
+public final class FabricaSudokus {
+    private static final int UMBRAL = 64;
+    /** Repetidos seguidos tras los que se concluye que no quedan tableros distintos. */
+    private static final int REPETIDOS_MAXIMOS = 1000;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea una fábrica que usa el pool común de fork-join.
+     */
+    public FabricaSudokus() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea una fábrica que usa el pool indicado.
+     * @param pool Pool donde se ejecutan las tareas de generación
+     */
+    public FabricaSudokus(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Genera un lote de Sudokus con solución única y espera a que termine.
+     * @param geometria Geometría de los tableros
+     * @param cantidad Número de tableros a generar
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @param destino Receptor de cada tablero; se invoca desde varios hilos a la vez
+     */
+    public void generar(Geometria geometria, int cantidad, int pistasObjetivo, Consumer<Sudoku> destino) {
+        generar(geometria, cantidad, pistasObjetivo, AleatorioSplitMix.semillaNueva(), destino);
+    }
+
+    /**
+     * Genera un lote reproducible de Sudokus y espera a que termine.
+     * @param geometria Geometría de los tableros
+     * @param cantidad Número de tableros a generar
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @param semilla Semilla del lote; de ella se derivan las semillas de cada tablero
+     * @param destino Receptor de cada tablero; se invoca desde varios hilos a la vez
+     */
+    public void generar(Geometria geometria, int cantidad, int pistasObjetivo, long semilla,
+                        Consumer<Sudoku> destino) {
+        generar(geometria, cantidad, pistasObjetivo, null, semilla, destino);
+    }
+
+    /**
+     * Genera un lote de Sudokus de la dificultad pedida y espera a que termine.
+     * @param geometria Geometría de los tableros
+     * @param cantidad Número de tableros a generar
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @param objetivo Dificultad buscada, o null para aceptar cualquiera
+     * @param semilla Semilla del lote; de ella se derivan las semillas de cada tablero
+     * @param destino Receptor de cada tablero, ya calificado; se invoca desde varios hilos a la vez
+     */
+    public void generar(Geometria geometria, int cantidad, int pistasObjetivo, Dificultad objetivo,
+                        long semilla, Consumer<Sudoku> destino) {
+        generar(geometria, cantidad, pistasObjetivo, objetivo, semilla, null, destino);
+    }
+
+    /**
+     * Genera un lote de Sudokus distintos de la dificultad pedida y espera a que termine.
+     * @param geometria Geometría de los tableros
+     * @param cantidad Número de tableros a generar
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @param objetivo Dificultad buscada, o null para aceptar cualquiera
+     * @param semilla Semilla del lote; de ella se derivan las semillas de cada tablero
+     * @param repetidos Índice con las formas canónicas ya entregadas, al que se agregan las nuevas;
+     *                  o null para no descartar repetidos
+     * @param destino Receptor de cada tablero, ya calificado; se invoca desde varios hilos a la vez
+     * @throws IllegalStateException Si se generan {@value #REPETIDOS_MAXIMOS} repetidos seguidos, señal de que
+     *                               la geometría no tiene tantos tableros distintos con esas pistas
+     */
+    public void generar(Geometria geometria, int cantidad, int pistasObjetivo, Dificultad objetivo,
+                        long semilla, IndiceCanonico repetidos, Consumer<Sudoku> destino) {
+        pool.invoke(new Tarea(geometria, 0, cantidad, pistasObjetivo, objetivo, semilla, repetidos, destino));
+    }
+
+    /**
+     * Califica en paralelo un lote de Sudokus ya generados, reemplazando cada uno por su versión calificada.
+     * @param lote Sudokus de una misma geometría; se modifica en el lugar
+     */
+    public void calificar(Sudoku[] lote) {
+        if (lote.length > 0) pool.invoke(new TareaCalificacion(lote, 0, lote.length));
+    }
+
+    /**
+     * Tarea que genera los tableros de un rango del lote, dividiéndolo mientras sea grande.
+     */
+    private static final class Tarea extends RecursiveAction {
+        private final Geometria geometria;
+        private final int inicio;
+        private final int fin;
+        private final int pistasObjetivo;
+        private final Dificultad objetivo;
+        private final long semilla;
+        private final IndiceCanonico repetidos;
+        private final Consumer<Sudoku> destino;
+
+        Tarea(Geometria geometria, int inicio, int fin, int pistasObjetivo, Dificultad objetivo,
+              long semilla, IndiceCanonico repetidos, Consumer<Sudoku> destino) {
+            this.geometria = geometria;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.pistasObjetivo = pistasObjetivo;
+            this.objetivo = objetivo;
+            this.semilla = semilla;
+            this.repetidos = repetidos;
+            this.destino = destino;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - inicio > UMBRAL) {
+                int medio = (inicio + fin) >>> 1;
+                invokeAll(new Tarea(geometria, inicio, medio, pistasObjetivo, objetivo, semilla, repetidos, destino),
+                        new Tarea(geometria, medio, fin, pistasObjetivo, objetivo, semilla, repetidos, destino));
+                return;
+            }
+            GeneradorSudoku generador = new GeneradorSudoku(geometria, semilla);
+            CalificadorSudoku calificador = new CalificadorSudoku(geometria);
+            CanonizadorSudoku canonizador = repetidos == null ? null : new CanonizadorSudoku(geometria);
+            for (int i = inicio; i < fin; i++) {
+                generador.reiniciar(AleatorioSplitMix.semillaDe(semilla, i));
+                Sudoku sudoku = calificador.generar(generador, pistasObjetivo, objetivo);
+                for (int seguidos = 1; canonizador != null && !repetidos.agregar(canonizador.huella(sudoku)); seguidos++) {
+                    if (seguidos == REPETIDOS_MAXIMOS) {
+                        throw new IllegalStateException("No se encontraron más tableros distintos de " + geometria
+                                + " después de " + repetidos.getCantidad());
+                    }
+                    sudoku = calificador.generar(generador, pistasObjetivo, objetivo);
+                }
+                destino.accept(sudoku);
+            }
+        }
+    }
+
+    /**
+     * Tarea que califica un rango de un lote, dividiéndolo mientras sea grande.
+     */
+    private static final class TareaCalificacion extends RecursiveAction {
+        private final Sudoku[] lote;
+        private final int inicio;
+        private final int fin;
+
+        TareaCalificacion(Sudoku[] lote, int inicio, int fin) {
+            this.lote = lote;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - inicio > UMBRAL) {
+                int medio = (inicio + fin) >>> 1;
+                invokeAll(new TareaCalificacion(lote, inicio, medio), new TareaCalificacion(lote, medio, fin));
+                return;
+            }
+            CalificadorSudoku calificador = new CalificadorSudoku(lote[inicio].getGeometria());
+            for (int i = inicio; i < fin; i++) {
+                lote[i] = calificador.calificar(lote[i]);
+            }
+        }
+    }
+}
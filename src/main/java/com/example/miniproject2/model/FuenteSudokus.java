@@ -0,0 +1,28 @@
+package com.example.miniproject2.model;
+
+/**
+ * Origen de tableros listos para empezar un juego.
+ */
+public interface FuenteSudokus {
+
+    /**
+     * Obtiene la geometría de los tableros que entrega esta fuente.
+     * @return La geometría de los tableros
+     */
+    Geometria getGeometria();
+
+    /**
+     * Entrega un tablero para un nuevo juego.
+     * @return Un Sudoku con sus pistas y su solución
+     */
+    Sudoku tomar();
+
+    /**
+     * Entrega un tablero solo si está listo, sin generarlo ni esperarlo. Quien recibe null puede llamar a
+     * {@link #tomar()} desde otro hilo; por omisión nunca hay uno listo.
+     * @return Un Sudoku con sus pistas y su solución, o null si habría que esperar
+     */
+    default Sudoku tomarSinEsperar() {
+        return null;
+    }
+}
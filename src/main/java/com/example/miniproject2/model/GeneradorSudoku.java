@@ -0,0 +1,130 @@
+package com.example.miniproject2.model;
+
+import com.example.miniproject2.metricas.EventoGeneracion;
+import com.example.miniproject2.metricas.Metricas;
+
+/**
+ * Generador de tableros de Sudoku con solución única.
+ * Construye una solución completa aleatoria y luego retira pistas una a una en orden aleatorio,
+ * devolviendo cada pista cuyo retiro deje el tablero con más de una solución. El conteo de
+ * soluciones se detiene al encontrar la segunda, sin copiar el tablero, y puede hacerse con
+ * cualquiera de los {@link MotorSolucion}.
+ * Cada tablero sale de una semilla de 64 bits: la misma semilla, geometría y cantidad de pistas dan siempre el mismo
+ * tablero, de modo que la semilla sirve de identificador y basta para regenerarlo. Las semillas de los tableros
+ * salen a su vez de una secuencia {@link AleatorioSplitMix} propia del generador.
+ * Cada generación se registra en {@link Metricas} con su duración y sus nodos de búsqueda, y emite un
+ * {@link EventoGeneracion} cuando una grabación de Flight Recorder lo pide.
+ */
+public final class GeneradorSudoku {
+    private final Geometria geometria;
+    private final AleatorioSplitMix semillas;
+    private final AleatorioSplitMix aleatorio;
+    private final SolucionadorBacktracking solucionadorAleatorio;
+    private final Solucionador contador;
+    private final int[] orden;
+
+    /**
+     * Crea un generador con una secuencia de semillas nueva.
+     * @param geometria Geometría de los tableros a generar
+     */
+    public GeneradorSudoku(Geometria geometria) {
+        this(geometria, AleatorioSplitMix.semillaNueva());
+    }
+
+    /**
+     * Crea un generador cuya secuencia de semillas parte de la indicada.
+     * @param geometria Geometría de los tableros a generar
+     * @param semilla Semilla de la secuencia de semillas de los tableros
+     */
+    public GeneradorSudoku(Geometria geometria, long semilla) {
+        this(geometria, semilla, MotorSolucion.BACKTRACKING);
+    }
+
+    /**
+     * Crea un generador que cuenta soluciones con el motor indicado; el motor no cambia el tablero de cada semilla.
+     * @param geometria Geometría de los tableros a generar
+     * @param semilla Semilla de la secuencia de semillas de los tableros
+     * @param motor Motor usado para verificar la unicidad al retirar pistas
+     */
+    public GeneradorSudoku(Geometria geometria, long semilla, MotorSolucion motor) {
+        this.geometria = geometria;
+        this.semillas = new AleatorioSplitMix(semilla);
+        this.aleatorio = new AleatorioSplitMix(semilla);
+        this.solucionadorAleatorio = new SolucionadorBacktracking(geometria, aleatorio);
+        this.contador = motor.crear(geometria, null);
+        this.orden = new int[geometria.getCeldas()];
+    }
+
+    /**
+     * Vuelve a empezar la secuencia de semillas de los tableros.
+     * @param semilla Semilla de la secuencia
+     */
+    public void reiniciar(long semilla) {
+        semillas.reiniciar(semilla);
+    }
+
+    /**
+     * Genera un tablero con solución única a partir de la siguiente semilla de la secuencia.
+     * @param pistas Tablero donde se dejan las pistas del juego; se sobrescribe
+     * @param solucion Tablero donde se deja la solución completa; se sobrescribe
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     * @return La semilla del tablero generado
+     */
+    public long generar(TableroBits pistas, TableroBits solucion, int pistasObjetivo) {
+        long semilla = semillas.siguiente();
+        generar(semilla, pistas, solucion, pistasObjetivo);
+        return semilla;
+    }
+
+    /**
+     * Genera el tablero con solución única que corresponde a una semilla, sin crear objetos.
+     * Se retiran pistas hasta llegar a {@code pistasObjetivo} o hasta que ninguna pista más
+     * pueda retirarse sin perder la unicidad.
+     * @param semilla Semilla del tablero
+     * @param pistas Tablero donde se dejan las pistas del juego; se sobrescribe
+     * @param solucion Tablero donde se deja la solución completa; se sobrescribe
+     * @param pistasObjetivo Cantidad de pistas con la que se detiene el retiro
+     */
+    public void generar(long semilla, TableroBits pistas, TableroBits solucion, int pistasObjetivo) {
+        EventoGeneracion evento = new EventoGeneracion();
+        evento.begin();
+        long inicio = System.nanoTime();
+        long nodosAntes = solucionadorAleatorio.getNodos() + contador.getNodos();
+        aleatorio.reiniciar(semilla);
+        solucion.limpiar();
+        solucionadorAleatorio.resolver(solucion);
+        pistas.copiarDe(solucion);
+
+        int celdas = geometria.getCeldas();
+        for (int i = 0; i < celdas; i++) orden[i] = i;
+        for (int i = celdas - 1; i > 0; i--) {
+            int j = aleatorio.siguienteEntero(i + 1);
+            int temporal = orden[i];
+            orden[i] = orden[j];
+            orden[j] = temporal;
+        }
+
+        int restantes = celdas;
+        for (int i = 0; i < celdas && restantes > pistasObjetivo; i++) {
+            int celda = orden[i];
+            int valor = pistas.obtener(celda);
+            pistas.establecer(celda, 0);
+            if (contador.contarSoluciones(pistas, 2) == 1) {
+                restantes--;
+            } else {
+                pistas.establecer(celda, valor);
+            }
+        }
+
+        long nodos = solucionadorAleatorio.getNodos() + contador.getNodos() - nodosAntes;
+        Metricas.generacion(System.nanoTime() - inicio, nodos);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.tamano = geometria.getTamano();
+            evento.semilla = semilla;
+            evento.pistas = restantes;
+            evento.nodos = nodos;
+            evento.commit();
+        }
+    }
+}
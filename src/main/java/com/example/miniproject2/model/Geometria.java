@@ -0,0 +1,217 @@
+package com.example.miniproject2.model;
+
+/**
+ * Geometría de un tablero de Sudoku de N×N dividido en bloques de alto × ancho.
+ * Precalcula, para cada celda, su fila, columna y bloque, y para cada unidad (fila, columna o bloque)
+ * las celdas que la forman. Las instancias son inmutables y se comparten por tamaño.
+ */
+public final class Geometria {
+    /** Tamaño máximo soportado; los candidatos de una celda caben en un int. */
+    public static final int TAMANO_MAXIMO = 25;
+    private static final String SIMBOLOS = "123456789ABCDEFGHIJKLMNOP";
+    private static final Geometria[] CACHE = new Geometria[TAMANO_MAXIMO + 1];
+
+    private final int tamano;
+    private final int altoBloque;
+    private final int anchoBloque;
+    private final int celdas;
+    private final int mascaraCompleta;
+    private final int[] fila;
+    private final int[] columna;
+    private final int[] bloque;
+    private final int[][] unidades;
+
+    private Geometria(int tamano, int altoBloque, int anchoBloque) {
+        this.tamano = tamano;
+        this.altoBloque = altoBloque;
+        this.anchoBloque = anchoBloque;
+        this.celdas = tamano * tamano;
+        this.mascaraCompleta = (1 << tamano) - 1;
+        this.fila = new int[celdas];
+        this.columna = new int[celdas];
+        this.bloque = new int[celdas];
+        this.unidades = new int[3 * tamano][tamano];
+
+        int bloquesPorFila = tamano / anchoBloque;
+        int[] ocupacion = new int[3 * tamano];
+        for (int celda = 0; celda < celdas; celda++) {
+            int f = celda / tamano;
+            int c = celda % tamano;
+            int b = (f / altoBloque) * bloquesPorFila + c / anchoBloque;
+            fila[celda] = f;
+            columna[celda] = c;
+            bloque[celda] = b;
+            unidades[f][ocupacion[f]++] = celda;
+            unidades[tamano + c][ocupacion[tamano + c]++] = celda;
+            unidades[2 * tamano + b][ocupacion[2 * tamano + b]++] = celda;
+        }
+    }
+
+    /**
+     * Obtiene la geometría de un tablero de N×N con los bloques más cuadrados posibles
+     * (por ejemplo 2x2 para 4, 2x3 para 6, 3x3 para 9, 3x4 para 12, 4x4 para 16 y 5x5 para 25).
+     * @param tamano Lado del tablero, entre 1 y {@link #TAMANO_MAXIMO}
+     * @return La geometría correspondiente
+     */
+    public static Geometria de(int tamano) {
+        if (tamano < 1 || tamano > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("Tamaño de tablero no soportado: " + tamano);
+        }
+        synchronized (CACHE) {
+            if (CACHE[tamano] == null) {
+                int alto = (int) Math.sqrt(tamano);
+                while (tamano % alto != 0) alto--;
+                CACHE[tamano] = new Geometria(tamano, alto, tamano / alto);
+            }
+            return CACHE[tamano];
+        }
+    }
+
+    /**
+     * Obtiene el lado del tablero.
+     * @return Número de filas (y de columnas)
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el alto de cada bloque.
+     * @return Filas por bloque
+     */
+    public int getAltoBloque() {
+        return altoBloque;
+    }
+
+    /**
+     * Obtiene el ancho de cada bloque.
+     * @return Columnas por bloque
+     */
+    public int getAnchoBloque() {
+        return anchoBloque;
+    }
+
+    /**
+     * Obtiene el número total de celdas.
+     * @return tamano * tamano
+     */
+    public int getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * Obtiene la máscara con todos los números del tablero.
+     * @return Máscara con los bits 0 a tamano - 1 encendidos
+     */
+    public int getMascaraCompleta() {
+        return mascaraCompleta;
+    }
+
+    /**
+     * Calcula el índice plano de una celda.
+     * @param f Fila de la celda
+     * @param c Columna de la celda
+     * @return Índice de la celda en el arreglo plano
+     */
+    public int indice(int f, int c) {
+        return f * tamano + c;
+    }
+
+    /**
+     * Obtiene la fila de una celda.
+     * @param celda Índice plano de la celda
+     * @return Fila de la celda
+     */
+    public int fila(int celda) {
+        return fila[celda];
+    }
+
+    /**
+     * Obtiene la columna de una celda.
+     * @param celda Índice plano de la celda
+     * @return Columna de la celda
+     */
+    public int columna(int celda) {
+        return columna[celda];
+    }
+
+    /**
+     * Obtiene el bloque de una celda, numerados por filas de bloques.
+     * @param celda Índice plano de la celda
+     * @return Bloque de la celda
+     */
+    public int bloque(int celda) {
+        return bloque[celda];
+    }
+
+    /**
+     * Obtiene la cantidad de unidades (filas, columnas y bloques).
+     * @return 3 * tamano
+     */
+    public int getUnidades() {
+        return unidades.length;
+    }
+
+    /**
+     * Obtiene las celdas de una unidad. Las unidades 0 a N-1 son filas, N a 2N-1 columnas
+     * y 2N a 3N-1 bloques. El arreglo devuelto es compartido y no debe modificarse.
+     * @param unidad Índice de la unidad
+     * @return Índices de las celdas de la unidad
+     */
+    public int[] celdasDeUnidad(int unidad) {
+        return unidades[unidad];
+    }
+
+    /**
+     * Sugiere cuántas pistas dejar al generar un tablero de este tamaño.
+     * La proporción crece con el tamaño para que la generación siga siendo rápida.
+     * @return Cantidad de pistas sugerida
+     */
+    public int pistasPorDefecto() {
+        return (int) Math.round(celdas * (0.33 + 0.01 * Math.max(0, tamano - 6)));
+    }
+
+    /**
+     * Sugiere cuántas pistas dejar para que el generador llegue a una dificultad. Con las de
+     * {@link #pistasPorDefecto()} un 16x16 casi nunca sale fácil, así que las dificultades bajas dejan más pistas.
+     * @param dificultad Dificultad buscada, o null para cualquiera
+     * @return Cantidad de pistas sugerida
+     */
+    public int pistasPara(Dificultad dificultad) {
+        if (dificultad == Dificultad.FACIL) return pistasPorDefecto() + (int) Math.round(celdas * 0.15);
+        if (dificultad == Dificultad.MEDIO) return pistasPorDefecto() + (int) Math.round(celdas * 0.05);
+        return pistasPorDefecto();
+    }
+
+    /**
+     * Obtiene el símbolo con que se muestra un número (1-9 y luego letras a partir de la A).
+     * @param numero Número de 1 a tamano
+     * @return Símbolo del número
+     */
+    public char simbolo(int numero) {
+        return SIMBOLOS.charAt(numero - 1);
+    }
+
+    /**
+     * Convierte un símbolo en su número, sin distinguir mayúsculas de minúsculas.
+     * @param simbolo Símbolo a convertir
+     * @return El número del símbolo, o 0 si no corresponde a ningún número de este tablero
+     */
+    public int numero(char simbolo) {
+        int posicion = SIMBOLOS.indexOf(Character.toUpperCase(simbolo));
+        return posicion >= 0 && posicion < tamano ? posicion + 1 : 0;
+    }
+
+    /**
+     * Obtiene los símbolos válidos de este tablero, en orden.
+     * @return Cadena con un símbolo por número
+     */
+    public String simbolos() {
+        return SIMBOLOS.substring(0, tamano);
+    }
+
+    @Override
+    public String toString() {
+        return tamano + "x" + tamano;
+    }
+}
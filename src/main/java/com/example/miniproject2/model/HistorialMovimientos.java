@@ -0,0 +1,144 @@
+package com.example.miniproject2.model;
+
+/**
+ * Historial acotado de movimientos para deshacer y rehacer.
+ * Cada movimiento se empaqueta en un int (celda, número anterior y número nuevo) dentro de un arreglo circular
+ * preasignado, así que registrar, deshacer y rehacer cuestan O(1) y no crean objetos. Las posiciones son absolutas
+ * desde el inicio del juego; cuando el arreglo se llena se olvidan los movimientos más viejos, de modo que la memoria
+ * no crece en sesiones largas.
+ */
+final class HistorialMovimientos {
+    /** Bits de cada número dentro de un movimiento empaquetado; alcanzan para tableros de hasta 31x31. */
+    private static final int BITS_NUMERO = 5;
+    private static final int MASCARA_NUMERO = (1 << BITS_NUMERO) - 1;
+
+    private final int[] movimientos;
+    private final int mascara;
+    private int primera;
+    private int actual;
+    private int ultima;
+
+    /**
+     * Crea un historial vacío.
+     * @param capacidad Cantidad de movimientos que se recuerdan; se redondea a una potencia de dos
+     */
+    HistorialMovimientos(int capacidad) {
+        int tamano = Integer.highestOneBit(Math.max(1, capacidad - 1)) << 1;
+        this.movimientos = new int[tamano];
+        this.mascara = tamano - 1;
+    }
+
+    /**
+     * Empaqueta un movimiento en un int.
+     * @param celda Índice plano de la celda
+     * @param anterior Número que tenía la celda
+     * @param nuevo Número que queda en la celda
+     * @return El movimiento empaquetado
+     */
+    static int empaquetar(int celda, int anterior, int nuevo) {
+        return (celda << (2 * BITS_NUMERO)) | (anterior << BITS_NUMERO) | nuevo;
+    }
+
+    /**
+     * Obtiene la celda de un movimiento empaquetado.
+     * @param movimiento Movimiento empaquetado
+     * @return Índice plano de la celda
+     */
+    static int celda(int movimiento) {
+        return movimiento >>> (2 * BITS_NUMERO);
+    }
+
+    /**
+     * Obtiene el número que tenía la celda antes del movimiento.
+     * @param movimiento Movimiento empaquetado
+     * @return Número anterior, o 0 si estaba vacía
+     */
+    static int anterior(int movimiento) {
+        return (movimiento >>> BITS_NUMERO) & MASCARA_NUMERO;
+    }
+
+    /**
+     * Obtiene el número que deja el movimiento en la celda.
+     * @param movimiento Movimiento empaquetado
+     * @return Número nuevo, o 0 si la celda queda vacía
+     */
+    static int nuevo(int movimiento) {
+        return movimiento & MASCARA_NUMERO;
+    }
+
+    /**
+     * Registra un movimiento nuevo después de la posición actual, descartando los que podían rehacerse.
+     * @param movimiento Movimiento empaquetado con {@link #empaquetar(int, int, int)}
+     */
+    void registrar(int movimiento) {
+        movimientos[actual & mascara] = movimiento;
+        actual++;
+        ultima = actual;
+        if (actual - primera > movimientos.length) primera = actual - movimientos.length;
+    }
+
+    /**
+     * Indica si hay un movimiento anterior que todavía se recuerda.
+     * @return true si se puede deshacer
+     */
+    boolean puedeDeshacer() {
+        return actual > primera;
+    }
+
+    /**
+     * Indica si hay movimientos deshechos que se pueden volver a aplicar.
+     * @return true si se puede rehacer
+     */
+    boolean puedeRehacer() {
+        return actual < ultima;
+    }
+
+    /**
+     * Retrocede una posición.
+     * @return El movimiento que se deshace; la celda debe volver a su número anterior
+     */
+    int deshacer() {
+        return movimientos[--actual & mascara];
+    }
+
+    /**
+     * Avanza una posición.
+     * @return El movimiento que se rehace; la celda debe tomar su número nuevo
+     */
+    int rehacer() {
+        return movimientos[actual++ & mascara];
+    }
+
+    /**
+     * Olvida todos los movimientos y vuelve a la posición 0.
+     */
+    void limpiar() {
+        primera = 0;
+        actual = 0;
+        ultima = 0;
+    }
+
+    /**
+     * Obtiene la posición más vieja a la que todavía se puede volver.
+     * @return Posición absoluta
+     */
+    int getPrimera() {
+        return primera;
+    }
+
+    /**
+     * Obtiene la posición actual, es decir, la cantidad de movimientos aplicados desde el inicio del juego.
+     * @return Posición absoluta
+     */
+    int getActual() {
+        return actual;
+    }
+
+    /**
+     * Obtiene la posición más nueva a la que se puede avanzar rehaciendo.
+     * @return Posición absoluta
+     */
+    int getUltima() {
+        return ultima;
+    }
+}
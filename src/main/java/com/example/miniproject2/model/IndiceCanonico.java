@@ -0,0 +1,95 @@
+package com.example.miniproject2.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto de huellas de formas canónicas ({@link CanonizadorSudoku#huella(Sudoku)}) para descartar tableros
+ * repetidos. Es una tabla hash de direccionamiento abierto sobre un {@link AtomicLongArray}: cada huella ocupa
+ * 8 bytes sin objetos ni claves en caja, y varios hilos agregan a la vez con compare-and-set, sin bloqueos.
+ * La tabla se dimensiona al crearla con al menos el doble de lugares que la capacidad, así que nunca crece.
+ */
+public final class IndiceCanonico {
+    /** Huella reservada para los lugares vacíos; una huella real con este valor se guarda como {@link #SUSTITUTA}. */
+    private static final long VACIO = 0L;
+    private static final long SUSTITUTA = 1L;
+
+    private final AtomicLongArray tabla;
+    private final int mascara;
+    private final int capacidad;
+    private final AtomicInteger cantidad = new AtomicInteger();
+
+    /**
+     * Crea un índice vacío.
+     * @param capacidad Cantidad máxima de huellas que se van a agregar
+     */
+    public IndiceCanonico(int capacidad) {
+        if (capacidad < 1 || capacidad > 1 << 29) throw new IllegalArgumentException("Capacidad no válida: " + capacidad);
+        this.capacidad = capacidad;
+        int lugares = Integer.highestOneBit(capacidad * 2 - 1) << 1;
+        this.tabla = new AtomicLongArray(lugares);
+        this.mascara = lugares - 1;
+    }
+
+    /**
+     * Agrega una huella si no estaba.
+     * @param huella Huella de la forma canónica de un tablero
+     * @return true si era nueva, false si el tablero ya estaba
+     * @throws IllegalStateException Si el índice ya tiene tantas huellas como su capacidad
+     */
+    public boolean agregar(long huella) {
+        long clave = huella == VACIO ? SUSTITUTA : huella;
+        for (int lugar = inicio(clave); ; lugar = (lugar + 1) & mascara) {
+            long actual = tabla.get(lugar);
+            if (actual == clave) return false;
+            if (actual != VACIO) continue;
+            if (cantidad.get() >= capacidad) {
+                // Otro hilo pudo ocupar este lugar con la misma huella después de leerlo vacío.
+                if (contiene(huella)) return false;
+                throw new IllegalStateException("El índice está lleno: " + capacidad);
+            }
+            if (tabla.compareAndSet(lugar, VACIO, clave)) {
+                cantidad.incrementAndGet();
+                return true;
+            }
+            if (tabla.get(lugar) == clave) return false;
+        }
+    }
+
+    /**
+     * Indica si una huella ya está en el índice.
+     * @param huella Huella de la forma canónica de un tablero
+     * @return true si se agregó antes
+     */
+    public boolean contiene(long huella) {
+        long clave = huella == VACIO ? SUSTITUTA : huella;
+        for (int lugar = inicio(clave); ; lugar = (lugar + 1) & mascara) {
+            long actual = tabla.get(lugar);
+            if (actual == clave) return true;
+            if (actual == VACIO) return false;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de huellas guardadas.
+     * @return Huellas distintas agregadas
+     */
+    public int getCantidad() {
+        return cantidad.get();
+    }
+
+    /**
+     * Obtiene la cantidad máxima de huellas que admite.
+     * @return La capacidad con que se creó
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Las huellas ya están mezcladas, así que basta con sus bits altos.
+     */
+    private int inicio(long clave) {
+        return (int) (clave >>> 32) & mascara;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.miniproject2.model;
+
+import java.util.Arrays;
+
+/**
+ * Motor de deducción lógica que encuentra el siguiente paso que daría una persona:
+ * únicos desnudos y ocultos, pares desnudos y ocultos, apuntados y reducción bloque-línea.
+ * Los candidatos de cada celda salen de las máscaras por unidad que {@link TableroBits} ya mantiene al
+ * colocar cada número, menos una capa de descartes hechos por las técnicas. Colocar un número no cuesta nada
+ * adicional; al borrar o cambiar un número los descartes dejan de ser seguros y se olvidan, sin recalcular nada.
+ * Cada búsqueda recorre las unidades una vez por técnica, así que la ayuda es inmediata aun en 16x16 y 25x25.
+ */
+public final class MotorDeduccion {
+    private final Geometria geometria;
+    private final TableroBits tablero;
+    private final int[] descartados;
+    private final int[] posiciones;
+    private final int[] afectadas;
+    private final int[] descartes;
+    private boolean hayDescartes;
+
+    /**
+     * Crea el motor sobre un tablero; el motor lee el tablero, nunca lo modifica.
+     * @param tablero Tablero de juego a analizar
+     */
+    public MotorDeduccion(TableroBits tablero) {
+        this.tablero = tablero;
+        this.geometria = tablero.getGeometria();
+        this.descartados = new int[geometria.getCeldas()];
+        this.posiciones = new int[geometria.getTamano()];
+        this.afectadas = new int[geometria.getCeldas()];
+        this.descartes = new int[geometria.getCeldas()];
+    }
+
+    /**
+     * Informa un cambio en una celda del tablero. Colocar un número en una celda vacía no requiere trabajo;
+     * borrar o reemplazar un número olvida los descartes hechos hasta ahora.
+     * @param anterior Número que tenía la celda antes del cambio
+     */
+    public void celdaCambiada(int anterior) {
+        if (anterior != 0) olvidarDescartes();
+    }
+
+    /**
+     * Olvida los descartes hechos por las técnicas, por ejemplo al cargar un tablero nuevo.
+     */
+    public void olvidarDescartes() {
+        if (!hayDescartes) return;
+        Arrays.fill(descartados, 0);
+        hayDescartes = false;
+    }
+
+    /**
+     * Calcula los candidatos vigentes de una celda.
+     * @param celda Índice plano de la celda
+     * @return Máscara de candidatos, o 0 si la celda tiene número
+     */
+    public int candidatos(int celda) {
+        return tablero.obtener(celda) != 0 ? 0 : tablero.candidatos(celda) & ~descartados[celda];
+    }
+
+    /**
+     * Busca el siguiente paso lógico, probando las técnicas de la más sencilla a la más elaborada.
+     * Si el paso es un descarte, queda aplicado a los candidatos del motor.
+     * @return El paso encontrado, o null si ninguna técnica avanza (hace falta probar)
+     */
+    public PasoLogico siguientePaso() {
+        PasoLogico paso = buscarUnicoDesnudo();
+        if (paso == null) paso = buscarUnicoOculto();
+        if (paso == null) paso = buscarParDesnudo();
+        if (paso == null) paso = buscarParOculto();
+        if (paso == null) paso = buscarApuntado();
+        if (paso == null) paso = buscarReclamo();
+        if (paso != null) {
+            for (int i = 0; i < paso.getCantidadDescartes(); i++) {
+                descartados[paso.getCeldaDescarte(i)] |= paso.getDescarte(i);
+                hayDescartes = true;
+            }
+        }
+        return paso;
+    }
+
+    /**
+     * Aplica descartes hasta encontrar un número que pueda colocarse.
+     * Cada descarte quita al menos un candidato, así que la búsqueda termina.
+     * @return La colocación o contradicción encontrada, o null si la lógica no alcanza
+     */
+    public PasoLogico siguienteColocacion() {
+        PasoLogico paso = siguientePaso();
+        while (paso != null && !paso.esColocacion() && paso.getTecnica() != Tecnica.CONTRADICCION) {
+            paso = siguientePaso();
+        }
+        return paso;
+    }
+
+    private PasoLogico buscarUnicoDesnudo() {
+        for (int celda = 0; celda < descartados.length; celda++) {
+            if (tablero.obtener(celda) != 0) continue;
+            int candidatos = candidatos(celda);
+            if (candidatos == 0) {
+                return new PasoLogico(Tecnica.CONTRADICCION, celda, 0, -1, -1, new int[0], new int[0]);
+            }
+            if ((candidatos & (candidatos - 1)) == 0) {
+                return PasoLogico.colocacion(Tecnica.UNICO_DESNUDO, celda, Integer.numberOfTrailingZeros(candidatos) + 1, -1);
+            }
+        }
+        return null;
+    }
+
+    private PasoLogico buscarUnicoOculto() {
+        for (int unidad = 0; unidad < geometria.getUnidades(); unidad++) {
+            int[] celdas = geometria.celdasDeUnidad(unidad);
+            int unaVez = 0;
+            int variasVeces = 0;
+            for (int celda : celdas) {
+                int candidatos = candidatos(celda);
+                variasVeces |= unaVez & candidatos;
+                unaVez |= candidatos;
+            }
+            int unicos = unaVez & ~variasVeces;
+            if (unicos == 0) continue;
+            int bit = Integer.lowestOneBit(unicos);
+            for (int celda : celdas) {
+                if ((candidatos(celda) & bit) != 0) {
+                    return PasoLogico.colocacion(Tecnica.UNICO_OCULTO, celda, Integer.numberOfTrailingZeros(bit) + 1, unidad);
+                }
+            }
+        }
+        return null;
+    }
+
+    private PasoLogico buscarParDesnudo() {
+        for (int unidad = 0; unidad < geometria.getUnidades(); unidad++) {
+            int[] celdas = geometria.celdasDeUnidad(unidad);
+            for (int i = 0; i < celdas.length; i++) {
+                int par = candidatos(celdas[i]);
+                if (Integer.bitCount(par) != 2) continue;
+                for (int j = i + 1; j < celdas.length; j++) {
+                    if (candidatos(celdas[j]) != par) continue;
+                    int cantidad = 0;
+                    for (int celda : celdas) {
+                        if (celda == celdas[i] || celda == celdas[j]) continue;
+                        cantidad = anotarDescarte(cantidad, celda, candidatos(celda) & par);
+                    }
+                    if (cantidad > 0) return descarte(Tecnica.PAR_DESNUDO, par, unidad, -1, cantidad);
+                }
+            }
+        }
+        return null;
+    }
+
+    private PasoLogico buscarParOculto() {
+        int tamano = geometria.getTamano();
+        for (int unidad = 0; unidad < geometria.getUnidades(); unidad++) {
+            int[] celdas = geometria.celdasDeUnidad(unidad);
+            calcularPosiciones(celdas);
+            for (int a = 0; a < tamano; a++) {
+                if (Integer.bitCount(posiciones[a]) != 2) continue;
+                for (int b = a + 1; b < tamano; b++) {
+                    if (posiciones[b] != posiciones[a]) continue;
+                    int par = (1 << a) | (1 << b);
+                    int cantidad = 0;
+                    for (int lugares = posiciones[a]; lugares != 0; lugares &= lugares - 1) {
+                        int celda = celdas[Integer.numberOfTrailingZeros(lugares)];
+                        cantidad = anotarDescarte(cantidad, celda, candidatos(celda) & ~par);
+                    }
+                    if (cantidad > 0) return descarte(Tecnica.PAR_OCULTO, par, unidad, -1, cantidad);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca en cada bloque un número cuyas celdas posibles están todas en una misma fila o columna.
+     */
+    private PasoLogico buscarApuntado() {
+        int tamano = geometria.getTamano();
+        for (int bloque = 2 * tamano; bloque < 3 * tamano; bloque++) {
+            for (int numero = 0; numero < tamano; numero++) {
+                int linea = lineaComun(geometria.celdasDeUnidad(bloque), 1 << numero, true);
+                if (linea < 0) linea = lineaComun(geometria.celdasDeUnidad(bloque), 1 << numero, false);
+                if (linea < 0) continue;
+                int cantidad = descartarFuera(linea, bloque, 1 << numero);
+                if (cantidad > 0) return descarte(Tecnica.APUNTADO, 1 << numero, bloque, linea, cantidad);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca en cada fila o columna un número cuyas celdas posibles están todas en un mismo bloque.
+     */
+    private PasoLogico buscarReclamo() {
+        int tamano = geometria.getTamano();
+        for (int linea = 0; linea < 2 * tamano; linea++) {
+            int[] celdas = geometria.celdasDeUnidad(linea);
+            for (int numero = 0; numero < tamano; numero++) {
+                int bit = 1 << numero;
+                int bloque = -1;
+                for (int celda : celdas) {
+                    if ((candidatos(celda) & bit) == 0) continue;
+                    int suyo = geometria.bloque(celda);
+                    if (bloque == -1) {
+                        bloque = suyo;
+                    } else if (bloque != suyo) {
+                        bloque = -2;
+                        break;
+                    }
+                }
+                if (bloque < 0) continue;
+                int cantidad = descartarFuera(2 * tamano + bloque, linea, bit);
+                if (cantidad > 0) return descarte(Tecnica.RECLAMO, bit, linea, 2 * tamano + bloque, cantidad);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula, para cada número, la máscara de posiciones dentro de la unidad donde todavía es candidato.
+     */
+    private void calcularPosiciones(int[] celdas) {
+        Arrays.fill(posiciones, 0);
+        for (int i = 0; i < celdas.length; i++) {
+            for (int resto = candidatos(celdas[i]); resto != 0; resto &= resto - 1) {
+                posiciones[Integer.numberOfTrailingZeros(resto)] |= 1 << i;
+            }
+        }
+    }
+
+    /**
+     * Obtiene la fila (o columna) que contiene todas las celdas donde el número es candidato.
+     * @return Índice de la unidad de esa línea, o -1 si no hay candidatos o están en varias líneas
+     */
+    private int lineaComun(int[] celdas, int bit, boolean porFilas) {
+        int linea = -1;
+        for (int celda : celdas) {
+            if ((candidatos(celda) & bit) == 0) continue;
+            int suya = porFilas ? geometria.fila(celda) : geometria.getTamano() + geometria.columna(celda);
+            if (linea == -1) {
+                linea = suya;
+            } else if (linea != suya) {
+                return -1;
+            }
+        }
+        return linea;
+    }
+
+    /**
+     * Anota el descarte del número en las celdas de una unidad que no pertenecen a otra.
+     * @return Cantidad de descartes anotados
+     */
+    private int descartarFuera(int unidad, int excluida, int bit) {
+        int tamano = geometria.getTamano();
+        int cantidad = 0;
+        for (int celda : geometria.celdasDeUnidad(unidad)) {
+            int suya = excluida < tamano ? geometria.fila(celda)
+                    : excluida < 2 * tamano ? tamano + geometria.columna(celda)
+                    : 2 * tamano + geometria.bloque(celda);
+            if (suya == excluida) continue;
+            cantidad = anotarDescarte(cantidad, celda, candidatos(celda) & bit);
+        }
+        return cantidad;
+    }
+
+    private int anotarDescarte(int cantidad, int celda, int mascara) {
+        if (mascara == 0) return cantidad;
+        afectadas[cantidad] = celda;
+        descartes[cantidad] = mascara;
+        return cantidad + 1;
+    }
+
+    private PasoLogico descarte(Tecnica tecnica, int numeros, int unidad, int unidadSecundaria, int cantidad) {
+        return new PasoLogico(tecnica, -1, numeros, unidad, unidadSecundaria,
+                Arrays.copyOf(afectadas, cantidad), Arrays.copyOf(descartes, cantidad));
+    }
+}
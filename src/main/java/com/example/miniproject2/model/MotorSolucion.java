@@ -0,0 +1,28 @@
+package com.example.miniproject2.model;
+
+/**
+ * Motores de solución disponibles, para elegir en tiempo de ejecución.
+ */
+public enum MotorSolucion {
+    /** Backtracking con heurística MRV y propagación de únicos. */
+    BACKTRACKING,
+    /** Cobertura exacta con Dancing Links (Algoritmo X). */
+    DLX;
+
+    /**
+     * Crea un solucionador de este motor.
+     * @param geometria Geometría de los tableros a resolver
+     * @param aleatorio Generador para elegir candidatos en orden aleatorio, o null para orden fijo;
+     *                  el motor DLX siempre recorre en orden fijo
+     * @return Un solucionador nuevo
+     */
+    public Solucionador crear(Geometria geometria, AleatorioSplitMix aleatorio) {
+        switch (this) {
+            case DLX:
+                return new SolucionadorDLX(geometria);
+            case BACKTRACKING:
+            default:
+                return new SolucionadorBacktracking(geometria, aleatorio);
+        }
+    }
+}
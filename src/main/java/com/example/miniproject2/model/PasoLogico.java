@@ -0,0 +1,151 @@
+package com.example.miniproject2.model;
+
+/**
+ * Paso de deducción encontrado por {@link MotorDeduccion}: la colocación de un número
+ * o el descarte de candidatos en algunas celdas, junto con la técnica y la unidad que lo justifican.
+ */
+public final class PasoLogico {
+    private final Tecnica tecnica;
+    private final int celda;
+    private final int numeros;
+    private final int unidad;
+    private final int unidadSecundaria;
+    private final int[] celdasAfectadas;
+    private final int[] descartes;
+
+    PasoLogico(Tecnica tecnica, int celda, int numeros, int unidad, int unidadSecundaria,
+               int[] celdasAfectadas, int[] descartes) {
+        this.tecnica = tecnica;
+        this.celda = celda;
+        this.numeros = numeros;
+        this.unidad = unidad;
+        this.unidadSecundaria = unidadSecundaria;
+        this.celdasAfectadas = celdasAfectadas;
+        this.descartes = descartes;
+    }
+
+    static PasoLogico colocacion(Tecnica tecnica, int celda, int numero, int unidad) {
+        return new PasoLogico(tecnica, celda, 1 << (numero - 1), unidad, -1, new int[0], new int[0]);
+    }
+
+    /**
+     * Obtiene la técnica que justifica el paso.
+     * @return La técnica aplicada
+     */
+    public Tecnica getTecnica() {
+        return tecnica;
+    }
+
+    /**
+     * Indica si el paso coloca un número en una celda.
+     * @return true para únicos desnudos y ocultos, false para descartes y contradicciones
+     */
+    public boolean esColocacion() {
+        return tecnica == Tecnica.UNICO_DESNUDO || tecnica == Tecnica.UNICO_OCULTO;
+    }
+
+    /**
+     * Obtiene la celda donde se coloca el número, o la celda sin candidatos de una contradicción.
+     * @return Índice plano de la celda, o -1 si el paso es un descarte
+     */
+    public int getCelda() {
+        return celda;
+    }
+
+    /**
+     * Obtiene el número colocado.
+     * @return El número, o 0 si el paso no es una colocación
+     */
+    public int getNumero() {
+        return esColocacion() ? Integer.numberOfTrailingZeros(numeros) + 1 : 0;
+    }
+
+    /**
+     * Obtiene los números que intervienen en la técnica (el número colocado, el par o el número apuntado).
+     * @return Máscara de bits con los números
+     */
+    public int getNumeros() {
+        return numeros;
+    }
+
+    /**
+     * Obtiene la unidad donde se aplicó la técnica.
+     * @return Índice de la unidad, según {@link Geometria#celdasDeUnidad(int)}, o -1 si no aplica
+     */
+    public int getUnidad() {
+        return unidad;
+    }
+
+    /**
+     * Obtiene la cantidad de celdas que pierden candidatos con este paso.
+     * @return Número de celdas afectadas por el descarte
+     */
+    public int getCantidadDescartes() {
+        return celdasAfectadas.length;
+    }
+
+    /**
+     * Obtiene una de las celdas que pierden candidatos.
+     * @param i Posición entre 0 y {@link #getCantidadDescartes()} - 1
+     * @return Índice plano de la celda
+     */
+    public int getCeldaDescarte(int i) {
+        return celdasAfectadas[i];
+    }
+
+    /**
+     * Obtiene los candidatos que pierde una de las celdas afectadas.
+     * @param i Posición entre 0 y {@link #getCantidadDescartes()} - 1
+     * @return Máscara de bits con los candidatos descartados
+     */
+    public int getDescarte(int i) {
+        return descartes[i];
+    }
+
+    /**
+     * Explica el paso en palabras para mostrarlo como ayuda.
+     * @param geometria Geometría del tablero, para nombrar celdas, unidades y símbolos
+     * @return Descripción del paso
+     */
+    public String describir(Geometria geometria) {
+        switch (tecnica) {
+            case CONTRADICCION:
+                return "La celda " + nombreCelda(geometria, celda) + " no admite ningún número: hay un error en el tablero.";
+            case UNICO_DESNUDO:
+                return tecnica.getNombre() + ": en la celda " + nombreCelda(geometria, celda) + " solo cabe el "
+                        + nombreNumeros(geometria, numeros) + ".";
+            case UNICO_OCULTO:
+                return tecnica.getNombre() + ": en " + nombreUnidad(geometria, unidad) + " el "
+                        + nombreNumeros(geometria, numeros) + " solo cabe en la celda " + nombreCelda(geometria, celda) + ".";
+            case PAR_DESNUDO:
+                return tecnica.getNombre() + " " + nombreNumeros(geometria, numeros) + " en " + nombreUnidad(geometria, unidad)
+                        + ": se descartan de " + celdasAfectadas.length + " celdas más.";
+            case PAR_OCULTO:
+                return tecnica.getNombre() + " " + nombreNumeros(geometria, numeros) + " en " + nombreUnidad(geometria, unidad)
+                        + ": esas dos celdas no admiten otros números.";
+            default:
+                return tecnica.getNombre() + ": en " + nombreUnidad(geometria, unidad) + " el " + nombreNumeros(geometria, numeros)
+                        + " solo cabe en " + nombreUnidad(geometria, unidadSecundaria) + ", así que se descarta del resto.";
+        }
+    }
+
+    private static String nombreCelda(Geometria geometria, int celda) {
+        return "(" + (geometria.fila(celda) + 1) + ", " + (geometria.columna(celda) + 1) + ")";
+    }
+
+    private static String nombreUnidad(Geometria geometria, int unidad) {
+        int tamano = geometria.getTamano();
+        if (unidad < tamano) return "la fila " + (unidad + 1);
+        if (unidad < 2 * tamano) return "la columna " + (unidad - tamano + 1);
+        return "el bloque " + (unidad - 2 * tamano + 1);
+    }
+
+    private static String nombreNumeros(Geometria geometria, int mascara) {
+        StringBuilder texto = new StringBuilder();
+        for (int resto = mascara; resto != 0; resto &= resto - 1) {
+            if (texto.length() > 0) texto.append(resto == Integer.lowestOneBit(resto) ? " y " : ", ");
+            texto.append(geometria.simbolo(Integer.numberOfTrailingZeros(resto) + 1));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.miniproject2.model;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reserva acotada de Sudokus ya generados, para que empezar un juego no tenga que esperar al generador.
+ * Los tableros se guardan en una cola sin bloqueos; un hilo demonio la rellena hasta la capacidad
+ * cada vez que baja del nivel mínimo. Tomar un tablero es una operación de tiempo constante y,
+ * si la reserva está vacía, se genera uno en el momento y se cuenta como fallo.
+ * Todos los tableros llegan calificados; si se pide una dificultad, el hilo de relleno la busca con
+ * {@link CalificadorSudoku#generar} y, si no aparece en sus intentos, guarda el de dificultad más cercana;
+ * así el muestreo con rechazo nunca hace esperar al jugador. Con {@link Geometria#pistasPara(Dificultad)}
+ * pistas la dificultad pedida suele aparecer.
+ * El hilo de relleno también descarta los equivalentes ({@link CanonizadorSudoku}) a uno ya entregado,
+ * hasta {@value #REPETIDOS_TOLERADOS} seguidos para no trabarse en tableros chicos con pocas formas distintas;
+ * los generados en el momento también se recuerdan, para que la reserva no entregue después uno equivalente.
+ */
+public final class PoolSudokus implements FuenteSudokus {
+    /** Formas canónicas recordadas; al llenarse se olvidan todas. */
+    private static final int CAPACIDAD_ENTREGADOS = 1 << 14;
+    private static final int REPETIDOS_TOLERADOS = 50;
+
+    private final ConcurrentLinkedQueue<Sudoku> cola = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger disponibles = new AtomicInteger();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder rellenos = new LongAdder();
+    private final LongAdder nanosRelleno = new LongAdder();
+    private volatile long ultimoRellenoNanos;
+    private volatile boolean activo;
+
+    private final Geometria geometria;
+    private final int capacidad;
+    private final int nivelMinimo;
+    private final int pistasObjetivo;
+    private final Dificultad objetivo;
+    private final Thread hiloRelleno;
+    private IndiceCanonico entregados = new IndiceCanonico(CAPACIDAD_ENTREGADOS);
+
+    /**
+     * Crea la reserva sin iniciar todavía el hilo de relleno.
+     * @param geometria Geometría de los tableros generados
+     * @param capacidad Cantidad máxima de tableros guardados
+     * @param nivelMinimo Cantidad por debajo de la cual se vuelve a rellenar
+     * @param pistasObjetivo Cantidad de pistas de los tableros generados
+     */
+    public PoolSudokus(Geometria geometria, int capacidad, int nivelMinimo, int pistasObjetivo) {
+        this(geometria, capacidad, nivelMinimo, pistasObjetivo, null);
+    }
+
+    /**
+     * Crea una reserva de tableros de la dificultad indicada, sin iniciar todavía el hilo de relleno.
+     * @param geometria Geometría de los tableros generados
+     * @param capacidad Cantidad máxima de tableros guardados
+     * @param nivelMinimo Cantidad por debajo de la cual se vuelve a rellenar
+     * @param pistasObjetivo Cantidad de pistas de los tableros generados
+     * @param objetivo Dificultad de los tableros, o null para aceptar cualquiera
+     */
+    public PoolSudokus(Geometria geometria, int capacidad, int nivelMinimo, int pistasObjetivo, Dificultad objetivo) {
+        if (capacidad <= 0 || nivelMinimo < 0 || nivelMinimo > capacidad) {
+            throw new IllegalArgumentException("Se requiere 0 <= nivelMinimo <= capacidad y capacidad > 0");
+        }
+        this.geometria = geometria;
+        this.capacidad = capacidad;
+        this.nivelMinimo = nivelMinimo;
+        this.pistasObjetivo = pistasObjetivo;
+        this.objetivo = objetivo;
+        this.hiloRelleno = new Thread(this::rellenar, "relleno-sudokus");
+        this.hiloRelleno.setDaemon(true);
+    }
+
+    /**
+     * Inicia el hilo demonio que mantiene llena la reserva.
+     */
+    public void iniciar() {
+        activo = true;
+        hiloRelleno.start();
+    }
+
+    /**
+     * Detiene el hilo de relleno. Los tableros ya guardados siguen disponibles.
+     */
+    public void detener() {
+        activo = false;
+        LockSupport.unpark(hiloRelleno);
+    }
+
+    /**
+     * Toma un tablero de la reserva, o genera uno en el momento si está vacía.
+     * El generado en el momento es un solo intento calificado, sin buscar la dificultad pedida: el muestreo con
+     * rechazo puede tardar segundos en tableros grandes y se queda en el hilo de relleno.
+     * @return Un Sudoku listo para jugar
+     */
+    @Override
+    public Sudoku tomar() {
+        Sudoku sudoku = tomarSinEsperar();
+        if (sudoku != null) return sudoku;
+        fallos.increment();
+        LockSupport.unpark(hiloRelleno);
+
+        sudoku = new CalificadorSudoku(geometria).generar(new GeneradorSudoku(geometria), pistasObjetivo, null);
+        recordarEntregado(new CanonizadorSudoku(geometria).huella(sudoku));
+        return sudoku;
+    }
+
+    /**
+     * Toma un tablero de la reserva sin generar nunca en el momento.
+     * @return Un Sudoku listo para jugar, o null si la reserva está vacía
+     */
+    @Override
+    public Sudoku tomarSinEsperar() {
+        Sudoku sudoku = cola.poll();
+        if (sudoku == null) return null;
+        aciertos.increment();
+        if (disponibles.decrementAndGet() < nivelMinimo) LockSupport.unpark(hiloRelleno);
+        return sudoku;
+    }
+
+    /**
+     * Bucle del hilo de relleno: espera hasta bajar del nivel mínimo y rellena hasta la capacidad.
+     */
+    private void rellenar() {
+        GeneradorSudoku generador = new GeneradorSudoku(geometria);
+        CalificadorSudoku calificador = new CalificadorSudoku(geometria);
+        CanonizadorSudoku canonizador = new CanonizadorSudoku(geometria);
+        while (activo) {
+            if (disponibles.get() >= nivelMinimo && !cola.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+            long inicio = System.nanoTime();
+            while (activo && disponibles.get() < capacidad) {
+                Sudoku sudoku = calificador.generar(generador, pistasObjetivo, objetivo);
+                for (int seguidos = 0; seguidos < REPETIDOS_TOLERADOS
+                        && !recordarEntregado(canonizador.huella(sudoku)); seguidos++) {
+                    sudoku = calificador.generar(generador, pistasObjetivo, objetivo);
+                }
+                cola.offer(sudoku);
+                disponibles.incrementAndGet();
+            }
+            long duracion = System.nanoTime() - inicio;
+            ultimoRellenoNanos = duracion;
+            nanosRelleno.add(duracion);
+            rellenos.increment();
+        }
+    }
+
+    /**
+     * Recuerda la forma canónica de un tablero entregado o guardado; al llenarse el índice se olvidan todas.
+     * Lo usan el hilo de relleno y quien genera en el momento.
+     * @return true si no se había entregado uno equivalente
+     */
+    private synchronized boolean recordarEntregado(long huella) {
+        if (entregados.getCantidad() == CAPACIDAD_ENTREGADOS) entregados = new IndiceCanonico(CAPACIDAD_ENTREGADOS);
+        return entregados.agregar(huella);
+    }
+
+    /**
+     * Obtiene la geometría de los tableros de la reserva.
+     * @return La geometría con que se creó la reserva
+     */
+    @Override
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Obtiene la cantidad de tableros disponibles en este momento.
+     * @return Tableros guardados en la reserva
+     */
+    public int getDisponibles() {
+        return disponibles.get();
+    }
+
+    /**
+     * Obtiene cuántas veces se tomó un tablero ya generado.
+     * @return Número de aciertos
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * Obtiene cuántas veces la reserva estaba vacía y hubo que generar en el momento.
+     * @return Número de fallos
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Obtiene la duración del último relleno completo.
+     * @return Duración en nanosegundos, o 0 si todavía no ha habido rellenos
+     */
+    public long getUltimoRellenoNanos() {
+        return ultimoRellenoNanos;
+    }
+
+    /**
+     * Obtiene la duración promedio de los rellenos.
+     * @return Duración promedio en nanosegundos, o 0 si todavía no ha habido rellenos
+     */
+    public long getRellenoPromedioNanos() {
+        long cantidad = rellenos.sum();
+        return cantidad == 0 ? 0 : nanosRelleno.sum() / cantidad;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.miniproject2.model;
+
+/**
+ * Resultado de validar un movimiento en segundo plano con {@link ValidadorMovimientos}.
+ */
+public final class ResultadoValidacion {
+    private final long secuencia;
+    private final long epoca;
+    private final int celda;
+    private final int numero;
+    private final boolean valido;
+    private final boolean completo;
+    private boolean vigente;
+
+    ResultadoValidacion(long secuencia, long epoca, int celda, int numero, boolean valido, boolean completo) {
+        this.secuencia = secuencia;
+        this.epoca = epoca;
+        this.celda = celda;
+        this.numero = numero;
+        this.valido = valido;
+        this.completo = completo;
+    }
+
+    /**
+     * Obtiene el número de secuencia que recibió el movimiento al enviarse.
+     * @return Secuencia del movimiento
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    long getEpoca() {
+        return epoca;
+    }
+
+    /**
+     * Obtiene la celda del movimiento.
+     * @return Índice plano de la celda
+     */
+    public int getCelda() {
+        return celda;
+    }
+
+    /**
+     * Obtiene el número del movimiento.
+     * @return Número colocado, o 0 si el movimiento vacía la celda
+     */
+    public int getNumero() {
+        return numero;
+    }
+
+    /**
+     * Indica si el movimiento respeta las reglas y debe aplicarse al tablero.
+     * Un movimiento válido debe aplicarse aunque no esté vigente, para que el tablero siga al del validador.
+     * @return true si el movimiento es válido
+     */
+    public boolean esValido() {
+        return valido;
+    }
+
+    /**
+     * Indica si, tras el movimiento, el tablero quedó lleno.
+     * @return true si no quedan celdas vacías
+     */
+    public boolean esCompleto() {
+        return completo;
+    }
+
+    /**
+     * Indica si es el resultado del último movimiento enviado. Los resultados no vigentes
+     * ya fueron superados por otro movimiento, así que no deberían mostrarse al jugador.
+     * @return true si ningún movimiento se envió después de este
+     */
+    public boolean esVigente() {
+        return vigente;
+    }
+
+    void setVigente(boolean vigente) {
+        this.vigente = vigente;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.miniproject2.model;
+
+/**
+ * Motor de solución de tableros de Sudoku.
+ * Las implementaciones reservan su memoria de trabajo al crearse, no son seguras para hilos
+ * y dejan el tablero consultado tal como estaba salvo cuando {@link #resolver(TableroBits)} encuentra solución.
+ */
+public interface Solucionador {
+
+    /**
+     * Completa el tablero con la primera solución encontrada.
+     * Si no existe solución, el tablero queda como estaba.
+     * @param tablero Tablero a resolver; se modifica en el lugar
+     * @return true si se encontró una solución, false en caso contrario
+     */
+    boolean resolver(TableroBits tablero);
+
+    /**
+     * Cuenta las soluciones del tablero, deteniéndose al alcanzar el límite.
+     * @param tablero Tablero a analizar; queda como estaba al terminar
+     * @param limite Cantidad de soluciones a partir de la cual se deja de buscar
+     * @return Número de soluciones encontradas, como máximo {@code limite}
+     */
+    int contarSoluciones(TableroBits tablero, int limite);
+
+    /**
+     * Obtiene la cantidad de nodos explorados desde que se creó el solucionador.
+     * @return Número de ramificaciones realizadas
+     */
+    long getNodos();
+}
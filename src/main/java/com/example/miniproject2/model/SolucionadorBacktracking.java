@@ -0,0 +1,227 @@
+package com.example.miniproject2.model;
+
+/**
+ * Solucionador por backtracking que trabaja directamente sobre un {@link TableroBits}.
+ * En cada paso elige la celda vacía con menos candidatos (heurística MRV) y prueba sus
+ * números tomándolos de la máscara de candidatos, en orden aleatorio si se proporciona
+ * un generador. Tras cada colocación propaga restricciones (únicos desnudos y ocultos)
+ * hasta un punto fijo, lo que mantiene pequeño el árbol de búsqueda en tableros de 16x16 y 25x25.
+ * Usa una pila explícita y un rastro de colocaciones preasignados en lugar de recursión,
+ * por lo que no crea objetos por nodo y puede usarse sin JavaFX.
+ */
+public final class SolucionadorBacktracking implements Solucionador {
+    private final Geometria geometria;
+    private final int[] pilaCelda;
+    private final int[] pilaCandidatos;
+    private final int[] pilaRastro;
+    private final int[] rastro;
+    private final AleatorioSplitMix aleatorio;
+    private int largoRastro;
+    private long nodos;
+
+    /**
+     * Crea un solucionador que prueba los candidatos en orden ascendente.
+     * @param geometria Geometría de los tableros a resolver
+     */
+    public SolucionadorBacktracking(Geometria geometria) {
+        this(geometria, null);
+    }
+
+    /**
+     * Crea un solucionador que prueba los candidatos en orden aleatorio.
+     * @param geometria Geometría de los tableros a resolver
+     * @param aleatorio Generador usado para elegir candidatos, o null para orden ascendente
+     */
+    public SolucionadorBacktracking(Geometria geometria, AleatorioSplitMix aleatorio) {
+        this.geometria = geometria;
+        this.aleatorio = aleatorio;
+        int celdas = geometria.getCeldas();
+        this.pilaCelda = new int[celdas];
+        this.pilaCandidatos = new int[celdas];
+        this.pilaRastro = new int[celdas];
+        this.rastro = new int[celdas];
+    }
+
+    /**
+     * Completa el tablero con la primera solución encontrada.
+     * Si no existe solución, el tablero queda como estaba.
+     * @param tablero Tablero a resolver; se modifica en el lugar
+     * @return true si se encontró una solución, false en caso contrario
+     */
+    @Override
+    public boolean resolver(TableroBits tablero) {
+        return buscar(tablero, 1, true) > 0;
+    }
+
+    /**
+     * Cuenta las soluciones del tablero, deteniéndose al alcanzar el límite.
+     * Trabaja sobre las mismas máscaras del tablero y lo deja como estaba al terminar.
+     * @param tablero Tablero a analizar
+     * @param limite Cantidad de soluciones a partir de la cual se deja de buscar
+     * @return Número de soluciones encontradas, como máximo {@code limite}
+     */
+    @Override
+    public int contarSoluciones(TableroBits tablero, int limite) {
+        return buscar(tablero, limite, false);
+    }
+
+    /**
+     * Recorre el árbol de búsqueda con la pila explícita.
+     * Cada marco de la pila recuerda hasta dónde llegaba el rastro antes de su colocación,
+     * para deshacer también lo que la propagación haya deducido a partir de ella.
+     * @param tablero Tablero sobre el que se busca
+     * @param limite Cantidad de soluciones tras la cual se detiene
+     * @param conservarSolucion true para dejar en el tablero la última solución encontrada
+     * @return Número de soluciones encontradas, como máximo {@code limite}
+     */
+    private int buscar(TableroBits tablero, int limite, boolean conservarSolucion) {
+        int soluciones = 0;
+        int tope = -1;
+        largoRastro = 0;
+        boolean consistente = propagar(tablero);
+        while (true) {
+            if (consistente) {
+                if (tablero.vacias() == 0) {
+                    soluciones++;
+                    if (soluciones >= limite) {
+                        if (!conservarSolucion) deshacerHasta(tablero, 0);
+                        return soluciones;
+                    }
+                } else {
+                    int celda = elegirCelda(tablero);
+                    tope++;
+                    pilaCelda[tope] = celda;
+                    pilaCandidatos[tope] = tablero.candidatos(celda);
+                    pilaRastro[tope] = largoRastro;
+                    nodos++;
+                }
+            }
+
+            // Avanza al siguiente candidato disponible, retrocediendo mientras se agoten
+            while (true) {
+                if (tope < 0) {
+                    deshacerHasta(tablero, 0);
+                    return soluciones;
+                }
+                deshacerHasta(tablero, pilaRastro[tope]);
+                int candidatos = pilaCandidatos[tope];
+                if (candidatos == 0) {
+                    tope--;
+                    continue;
+                }
+                int bit = elegirBit(candidatos);
+                pilaCandidatos[tope] = candidatos & ~bit;
+                colocar(tablero, pilaCelda[tope], Integer.numberOfTrailingZeros(bit) + 1);
+                consistente = propagar(tablero);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Coloca números forzados hasta que no haya más deducciones: celdas con un único candidato
+     * y números que solo caben en una celda de su unidad.
+     * @param tablero Tablero sobre el que se propaga
+     * @return false si se detectó una contradicción, true en caso contrario
+     */
+    private boolean propagar(TableroBits tablero) {
+        int celdas = geometria.getCeldas();
+        int mascaraCompleta = geometria.getMascaraCompleta();
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            for (int celda = 0; celda < celdas; celda++) {
+                if (tablero.obtener(celda) != 0) continue;
+                int candidatos = tablero.candidatos(celda);
+                if (candidatos == 0) return false;
+                if ((candidatos & (candidatos - 1)) == 0) {
+                    colocar(tablero, celda, Integer.numberOfTrailingZeros(candidatos) + 1);
+                    cambio = true;
+                }
+            }
+            for (int unidad = 0; unidad < geometria.getUnidades(); unidad++) {
+                int[] celdasUnidad = geometria.celdasDeUnidad(unidad);
+                int unaVez = 0;
+                int variasVeces = 0;
+                for (int celda : celdasUnidad) {
+                    if (tablero.obtener(celda) != 0) continue;
+                    int candidatos = tablero.candidatos(celda);
+                    variasVeces |= unaVez & candidatos;
+                    unaVez |= candidatos;
+                }
+                int faltantes = ~tablero.usadosEnUnidad(unidad) & mascaraCompleta;
+                if ((unaVez & faltantes) != faltantes) return false;
+                int unicos = unaVez & ~variasVeces;
+                if (unicos == 0) continue;
+                for (int celda : celdasUnidad) {
+                    if (tablero.obtener(celda) != 0) continue;
+                    int forzado = tablero.candidatos(celda) & unicos;
+                    if (forzado == 0) continue;
+                    if ((forzado & (forzado - 1)) != 0) return false;
+                    colocar(tablero, celda, Integer.numberOfTrailingZeros(forzado) + 1);
+                    cambio = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Coloca un número y lo anota en el rastro para poder deshacerlo.
+     */
+    private void colocar(TableroBits tablero, int celda, int numero) {
+        tablero.establecer(celda, numero);
+        rastro[largoRastro++] = celda;
+    }
+
+    /**
+     * Vacía las celdas colocadas desde la posición indicada del rastro.
+     */
+    private void deshacerHasta(TableroBits tablero, int largo) {
+        while (largoRastro > largo) {
+            tablero.establecer(rastro[--largoRastro], 0);
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de nodos explorados desde que se creó el solucionador.
+     * @return Número de celdas en las que se ha ramificado
+     */
+    @Override
+    public long getNodos() {
+        return nodos;
+    }
+
+    /**
+     * Busca la celda vacía con menos candidatos.
+     * @param tablero Tablero a inspeccionar (debe tener al menos una celda vacía)
+     * @return Índice de la celda elegida
+     */
+    private int elegirCelda(TableroBits tablero) {
+        int mejor = -1;
+        int menor = Integer.MAX_VALUE;
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            if (tablero.obtener(celda) != 0) continue;
+            int cantidad = Integer.bitCount(tablero.candidatos(celda));
+            if (cantidad < menor) {
+                menor = cantidad;
+                mejor = celda;
+                if (cantidad <= 2) break;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Elige uno de los bits encendidos de la máscara.
+     * @param mascara Máscara con al menos un bit encendido
+     * @return Máscara con únicamente el bit elegido
+     */
+    private int elegirBit(int mascara) {
+        if (aleatorio == null) return Integer.lowestOneBit(mascara);
+        for (int salto = aleatorio.siguienteEntero(Integer.bitCount(mascara)); salto > 0; salto--) {
+            mascara &= mascara - 1;
+        }
+        return Integer.lowestOneBit(mascara);
+    }
+}
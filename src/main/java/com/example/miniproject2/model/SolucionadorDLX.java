@@ -0,0 +1,255 @@
+package com.example.miniproject2.model;
+
+/**
+ * Solucionador que modela el tablero como un problema de cobertura exacta y lo resuelve
+ * con Dancing Links (Algoritmo X de Knuth).
+ * Cada fila de la matriz es una colocación (celda, número) y cada columna una restricción:
+ * celda ocupada, número en fila, número en columna y número en bloque. Los nodos de la matriz
+ * viven en arreglos planos de enteros (izquierda, derecha, arriba, abajo, columna) en lugar de objetos,
+ * se construyen una sola vez y las pistas se cubren y descubren en cada búsqueda, así que la
+ * estructura vuelve intacta a su estado inicial sin copias.
+ */
+public final class SolucionadorDLX implements Solucionador {
+    private static final int RAIZ = 0;
+
+    private final int tamano;
+    private final int[] izquierda;
+    private final int[] derecha;
+    private final int[] arriba;
+    private final int[] abajo;
+    private final int[] columna;
+    private final int[] filaDeNodo;
+    private final int[] primerNodo;
+    private final int[] tamanoColumna;
+    private final int[] pila;
+    private final int[] pistas;
+    private long nodos;
+
+    /**
+     * Construye la matriz de cobertura exacta para la geometría indicada.
+     * @param geometria Geometría de los tableros a resolver
+     */
+    public SolucionadorDLX(Geometria geometria) {
+        this.tamano = geometria.getTamano();
+        int celdas = geometria.getCeldas();
+        int columnas = 4 * celdas;
+        int filas = celdas * tamano;
+        int totalNodos = 1 + columnas + 4 * filas;
+
+        izquierda = new int[totalNodos];
+        derecha = new int[totalNodos];
+        arriba = new int[totalNodos];
+        abajo = new int[totalNodos];
+        columna = new int[totalNodos];
+        filaDeNodo = new int[totalNodos];
+        primerNodo = new int[filas];
+        tamanoColumna = new int[columnas + 1];
+        pila = new int[celdas];
+        pistas = new int[celdas];
+
+        // Raíz y cabeceras de columna en una lista circular horizontal
+        for (int c = 0; c <= columnas; c++) {
+            izquierda[c] = c == 0 ? columnas : c - 1;
+            derecha[c] = c == columnas ? 0 : c + 1;
+            arriba[c] = c;
+            abajo[c] = c;
+            columna[c] = c;
+        }
+
+        int siguiente = columnas + 1;
+        int[] restricciones = new int[4];
+        for (int celda = 0; celda < celdas; celda++) {
+            int f = geometria.fila(celda);
+            int c = geometria.columna(celda);
+            int b = geometria.bloque(celda);
+            for (int d = 0; d < tamano; d++) {
+                int fila = celda * tamano + d;
+                restricciones[0] = 1 + celda;
+                restricciones[1] = 1 + celdas + f * tamano + d;
+                restricciones[2] = 1 + 2 * celdas + c * tamano + d;
+                restricciones[3] = 1 + 3 * celdas + b * tamano + d;
+                primerNodo[fila] = siguiente;
+                for (int k = 0; k < 4; k++) {
+                    int nodo = siguiente + k;
+                    int cabecera = restricciones[k];
+                    columna[nodo] = cabecera;
+                    filaDeNodo[nodo] = fila;
+                    izquierda[nodo] = siguiente + (k + 3) % 4;
+                    derecha[nodo] = siguiente + (k + 1) % 4;
+                    arriba[nodo] = arriba[cabecera];
+                    abajo[nodo] = cabecera;
+                    abajo[arriba[cabecera]] = nodo;
+                    arriba[cabecera] = nodo;
+                    tamanoColumna[cabecera]++;
+                }
+                siguiente += 4;
+            }
+        }
+    }
+
+    /**
+     * Completa el tablero con la primera solución encontrada.
+     * Si no existe solución, el tablero queda como estaba.
+     * @param tablero Tablero a resolver; se modifica en el lugar
+     * @return true si se encontró una solución, false en caso contrario
+     */
+    @Override
+    public boolean resolver(TableroBits tablero) {
+        return buscar(tablero, 1, true) > 0;
+    }
+
+    /**
+     * Cuenta las soluciones del tablero, deteniéndose al alcanzar el límite.
+     * @param tablero Tablero a analizar; no se modifica
+     * @param limite Cantidad de soluciones a partir de la cual se deja de buscar
+     * @return Número de soluciones encontradas, como máximo {@code limite}
+     */
+    @Override
+    public int contarSoluciones(TableroBits tablero, int limite) {
+        return buscar(tablero, limite, false);
+    }
+
+    /**
+     * Obtiene la cantidad de nodos explorados desde que se creó el solucionador.
+     * @return Número de columnas en las que se ha ramificado
+     */
+    @Override
+    public long getNodos() {
+        return nodos;
+    }
+
+    /**
+     * Ejecuta el Algoritmo X con una pila explícita de filas elegidas por nivel.
+     * @param tablero Tablero con las pistas
+     * @param limite Cantidad de soluciones tras la cual se detiene
+     * @param escribirSolucion true para copiar al tablero cada solución encontrada
+     * @return Número de soluciones encontradas, como máximo {@code limite}
+     */
+    private int buscar(TableroBits tablero, int limite, boolean escribirSolucion) {
+        int cantidadPistas = 0;
+        for (int celda = 0; celda < pistas.length; celda++) {
+            int numero = tablero.obtener(celda);
+            if (numero == 0) continue;
+            int nodo = primerNodo[celda * tamano + numero - 1];
+            cubrir(columna[nodo]);
+            seleccionar(nodo);
+            pistas[cantidadPistas++] = nodo;
+        }
+
+        int soluciones = 0;
+        int nivel = 0;
+        busqueda:
+        while (true) {
+            if (derecha[RAIZ] == RAIZ) {
+                soluciones++;
+                if (escribirSolucion) {
+                    for (int i = 0; i < nivel; i++) {
+                        int fila = filaDeNodo[pila[i]];
+                        tablero.establecer(fila / tamano, fila % tamano + 1);
+                    }
+                }
+                if (soluciones >= limite) {
+                    while (nivel > 0) {
+                        nivel--;
+                        deseleccionar(pila[nivel]);
+                        descubrir(columna[pila[nivel]]);
+                    }
+                    break;
+                }
+            } else {
+                int c = elegirColumna();
+                nodos++;
+                cubrir(c);
+                int fila = abajo[c];
+                if (fila != c) {
+                    pila[nivel++] = fila;
+                    seleccionar(fila);
+                    continue;
+                }
+                descubrir(c);
+            }
+
+            // Retrocede hasta un nivel que todavía tenga filas por probar
+            while (true) {
+                if (nivel == 0) break busqueda;
+                nivel--;
+                int fila = pila[nivel];
+                deseleccionar(fila);
+                int c = columna[fila];
+                int siguienteFila = abajo[fila];
+                if (siguienteFila != c) {
+                    pila[nivel++] = siguienteFila;
+                    seleccionar(siguienteFila);
+                    continue busqueda;
+                }
+                descubrir(c);
+            }
+        }
+
+        for (int i = cantidadPistas - 1; i >= 0; i--) {
+            deseleccionar(pistas[i]);
+            descubrir(columna[pistas[i]]);
+        }
+        return soluciones;
+    }
+
+    /**
+     * Elige la columna activa con menos filas.
+     */
+    private int elegirColumna() {
+        int mejor = derecha[RAIZ];
+        int menor = Integer.MAX_VALUE;
+        for (int c = derecha[RAIZ]; c != RAIZ; c = derecha[c]) {
+            if (tamanoColumna[c] < menor) {
+                menor = tamanoColumna[c];
+                mejor = c;
+                if (menor <= 1) break;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Cubre las demás columnas de la fila del nodo (la columna del nodo ya está cubierta).
+     */
+    private void seleccionar(int nodo) {
+        for (int j = derecha[nodo]; j != nodo; j = derecha[j]) cubrir(columna[j]);
+    }
+
+    /**
+     * Deshace {@link #seleccionar(int)} en orden inverso.
+     */
+    private void deseleccionar(int nodo) {
+        for (int j = izquierda[nodo]; j != nodo; j = izquierda[j]) descubrir(columna[j]);
+    }
+
+    /**
+     * Retira una columna y todas las filas que la satisfacen.
+     */
+    private void cubrir(int c) {
+        derecha[izquierda[c]] = derecha[c];
+        izquierda[derecha[c]] = izquierda[c];
+        for (int i = abajo[c]; i != c; i = abajo[i]) {
+            for (int j = derecha[i]; j != i; j = derecha[j]) {
+                abajo[arriba[j]] = abajo[j];
+                arriba[abajo[j]] = arriba[j];
+                tamanoColumna[columna[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Restaura una columna retirada con {@link #cubrir(int)}.
+     */
+    private void descubrir(int c) {
+        for (int i = arriba[c]; i != c; i = arriba[i]) {
+            for (int j = izquierda[i]; j != i; j = izquierda[j]) {
+                tamanoColumna[columna[j]]++;
+                abajo[arriba[j]] = j;
+                arriba[abajo[j]] = j;
+            }
+        }
+        derecha[izquierda[c]] = c;
+        izquierda[derecha[c]] = c;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.miniproject2.model;
+
+/**
+ * Tablero de Sudoku ya generado: sus pistas, su solución única, si se calificó, su dificultad y, si salió del
+ * {@link GeneradorSudoku}, la semilla con que se generó, que lo identifica y permite regenerarlo.
+ * Es inmutable, por lo que puede compartirse entre hilos sin sincronización.
+ */
+public final class Sudoku {
+    private final Geometria geometria;
+    private final byte[] pistas;
+    private final byte[] solucion;
+    private final Calificacion calificacion;
+    private final long semilla;
+    private final boolean tieneSemilla;
+
+    private Sudoku(Geometria geometria, byte[] pistas, byte[] solucion, Calificacion calificacion,
+                   long semilla, boolean tieneSemilla) {
+        this.geometria = geometria;
+        this.pistas = pistas;
+        this.solucion = solucion;
+        this.calificacion = calificacion;
+        this.semilla = semilla;
+        this.tieneSemilla = tieneSemilla;
+    }
+
+    /**
+     * Crea un Sudoku copiando el contenido de dos tableros.
+     * @param pistas Tablero con las pistas iniciales
+     * @param solucion Tablero con la solución completa
+     * @return El Sudoku creado
+     */
+    public static Sudoku desde(TableroBits pistas, TableroBits solucion) {
+        return desde(pistas, solucion, null);
+    }
+
+    /**
+     * Crea un Sudoku calificado copiando el contenido de dos tableros.
+     * @param pistas Tablero con las pistas iniciales
+     * @param solucion Tablero con la solución completa
+     * @param calificacion Calificación del tablero, o null si no se calificó
+     * @return El Sudoku creado
+     */
+    public static Sudoku desde(TableroBits pistas, TableroBits solucion, Calificacion calificacion) {
+        return desde(pistas, solucion, calificacion, 0L, false);
+    }
+
+    /**
+     * Crea un Sudoku generado copiando el contenido de dos tableros.
+     * @param pistas Tablero con las pistas iniciales
+     * @param solucion Tablero con la solución completa
+     * @param calificacion Calificación del tablero, o null si no se calificó
+     * @param semilla Semilla con que el {@link GeneradorSudoku} produjo el tablero
+     * @return El Sudoku creado
+     */
+    public static Sudoku desde(TableroBits pistas, TableroBits solucion, Calificacion calificacion, long semilla) {
+        return desde(pistas, solucion, calificacion, semilla, true);
+    }
+
+    private static Sudoku desde(TableroBits pistas, TableroBits solucion, Calificacion calificacion,
+                                long semilla, boolean tieneSemilla) {
+        Geometria geometria = pistas.getGeometria();
+        byte[] celdasPistas = new byte[geometria.getCeldas()];
+        byte[] celdasSolucion = new byte[geometria.getCeldas()];
+        for (int celda = 0; celda < celdasPistas.length; celda++) {
+            celdasPistas[celda] = (byte) pistas.obtener(celda);
+            celdasSolucion[celda] = (byte) solucion.obtener(celda);
+        }
+        return new Sudoku(geometria, celdasPistas, celdasSolucion, calificacion, semilla, tieneSemilla);
+    }
+
+    /**
+     * Obtiene una copia de este Sudoku con la calificación indicada; las celdas se comparten.
+     * @param calificacion Calificación del tablero
+     * @return El Sudoku calificado
+     */
+    public Sudoku conCalificacion(Calificacion calificacion) {
+        return new Sudoku(geometria, pistas, solucion, calificacion, semilla, tieneSemilla);
+    }
+
+    /**
+     * Indica si se conoce la semilla con que se generó el tablero.
+     * @return true si salió del generador, false si se cargó de otra forma
+     */
+    public boolean tieneSemilla() {
+        return tieneSemilla;
+    }
+
+    /**
+     * Obtiene la semilla con que se generó el tablero; con la geometría y las pistas objetivo basta para regenerarlo.
+     * @return La semilla
+     * @throws IllegalStateException Si el tablero no salió del generador
+     */
+    public long getSemilla() {
+        if (!tieneSemilla) throw new IllegalStateException("El tablero no tiene semilla");
+        return semilla;
+    }
+
+    /**
+     * Obtiene la calificación del tablero.
+     * @return La calificación, o null si no se calificó
+     */
+    public Calificacion getCalificacion() {
+        return calificacion;
+    }
+
+    /**
+     * Obtiene la geometría del tablero.
+     * @return La geometría del Sudoku
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Obtiene la pista de una celda.
+     * @param celda Índice plano de la celda
+     * @return El número dado en la celda, o 0 si no es una pista
+     */
+    public int obtenerPista(int celda) {
+        return pistas[celda];
+    }
+
+    /**
+     * Obtiene el número de la solución en una celda.
+     * @param celda Índice plano de la celda
+     * @return El número correcto de la celda
+     */
+    public int obtenerSolucion(int celda) {
+        return solucion[celda];
+    }
+
+    /**
+     * Cuenta las pistas del tablero.
+     * @return Número de celdas dadas
+     */
+    public int cantidadPistas() {
+        int cantidad = 0;
+        for (byte valor : pistas) {
+            if (valor != 0) cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Escribe las pistas sobre un tablero, dejando vacías las demás celdas.
+     * @param tablero Tablero destino
+     */
+    public void copiarPistasEn(TableroBits tablero) {
+        tablero.limpiar();
+        for (int celda = 0; celda < pistas.length; celda++) {
+            tablero.establecer(celda, pistas[celda]);
+        }
+    }
+
+    /**
+     * Escribe la solución completa sobre un tablero.
+     * @param tablero Tablero destino
+     */
+    public void copiarSolucionEn(TableroBits tablero) {
+        tablero.limpiar();
+        for (int celda = 0; celda < pistas.length; celda++) {
+            tablero.establecer(celda, solucion[celda]);
+        }
+    }
+}
@@ -1,138 +1,235 @@
 package com.example.miniproject2.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.function.IntConsumer;
 
 /**
- * Modelo del juego Sudoku 6x6.
+ * Modelo del juego Sudoku de N×N (6x6 por defecto).
+ * Los movimientos del jugador quedan en un {@link HistorialMovimientos} acotado para deshacerlos y rehacerlos.
+ * Las notas del jugador (los candidatos que anota en cada celda) se guardan como una máscara de bits por celda,
+ * con el bit {@code numero - 1} para cada número; no pasan por el historial.
  */
 public class SudokuModel {
-    private ArrayList<ArrayList<Integer>> tablero;
-    private ArrayList<ArrayList<Integer>> tableroInicial;
-    private ArrayList<ArrayList<Integer>> solucionCompleta;
-    private static final int TAMANO = 6;
-    private static final int ANCHO_BLOQUE = 3;
-    private static final int ALTO_BLOQUE = 2;
+    /** Movimientos que se recuerdan para deshacer; ocupan 4 bytes cada uno. */
+    private static final int CAPACIDAD_HISTORIAL = 1 << 12;
+    /** Tableros recordados para no repetir uno equivalente; al llenarse se olvidan todos. */
+    private static final int CAPACIDAD_JUGADOS = 1 << 10;
+    private static final int REPETIDOS_TOLERADOS = 20;
+    private static final System.Logger REGISTRO = System.getLogger(SudokuModel.class.getName());
+
+    private final Geometria geometria;
+    private final TableroBits tablero;
+    private final TableroBits solucionCompleta;
+    private final TableroBits tableroInicial;
+    private final CeldasModificadas modificadas;
+    private final CeldasModificadas tocadas;
+    private final CeldasModificadas notasModificadas;
+    private final int[] notas;
+    private boolean eliminarNotas = true;
+    private final HistorialMovimientos historial;
+    private final MotorDeduccion deduccion;
+    private final CanonizadorSudoku canonizador;
+    private IndiceCanonico jugados;
+    private Sudoku sudokuActual;
+    private Runnable oyenteCambios;
+    private GeneradorSudoku generador;
+    private Solucionador solucionador;
+    private MotorSolucion motor;
 
     /**
-     * Constructor que inicializa el modelo del Sudoku.
+     * Constructor que inicializa el modelo del Sudoku 6x6.
      */
     public SudokuModel() {
+        this(Geometria.de(6));
+    }
+
+    /**
+     * Constructor que inicializa el modelo del Sudoku con la geometría indicada.
+     * @param geometria Geometría del tablero
+     */
+    public SudokuModel(Geometria geometria) {
+        this.geometria = geometria;
+        this.tablero = new TableroBits(geometria);
+        this.solucionCompleta = new TableroBits(geometria);
+        this.tableroInicial = new TableroBits(geometria);
+        this.modificadas = new CeldasModificadas(geometria.getCeldas());
+        this.tocadas = new CeldasModificadas(geometria.getCeldas());
+        this.notasModificadas = new CeldasModificadas(geometria.getCeldas());
+        this.notas = new int[geometria.getCeldas()];
+        this.historial = new HistorialMovimientos(CAPACIDAD_HISTORIAL);
+        this.deduccion = new MotorDeduccion(tablero);
+        this.canonizador = new CanonizadorSudoku(geometria);
+        this.jugados = new IndiceCanonico(CAPACIDAD_JUGADOS);
+        setMotorSolucion(MotorSolucion.BACKTRACKING);
         inicializarTablero();
     }
 
     /**
-     * Inicializa las matrices que representan los tableros.
+     * Elige el motor con que se resuelven y verifican los tableros.
+     * @param motor Motor de solución a usar desde ahora
+     */
+    public void setMotorSolucion(MotorSolucion motor) {
+        this.motor = motor;
+        this.solucionador = motor.crear(geometria, null);
+        this.generador = new GeneradorSudoku(geometria, AleatorioSplitMix.semillaNueva(), motor);
+    }
+
+    /**
+     * Obtiene el motor de solución en uso.
+     * @return El motor elegido
+     */
+    public MotorSolucion getMotorSolucion() {
+        return motor;
+    }
+
+    /**
+     * Obtiene la geometría del tablero.
+     * @return La geometría del modelo
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Deja vacíos el tablero de juego, el tablero inicial y la solución.
      */
     private void inicializarTablero() {
-        tablero = new ArrayList<>(TAMANO);
-        tableroInicial = new ArrayList<>(TAMANO);
-        solucionCompleta = new ArrayList<>(TAMANO);
-        for (int i = 0; i < TAMANO; i++) {
-            tablero.add(new ArrayList<>(Collections.nCopies(TAMANO, 0)));
-            tableroInicial.add(new ArrayList<>(Collections.nCopies(TAMANO, 0)));
-            solucionCompleta.add(new ArrayList<>(Collections.nCopies(TAMANO, 0)));
-        }
+        tablero.limpiar();
+        solucionCompleta.limpiar();
+        tableroInicial.limpiar();
     }
 
     /**
-     * Genera un nuevo tablero de juego con pistas aleatorias
-     * Primero genera una solución completa y luego elimina algunos números para crear el tablero jugable
+     * Registra el oyente que se avisa cuando empieza un lote de cambios en el tablero o en las notas.
+     * Se invoca una sola vez por lote: al marcarse la primera celda tras el último {@link #drenarCambios(IntConsumer)}
+     * y {@link #drenarNotas(IntConsumer)}, de modo que la vista puede agrupar todos los cambios en un repintado.
+     * @param oyente Acción a ejecutar, o null para no avisar
      */
-    public void generarNuevoTablero() {
-        generarSolucionCompleta();
-        imprimirSolucion();
-
-        for (int bloqueFila = 0; bloqueFila < TAMANO / ALTO_BLOQUE; bloqueFila++) {
-            for (int bloqueCol = 0; bloqueCol < TAMANO / ANCHO_BLOQUE; bloqueCol++) {
-                ArrayList<int[]> posiciones = new ArrayList<>();
-                for (int i = 0; i < ALTO_BLOQUE; i++) {
-                    for (int j = 0; j < ANCHO_BLOQUE; j++) {
-                        posiciones.add(new int[]{bloqueFila * ALTO_BLOQUE + i, bloqueCol * ANCHO_BLOQUE + j});
-                    }
-                }
-                Collections.shuffle(posiciones);
-
-                for (int k = 0; k < posiciones.size(); k++) {
-                    int[] pos = posiciones.get(k);
-                    int fila = pos[0];
-                    int columna = pos[1];
-
-                    if (k < 2) {
-                        int valor = solucionCompleta.get(fila).get(columna);
-                        tablero.get(fila).set(columna, valor);
-                        tableroInicial.get(fila).set(columna, valor);
-                    } else {
-                        tablero.get(fila).set(columna, 0);
-                    }
-                }
-            }
-        }
+    public void setOyenteCambios(Runnable oyente) {
+        this.oyenteCambios = oyente;
     }
 
     /**
-     * Genera una solución completa válida para el tablero de Sudoku.
-     * @return true si se encontró una solución, false en caso contrario
+     * Entrega las celdas cuyo número o condición de celda inicial cambió desde la última llamada.
+     * @param consumidor Receptor del índice plano de cada celda modificada
      */
-    private boolean generarSolucionCompleta() {
-        return resolverTablero(0, 0);
+    public void drenarCambios(IntConsumer consumidor) {
+        modificadas.drenar(consumidor);
     }
 
     /**
-     * Función que resuelve el tablero antes de iniciar el juego con el objetivo de validar y sugerir el resultado correcto
-     * @param fila Fila actual que se está evaluando
-     * @param columna Columna actual que se está evaluando
-     * @return true si se encontró una solución válida
+     * Entrega las celdas cuyas notas cambiaron desde la última llamada.
+     * @param consumidor Receptor del índice plano de cada celda con notas modificadas
      */
-    private boolean resolverTablero(int fila, int columna) {
-        if (fila == TAMANO) return true;
-        if (columna == TAMANO) return resolverTablero(fila + 1, 0);
-        if (solucionCompleta.get(fila).get(columna) != 0) return resolverTablero(fila, columna + 1);
+    public void drenarNotas(IntConsumer consumidor) {
+        notasModificadas.drenar(consumidor);
+    }
 
-        ArrayList<Integer> numeros = new ArrayList<>();
-        for (int i = 1; i <= TAMANO; i++) numeros.add(i);
-        Collections.shuffle(numeros);
-        System.out.println(numeros);
-        for (int num : numeros) {
-            if (movimientoValidoEnSolucion(fila, columna, num)) {
-                solucionCompleta.get(fila).set(columna, num);
-                if (resolverTablero(fila, columna + 1)) return true;
-                solucionCompleta.get(fila).set(columna, 0);
-            }
+    /**
+     * Marca una celda como modificada y avisa al oyente si empieza un lote nuevo.
+     */
+    private void marcarModificada(int celda) {
+        if (modificadas.marcar(celda) && notasModificadas.vacio() && oyenteCambios != null) oyenteCambios.run();
+    }
+
+    /**
+     * Marca las notas de una celda como modificadas y avisa al oyente si empieza un lote nuevo.
+     */
+    private void marcarNotas(int celda) {
+        if (notasModificadas.marcar(celda) && modificadas.vacio() && oyenteCambios != null) oyenteCambios.run();
+    }
+
+    /**
+     * Genera un nuevo tablero de juego con pistas aleatorias
+     * Primero genera una solución completa y luego retira números mientras el tablero conserve una única solución,
+     * de modo que la ayuda de {@link #obtenerNumeroCorrecto(int, int)} nunca contradice otra solución válida.
+     * Se descartan los tableros equivalentes a uno ya generado por este modelo, salvo que se repitan
+     * {@value #REPETIDOS_TOLERADOS} seguidos.
+     */
+    public void generarNuevoTablero() {
+        TableroBits pistas = new TableroBits(geometria);
+        if (jugados.getCantidad() == CAPACIDAD_JUGADOS) jugados = new IndiceCanonico(CAPACIDAD_JUGADOS);
+        for (int seguidos = 0; ; seguidos++) {
+            long semilla = generador.generar(pistas, solucionCompleta, geometria.pistasPorDefecto());
+            sudokuActual = Sudoku.desde(pistas, solucionCompleta, null, semilla);
+            if (jugados.agregar(canonizador.huella(sudokuActual)) || seguidos == REPETIDOS_TOLERADOS) break;
         }
-        return false;
+        registrarSolucion();
+        cargarPistas(pistas);
     }
 
     /**
-     * Verifica si un número puede colocarse en una posición específica
-     * según las reglas del Sudoku para la solución completa.
-     * @param fila Fila donde se quiere colocar el número
-     * @param columna Columna donde se quiere colocar el número
-     * @param numero Número a verificar
-     * @return true si el movimiento es válido o false si no lo es, de acuerdo a la soución hecha previamente
+     * Carga un tablero ya generado como nuevo juego, sin pasar por el generador.
+     * @param sudoku Tablero con sus pistas y su solución; debe tener la geometría del modelo
      */
-    private boolean movimientoValidoEnSolucion(int fila, int columna, int numero) {
-        // Verificar fila
-        for (int c = 0; c < TAMANO; c++) {
-            if (solucionCompleta.get(fila).get(c) == numero) return false;
+    public void cargarTablero(Sudoku sudoku) {
+        if (sudoku.getGeometria() != geometria) {
+            throw new IllegalArgumentException("El tablero es de " + sudoku.getGeometria() + " y el modelo de " + geometria);
         }
+        TableroBits pistas = new TableroBits(geometria);
+        sudoku.copiarPistasEn(pistas);
+        sudoku.copiarSolucionEn(solucionCompleta);
+        sudokuActual = sudoku;
+        cargarPistas(pistas);
+    }
 
-        // Verificar columna
-        for (int r = 0; r < TAMANO; r++) {
-            if (solucionCompleta.get(r).get(columna) == numero) return false;
+    /**
+     * Carga un tablero ya generado junto con el avance que el jugador llevaba, por ejemplo al reanudar una partida.
+     * El avance no se registra en el historial.
+     * @param sudoku Tablero con sus pistas y su solución; debe tener la geometría del modelo
+     * @param progreso Tablero con las pistas y los números que había colocado el jugador
+     */
+    public void cargarTablero(Sudoku sudoku, TableroBits progreso) {
+        cargarTablero(sudoku);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            int numero = progreso.obtener(celda);
+            if (tableroInicial.obtener(celda) == 0 && numero != 0) cambiarCelda(celda, numero);
         }
+    }
 
-        // Verificar bloque 2x3
-        int inicioFilaBloque = fila - fila % ALTO_BLOQUE;
-        int inicioColumnaBloque = columna - columna % ANCHO_BLOQUE;
+    /**
+     * Obtiene el tablero que se está jugando.
+     * @return El Sudoku cargado, o null si todavía no empieza ningún juego
+     */
+    public Sudoku getSudoku() {
+        return sudokuActual;
+    }
 
-        for (int i = inicioFilaBloque; i < inicioFilaBloque + ALTO_BLOQUE; i++) {
-            for (int j = inicioColumnaBloque; j < inicioColumnaBloque + ANCHO_BLOQUE; j++) {
-                if (solucionCompleta.get(i).get(j) == numero) return false;
-            }
+    /**
+     * Reemplaza el tablero de juego por las pistas dadas, marcando solo las celdas que cambian.
+     * Los tableros se copian enteros y no celda por celda: a mitad de camino una pista nueva puede repetir un número
+     * viejo de su fila, y borrar después el viejo quitaría el número de las máscaras de la unidad.
+     * El historial y las notas empiezan vacíos.
+     */
+    private void cargarPistas(TableroBits pistas) {
+        deduccion.olvidarDescartes();
+        historial.limpiar();
+        tocadas.drenar(this::vaciarNotas);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            int pista = pistas.obtener(celda);
+            if (tablero.obtener(celda) != pista || tableroInicial.obtener(celda) != pista) marcarModificada(celda);
         }
+        tablero.copiarDe(pistas);
+        tableroInicial.copiarDe(pistas);
+    }
 
-        return true;
+    /**
+     * Vuelve al tablero con que empezó el juego y olvida el historial y las notas.
+     * El tablero se restaura copiando el tablero inicial, sin recorrer celda por celda, y solo se marcan
+     * las celdas que el jugador tocó, así que el costo no depende del tamaño del tablero ni del historial.
+     */
+    public void reiniciar() {
+        deduccion.olvidarDescartes();
+        historial.limpiar();
+        tablero.copiarDe(tableroInicial);
+        tocadas.drenar(this::restaurarCelda);
+    }
+
+    /**
+     * Marca una celda que el jugador tocó para que la vista la restaure y borra sus notas.
+     */
+    private void restaurarCelda(int celda) {
+        marcarModificada(celda);
+        vaciarNotas(celda);
     }
 
     /**
@@ -144,32 +241,198 @@ public class SudokuModel {
      * @return true si el movimiento es válido, false si no es válido
      */
     public boolean movimientoValido(int fila, int columna, int numero) {
-        if (tablero.get(fila).contains(numero)) return false;
+        return tablero.puedeColocar(geometria.indice(fila, columna), numero);
+    }
 
-        for (int i = 0; i < TAMANO; i++) {
-            if (tablero.get(i).get(columna) == numero) return false;
-        }
+    /**
+     * Establece un número en una posición específica del tablero.
+     * @param fila Fila donde se va a colocar el número
+     * @param columna Columna donde se va a colocar el número
+     * @param numero Número a colocar
+     */
+    public void establecerNumero(int fila, int columna, int numero) {
+        int celda = geometria.indice(fila, columna);
+        int anterior = tablero.obtener(celda);
+        if (anterior == numero) return;
+        historial.registrar(HistorialMovimientos.empaquetar(celda, anterior, numero));
+        cambiarCelda(celda, numero);
+    }
 
-        int inicioFilaBloque = fila - fila % ALTO_BLOQUE;
-        int inicioColumnaBloque = columna - columna % ANCHO_BLOQUE;
+    /**
+     * Cambia el número de una celda sin pasar por el historial. Si la eliminación de notas está activa,
+     * el número colocado deja de estar anotado en su fila, su columna y su bloque.
+     */
+    private void cambiarCelda(int celda, int numero) {
+        int anterior = tablero.obtener(celda);
+        tablero.establecer(celda, numero);
+        deduccion.celdaCambiada(anterior);
+        tocadas.marcar(celda);
+        marcarModificada(celda);
+        if (numero != 0 && eliminarNotas) eliminarNota(celda, numero);
+    }
 
-        for (int i = inicioFilaBloque; i < inicioFilaBloque + ALTO_BLOQUE; i++) {
-            for (int j = inicioColumnaBloque; j < inicioColumnaBloque + ANCHO_BLOQUE; j++) {
-                if (tablero.get(i).get(j) == numero) return false;
+    /**
+     * Quita un número de las notas de las celdas que comparten unidad con la celda dada.
+     * Recorre solo esas tres unidades y marca solo las celdas que lo tenían anotado. Las notas de la propia
+     * celda se conservan para que reaparezcan al vaciarla.
+     */
+    private void eliminarNota(int celda, int numero) {
+        int tamano = geometria.getTamano();
+        int bit = 1 << (numero - 1);
+        eliminarNota(geometria.celdasDeUnidad(geometria.fila(celda)), celda, bit);
+        eliminarNota(geometria.celdasDeUnidad(tamano + geometria.columna(celda)), celda, bit);
+        eliminarNota(geometria.celdasDeUnidad(2 * tamano + geometria.bloque(celda)), celda, bit);
+    }
+
+    private void eliminarNota(int[] unidad, int celda, int bit) {
+        for (int vecina : unidad) {
+            if (vecina != celda && (notas[vecina] & bit) != 0) {
+                notas[vecina] &= ~bit;
+                marcarNotas(vecina);
             }
         }
+    }
 
+    /**
+     * Borra las notas de una celda, marcándola solo si tenía alguna.
+     */
+    private void vaciarNotas(int celda) {
+        if (notas[celda] == 0) return;
+        notas[celda] = 0;
+        marcarNotas(celda);
+    }
+
+    /**
+     * Anota o retira un candidato en una celda vacía que no es inicial. En las demás celdas no hace nada.
+     * @param fila Fila de la celda
+     * @param columna Columna de la celda
+     * @param numero Número a anotar o retirar (1 a N)
+     * @return true si el número quedó anotado, false si se retiró o la celda no admite notas
+     */
+    public boolean alternarNota(int fila, int columna, int numero) {
+        int celda = geometria.indice(fila, columna);
+        if (numero < 1 || numero > geometria.getTamano()
+                || tablero.obtener(celda) != 0 || tableroInicial.obtener(celda) != 0) {
+            return false;
+        }
+        notas[celda] ^= 1 << (numero - 1);
+        tocadas.marcar(celda);
+        marcarNotas(celda);
+        return (notas[celda] & (1 << (numero - 1))) != 0;
+    }
+
+    /**
+     * Borra todas las notas de una celda.
+     * @param fila Fila de la celda
+     * @param columna Columna de la celda
+     */
+    public void borrarNotas(int fila, int columna) {
+        vaciarNotas(geometria.indice(fila, columna));
+    }
+
+    /**
+     * Obtiene las notas de una celda. Se conservan mientras la celda tiene un número, así que reaparecen al vaciarla.
+     * @param fila Fila de la celda
+     * @param columna Columna de la celda
+     * @return Máscara de los números anotados, con el bit {@code numero - 1} para cada uno
+     */
+    public int obtenerNotas(int fila, int columna) {
+        return notas[geometria.indice(fila, columna)];
+    }
+
+    /**
+     * Activa o desactiva la eliminación automática de notas: al colocar un número, se retira de las notas
+     * de su fila, su columna y su bloque.
+     * @param activa true para eliminar las notas al colocar, false para dejarlas como estén
+     */
+    public void setEliminarNotas(boolean activa) {
+        this.eliminarNotas = activa;
+    }
+
+    /**
+     * Indica si la eliminación automática de notas está activa.
+     * @return true si colocar un número lo retira de las notas de sus unidades
+     */
+    public boolean eliminaNotas() {
+        return eliminarNotas;
+    }
+
+    /**
+     * Deshace el último movimiento del jugador.
+     * @return true si había un movimiento que deshacer
+     */
+    public boolean deshacer() {
+        if (!historial.puedeDeshacer()) return false;
+        irAMovimiento(historial.getActual() - 1);
         return true;
     }
 
     /**
-     * Establece un número en una posición específica del tablero.
-     * @param fila Fila donde se va a colocar el número
-     * @param columna Columna donde se va a colocar el número
-     * @param numero Número a colocar
+     * Vuelve a aplicar el último movimiento deshecho.
+     * @return true si había un movimiento que rehacer
      */
-    public void establecerNumero(int fila, int columna, int numero) {
-        tablero.get(fila).set(columna, numero);
+    public boolean rehacer() {
+        if (!historial.puedeRehacer()) return false;
+        irAMovimiento(historial.getActual() + 1);
+        return true;
+    }
+
+    /**
+     * Lleva el tablero al estado que tenía tras una cantidad de movimientos, deshaciendo o rehaciendo los que haya
+     * en medio. Cada paso cuesta O(1) y solo se marcan las celdas que cambian.
+     * @param posicion Posición de destino; se ajusta al rango entre {@link #getPrimerMovimiento()}
+     *                 y {@link #getUltimoMovimiento()}
+     */
+    public void irAMovimiento(int posicion) {
+        int destino = Math.max(historial.getPrimera(), Math.min(posicion, historial.getUltima()));
+        while (historial.getActual() > destino) {
+            int movimiento = historial.deshacer();
+            cambiarCelda(HistorialMovimientos.celda(movimiento), HistorialMovimientos.anterior(movimiento));
+        }
+        while (historial.getActual() < destino) {
+            int movimiento = historial.rehacer();
+            cambiarCelda(HistorialMovimientos.celda(movimiento), HistorialMovimientos.nuevo(movimiento));
+        }
+    }
+
+    /**
+     * Indica si hay un movimiento que deshacer.
+     * @return true si {@link #deshacer()} tendría efecto
+     */
+    public boolean puedeDeshacer() {
+        return historial.puedeDeshacer();
+    }
+
+    /**
+     * Indica si hay un movimiento deshecho que rehacer.
+     * @return true si {@link #rehacer()} tendría efecto
+     */
+    public boolean puedeRehacer() {
+        return historial.puedeRehacer();
+    }
+
+    /**
+     * Obtiene la posición actual del historial: la cantidad de movimientos aplicados desde que empezó el juego.
+     * @return Posición actual
+     */
+    public int getMovimientoActual() {
+        return historial.getActual();
+    }
+
+    /**
+     * Obtiene la posición más vieja a la que se puede volver; es mayor que 0 si se olvidaron movimientos.
+     * @return Primera posición disponible
+     */
+    public int getPrimerMovimiento() {
+        return historial.getPrimera();
+    }
+
+    /**
+     * Obtiene la posición más nueva a la que se puede avanzar rehaciendo.
+     * @return Última posición disponible
+     */
+    public int getUltimoMovimiento() {
+        return historial.getUltima();
     }
 
     /**
@@ -179,7 +442,7 @@ public class SudokuModel {
      * @return El número en la posición especificada
      */
     public int obtenerNumero(int fila, int columna) {
-        return tablero.get(fila).get(columna);
+        return tablero.obtener(geometria.indice(fila, columna));
     }
 
     /**
@@ -189,7 +452,15 @@ public class SudokuModel {
      * @return true si la celda contiene una número inicial, false si no lo tiene
      */
     public boolean esCeldaInicial(int fila, int columna) {
-        return tableroInicial.get(fila).get(columna) != 0;
+        return tableroInicial.obtener(geometria.indice(fila, columna)) != 0;
+    }
+
+    /**
+     * Copia el tablero actual de juego, por ejemplo para validar movimientos sobre una réplica en otro hilo.
+     * @param destino Tablero de la misma geometría donde se copia
+     */
+    public void copiarTableroEn(TableroBits destino) {
+        destino.copiarDe(tablero);
     }
 
     /**
@@ -197,12 +468,27 @@ public class SudokuModel {
      * @return true si está completo y false en caso contrario
      */
     public boolean juegoCompleto() {
-        for (int fila = 0; fila < TAMANO; fila++) {
-            for (int columna = 0; columna < TAMANO; columna++) {
-                if (tablero.get(fila).get(columna) == 0) return false;
-            }
-        }
-        return true;
+        return tablero.vacias() == 0;
+    }
+
+    /**
+     * Cuenta las soluciones del tablero actual de juego con el motor elegido.
+     * @param limite Cantidad de soluciones a partir de la cual se deja de buscar
+     * @return Número de soluciones, como máximo {@code limite}
+     */
+    public int contarSoluciones(int limite) {
+        return solucionador.contarSoluciones(tablero, limite);
+    }
+
+    /**
+     * Busca, por deducción lógica sobre el tablero actual de juego, el siguiente número que puede colocarse.
+     * Los candidatos se mantienen al día con cada {@link #establecerNumero(int, int, int)}, así que no se
+     * recalcula el tablero en cada consulta.
+     * @return La colocación y su justificación, una contradicción si el tablero tiene un error,
+     *         o null si hace falta probar números para avanzar
+     */
+    public PasoLogico siguienteColocacionLogica() {
+        return deduccion.siguienteColocacion();
     }
 
     /**
@@ -212,20 +498,23 @@ public class SudokuModel {
      * @return El número correcto para esa posición
      */
     public int obtenerNumeroCorrecto(int fila, int columna) {
-        return solucionCompleta.get(fila).get(columna);
+        return solucionCompleta.obtener(geometria.indice(fila, columna));
     }
 
     /**
-     * Imprime la solución completa del Sudoku en la consola.
-     * Método útil para depuración.
+     * Registra la solución del tablero nuevo en el nivel DEBUG, útil para depurar.
+     * Con el nivel deshabilitado no se arma el texto.
      */
-    public void imprimirSolucion() {
-        System.out.println("Solución completa del Sudoku:");
-        for (ArrayList<Integer> fila : solucionCompleta) {
-            for (int numero : fila) {
-                System.out.print(numero + " ");
-            }
-            System.out.println();
+    private void registrarSolucion() {
+        if (!REGISTRO.isLoggable(System.Logger.Level.DEBUG)) return;
+        int tamano = geometria.getTamano();
+        StringBuilder texto = new StringBuilder(tamano * (tamano + 1) + 64)
+                .append("evento=tablero tamano=").append(geometria)
+                .append(" semilla=").append(Long.toHexString(sudokuActual.getSemilla())).append(" solucion=");
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            if (celda > 0 && celda % tamano == 0) texto.append('/');
+            texto.append(geometria.simbolo(solucionCompleta.obtener(celda)));
         }
+        REGISTRO.log(System.Logger.Level.DEBUG, texto.toString());
     }
-}
\ No newline at end of file
+}
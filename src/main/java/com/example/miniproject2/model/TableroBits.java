@@ -0,0 +1,142 @@
+package com.example.miniproject2.model;
+
+import java.util.Arrays;
+
+/**
+ * Tablero de Sudoku representado con tipos primitivos.
+ * Las celdas se guardan en un arreglo plano de bytes (índice = fila * N + columna) y,
+ * para cada unidad (fila, columna o bloque), se mantiene una máscara de bits con los números
+ * ya usados (el bit {@code numero - 1} encendido indica que el número está presente).
+ * Así la validación de un movimiento es O(1) y no crea objetos.
+ */
+public final class TableroBits {
+    private final Geometria geometria;
+    private final byte[] celdas;
+    private final int[] usados;
+    private final int tamano;
+    private int vacias;
+
+    /**
+     * Crea un tablero vacío con la geometría indicada.
+     * @param geometria Geometría del tablero
+     */
+    public TableroBits(Geometria geometria) {
+        this.geometria = geometria;
+        this.tamano = geometria.getTamano();
+        this.celdas = new byte[geometria.getCeldas()];
+        this.usados = new int[geometria.getUnidades()];
+        this.vacias = celdas.length;
+    }
+
+    /**
+     * Obtiene la geometría del tablero.
+     * @return La geometría con que se creó el tablero
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Obtiene el número guardado en una celda.
+     * @param celda Índice plano de la celda
+     * @return El número de la celda, o 0 si está vacía
+     */
+    public int obtener(int celda) {
+        return celdas[celda];
+    }
+
+    /**
+     * Obtiene la máscara de números ya usados en una unidad.
+     * @param unidad Índice de la unidad, según {@link Geometria#celdasDeUnidad(int)}
+     * @return Máscara de bits con los números presentes
+     */
+    public int usadosEnUnidad(int unidad) {
+        return usados[unidad];
+    }
+
+    /**
+     * Calcula los números que todavía pueden colocarse en una celda.
+     * @param celda Índice plano de la celda
+     * @return Máscara de bits con los candidatos (bit {@code numero - 1})
+     */
+    public int candidatos(int celda) {
+        return ~ocupados(celda) & geometria.getMascaraCompleta();
+    }
+
+    /**
+     * Verifica si un número no aparece todavía en la fila, columna ni bloque de la celda.
+     * @param celda Índice plano de la celda
+     * @param numero Número a verificar (1-N)
+     * @return true si el número no está repetido, false en caso contrario
+     */
+    public boolean puedeColocar(int celda, int numero) {
+        return (ocupados(celda) & (1 << (numero - 1))) == 0;
+    }
+
+    /**
+     * Establece el número de una celda, actualizando las máscaras de fila, columna y bloque.
+     * Se asume que el tablero no tiene números repetidos, como garantiza la validación del modelo.
+     * @param celda Índice plano de la celda
+     * @param numero Número a colocar, o 0 para vaciar la celda
+     */
+    public void establecer(int celda, int numero) {
+        int anterior = celdas[celda];
+        if (anterior == numero) return;
+        int fila = geometria.fila(celda);
+        int columna = tamano + geometria.columna(celda);
+        int bloque = 2 * tamano + geometria.bloque(celda);
+        if (anterior != 0) {
+            int bit = ~(1 << (anterior - 1));
+            usados[fila] &= bit;
+            usados[columna] &= bit;
+            usados[bloque] &= bit;
+            vacias++;
+        }
+        if (numero != 0) {
+            int bit = 1 << (numero - 1);
+            usados[fila] |= bit;
+            usados[columna] |= bit;
+            usados[bloque] |= bit;
+            vacias--;
+        }
+        celdas[celda] = (byte) numero;
+    }
+
+    /**
+     * Obtiene la cantidad de celdas vacías.
+     * @return Número de celdas con valor 0
+     */
+    public int vacias() {
+        return vacias;
+    }
+
+    /**
+     * Vacía todas las celdas del tablero.
+     */
+    public void limpiar() {
+        Arrays.fill(celdas, (byte) 0);
+        Arrays.fill(usados, 0);
+        vacias = celdas.length;
+    }
+
+    /**
+     * Copia el contenido de otro tablero de la misma geometría sobre este, sin crear objetos.
+     * @param otro Tablero a copiar
+     */
+    public void copiarDe(TableroBits otro) {
+        System.arraycopy(otro.celdas, 0, celdas, 0, celdas.length);
+        System.arraycopy(otro.usados, 0, usados, 0, usados.length);
+        vacias = otro.vacias;
+    }
+
+    /**
+     * Une las máscaras de la fila, columna y bloque de una celda.
+     * @param celda Índice plano de la celda
+     * @return Máscara con los números que ya aparecen en alguna unidad de la celda
+     */
+    private int ocupados(int celda) {
+        return usados[geometria.fila(celda)]
+                | usados[tamano + geometria.columna(celda)]
+                | usados[2 * tamano + geometria.bloque(celda)];
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.miniproject2.model;
+
+/**
+ * Técnicas de deducción que aplica {@link MotorDeduccion}, en el orden en que se buscan.
+ */
+public enum Tecnica {
+    /** Una celda vacía se quedó sin candidatos: el tablero tiene un error. */
+    CONTRADICCION("Contradicción", 0),
+    /** Una celda tiene un único candidato. */
+    UNICO_DESNUDO("Único candidato", 1),
+    /** Un número cabe en una sola celda de una unidad. */
+    UNICO_OCULTO("Único lugar", 2),
+    /** Dos celdas de una unidad comparten los mismos dos candidatos. */
+    PAR_DESNUDO("Par desnudo", 5),
+    /** Dos números de una unidad solo caben en las mismas dos celdas. */
+    PAR_OCULTO("Par oculto", 8),
+    /** Dentro de un bloque, un número solo cabe en una fila o columna. */
+    APUNTADO("Apuntado", 6),
+    /** Dentro de una fila o columna, un número solo cabe en un bloque. */
+    RECLAMO("Reducción bloque-línea", 6);
+
+    private final String nombre;
+    private final int peso;
+
+    Tecnica(String nombre, int peso) {
+        this.nombre = nombre;
+        this.peso = peso;
+    }
+
+    /**
+     * Obtiene el nombre de la técnica para mostrarlo al jugador.
+     * @return Nombre de la técnica
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene cuánto suma cada uso de la técnica al puntaje de dificultad.
+     * @return Peso de la técnica
+     */
+    public int getPeso() {
+        return peso;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.miniproject2.model;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Valida movimientos en un hilo propio para que la interfaz nunca espere por ellos.
+ * El hilo mantiene una réplica del tablero a la que aplica, en orden, cada movimiento válido; quien usa
+ * el validador aplica los mismos movimientos a su tablero al recibir los resultados, así que ambos coinciden.
+ * Los resultados se agrupan y se entregan por lotes con el ejecutor de entrega (en la interfaz,
+ * {@code Platform::runLater}), una sola vez por lote. Cada movimiento recibe un número de secuencia: un resultado
+ * deja de estar vigente si se envió otro movimiento después, y se descarta del todo si el tablero se
+ * resincronizó (nuevo juego o reinicio) después de enviarlo.
+ * Los métodos públicos deben llamarse desde el hilo donde se entregan los resultados.
+ */
+public final class ValidadorMovimientos implements AutoCloseable {
+    private final Geometria geometria;
+    private final TableroBits replica;
+    private final ExecutorService hilo;
+    private final Executor entrega;
+    private final Consumer<ResultadoValidacion> receptor;
+    private final ConcurrentLinkedQueue<ResultadoValidacion> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean entregaProgramada = new AtomicBoolean();
+    private long ultimaSecuencia;
+    private long epoca;
+
+    /**
+     * Crea el validador con su hilo de trabajo.
+     * @param geometria Geometría de los tableros a validar
+     * @param entrega Ejecutor del hilo que recibe los resultados
+     * @param receptor Acción que recibe cada resultado no descartado, en el orden en que se enviaron los movimientos
+     */
+    public ValidadorMovimientos(Geometria geometria, Executor entrega, Consumer<ResultadoValidacion> receptor) {
+        this.geometria = geometria;
+        this.replica = new TableroBits(geometria);
+        this.entrega = entrega;
+        this.receptor = receptor;
+        this.hilo = Executors.newSingleThreadExecutor(tarea -> {
+            Thread trabajador = new Thread(tarea, "validador-sudoku");
+            trabajador.setDaemon(true);
+            return trabajador;
+        });
+    }
+
+    /**
+     * Reemplaza la réplica por una copia del tablero indicado y descarta los resultados aún no entregados.
+     * Debe llamarse cada vez que el tablero cambia sin pasar por el validador.
+     * @param tablero Tablero actual de juego
+     */
+    public void sincronizar(TableroBits tablero) {
+        TableroBits copia = new TableroBits(geometria);
+        copia.copiarDe(tablero);
+        epoca++;
+        hilo.execute(() -> replica.copiarDe(copia));
+    }
+
+    /**
+     * Envía un movimiento para validarlo en segundo plano.
+     * @param celda Índice plano de la celda
+     * @param numero Número a colocar, o 0 para vaciar la celda
+     * @return Número de secuencia asignado al movimiento
+     */
+    public long enviar(int celda, int numero) {
+        long secuencia = ++ultimaSecuencia;
+        long epocaMovimiento = epoca;
+        hilo.execute(() -> validar(secuencia, epocaMovimiento, celda, numero));
+        return secuencia;
+    }
+
+    /**
+     * Detiene el hilo de trabajo; los movimientos pendientes se descartan.
+     */
+    @Override
+    public void close() {
+        hilo.shutdownNow();
+    }
+
+    /**
+     * Valida el movimiento sobre la réplica, lo aplica si es válido y deja el resultado para entregar.
+     */
+    private void validar(long secuencia, long epocaMovimiento, int celda, int numero) {
+        boolean valido = numero == 0 || replica.puedeColocar(celda, numero);
+        if (valido) replica.establecer(celda, numero);
+        pendientes.add(new ResultadoValidacion(secuencia, epocaMovimiento, celda, numero, valido, replica.vacias() == 0));
+        if (entregaProgramada.compareAndSet(false, true)) {
+            entrega.execute(this::entregar);
+        }
+    }
+
+    /**
+     * Entrega al receptor los resultados acumulados, descartando los de una sincronización anterior.
+     */
+    private void entregar() {
+        entregaProgramada.set(false);
+        ResultadoValidacion resultado;
+        while ((resultado = pendientes.poll()) != null) {
+            if (resultado.getEpoca() != epoca) continue;
+            resultado.setVigente(resultado.getSecuencia() == ultimaSecuencia);
+            receptor.accept(resultado);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.FuenteSudokus;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * Biblioteca de Sudokus de solo lectura en el {@link FormatoBinario}, mapeada en memoria.
+ * El archivo se proyecta con {@link FileChannel#map} en segmentos de hasta 1 GiB que contienen
+ * registros completos, de modo que cualquier tablero se lee por índice en tiempo constante,
+ * sin cargarlo al heap ni interpretar texto. Puede leerse desde varios hilos a la vez.
+ * Lee las versiones 1 y 2 del formato; solo la 2 guarda la calificación de cada tablero.
+ */
+public final class BibliotecaSudokus implements FuenteSudokus, Closeable {
+    private static final long BYTES_MAXIMOS_SEGMENTO = 1L << 30;
+
+    private final FileChannel canal;
+    private final Geometria geometria;
+    private final byte version;
+    private final long cantidad;
+    private final int bytesPorRegistro;
+    private final int registrosPorSegmento;
+    private final MappedByteBuffer[] segmentos;
+    private final SplittableRandom aleatorio = new SplittableRandom();
+
+    /**
+     * Abre y mapea una biblioteca.
+     * @param archivo Ruta del archivo
+     * @throws IOException Si no se puede leer o no tiene el formato esperado
+     */
+    public BibliotecaSudokus(Path archivo) throws IOException {
+        this(archivo, BYTES_MAXIMOS_SEGMENTO);
+    }
+
+    /**
+     * Abre y mapea una biblioteca con segmentos de un tamaño máximo dado, para probar bibliotecas de varios segmentos
+     * sin crear archivos de más de 1 GiB.
+     * @param archivo Ruta del archivo
+     * @param bytesMaximosSegmento Bytes máximos de cada segmento mapeado; debe caber al menos un registro
+     * @throws IOException Si no se puede leer o no tiene el formato esperado
+     */
+    BibliotecaSudokus(Path archivo, long bytesMaximosSegmento) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(FormatoBinario.BYTES_CABECERA);
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) {
+                // lee hasta completar la cabecera o llegar al final
+            }
+            cabecera.flip();
+            if (cabecera.remaining() < FormatoBinario.BYTES_CABECERA || cabecera.getInt() != FormatoBinario.MARCA) {
+                throw new IOException("No es una biblioteca de Sudokus: " + archivo);
+            }
+            version = cabecera.get();
+            if (version < 1 || version > FormatoBinario.VERSION) {
+                throw new IOException("Versión de biblioteca no soportada: " + version);
+            }
+            int tamano = cabecera.get() & 0xFF;
+            if (tamano < 1 || tamano > Geometria.TAMANO_MAXIMO) {
+                throw new IOException("No es una biblioteca de Sudokus, tamaño " + tamano + ": " + archivo);
+            }
+            geometria = Geometria.de(tamano);
+            cabecera.get();
+            cabecera.get();
+            cantidad = cabecera.getLong();
+            bytesPorRegistro = FormatoBinario.bytesPorRegistro(geometria, version);
+            if (cantidad < 0 || FormatoBinario.BYTES_CABECERA + cantidad * bytesPorRegistro > canal.size()) {
+                throw new IOException("La biblioteca está truncada: " + archivo);
+            }
+
+            registrosPorSegmento = (int) (bytesMaximosSegmento / bytesPorRegistro);
+            int cantidadSegmentos = (int) ((cantidad + registrosPorSegmento - 1) / registrosPorSegmento);
+            segmentos = new MappedByteBuffer[cantidadSegmentos];
+            for (int i = 0; i < cantidadSegmentos; i++) {
+                long primero = (long) i * registrosPorSegmento;
+                long registros = Math.min(registrosPorSegmento, cantidad - primero);
+                segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY,
+                        FormatoBinario.BYTES_CABECERA + primero * bytesPorRegistro, registros * bytesPorRegistro);
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene la geometría de los tableros de la biblioteca.
+     * @return La geometría guardada en la cabecera
+     */
+    @Override
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Obtiene la cantidad de tableros de la biblioteca.
+     * @return Número de tableros
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Copia un tablero de la biblioteca sin crear objetos.
+     * @param indice Índice del tablero, de 0 a {@link #getCantidad()} - 1
+     * @param pistas Tablero donde se dejan las pistas; se sobrescribe
+     * @param solucion Tablero donde se deja la solución; se sobrescribe
+     */
+    public void copiarEn(long indice, TableroBits pistas, TableroBits solucion) {
+        if (indice < 0 || indice >= cantidad) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de la biblioteca de " + cantidad);
+        }
+        FormatoBinario.decodificar(segmento(indice), posicion(indice), pistas, solucion);
+    }
+
+    /**
+     * Obtiene la calificación guardada de un tablero, sin decodificar sus celdas.
+     * @param indice Índice del tablero, de 0 a {@link #getCantidad()} - 1
+     * @return La calificación, o null si el tablero no se calificó o la biblioteca es de la versión 1
+     */
+    public Calificacion getCalificacion(long indice) {
+        if (indice < 0 || indice >= cantidad) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de la biblioteca de " + cantidad);
+        }
+        if (version < 2) return null;
+        return FormatoBinario.leerCalificacion(segmento(indice), posicion(indice), geometria);
+    }
+
+    private MappedByteBuffer segmento(long indice) {
+        return segmentos[(int) (indice / registrosPorSegmento)];
+    }
+
+    private int posicion(long indice) {
+        return (int) (indice % registrosPorSegmento) * bytesPorRegistro;
+    }
+
+    /**
+     * Obtiene un tablero de la biblioteca.
+     * @param indice Índice del tablero, de 0 a {@link #getCantidad()} - 1
+     * @return El Sudoku guardado en esa posición
+     */
+    public Sudoku obtener(long indice) {
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        copiarEn(indice, pistas, solucion);
+        return Sudoku.desde(pistas, solucion, getCalificacion(indice));
+    }
+
+    /**
+     * Entrega un tablero elegido al azar.
+     * @return Un Sudoku de la biblioteca
+     */
+    @Override
+    public Sudoku tomar() {
+        if (cantidad == 0) throw new IllegalStateException("La biblioteca está vacía");
+        long indice;
+        synchronized (aleatorio) {
+            indice = aleatorio.nextLong(cantidad);
+        }
+        return obtener(indice);
+    }
+
+    /**
+     * Cierra el archivo. Los segmentos mapeados se liberan cuando el recolector los descarta.
+     * @throws IOException Si falla el cierre
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
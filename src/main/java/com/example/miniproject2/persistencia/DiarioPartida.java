@@ -0,0 +1,361 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario binario de la partida en curso, de solo agregado, para reanudarla si la aplicación se cierra.
+ *
+ * <p>El archivo empieza con la marca "SDKD" y la versión, seguidas de una instantánea de la partida y de los
+ * movimientos hechos después. Cada registro es un byte de tipo, sus datos y un CRC32C del tipo y los datos,
+ * así que un registro a medio escribir por un corte se detecta y se ignora al leer junto con lo que le sigue.
+ * Desde la versión 2 la instantánea guarda también la calificación y la semilla del tablero, para que una partida
+ * reanudada siga contando en la tabla de su dificultad; los diarios de la versión 1 se leen sin ellas.</p>
+ *
+ * <p>Todo se escribe en un hilo propio: quien registra solo encola el trabajo y nunca espera por el disco.
+ * Los registros se acumulan en un buffer y se llevan al archivo con {@code force} cada
+ * {@value #MILISEGUNDOS_SINCRONIZACION} ms. Cada {@value #MOVIMIENTOS_POR_INSTANTANEA} movimientos se pide una
+ * instantánea nueva, que se escribe en un archivo temporal y reemplaza al diario de forma atómica;
+ * así el diario queda compacto y reanudar solo repite unos pocos movimientos.</p>
+ */
+public final class DiarioPartida implements Closeable {
+    /** Marca "SDKD" al inicio del archivo. */
+    public static final int MARCA = 0x53444B44;
+    public static final byte VERSION = 2;
+    private static final int BYTES_CABECERA = 5;
+    private static final byte TIPO_INSTANTANEA = 1;
+    private static final byte TIPO_MOVIMIENTO = 2;
+    private static final byte TIPO_TIEMPO = 3;
+    /** Tipo, celda, número, segundos y CRC. */
+    private static final int BYTES_MOVIMIENTO = 1 + 2 + 1 + 4 + 4;
+    /** Tipo, segundos y CRC. */
+    private static final int BYTES_TIEMPO = 1 + 4 + 4;
+    private static final int MOVIMIENTOS_POR_INSTANTANEA = 256;
+    private static final long MILISEGUNDOS_SINCRONIZACION = 1000;
+    private static final int TAMANO_BUFER = 1 << 13;
+    private static final System.Logger REGISTRO = System.getLogger(DiarioPartida.class.getName());
+
+    private final Path archivo;
+    private final Path temporal;
+    private final ScheduledExecutorService hilo;
+    private final ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANO_BUFER);
+    private final CRC32C crc = new CRC32C();
+    private FileChannel canal;
+    private boolean sinSincronizar;
+    private int movimientosSinInstantanea;
+
+    /**
+     * Crea el diario con su hilo de escritura. El archivo no se toca hasta la primera instantánea.
+     * @param archivo Ruta del diario
+     */
+    public DiarioPartida(Path archivo) {
+        this.archivo = archivo;
+        this.temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        this.hilo = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread escritor = new Thread(tarea, "diario-partida");
+            escritor.setDaemon(true);
+            return escritor;
+        });
+        hilo.scheduleWithFixedDelay(this::sincronizar, MILISEGUNDOS_SINCRONIZACION, MILISEGUNDOS_SINCRONIZACION,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra una instantánea completa de la partida, que reemplaza a todo lo anterior del diario.
+     * @param estado Estado actual de la partida
+     */
+    public void registrarInstantanea(EstadoPartida estado) {
+        movimientosSinInstantanea = 0;
+        hilo.execute(() -> escribirInstantanea(estado));
+    }
+
+    /**
+     * Registra el nuevo número de una celda.
+     * @param celda Índice plano de la celda
+     * @param numero Número que queda en la celda, o 0 si queda vacía
+     * @param segundos Tiempo de juego al hacer el movimiento
+     */
+    public void registrarMovimiento(int celda, int numero, int segundos) {
+        movimientosSinInstantanea++;
+        hilo.execute(() -> {
+            if (canal == null) return;
+            ByteBuffer registro = ByteBuffer.allocate(BYTES_MOVIMIENTO);
+            registro.put(TIPO_MOVIMIENTO).putShort((short) celda).put((byte) numero).putInt(segundos);
+            agregar(registro);
+        });
+    }
+
+    /**
+     * Registra el tiempo de juego, para no perderlo aunque no haya movimientos.
+     * @param segundos Tiempo de juego
+     */
+    public void registrarTiempo(int segundos) {
+        hilo.execute(() -> {
+            if (canal == null) return;
+            ByteBuffer registro = ByteBuffer.allocate(BYTES_TIEMPO);
+            registro.put(TIPO_TIEMPO).putInt(segundos);
+            agregar(registro);
+        });
+    }
+
+    /**
+     * Indica si conviene registrar una instantánea para mantener corto el diario.
+     * @return true si ya hay {@value #MOVIMIENTOS_POR_INSTANTANEA} movimientos desde la última instantánea
+     */
+    public boolean pideInstantanea() {
+        return movimientosSinInstantanea >= MOVIMIENTOS_POR_INSTANTANEA;
+    }
+
+    /**
+     * Escribe lo pendiente, lo lleva al disco y detiene el hilo de escritura. Espera a que termine.
+     * @throws IOException Si se interrumpe la espera
+     */
+    @Override
+    public void close() throws IOException {
+        hilo.execute(() -> {
+            try {
+                vaciar();
+                if (canal != null) canal.force(false);
+                cerrarCanal();
+            } catch (IOException e) {
+                fallar(e);
+            }
+        });
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Se interrumpió el cierre del diario", e);
+        }
+    }
+
+    /**
+     * Lee un diario y reconstruye la partida desde su instantánea, repitiendo los movimientos que le siguen.
+     * Un registro incompleto o dañado al final, como el que deja un corte, termina la lectura sin error.
+     * @param archivo Ruta del diario
+     * @return El estado de la partida, o null si no hay diario o no llegó a guardarse una instantánea
+     * @throws IOException Si no se puede leer o no es un diario de partida
+     */
+    public static EstadoPartida recuperar(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) return null;
+        ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(archivo));
+        if (datos.remaining() < BYTES_CABECERA || datos.getInt() != MARCA) {
+            throw new IOException("No es un diario de partida: " + archivo);
+        }
+        byte version = datos.get();
+        if (version < 1 || version > VERSION) throw new IOException("Versión de diario no soportada: " + version);
+
+        CRC32C crc = new CRC32C();
+        Sudoku sudoku = null;
+        byte[] celdas = null;
+        String nombre = null;
+        int segundos = 0;
+        try {
+            while (datos.hasRemaining()) {
+                int inicio = datos.position();
+                byte tipo = datos.get();
+                if (tipo == TIPO_INSTANTANEA) {
+                    Geometria geometria = Geometria.de(datos.get());
+                    int segundosInstantanea = datos.getInt();
+                    byte[] bytesNombre = new byte[datos.getShort() & 0xFFFF];
+                    datos.get(bytesNombre);
+                    Calificacion calificacion = null;
+                    boolean tieneSemilla = false;
+                    long semilla = 0;
+                    if (version >= 2) {
+                        calificacion = FormatoBinario.leerCalificacion(datos);
+                        tieneSemilla = datos.get() != 0;
+                        semilla = datos.getLong();
+                    }
+                    TableroBits pistas = leerTablero(datos, geometria);
+                    TableroBits solucion = leerTablero(datos, geometria);
+                    byte[] celdasInstantanea = new byte[geometria.getCeldas()];
+                    datos.get(celdasInstantanea);
+                    if (!crcValido(datos, inicio, crc)) break;
+                    sudoku = tieneSemilla ? Sudoku.desde(pistas, solucion, calificacion, semilla)
+                            : Sudoku.desde(pistas, solucion, calificacion);
+                    celdas = celdasInstantanea;
+                    nombre = new String(bytesNombre, StandardCharsets.UTF_8);
+                    segundos = segundosInstantanea;
+                } else if (tipo == TIPO_MOVIMIENTO && celdas != null) {
+                    int celda = datos.getShort() & 0xFFFF;
+                    int numero = datos.get();
+                    int segundosMovimiento = datos.getInt();
+                    if (!crcValido(datos, inicio, crc) || celda >= celdas.length
+                            || numero < 0 || numero > sudoku.getGeometria().getTamano()) break;
+                    celdas[celda] = (byte) numero;
+                    segundos = segundosMovimiento;
+                } else if (tipo == TIPO_TIEMPO && celdas != null) {
+                    int segundosTiempo = datos.getInt();
+                    if (!crcValido(datos, inicio, crc)) break;
+                    segundos = segundosTiempo;
+                } else {
+                    break;
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // registro incompleto al final del diario: se conserva lo leído hasta ahí
+        }
+        return sudoku == null ? null : new EstadoPartida(sudoku, celdas, nombre, segundos);
+    }
+
+    private static TableroBits leerTablero(ByteBuffer datos, Geometria geometria) {
+        TableroBits tablero = new TableroBits(geometria);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            tablero.establecer(celda, datos.get());
+        }
+        return tablero;
+    }
+
+    /**
+     * Lee el CRC que sigue a un registro y lo compara con el calculado sobre el registro.
+     */
+    private static boolean crcValido(ByteBuffer datos, int inicio, CRC32C crc) {
+        int fin = datos.position();
+        crc.reset();
+        crc.update(datos.array(), datos.arrayOffset() + inicio, fin - inicio);
+        return datos.getInt() == (int) crc.getValue();
+    }
+
+    /**
+     * Escribe la instantánea con su cabecera en el archivo temporal y lo pone en lugar del diario.
+     */
+    private void escribirInstantanea(EstadoPartida estado) {
+        Geometria geometria = estado.getGeometria();
+        Sudoku sudoku = estado.getSudoku();
+        String jugador = estado.getNombreJugador() == null ? "" : estado.getNombreJugador();
+        byte[] nombre = jugador.getBytes(StandardCharsets.UTF_8);
+        int longitudNombre = Math.min(nombre.length, 0xFFFF);
+        ByteBuffer registro = ByteBuffer.allocate(BYTES_CABECERA + 1 + 1 + 4 + 2 + longitudNombre
+                + FormatoBinario.BYTES_CALIFICACION + 1 + 8 + 3 * geometria.getCeldas() + 4);
+        registro.putInt(MARCA).put(VERSION);
+        registro.put(TIPO_INSTANTANEA).put((byte) geometria.getTamano()).putInt(estado.getSegundos());
+        registro.putShort((short) longitudNombre).put(nombre, 0, longitudNombre);
+        FormatoBinario.escribirCalificacion(registro, sudoku.getCalificacion());
+        registro.put((byte) (sudoku.tieneSemilla() ? 1 : 0)).putLong(sudoku.tieneSemilla() ? sudoku.getSemilla() : 0);
+        TableroBits tablero = new TableroBits(geometria);
+        sudoku.copiarPistasEn(tablero);
+        escribirTablero(registro, tablero);
+        sudoku.copiarSolucionEn(tablero);
+        escribirTablero(registro, tablero);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            registro.put((byte) estado.obtener(celda));
+        }
+        crc.reset();
+        crc.update(registro.array(), BYTES_CABECERA, registro.position() - BYTES_CABECERA);
+        registro.putInt((int) crc.getValue());
+        registro.flip();
+
+        try {
+            cerrarCanal();
+            Path carpeta = archivo.toAbsolutePath().getParent();
+            if (carpeta != null) Files.createDirectories(carpeta);
+            try (FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (registro.hasRemaining()) nuevo.write(registro);
+                nuevo.force(true);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    private static void escribirTablero(ByteBuffer destino, TableroBits tablero) {
+        for (int celda = 0; celda < tablero.getGeometria().getCeldas(); celda++) {
+            destino.put((byte) tablero.obtener(celda));
+        }
+    }
+
+    /**
+     * Completa un registro con su CRC y lo deja en el buffer, escribiendo el buffer si no cabe.
+     * @param registro Registro sin CRC, con espacio para él
+     */
+    private void agregar(ByteBuffer registro) {
+        crc.reset();
+        crc.update(registro.array(), 0, registro.position());
+        registro.putInt((int) crc.getValue());
+        registro.flip();
+        try {
+            if (bufer.remaining() < registro.remaining()) vaciar();
+            bufer.put(registro);
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    /**
+     * Escribe el buffer en el archivo.
+     */
+    private void vaciar() throws IOException {
+        bufer.flip();
+        if (canal != null) {
+            while (bufer.hasRemaining()) canal.write(bufer);
+            sinSincronizar = true;
+        }
+        bufer.clear();
+    }
+
+    /**
+     * Escribe lo pendiente y lo lleva al disco; se ejecuta periódicamente en el hilo de escritura.
+     */
+    private void sincronizar() {
+        try {
+            vaciar();
+            if (canal != null && sinSincronizar) {
+                canal.force(false);
+                sinSincronizar = false;
+            }
+        } catch (IOException e) {
+            fallar(e);
+        }
+    }
+
+    /**
+     * Cierra el archivo actual, descartando lo que quedaba en el buffer.
+     */
+    private void cerrarCanal() throws IOException {
+        bufer.clear();
+        sinSincronizar = false;
+        if (canal != null) {
+            FileChannel anterior = canal;
+            canal = null;
+            anterior.close();
+        }
+    }
+
+    /**
+     * Deja de escribir hasta la próxima instantánea; la partida sigue aunque no pueda guardarse.
+     */
+    private void fallar(IOException e) {
+        REGISTRO.log(System.Logger.Level.WARNING, "No se pudo escribir el diario de la partida", e);
+        bufer.clear();
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException ignorada) {
+                // el diario ya está en falla
+            }
+            canal = null;
+        }
+    }
+}
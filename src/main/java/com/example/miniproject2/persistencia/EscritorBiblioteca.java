@@ -0,0 +1,116 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escribe una biblioteca de Sudokus en el {@link FormatoBinario}.
+ * Los registros se acumulan en un buffer y se escriben por bloques; al cerrar se completa
+ * la cantidad de tableros en la cabecera. Es seguro agregar tableros desde varios hilos.
+ */
+public final class EscritorBiblioteca implements Closeable {
+    private static final int TAMANO_BUFER = 1 << 16;
+
+    private final Geometria geometria;
+    private final FileChannel canal;
+    private final ByteBuffer bufer;
+    private final TableroBits pistas;
+    private final TableroBits solucion;
+    private long cantidad;
+
+    /**
+     * Crea (o reemplaza) el archivo de la biblioteca.
+     * @param archivo Ruta del archivo
+     * @param geometria Geometría de los tableros que se van a escribir
+     * @throws IOException Si no se puede crear el archivo
+     */
+    public EscritorBiblioteca(Path archivo, Geometria geometria) throws IOException {
+        this.geometria = geometria;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        int registro = FormatoBinario.bytesPorRegistro(geometria);
+        this.bufer = ByteBuffer.allocateDirect(Math.max(TAMANO_BUFER, registro) / registro * registro);
+        this.pistas = new TableroBits(geometria);
+        this.solucion = new TableroBits(geometria);
+        ByteBuffer cabecera = ByteBuffer.allocate(FormatoBinario.BYTES_CABECERA);
+        FormatoBinario.escribirCabecera(cabecera, geometria, 0);
+        cabecera.flip();
+        while (cabecera.hasRemaining()) canal.write(cabecera);
+    }
+
+    /**
+     * Agrega un tablero al final de la biblioteca, con su calificación si la tiene.
+     * @param sudoku Tablero a agregar; debe tener la geometría de la biblioteca
+     * @throws IOException Si falla la escritura
+     */
+    public synchronized void agregar(Sudoku sudoku) throws IOException {
+        if (sudoku.getGeometria() != geometria) {
+            throw new IllegalArgumentException("El tablero es de " + sudoku.getGeometria() + " y la biblioteca de " + geometria);
+        }
+        sudoku.copiarPistasEn(pistas);
+        sudoku.copiarSolucionEn(solucion);
+        agregar(pistas, solucion, sudoku.getCalificacion());
+    }
+
+    /**
+     * Agrega un tablero al final de la biblioteca a partir de sus tableros de pistas y solución.
+     * @param pistas Tablero con las pistas
+     * @param solucion Tablero con la solución completa
+     * @throws IOException Si falla la escritura
+     */
+    public synchronized void agregar(TableroBits pistas, TableroBits solucion) throws IOException {
+        agregar(pistas, solucion, null);
+    }
+
+    /**
+     * Agrega un tablero calificado al final de la biblioteca.
+     * @param pistas Tablero con las pistas
+     * @param solucion Tablero con la solución completa
+     * @param calificacion Calificación del tablero, o null si no se calificó
+     * @throws IOException Si falla la escritura
+     */
+    public synchronized void agregar(TableroBits pistas, TableroBits solucion, Calificacion calificacion)
+            throws IOException {
+        if (bufer.remaining() < FormatoBinario.bytesPorRegistro(geometria)) vaciar();
+        FormatoBinario.codificar(pistas, solucion, calificacion, bufer);
+        cantidad++;
+    }
+
+    /**
+     * Obtiene la cantidad de tableros agregados.
+     * @return Tableros escritos hasta ahora
+     */
+    public synchronized long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Escribe lo pendiente, actualiza la cantidad en la cabecera y cierra el archivo.
+     * @throws IOException Si falla la escritura
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            vaciar();
+            ByteBuffer contador = ByteBuffer.allocate(Long.BYTES).putLong(0, cantidad);
+            canal.write(contador, FormatoBinario.POSICION_CANTIDAD);
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void vaciar() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) canal.write(bufer);
+        bufer.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+/**
+ * Estado de una partida en curso tal como se guarda en el {@link DiarioPartida}: el Sudoku que se juega,
+ * los números que lleva el tablero, el nombre del jugador y el tiempo transcurrido.
+ * Es inmutable; las celdas se copian al crearlo.
+ */
+public final class EstadoPartida {
+    private final Sudoku sudoku;
+    private final byte[] celdas;
+    private final String nombreJugador;
+    private final int segundos;
+
+    /**
+     * Crea el estado copiando el tablero de juego.
+     * @param sudoku Sudoku que se está jugando
+     * @param tablero Tablero de juego con las pistas y los números del jugador
+     * @param nombreJugador Nombre del jugador
+     * @param segundos Tiempo transcurrido en segundos
+     */
+    public EstadoPartida(Sudoku sudoku, TableroBits tablero, String nombreJugador, int segundos) {
+        this.sudoku = sudoku;
+        this.celdas = new byte[tablero.getGeometria().getCeldas()];
+        for (int celda = 0; celda < celdas.length; celda++) {
+            celdas[celda] = (byte) tablero.obtener(celda);
+        }
+        this.nombreJugador = nombreJugador;
+        this.segundos = segundos;
+    }
+
+    EstadoPartida(Sudoku sudoku, byte[] celdas, String nombreJugador, int segundos) {
+        this.sudoku = sudoku;
+        this.celdas = celdas;
+        this.nombreJugador = nombreJugador;
+        this.segundos = segundos;
+    }
+
+    /**
+     * Obtiene el Sudoku que se está jugando.
+     * @return El Sudoku con sus pistas y su solución
+     */
+    public Sudoku getSudoku() {
+        return sudoku;
+    }
+
+    /**
+     * Obtiene la geometría del tablero.
+     * @return La geometría del Sudoku
+     */
+    public Geometria getGeometria() {
+        return sudoku.getGeometria();
+    }
+
+    /**
+     * Obtiene el número de una celda del tablero de juego.
+     * @param celda Índice plano de la celda
+     * @return El número, o 0 si la celda está vacía
+     */
+    public int obtener(int celda) {
+        return celdas[celda];
+    }
+
+    /**
+     * Copia el tablero de juego en otro tablero.
+     * @param destino Tablero de la misma geometría; se sobrescribe
+     */
+    public void copiarTableroEn(TableroBits destino) {
+        destino.limpiar();
+        for (int celda = 0; celda < celdas.length; celda++) {
+            destino.establecer(celda, celdas[celda]);
+        }
+    }
+
+    /**
+     * Obtiene el nombre del jugador.
+     * @return Nombre del jugador
+     */
+    public String getNombreJugador() {
+        return nombreJugador;
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido.
+     * @return Segundos de juego
+     */
+    public int getSegundos() {
+        return segundos;
+    }
+}
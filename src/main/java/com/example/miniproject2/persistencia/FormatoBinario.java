@@ -0,0 +1,220 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.model.Tecnica;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario compacto de una biblioteca de Sudokus.
+ *
+ * <p>La cabecera ocupa {@value #BYTES_CABECERA} bytes: la marca "SDKB", la versión, el tamaño del
+ * tablero, los bits por celda, un byte reservado y la cantidad de tableros (long, big-endian).
+ * Después siguen registros de longitud fija, uno por tablero, así que el tablero {@code i} está en
+ * {@code BYTES_CABECERA + i * bytesPorRegistro} y se accede en tiempo constante.</p>
+ *
+ * <p>Cada registro guarda un mapa de bits con las celdas que son pista (un bit por celda) seguido
+ * de la solución completa empaquetada con {@code ceil(log2(N))} bits por celda (el número menos uno):
+ * 3 bits en 6x6, 4 bits en 9x9 y 16x16 y 5 bits en 25x25. Desde la versión 2 el registro termina con
+ * {@value #BYTES_CALIFICACION} bytes de calificación: la dificultad y la técnica más elaborada (ordinal más uno,
+ * 0 si no se calificó) y el puntaje como entero sin signo de 16 bits, saturado. Un 6x6 ocupa 23 bytes y un 9x9, 56.
+ * Las bibliotecas de la versión 1 se siguen leyendo, sin calificación.</p>
+ */
+public final class FormatoBinario {
+    /** Marca "SDKB" al inicio del archivo. */
+    public static final int MARCA = 0x53444B42;
+    public static final byte VERSION = 2;
+    public static final int BYTES_CABECERA = 16;
+    /** Bytes de calificación al final de cada registro desde la versión 2. */
+    public static final int BYTES_CALIFICACION = 4;
+    private static final int PUNTAJE_MAXIMO = 0xFFFF;
+    /** Posición del contador de tableros dentro de la cabecera. */
+    static final int POSICION_CANTIDAD = 8;
+
+    private FormatoBinario() {
+    }
+
+    /**
+     * Calcula los bits necesarios para guardar un número de la geometría.
+     * @param geometria Geometría del tablero
+     * @return Bits por celda
+     */
+    public static int bitsPorCelda(Geometria geometria) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(geometria.getTamano() - 1));
+    }
+
+    /**
+     * Calcula el tamaño del mapa de bits de pistas.
+     * @param geometria Geometría del tablero
+     * @return Bytes del mapa de pistas
+     */
+    public static int bytesMapaPistas(Geometria geometria) {
+        return (geometria.getCeldas() + 7) / 8;
+    }
+
+    /**
+     * Calcula el tamaño de cada registro en la versión actual.
+     * @param geometria Geometría del tablero
+     * @return Bytes por tablero
+     */
+    public static int bytesPorRegistro(Geometria geometria) {
+        return bytesPorRegistro(geometria, VERSION);
+    }
+
+    /**
+     * Calcula el tamaño de cada registro en una versión del formato.
+     * @param geometria Geometría del tablero
+     * @param version Versión del archivo
+     * @return Bytes por tablero
+     */
+    public static int bytesPorRegistro(Geometria geometria, int version) {
+        int bytes = bytesMapaPistas(geometria) + bytesSolucion(geometria);
+        return version >= 2 ? bytes + BYTES_CALIFICACION : bytes;
+    }
+
+    private static int bytesSolucion(Geometria geometria) {
+        return (geometria.getCeldas() * bitsPorCelda(geometria) + 7) / 8;
+    }
+
+    /**
+     * Escribe la cabecera en la posición actual del buffer.
+     * @param destino Buffer destino
+     * @param geometria Geometría de los tableros
+     * @param cantidad Cantidad de tableros
+     */
+    static void escribirCabecera(ByteBuffer destino, Geometria geometria, long cantidad) {
+        destino.putInt(MARCA);
+        destino.put(VERSION);
+        destino.put((byte) geometria.getTamano());
+        destino.put((byte) bitsPorCelda(geometria));
+        destino.put((byte) 0);
+        destino.putLong(cantidad);
+    }
+
+    /**
+     * Codifica un tablero sin calificar en la posición actual del buffer.
+     * @param pistas Tablero con las pistas
+     * @param solucion Tablero con la solución completa
+     * @param destino Buffer con al menos {@link #bytesPorRegistro(Geometria)} bytes libres
+     */
+    public static void codificar(TableroBits pistas, TableroBits solucion, ByteBuffer destino) {
+        codificar(pistas, solucion, null, destino);
+    }
+
+    /**
+     * Codifica un tablero en la posición actual del buffer.
+     * @param pistas Tablero con las pistas
+     * @param solucion Tablero con la solución completa
+     * @param calificacion Calificación del tablero, o null si no se calificó
+     * @param destino Buffer con al menos {@link #bytesPorRegistro(Geometria)} bytes libres
+     */
+    public static void codificar(TableroBits pistas, TableroBits solucion, Calificacion calificacion,
+                                 ByteBuffer destino) {
+        Geometria geometria = solucion.getGeometria();
+        int celdas = geometria.getCeldas();
+        int bits = bitsPorCelda(geometria);
+
+        for (int inicio = 0; inicio < celdas; inicio += 8) {
+            int octeto = 0;
+            for (int k = 0; k < 8 && inicio + k < celdas; k++) {
+                if (pistas.obtener(inicio + k) != 0) octeto |= 1 << k;
+            }
+            destino.put((byte) octeto);
+        }
+
+        int acumulado = 0;
+        int bitsAcumulados = 0;
+        for (int celda = 0; celda < celdas; celda++) {
+            acumulado |= (solucion.obtener(celda) - 1) << bitsAcumulados;
+            bitsAcumulados += bits;
+            while (bitsAcumulados >= 8) {
+                destino.put((byte) acumulado);
+                acumulado >>>= 8;
+                bitsAcumulados -= 8;
+            }
+        }
+        if (bitsAcumulados > 0) destino.put((byte) acumulado);
+        escribirCalificacion(destino, calificacion);
+    }
+
+    /**
+     * Escribe una calificación en {@value #BYTES_CALIFICACION} bytes en la posición actual del buffer.
+     * @param destino Buffer destino
+     * @param calificacion Calificación a escribir, o null si el tablero no se calificó
+     */
+    static void escribirCalificacion(ByteBuffer destino, Calificacion calificacion) {
+        if (calificacion == null) {
+            destino.putInt(0);
+        } else {
+            Tecnica tecnica = calificacion.getTecnicaMaxima();
+            destino.put((byte) (calificacion.getDificultad().ordinal() + 1));
+            destino.put((byte) (tecnica == null ? 0 : tecnica.ordinal() + 1));
+            destino.putShort((short) Math.min(calificacion.getPuntaje(), PUNTAJE_MAXIMO));
+        }
+    }
+
+    /**
+     * Lee una calificación escrita con {@link #escribirCalificacion(ByteBuffer, Calificacion)} en la posición actual
+     * del buffer y la avanza.
+     * @param origen Buffer con la calificación
+     * @return La calificación, o null si el tablero no se calificó
+     */
+    static Calificacion leerCalificacion(ByteBuffer origen) {
+        Calificacion calificacion = calificacionEn(origen, origen.position());
+        origen.position(origen.position() + BYTES_CALIFICACION);
+        return calificacion;
+    }
+
+    /**
+     * Lee la calificación de un registro de la versión 2 por posición absoluta.
+     * @param origen Buffer con el registro
+     * @param posicion Posición absoluta del registro en el buffer
+     * @param geometria Geometría del tablero
+     * @return La calificación guardada, o null si el tablero no se calificó
+     */
+    public static Calificacion leerCalificacion(ByteBuffer origen, int posicion, Geometria geometria) {
+        return calificacionEn(origen, posicion + bytesMapaPistas(geometria) + bytesSolucion(geometria));
+    }
+
+    private static Calificacion calificacionEn(ByteBuffer origen, int inicio) {
+        int dificultad = origen.get(inicio) & 0xFF;
+        if (dificultad == 0) return null;
+        int tecnica = origen.get(inicio + 1) & 0xFF;
+        return new Calificacion(Dificultad.values()[dificultad - 1],
+                tecnica == 0 ? null : Tecnica.values()[tecnica - 1],
+                origen.getShort(inicio + 2) & 0xFFFF);
+    }
+
+    /**
+     * Decodifica un registro leyendo por posición absoluta, sin mover el buffer ni crear objetos.
+     * @param origen Buffer con el registro
+     * @param posicion Posición absoluta del registro en el buffer
+     * @param pistas Tablero donde se dejan las pistas; se sobrescribe
+     * @param solucion Tablero donde se deja la solución; se sobrescribe
+     */
+    public static void decodificar(ByteBuffer origen, int posicion, TableroBits pistas, TableroBits solucion) {
+        Geometria geometria = solucion.getGeometria();
+        int celdas = geometria.getCeldas();
+        int bits = bitsPorCelda(geometria);
+        int mascara = (1 << bits) - 1;
+        int inicioSolucion = posicion + bytesMapaPistas(geometria);
+        int bytesSolucion = bytesSolucion(geometria);
+
+        pistas.limpiar();
+        solucion.limpiar();
+        for (int celda = 0; celda < celdas; celda++) {
+            int bit = celda * bits;
+            int indice = bit >>> 3;
+            int palabra = origen.get(inicioSolucion + indice) & 0xFF;
+            if (indice + 1 < bytesSolucion) palabra |= (origen.get(inicioSolucion + indice + 1) & 0xFF) << 8;
+            int numero = ((palabra >>> (bit & 7)) & mascara) + 1;
+            solucion.establecer(celda, numero);
+            if ((origen.get(posicion + (celda >>> 3)) & (1 << (celda & 7))) != 0) {
+                pistas.establecer(celda, numero);
+            }
+        }
+    }
+}
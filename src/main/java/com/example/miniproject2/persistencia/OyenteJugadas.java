@@ -0,0 +1,35 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+/**
+ * Recibe las partidas de un {@link RegistroJugadas} a medida que se leen, sin tener el archivo en memoria.
+ * Por cada partida llegan {@link #empezar}, sus jugadas en orden y {@link #terminar(boolean)}.
+ */
+public interface OyenteJugadas {
+    /**
+     * Empieza una partida.
+     * @param sudoku Tablero de la partida
+     * @param progreso Tablero con las pistas y los números que el jugador ya tenía al empezar el registro;
+     *                 solo es válido durante la llamada
+     * @param jugador Nombre del jugador
+     * @param inicio Instante en que empezó el registro, en milisegundos desde la época
+     */
+    void empezar(Sudoku sudoku, TableroBits progreso, String jugador, long inicio);
+
+    /**
+     * Recibe una jugada de la partida en curso.
+     * @param tipo Tipo de jugada
+     * @param celda Índice plano de la celda, o -1 si el tipo no lleva celda
+     * @param numero Número de la jugada, o 0 si el tipo no lleva celda
+     * @param milis Milisegundos desde la jugada anterior o desde el inicio
+     */
+    void jugada(TipoJugada tipo, int celda, int numero, long milis);
+
+    /**
+     * Termina la partida en curso.
+     * @param integra false si la partida quedó cortada o dañada; sus jugadas no son confiables
+     */
+    void terminar(boolean integra);
+}
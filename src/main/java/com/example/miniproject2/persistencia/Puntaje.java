@@ -0,0 +1,75 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Dificultad;
+
+/**
+ * Juego terminado guardado en la {@link TablaPuntajes}. Es inmutable.
+ */
+public final class Puntaje {
+    private final String nombreJugador;
+    private final int tamano;
+    private final Dificultad dificultad;
+    private final int segundos;
+    private final long fecha;
+
+    /**
+     * Crea un puntaje.
+     * @param nombreJugador Nombre del jugador
+     * @param tamano Tamaño del tablero
+     * @param dificultad Dificultad del tablero, o null si no se calificó
+     * @param segundos Tiempo que tardó en completarlo
+     * @param fecha Momento en que se completó, en milisegundos desde 1970
+     */
+    public Puntaje(String nombreJugador, int tamano, Dificultad dificultad, int segundos, long fecha) {
+        this.nombreJugador = nombreJugador;
+        this.tamano = tamano;
+        this.dificultad = dificultad;
+        this.segundos = segundos;
+        this.fecha = fecha;
+    }
+
+    /**
+     * Obtiene el nombre del jugador.
+     * @return Nombre del jugador
+     */
+    public String getNombreJugador() {
+        return nombreJugador;
+    }
+
+    /**
+     * Obtiene el tamaño del tablero.
+     * @return Tamaño N del tablero N×N
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene la dificultad del tablero.
+     * @return La dificultad, o null si no se calificó
+     */
+    public Dificultad getDificultad() {
+        return dificultad;
+    }
+
+    /**
+     * Obtiene el tiempo que tardó el jugador.
+     * @return Segundos de juego
+     */
+    public int getSegundos() {
+        return segundos;
+    }
+
+    /**
+     * Obtiene el momento en que se completó el juego.
+     * @return Milisegundos desde 1970
+     */
+    public long getFecha() {
+        return fecha;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %02d:%02d", nombreJugador, segundos / 60, segundos % 60);
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Archivo de solo agregado con todas las jugadas de las partidas terminadas, para repetirlas y analizarlas después.
+ *
+ * <p>El archivo empieza con la marca "SDKJ" y la versión, seguidas de las partidas una tras otra. Cada partida
+ * guarda el tamaño, el instante de inicio, el nombre del jugador, las pistas, la solución y el avance con que
+ * empezó el registro, luego sus jugadas y un CRC32C de todo lo anterior. Cada jugada es un entero de longitud
+ * variable con los milisegundos desde la jugada anterior y el {@link TipoJugada}, y, si lleva celda, otro con la
+ * celda y el número: una jugada típica ocupa de 3 a 5 bytes.</p>
+ *
+ * <p>Durante la partida las jugadas se acumulan en memoria y solo se escriben al terminarla, en un hilo propio,
+ * así que registrar nunca espera por el disco. Al abrir el archivo se recorta una partida final incompleta.
+ * Los métodos de registro deben llamarse desde un mismo hilo. {@link #leer(Path, OyenteJugadas)} recorre el
+ * archivo por bloques, sin cargarlo en memoria.</p>
+ */
+public final class RegistroJugadas implements Closeable {
+    /** Marca "SDKJ" al inicio del archivo. */
+    public static final int MARCA = 0x53444B4A;
+    public static final byte VERSION = 1;
+    private static final int BYTES_CABECERA = 5;
+    private static final int BITS_TIPO = 3;
+    private static final int CODIGO_FIN = (1 << BITS_TIPO) - 1;
+    private static final int TAMANO_BUFER = 1 << 16;
+    private static final System.Logger REGISTRO = System.getLogger(RegistroJugadas.class.getName());
+
+    private final Path archivo;
+    private final ExecutorService hilo;
+    private final CRC32C crc = new CRC32C();
+    private FileChannel canal;
+    private boolean fallido;
+
+    private Sudoku sudoku;
+    private byte[] celdasProgreso;
+    private String jugador;
+    private long inicio;
+    private long ultimoInstante;
+    private byte[] jugadas = new byte[256];
+    private int largo;
+
+    /**
+     * Crea el registro con su hilo de escritura. El archivo no se toca hasta que termina la primera partida.
+     * @param archivo Ruta del archivo
+     */
+    public RegistroJugadas(Path archivo) {
+        this.archivo = archivo;
+        this.hilo = Executors.newSingleThreadExecutor(tarea -> {
+            Thread escritor = new Thread(tarea, "registro-jugadas");
+            escritor.setDaemon(true);
+            return escritor;
+        });
+    }
+
+    /**
+     * Empieza a registrar una partida; si había otra en curso, la termina.
+     * @param sudoku Tablero de la partida
+     * @param avance Tablero con las pistas y los números que el jugador ya tiene, por ejemplo al reanudar
+     * @param jugador Nombre del jugador, o null
+     */
+    public void empezar(Sudoku sudoku, TableroBits avance, String jugador) {
+        terminar();
+        Geometria geometria = sudoku.getGeometria();
+        byte[] celdas = new byte[geometria.getCeldas()];
+        for (int celda = 0; celda < celdas.length; celda++) celdas[celda] = (byte) avance.obtener(celda);
+        this.sudoku = sudoku;
+        this.celdasProgreso = celdas;
+        this.jugador = jugador == null ? "" : jugador;
+        this.inicio = System.currentTimeMillis();
+        this.ultimoInstante = System.nanoTime();
+        this.largo = 0;
+    }
+
+    /**
+     * Registra una jugada con celda en la partida en curso; sin partida en curso no hace nada.
+     * @param tipo Tipo de jugada; debe {@linkplain TipoJugada#tieneCelda() llevar celda}
+     * @param celda Índice plano de la celda
+     * @param numero Número de la jugada
+     */
+    public void registrar(TipoJugada tipo, int celda, int numero) {
+        if (sudoku == null) return;
+        agregarEncabezado(tipo);
+        agregarVarint((long) celda * (sudoku.getGeometria().getTamano() + 1) + numero);
+    }
+
+    /**
+     * Registra una jugada sin celda (deshacer, rehacer o reinicio) en la partida en curso.
+     * @param tipo Tipo de jugada
+     */
+    public void registrar(TipoJugada tipo) {
+        if (sudoku == null) return;
+        agregarEncabezado(tipo);
+    }
+
+    /**
+     * Termina la partida en curso y la deja para escribir; las jugadas siguientes se ignoran hasta la próxima
+     * {@link #empezar(Sudoku, TableroBits, String)}.
+     */
+    public void terminar() {
+        if (sudoku == null) return;
+        Geometria geometria = sudoku.getGeometria();
+        int celdas = geometria.getCeldas();
+        byte[] nombre = jugador.getBytes(StandardCharsets.UTF_8);
+        int longitudNombre = Math.min(nombre.length, 0xFFFF);
+        ByteBuffer seccion = ByteBuffer.allocate(1 + 8 + 2 + longitudNombre + 3 * celdas + largo + 1 + 4);
+        seccion.put((byte) geometria.getTamano()).putLong(inicio);
+        seccion.putShort((short) longitudNombre).put(nombre, 0, longitudNombre);
+        for (int celda = 0; celda < celdas; celda++) seccion.put((byte) sudoku.obtenerPista(celda));
+        for (int celda = 0; celda < celdas; celda++) seccion.put((byte) sudoku.obtenerSolucion(celda));
+        seccion.put(celdasProgreso).put(jugadas, 0, largo).put((byte) CODIGO_FIN);
+        sudoku = null;
+        celdasProgreso = null;
+        hilo.execute(() -> escribir(seccion));
+    }
+
+    /**
+     * Escribe la partida en curso y detiene el hilo de escritura. Espera a que termine.
+     * @throws IOException Si se interrumpe la espera
+     */
+    @Override
+    public void close() throws IOException {
+        terminar();
+        hilo.execute(() -> {
+            try {
+                if (canal != null) canal.close();
+            } catch (IOException e) {
+                REGISTRO.log(System.Logger.Level.WARNING, "No se pudo cerrar el registro de jugadas", e);
+            }
+            canal = null;
+        });
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Se interrumpió el cierre del registro de jugadas", e);
+        }
+    }
+
+    /**
+     * Recorre un registro de jugadas y entrega cada partida al oyente a medida que se lee.
+     * Una partida con el CRC equivocado se entrega como no íntegra y la lectura sigue; una partida cortada
+     * o con datos imposibles se entrega como no íntegra y termina la lectura sin error.
+     * @param archivo Ruta del registro
+     * @param oyente Receptor de las partidas
+     * @throws IOException Si no se puede leer o no es un registro de jugadas
+     */
+    public static void leer(Path archivo, OyenteJugadas oyente) throws IOException {
+        try (FileChannel lectura = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            recorrer(lectura, archivo, oyente);
+        }
+    }
+
+    /**
+     * Lee la cabecera y todas las partidas desde el principio del canal.
+     * @param oyente Receptor de las partidas, o null para solo validar
+     * @return Posición donde termina la última partida completa
+     */
+    private static long recorrer(FileChannel canal, Path archivo, OyenteJugadas oyente) throws IOException {
+        canal.position(0);
+        Lector lector = new Lector(canal);
+        try {
+            if (lector.leerInt() != MARCA) throw new IOException("No es un registro de jugadas: " + archivo);
+            byte version = (byte) lector.leerByte();
+            if (version != VERSION) throw new IOException("Versión de registro de jugadas no soportada: " + version);
+        } catch (EOFException e) {
+            throw new IOException("No es un registro de jugadas: " + archivo, e);
+        }
+
+        long fin = lector.posicion();
+        TableroBits pistas = null;
+        TableroBits solucion = null;
+        TableroBits progreso = null;
+        while (lector.quedanDatos()) {
+            boolean empezada = false;
+            try {
+                lector.empezarCrc();
+                int tamano = lector.leerByte();
+                if (tamano < 1 || tamano > Geometria.TAMANO_MAXIMO) break;
+                Geometria geometria = Geometria.de(tamano);
+                long inicio = lector.leerLong();
+                byte[] nombre = new byte[lector.leerShort()];
+                lector.leer(nombre);
+                if (pistas == null || pistas.getGeometria() != geometria) {
+                    pistas = new TableroBits(geometria);
+                    solucion = new TableroBits(geometria);
+                    progreso = new TableroBits(geometria);
+                }
+                if (!leerTablero(lector, pistas) || !leerTablero(lector, solucion) || !leerTablero(lector, progreso)) break;
+                if (oyente != null) {
+                    oyente.empezar(Sudoku.desde(pistas, solucion), progreso,
+                            new String(nombre, StandardCharsets.UTF_8), inicio);
+                    empezada = true;
+                }
+                if (!leerJugadas(lector, geometria, oyente)) {
+                    if (empezada) oyente.terminar(false);
+                    break;
+                }
+                int calculado = lector.valorCrc();
+                boolean integra = lector.leerInt() == calculado;
+                if (empezada) oyente.terminar(integra);
+                fin = lector.posicion();
+            } catch (EOFException e) {
+                if (empezada) oyente.terminar(false);
+                break;
+            }
+        }
+        return fin;
+    }
+
+    /**
+     * Lee las celdas de un tablero. Los tableros se reutilizan entre partidas, así que se vacía antes: escribir
+     * encima del de la partida anterior dejaría sus máscaras con números que ya no están.
+     * @return false si una celda tiene un número imposible
+     */
+    private static boolean leerTablero(Lector lector, TableroBits tablero) throws IOException {
+        int tamano = tablero.getGeometria().getTamano();
+        tablero.limpiar();
+        for (int celda = 0; celda < tablero.getGeometria().getCeldas(); celda++) {
+            int numero = lector.leerByte();
+            if (numero > tamano) return false;
+            tablero.establecer(celda, numero);
+        }
+        return true;
+    }
+
+    /**
+     * Lee las jugadas de una partida hasta su marca de fin.
+     * @return false si una jugada tiene datos imposibles
+     */
+    private static boolean leerJugadas(Lector lector, Geometria geometria, OyenteJugadas oyente) throws IOException {
+        int base = geometria.getTamano() + 1;
+        while (true) {
+            long encabezado = lector.leerVarint();
+            int codigo = (int) encabezado & CODIGO_FIN;
+            if (codigo == CODIGO_FIN) return encabezado == CODIGO_FIN;
+            TipoJugada tipo = TipoJugada.deCodigo(codigo);
+            if (tipo == null) return false;
+            int celda = -1;
+            int numero = 0;
+            if (tipo.tieneCelda()) {
+                long valor = lector.leerVarint();
+                if (valor < 0 || valor >= (long) geometria.getCeldas() * base) return false;
+                celda = (int) (valor / base);
+                numero = (int) (valor % base);
+            }
+            if (oyente != null) oyente.jugada(tipo, celda, numero, encabezado >>> BITS_TIPO);
+        }
+    }
+
+    private void agregarEncabezado(TipoJugada tipo) {
+        long ahora = System.nanoTime();
+        long milis = Math.max(0, (ahora - ultimoInstante) / 1_000_000);
+        ultimoInstante += milis * 1_000_000;
+        agregarVarint((milis << BITS_TIPO) | tipo.ordinal());
+    }
+
+    private void agregarVarint(long valor) {
+        if (largo + 10 > jugadas.length) jugadas = Arrays.copyOf(jugadas, jugadas.length * 2);
+        while ((valor & ~0x7FL) != 0) {
+            jugadas[largo++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        jugadas[largo++] = (byte) valor;
+    }
+
+    /**
+     * Completa la partida con su CRC y la agrega al final del archivo; se ejecuta en el hilo de escritura.
+     */
+    private void escribir(ByteBuffer seccion) {
+        if (fallido) return;
+        crc.reset();
+        crc.update(seccion.array(), 0, seccion.position());
+        seccion.putInt((int) crc.getValue());
+        seccion.flip();
+        try {
+            if (canal == null) abrir();
+            while (seccion.hasRemaining()) canal.write(seccion);
+            canal.force(false);
+        } catch (IOException e) {
+            fallido = true;
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo guardar la partida en el registro de jugadas", e);
+        }
+    }
+
+    /**
+     * Abre el archivo, escribe la cabecera si es nuevo y recorta una partida final incompleta.
+     */
+    private void abrir() throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta != null) Files.createDirectories(carpeta);
+        FileChannel abierto = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long fin;
+            if (abierto.size() == 0) {
+                ByteBuffer cabecera = ByteBuffer.allocate(BYTES_CABECERA).putInt(MARCA).put(VERSION);
+                cabecera.flip();
+                while (cabecera.hasRemaining()) abierto.write(cabecera);
+                fin = BYTES_CABECERA;
+            } else {
+                fin = recorrer(abierto, archivo, null);
+            }
+            abierto.truncate(fin);
+            abierto.position(fin);
+        } catch (IOException e) {
+            abierto.close();
+            throw e;
+        }
+        canal = abierto;
+    }
+
+    /**
+     * Lectura por bloques de un canal que acumula el CRC32C de lo leído desde {@link #empezarCrc()}.
+     */
+    private static final class Lector {
+        private final FileChannel canal;
+        private final ByteBuffer bufer = ByteBuffer.allocate(TAMANO_BUFER);
+        private final CRC32C crc = new CRC32C();
+        private long leidos;
+        private int inicioCrc;
+
+        Lector(FileChannel canal) {
+            this.canal = canal;
+            bufer.limit(0);
+        }
+
+        boolean quedanDatos() throws IOException {
+            return bufer.hasRemaining() || llenar();
+        }
+
+        int leerByte() throws IOException {
+            if (!quedanDatos()) throw new EOFException();
+            return bufer.get() & 0xFF;
+        }
+
+        int leerShort() throws IOException {
+            return leerByte() << 8 | leerByte();
+        }
+
+        int leerInt() throws IOException {
+            return leerShort() << 16 | leerShort();
+        }
+
+        long leerLong() throws IOException {
+            return (long) leerInt() << 32 | (leerInt() & 0xFFFFFFFFL);
+        }
+
+        long leerVarint() throws IOException {
+            long valor = 0;
+            for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+                int parte = leerByte();
+                valor |= (long) (parte & 0x7F) << desplazamiento;
+                if ((parte & 0x80) == 0) return valor;
+            }
+            return -1;
+        }
+
+        void leer(byte[] destino) throws IOException {
+            int copiados = 0;
+            while (copiados < destino.length) {
+                if (!quedanDatos()) throw new EOFException();
+                int parte = Math.min(bufer.remaining(), destino.length - copiados);
+                bufer.get(destino, copiados, parte);
+                copiados += parte;
+            }
+        }
+
+        long posicion() {
+            return leidos + bufer.position();
+        }
+
+        void empezarCrc() {
+            crc.reset();
+            inicioCrc = bufer.position();
+        }
+
+        int valorCrc() {
+            crc.update(bufer.array(), inicioCrc, bufer.position() - inicioCrc);
+            inicioCrc = bufer.position();
+            return (int) crc.getValue();
+        }
+
+        /**
+         * Lleva al CRC lo leído del bloque actual y lee el siguiente.
+         * @return false si el canal ya no tiene datos
+         */
+        private boolean llenar() throws IOException {
+            crc.update(bufer.array(), inicioCrc, bufer.position() - inicioCrc);
+            leidos += bufer.position();
+            bufer.clear();
+            int leido;
+            do {
+                leido = canal.read(bufer);
+            } while (leido == 0);
+            bufer.flip();
+            inicioCrc = 0;
+            return leido > 0;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.Geometria;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Tabla local de mejores tiempos, guardada en un archivo de solo agregado.
+ *
+ * <p>El archivo empieza con la marca "SDKR" y la versión; cada juego terminado es un registro con el tamaño,
+ * la dificultad, el tiempo, la fecha, el nombre del jugador y un CRC32C. Al abrir la tabla se lee el archivo
+ * una sola vez en un hilo propio, sin demorar el arranque; los registros dañados se saltan y se recorta un
+ * registro final incompleto.</p>
+ *
+ * <p>En memoria, los juegos se guardan en arreglos paralelos y cada combinación de tamaño y dificultad tiene un
+ * índice de claves {@code long} ordenadas (el tiempo en la parte alta y el número de juego en la baja), así que
+ * los mejores K se leen en O(K), la posición de un tiempo se busca en O(log n) y el mejor tiempo de cada jugador
+ * se consulta en O(1). Con cientos de miles de juegos el índice ocupa 8 bytes por juego.</p>
+ *
+ * <p>Las consultas esperan a que termine la carga; registrar un juego nunca espera.</p>
+ */
+public final class TablaPuntajes implements Closeable {
+    /** Marca "SDKR" al inicio del archivo. */
+    public static final int MARCA = 0x53444B52;
+    public static final byte VERSION = 1;
+    private static final int BYTES_CABECERA = 5;
+    /** Tamaño, dificultad, segundos, fecha y longitud del nombre. */
+    private static final int BYTES_FIJOS_REGISTRO = 1 + 1 + 4 + 8 + 2;
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final System.Logger REGISTRO = System.getLogger(TablaPuntajes.class.getName());
+
+    private final Path archivo;
+    private final ExecutorService hilo;
+    private final CompletableFuture<Void> carga;
+    private final CRC32C crc = new CRC32C();
+    private final List<String> nombres = new ArrayList<>();
+    private final Map<String, Integer> jugadores = new HashMap<>();
+    private final Map<Integer, Indice> indices = new HashMap<>();
+    private final Map<Long, Integer> mejoresPersonales = new HashMap<>();
+    private FileChannel canal;
+    /** Indica si terminó la carga; {@code carga} puede no estar asignada todavía cuando la carga empieza. */
+    private boolean cargada;
+    private int cantidad;
+    private int[] segundos = new int[CAPACIDAD_INICIAL];
+    private int[] jugadorDe = new int[CAPACIDAD_INICIAL];
+    private int[] categoriaDe = new int[CAPACIDAD_INICIAL];
+    private long[] fechas = new long[CAPACIDAD_INICIAL];
+
+    /**
+     * Abre la tabla y empieza a cargarla en segundo plano. Si el archivo no existe, se crea al registrar el primer juego.
+     * @param archivo Ruta del archivo de puntajes
+     */
+    public TablaPuntajes(Path archivo) {
+        this.archivo = archivo;
+        this.hilo = Executors.newSingleThreadExecutor(tarea -> {
+            Thread trabajador = new Thread(tarea, "tabla-puntajes");
+            trabajador.setDaemon(true);
+            return trabajador;
+        });
+        this.carga = CompletableFuture.runAsync(this::cargar, hilo);
+    }
+
+    /**
+     * Registra un juego terminado, agregándolo al archivo y al índice en segundo plano.
+     * @param nombreJugador Nombre del jugador
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad del tablero, o null si no se calificó
+     * @param tiempo Segundos que tardó el jugador
+     * @return Futuro con la posición que obtuvo el juego entre los de su tamaño y dificultad (1 es el mejor)
+     */
+    public CompletableFuture<Integer> registrar(String nombreJugador, Geometria geometria, Dificultad dificultad, int tiempo) {
+        String nombre = nombreJugador == null ? "" : nombreJugador;
+        long fecha = System.currentTimeMillis();
+        return carga.thenApplyAsync(nada -> {
+            int entrada = agregarEntrada(nombre, categoria(geometria.getTamano(), dificultad), tiempo, fecha);
+            escribir(entrada);
+            return indice(categoriaDe[entrada]).posicionDe(clave(entrada)) + 1;
+        }, hilo);
+    }
+
+    /**
+     * Obtiene los mejores tiempos de un tamaño y dificultad, del más rápido al más lento.
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad, o null para los tableros sin calificar
+     * @param limite Cantidad máxima de puntajes
+     * @return Los mejores puntajes; los empates se ordenan por antigüedad
+     */
+    public List<Puntaje> mejores(Geometria geometria, Dificultad dificultad, int limite) {
+        carga.join();
+        synchronized (this) {
+            Indice indice = indices.get(categoria(geometria.getTamano(), dificultad));
+            List<Puntaje> mejores = new ArrayList<>();
+            if (indice == null) return mejores;
+            for (int i = 0; i < Math.min(limite, indice.cantidad); i++) {
+                mejores.add(puntaje((int) indice.claves[i]));
+            }
+            return mejores;
+        }
+    }
+
+    /**
+     * Obtiene el mejor tiempo de un jugador en un tamaño y dificultad.
+     * @param nombreJugador Nombre del jugador
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad, o null para los tableros sin calificar
+     * @return Su mejor puntaje, o null si no ha terminado ningún juego así
+     */
+    public Puntaje mejorPersonal(String nombreJugador, Geometria geometria, Dificultad dificultad) {
+        carga.join();
+        synchronized (this) {
+            Integer jugador = jugadores.get(nombreJugador);
+            if (jugador == null) return null;
+            Integer entrada = mejoresPersonales.get(clavePersonal(categoria(geometria.getTamano(), dificultad), jugador));
+            return entrada == null ? null : puntaje(entrada);
+        }
+    }
+
+    /**
+     * Calcula la posición que tendría un tiempo entre los de un tamaño y dificultad.
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad, o null para los tableros sin calificar
+     * @param tiempo Segundos
+     * @return Posición, empezando en 1; los empates quedan detrás de los tiempos ya registrados
+     */
+    public int posicion(Geometria geometria, Dificultad dificultad, int tiempo) {
+        carga.join();
+        synchronized (this) {
+            Indice indice = indices.get(categoria(geometria.getTamano(), dificultad));
+            return indice == null ? 1 : indice.posicionDe(((long) tiempo << 32) | 0xFFFFFFFFL) + 1;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de juegos registrados.
+     * @return Juegos en la tabla
+     */
+    public int getCantidad() {
+        carga.join();
+        synchronized (this) {
+            return cantidad;
+        }
+    }
+
+    /**
+     * Espera a que se escriban los juegos pendientes y cierra el archivo.
+     * @throws IOException Si falla el cierre o se interrumpe la espera
+     */
+    @Override
+    public void close() throws IOException {
+        hilo.shutdown();
+        try {
+            hilo.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Se interrumpió el cierre de la tabla de puntajes", e);
+        }
+        synchronized (this) {
+            if (canal != null) canal.close();
+        }
+    }
+
+    /**
+     * Lee el archivo completo, arma los índices y deja el archivo listo para agregar al final.
+     */
+    private synchronized void cargar() {
+        try {
+            Path carpeta = archivo.toAbsolutePath().getParent();
+            if (carpeta != null) Files.createDirectories(carpeta);
+            FileChannel abierto = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                ByteBuffer datos = ByteBuffer.allocate((int) abierto.size());
+                while (datos.hasRemaining() && abierto.read(datos) >= 0) {
+                    // lee hasta completar el archivo
+                }
+                datos.flip();
+                long fin = leerRegistros(datos);
+                if (fin == 0) {
+                    ByteBuffer cabecera = ByteBuffer.allocate(BYTES_CABECERA).putInt(MARCA).put(VERSION);
+                    cabecera.flip();
+                    while (cabecera.hasRemaining()) abierto.write(cabecera, BYTES_CABECERA - cabecera.remaining());
+                    fin = BYTES_CABECERA;
+                }
+                abierto.truncate(fin);
+                abierto.position(fin);
+            } catch (IOException e) {
+                abierto.close();
+                throw e;
+            }
+            canal = abierto;
+        } catch (IOException e) {
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo abrir la tabla de puntajes", e);
+        }
+        for (Indice indice : indices.values()) indice.ordenar();
+        cargada = true;
+    }
+
+    /**
+     * Agrega al índice los registros válidos del archivo. Un registro dañado se salta sin perder los siguientes;
+     * solo se recorta un registro final incompleto.
+     * @return Posición donde termina el último registro completo, o 0 si el archivo está vacío
+     * @throws IOException Si el archivo no es una tabla de puntajes
+     */
+    private long leerRegistros(ByteBuffer datos) throws IOException {
+        if (!datos.hasRemaining()) return 0;
+        if (datos.remaining() < BYTES_CABECERA || datos.getInt() != MARCA || datos.get() != VERSION) {
+            throw new IOException("No es una tabla de puntajes: " + archivo);
+        }
+        int fin = datos.position();
+        try {
+            while (datos.hasRemaining()) {
+                int tamano = datos.get() & 0xFF;
+                int dificultad = datos.get() & 0xFF;
+                int tiempo = datos.getInt();
+                long fecha = datos.getLong();
+                byte[] nombre = new byte[datos.getShort() & 0xFFFF];
+                datos.get(nombre);
+                crc.reset();
+                crc.update(datos.array(), fin, datos.position() - fin);
+                boolean integro = datos.getInt() == (int) crc.getValue();
+                if (!integro || tamano < 1 || tamano > Geometria.TAMANO_MAXIMO
+                        || dificultad > Dificultad.values().length) {
+                    // registro dañado: se salta, su largo está en la cabecera y los siguientes siguen siendo válidos
+                    fin = datos.position();
+                    continue;
+                }
+                int entrada = agregarEntrada(new String(nombre, StandardCharsets.UTF_8), (tamano << 3) | dificultad,
+                        tiempo, fecha);
+                indice(categoriaDe[entrada]).agregar(clave(entrada));
+                fin = datos.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // registro incompleto al final: se recorta
+        }
+        return fin;
+    }
+
+    /**
+     * Guarda un juego en los arreglos y actualiza el mejor tiempo del jugador.
+     * Durante la carga las claves se agregan sin orden y se ordenan al final; después se insertan en su lugar.
+     * @return Número de la entrada
+     */
+    private synchronized int agregarEntrada(String nombre, int categoria, int tiempo, long fecha) {
+        if (cantidad == segundos.length) {
+            int capacidad = cantidad * 2;
+            segundos = Arrays.copyOf(segundos, capacidad);
+            jugadorDe = Arrays.copyOf(jugadorDe, capacidad);
+            categoriaDe = Arrays.copyOf(categoriaDe, capacidad);
+            fechas = Arrays.copyOf(fechas, capacidad);
+        }
+        Integer jugador = jugadores.get(nombre);
+        if (jugador == null) {
+            jugador = nombres.size();
+            nombres.add(nombre);
+            jugadores.put(nombre, jugador);
+        }
+        int entrada = cantidad++;
+        segundos[entrada] = tiempo;
+        jugadorDe[entrada] = jugador;
+        categoriaDe[entrada] = categoria;
+        fechas[entrada] = fecha;
+        if (cargada) indice(categoria).insertar(clave(entrada));
+
+        long personal = clavePersonal(categoria, jugador);
+        Integer mejor = mejoresPersonales.get(personal);
+        if (mejor == null || segundos[mejor] > tiempo) mejoresPersonales.put(personal, entrada);
+        return entrada;
+    }
+
+    /**
+     * Agrega una entrada al final del archivo y la lleva al disco.
+     */
+    private synchronized void escribir(int entrada) {
+        if (canal == null) return;
+        byte[] nombre = nombres.get(jugadorDe[entrada]).getBytes(StandardCharsets.UTF_8);
+        int longitud = Math.min(nombre.length, 0xFFFF);
+        ByteBuffer registro = ByteBuffer.allocate(BYTES_FIJOS_REGISTRO + longitud + 4);
+        registro.put((byte) (categoriaDe[entrada] >>> 3)).put((byte) (categoriaDe[entrada] & 7))
+                .putInt(segundos[entrada]).putLong(fechas[entrada]).putShort((short) longitud).put(nombre, 0, longitud);
+        crc.reset();
+        crc.update(registro.array(), 0, registro.position());
+        registro.putInt((int) crc.getValue());
+        registro.flip();
+        try {
+            while (registro.hasRemaining()) canal.write(registro);
+            canal.force(false);
+        } catch (IOException e) {
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo guardar el puntaje", e);
+        }
+    }
+
+    private Puntaje puntaje(int entrada) {
+        int categoria = categoriaDe[entrada];
+        int dificultad = categoria & 7;
+        return new Puntaje(nombres.get(jugadorDe[entrada]), categoria >>> 3,
+                dificultad == 0 ? null : Dificultad.values()[dificultad - 1], segundos[entrada], fechas[entrada]);
+    }
+
+    private Indice indice(int categoria) {
+        return indices.computeIfAbsent(categoria, c -> new Indice());
+    }
+
+    private long clave(int entrada) {
+        return ((long) segundos[entrada] << 32) | entrada;
+    }
+
+    private static int categoria(int tamano, Dificultad dificultad) {
+        return (tamano << 3) | (dificultad == null ? 0 : dificultad.ordinal() + 1);
+    }
+
+    private static long clavePersonal(int categoria, int jugador) {
+        return ((long) categoria << 32) | jugador;
+    }
+
+    /**
+     * Claves de los juegos de una categoría, ordenadas de menor a mayor tiempo.
+     */
+    private static final class Indice {
+        private long[] claves = new long[16];
+        private int cantidad;
+
+        /**
+         * Agrega una clave al final, sin mantener el orden; se usa durante la carga.
+         */
+        void agregar(long clave) {
+            if (cantidad == claves.length) claves = Arrays.copyOf(claves, cantidad * 2);
+            claves[cantidad++] = clave;
+        }
+
+        void ordenar() {
+            Arrays.sort(claves, 0, cantidad);
+        }
+
+        /**
+         * Inserta una clave en su lugar: O(log n) para buscarlo y un solo desplazamiento de memoria.
+         */
+        void insertar(long clave) {
+            if (cantidad == claves.length) claves = Arrays.copyOf(claves, cantidad * 2);
+            int lugar = posicionDe(clave);
+            System.arraycopy(claves, lugar, claves, lugar + 1, cantidad - lugar);
+            claves[lugar] = clave;
+            cantidad++;
+        }
+
+        /**
+         * Busca cuántas claves son menores que la dada.
+         */
+        int posicionDe(long clave) {
+            int lugar = Arrays.binarySearch(claves, 0, cantidad, clave);
+            return lugar >= 0 ? lugar : -lugar - 1;
+        }
+    }
+}
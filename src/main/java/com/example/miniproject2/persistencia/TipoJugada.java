@@ -0,0 +1,38 @@
+package com.example.miniproject2.persistencia;
+
+/**
+ * Tipos de jugada que se guardan en un {@link RegistroJugadas}. El orden es parte del formato del archivo.
+ */
+public enum TipoJugada {
+    /** Un número válido colocado en una celda, o 0 si la celda se vació. */
+    COLOCAR,
+    /** Un número rechazado por romper las reglas; el tablero no cambia. */
+    INVALIDO,
+    /** Una ayuda mostrada en una celda, con el número que se sugirió (0 si señaló un error). */
+    AYUDA,
+    /** Se deshizo el último movimiento. */
+    DESHACER,
+    /** Se rehízo el último movimiento deshecho. */
+    REHACER,
+    /** Se volvió al tablero con que empezó la partida. */
+    REINICIO;
+
+    private static final TipoJugada[] TIPOS = values();
+
+    /**
+     * Indica si la jugada lleva una celda y un número.
+     * @return true para colocar, inválido y ayuda
+     */
+    public boolean tieneCelda() {
+        return this == COLOCAR || this == INVALIDO || this == AYUDA;
+    }
+
+    /**
+     * Obtiene el tipo de un código leído del archivo.
+     * @param codigo Código del tipo
+     * @return El tipo, o null si el código no corresponde a ninguno
+     */
+    static TipoJugada deCodigo(int codigo) {
+        return codigo < TIPOS.length ? TIPOS[codigo] : null;
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.miniproject2.servidor;
+
+import com.example.miniproject2.metricas.Metricas;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.FuenteSudokus;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.MotorDeduccion;
+import com.example.miniproject2.model.PasoLogico;
+import com.example.miniproject2.model.PoolSudokus;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Administra muchas partidas sin interfaz en una misma JVM: crear, mover, pedir ayuda y consultar el estado.
+ * Cada sesión guarda solo su tablero y sus instantes ({@link SesionJuego}); los tableros salen de una reserva
+ * por tamaño y dificultad, y la ayuda usa un {@link MotorDeduccion} compartido por geometría sobre una copia
+ * del tablero. Las sesiones se guardan en un arreglo indexado por el identificador, cuyos bits altos llevan una
+ * generación para que un identificador viejo no alcance a la sesión que reutiliza su lugar.
+ * No es seguro para hilos: lo usa un solo hilo, como el bucle de eventos de {@link ServidorSudoku}; solo las
+ * fuentes de tableros se usan también desde otros hilos.
+ */
+public final class GestorSesiones {
+    private static final int BITS_INDICE = 20;
+    private static final int MASCARA_INDICE = (1 << BITS_INDICE) - 1;
+    private static final int MASCARA_GENERACION = (1 << (31 - BITS_INDICE)) - 1;
+    private static final int CAPACIDAD_POOL = 64;
+    private static final int NIVEL_MINIMO_POOL = 16;
+
+    private final BiFunction<Geometria, Dificultad, FuenteSudokus> crearFuente;
+    private final Map<Integer, FuenteSudokus> fuentes = new HashMap<>();
+    private final Map<Geometria, TableroBits> copias = new HashMap<>();
+    private final Map<Geometria, MotorDeduccion> motores = new HashMap<>();
+    private SesionJuego[] sesiones = new SesionJuego[64];
+    private int[] generaciones = new int[64];
+    private int[] libres = new int[64];
+    private int cantidadLibres;
+    private int lugaresUsados;
+    private int cantidad;
+
+    /**
+     * Crea el gestor con reservas de tableros que se rellenan en segundo plano.
+     */
+    public GestorSesiones() {
+        this((geometria, dificultad) -> {
+            PoolSudokus pool = new PoolSudokus(geometria, CAPACIDAD_POOL, NIVEL_MINIMO_POOL,
+                    geometria.pistasPara(dificultad), dificultad);
+            pool.iniciar();
+            return pool;
+        });
+    }
+
+    /**
+     * Crea el gestor con el origen de tableros indicado.
+     * @param crearFuente Crea la fuente de tableros de un tamaño y una dificultad (null para cualquiera);
+     *                    se invoca una vez por combinación y la fuente debe poder usarse desde varios hilos
+     */
+    public GestorSesiones(BiFunction<Geometria, Dificultad, FuenteSudokus> crearFuente) {
+        this.crearFuente = crearFuente;
+    }
+
+    /**
+     * Empieza una partida nueva; si la fuente no tiene un tablero listo, lo genera en este hilo.
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad del tablero, o null para cualquiera
+     * @return Identificador de la sesión
+     * @throws IllegalStateException Si no caben más sesiones
+     */
+    public int crear(Geometria geometria, Dificultad dificultad) {
+        return crear(fuente(geometria, dificultad).tomar());
+    }
+
+    /**
+     * Empieza una partida con un tablero ya tomado de su fuente.
+     * @param sudoku Tablero de la partida
+     * @return Identificador de la sesión
+     * @throws IllegalStateException Si no caben más sesiones
+     */
+    public int crear(Sudoku sudoku) {
+        SesionJuego sesion = new SesionJuego(sudoku, System.nanoTime());
+        int lugar = cantidadLibres > 0 ? libres[--cantidadLibres] : nuevoLugar();
+        sesiones[lugar] = sesion;
+        cantidad++;
+        return (generaciones[lugar] << BITS_INDICE) | lugar;
+    }
+
+    /**
+     * Obtiene la fuente de tableros de un tamaño y una dificultad, creándola la primera vez.
+     * @param geometria Geometría del tablero
+     * @param dificultad Dificultad del tablero, o null para cualquiera
+     * @return La fuente; puede usarse desde otro hilo
+     */
+    FuenteSudokus fuente(Geometria geometria, Dificultad dificultad) {
+        int categoria = (geometria.getTamano() << 3) | (dificultad == null ? 0 : dificultad.ordinal() + 1);
+        return fuentes.computeIfAbsent(categoria, c -> crearFuente.apply(geometria, dificultad));
+    }
+
+    /**
+     * Coloca un número en una celda o la vacía.
+     * @param id Identificador de la sesión
+     * @param fila Fila de la celda
+     * @param columna Columna de la celda
+     * @param numero Número a colocar, o 0 para vaciar la celda
+     * @return El resultado del movimiento
+     */
+    public ResultadoMovimiento mover(int id, int fila, int columna, int numero) {
+        SesionJuego sesion = sesion(id);
+        Geometria geometria = sesion.sudoku.getGeometria();
+        if (fila < 0 || fila >= geometria.getTamano() || columna < 0 || columna >= geometria.getTamano()
+                || numero < 0 || numero > geometria.getTamano()) {
+            throw new IllegalArgumentException("Movimiento fuera del tablero " + geometria);
+        }
+        int celda = geometria.indice(fila, columna);
+        if (sesion.sudoku.obtenerPista(celda) != 0) return ResultadoMovimiento.CELDA_INICIAL;
+        TableroBits tablero = sesion.tablero;
+        if (numero != 0 && numero != tablero.obtener(celda) && !tablero.puedeColocar(celda, numero)) {
+            return ResultadoMovimiento.INVALIDO;
+        }
+        Metricas.movimiento();
+        tablero.establecer(celda, numero);
+        if (tablero.vacias() == 0) {
+            if (sesion.fin == 0) sesion.fin = sesion.ultimaActividad;
+            return ResultadoMovimiento.COMPLETO;
+        }
+        sesion.fin = 0;
+        return ResultadoMovimiento.VALIDO;
+    }
+
+    /**
+     * Busca el siguiente paso lógico de una partida, sin modificarla.
+     * @param id Identificador de la sesión
+     * @return La colocación deducida, una contradicción si el tablero tiene un error,
+     *         o null si la lógica no alcanza
+     */
+    public PasoLogico pista(int id) {
+        SesionJuego sesion = sesion(id);
+        long inicio = System.nanoTime();
+        Geometria geometria = sesion.sudoku.getGeometria();
+        TableroBits copia = copias.computeIfAbsent(geometria, TableroBits::new);
+        MotorDeduccion motor = motores.computeIfAbsent(geometria, g -> new MotorDeduccion(copia));
+        copia.copiarDe(sesion.tablero);
+        motor.olvidarDescartes();
+        PasoLogico paso = motor.siguienteColocacion();
+        Metricas.ayuda(System.nanoTime() - inicio);
+        return paso;
+    }
+
+    /**
+     * Obtiene el número de la solución en una celda.
+     * @param id Identificador de la sesión
+     * @param celda Índice plano de la celda
+     * @return El número correcto
+     */
+    public int numeroCorrecto(int id, int celda) {
+        return sesion(id).sudoku.obtenerSolucion(celda);
+    }
+
+    /**
+     * Busca la primera celda vacía de una partida.
+     * @param id Identificador de la sesión
+     * @return Índice plano de la celda, o -1 si el tablero está lleno
+     */
+    public int primeraVacia(int id) {
+        TableroBits tablero = sesion(id).tablero;
+        for (int celda = 0; celda < tablero.getGeometria().getCeldas(); celda++) {
+            if (tablero.obtener(celda) == 0) return celda;
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si la partida está completa.
+     * @param id Identificador de la sesión
+     * @return true si no quedan celdas vacías
+     */
+    public boolean completa(int id) {
+        return sesion(id).tablero.vacias() == 0;
+    }
+
+    /**
+     * Obtiene el tiempo de juego de una partida; deja de correr al completarla.
+     * @param id Identificador de la sesión
+     * @return Segundos transcurridos
+     */
+    public int segundos(int id) {
+        return sesion(id).segundos(System.nanoTime());
+    }
+
+    /**
+     * Obtiene la geometría de una partida.
+     * @param id Identificador de la sesión
+     * @return La geometría de su tablero
+     */
+    public Geometria geometria(int id) {
+        return sesion(id).sudoku.getGeometria();
+    }
+
+    /**
+     * Obtiene el tablero de juego de una partida.
+     * @param id Identificador de la sesión
+     * @return El tablero; no debe modificarse
+     */
+    public TableroBits tablero(int id) {
+        return sesion(id).tablero;
+    }
+
+    /**
+     * Termina una partida y libera su lugar.
+     * @param id Identificador de la sesión
+     */
+    public void cerrar(int id) {
+        sesion(id);
+        liberar(id & MASCARA_INDICE);
+    }
+
+    /**
+     * Termina las partidas que llevan mucho tiempo sin actividad.
+     * @param inactividadNanos Tiempo sin actividad a partir del cual se cierra una partida
+     * @return Cantidad de partidas cerradas
+     */
+    public int purgarInactivas(long inactividadNanos) {
+        long ahora = System.nanoTime();
+        int cerradas = 0;
+        for (int lugar = 0; lugar < lugaresUsados; lugar++) {
+            if (sesiones[lugar] != null && ahora - sesiones[lugar].ultimaActividad > inactividadNanos) {
+                liberar(lugar);
+                cerradas++;
+            }
+        }
+        return cerradas;
+    }
+
+    /**
+     * Obtiene la cantidad de partidas abiertas.
+     * @return Sesiones activas
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Detiene el relleno en segundo plano de las reservas de tableros.
+     */
+    public void detener() {
+        for (FuenteSudokus fuente : fuentes.values()) {
+            if (fuente instanceof PoolSudokus) ((PoolSudokus) fuente).detener();
+        }
+    }
+
+    /**
+     * Busca la sesión de un identificador y registra la actividad.
+     */
+    private SesionJuego sesion(int id) {
+        int lugar = id & MASCARA_INDICE;
+        if (id < 0 || lugar >= lugaresUsados || sesiones[lugar] == null || generaciones[lugar] != id >>> BITS_INDICE) {
+            throw new IllegalArgumentException("Sesión desconocida: " + id);
+        }
+        SesionJuego sesion = sesiones[lugar];
+        sesion.ultimaActividad = System.nanoTime();
+        return sesion;
+    }
+
+    private int nuevoLugar() {
+        if (lugaresUsados > MASCARA_INDICE) throw new IllegalStateException("No caben más sesiones");
+        if (lugaresUsados == sesiones.length) {
+            int capacidad = Math.min(sesiones.length * 2, MASCARA_INDICE + 1);
+            sesiones = Arrays.copyOf(sesiones, capacidad);
+            generaciones = Arrays.copyOf(generaciones, capacidad);
+            libres = Arrays.copyOf(libres, capacidad);
+        }
+        return lugaresUsados++;
+    }
+
+    private void liberar(int lugar) {
+        sesiones[lugar] = null;
+        generaciones[lugar] = (generaciones[lugar] + 1) & MASCARA_GENERACION;
+        libres[cantidadLibres++] = lugar;
+        cantidad--;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.miniproject2.servidor;
+
+/**
+ * Resultado de un movimiento hecho en una sesión de {@link GestorSesiones}.
+ */
+public enum ResultadoMovimiento {
+    /** El número se colocó (o la celda se vació) y el tablero sigue incompleto. */
+    VALIDO,
+    /** El número ya aparece en la fila, columna o bloque; el tablero no cambia. */
+    INVALIDO,
+    /** La celda es una pista del tablero y no puede modificarse. */
+    CELDA_INICIAL,
+    /** El número se colocó y completó el tablero. */
+    COMPLETO
+}
@@ -0,0 +1,445 @@
+package com.example.miniproject2.servidor;
+
+import com.example.miniproject2.cli.FormatoTexto;
+import com.example.miniproject2.metricas.Metricas;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.FuenteSudokus;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.PasoLogico;
+import com.example.miniproject2.model.Sudoku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor de partidas sin interfaz que atiende muchas conexiones con un solo hilo.
+ * Un {@link Selector} reparte las lecturas y escrituras de todos los sockets, así que cada conexión cuesta
+ * unos búferes y no un hilo; las partidas viven en un {@link GestorSesiones} y sobreviven a la conexión
+ * hasta que se cierran o pasan {@link #INACTIVIDAD_NANOS} sin actividad. Si la reserva de un tamaño y dificultad
+ * está vacía, el tablero de un {@code NUEVO} se genera en un hilo de trabajo y solo esa conexión espera.
+ *
+ * <p>Protocolo de texto de una línea por pedido, con filas y columnas desde 0:</p>
+ * <pre>
+ * NUEVO [tamano] [FACIL|MEDIO|DIFICIL|EXPERTO]  →  OK id tablero
+ * MOVER id fila columna numero                  →  OK VALIDO|INVALIDO|CELDA_INICIAL|COMPLETO [segundos]
+ * PISTA id                                      →  OK fila columna numero tecnica
+ * ESTADO id                                     →  OK tablero segundos [COMPLETO]
+ * CERRAR id                                     →  OK
+ * </pre>
+ * Los tableros van en el {@link FormatoTexto} de una línea; los errores se responden con {@code ERROR mensaje}.
+ */
+public final class ServidorSudoku implements Closeable {
+    /** Tiempo sin actividad tras el cual se cierra una partida. */
+    public static final long INACTIVIDAD_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final long INTERVALO_PURGA_MS = 60_000;
+    private static final int LARGO_MAXIMO_LINEA = 256;
+    private static final int PENDIENTE_MAXIMO = 1 << 16;
+    private static final int TAMANO_LECTURA = 1 << 13;
+    private static final int HILOS_GENERACION = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final System.Logger REGISTRO = System.getLogger(ServidorSudoku.class.getName());
+
+    private final GestorSesiones gestor;
+    private final Selector selector;
+    private final ServerSocketChannel canal;
+    private final Thread hilo;
+    private final ExecutorService generadores;
+    /** Conexiones cuyo tablero ya se generó en un hilo de trabajo y falta responder. */
+    private final ConcurrentLinkedQueue<SelectionKey> generadas = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer lectura = ByteBuffer.allocateDirect(TAMANO_LECTURA);
+    private final StringBuilder respuesta = new StringBuilder(1 << 10);
+    private volatile boolean activo = true;
+
+    /**
+     * Abre el servidor en la interfaz local.
+     * @param puerto Puerto donde escuchar, o 0 para uno libre cualquiera
+     * @param gestor Gestor donde se guardan las partidas; solo lo usa el hilo del servidor
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public ServidorSudoku(int puerto, GestorSesiones gestor) throws IOException {
+        this.gestor = gestor;
+        this.selector = Selector.open();
+        this.canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto));
+        canal.configureBlocking(false);
+        canal.register(selector, SelectionKey.OP_ACCEPT);
+        this.hilo = new Thread(this::atender, "servidor-sudoku");
+        hilo.setDaemon(true);
+        this.generadores = Executors.newFixedThreadPool(HILOS_GENERACION, tarea -> {
+            Thread trabajador = new Thread(tarea, "servidor-generador");
+            trabajador.setDaemon(true);
+            return trabajador;
+        });
+    }
+
+    /**
+     * Método principal del servidor. Publica las métricas del juego por JMX.
+     * @param args Opciones: --puerto N (4000)
+     * @throws IOException Si no se puede abrir el puerto
+     * @throws InterruptedException Si se interrumpe la espera
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int puerto = 4000;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--puerto") && i + 1 < args.length) {
+                puerto = Integer.parseInt(args[++i]);
+            } else {
+                System.err.println("Uso: ServidorSudoku [--puerto N]");
+                System.exit(2);
+            }
+        }
+        ServidorSudoku servidor = new ServidorSudoku(puerto, new GestorSesiones());
+        Runtime.getRuntime().addShutdownHook(new Thread(servidor::close));
+        Metricas.registrarJmx();
+        servidor.iniciar();
+        REGISTRO.log(System.Logger.Level.INFO, "evento=inicio puerto={0}", Integer.toString(servidor.getPuerto()));
+        servidor.hilo.join();
+    }
+
+    /**
+     * Arranca el hilo que atiende las conexiones.
+     */
+    public void iniciar() {
+        hilo.start();
+    }
+
+    /**
+     * Obtiene el puerto donde escucha el servidor.
+     * @return Número de puerto
+     */
+    public int getPuerto() {
+        return canal.socket().getLocalPort();
+    }
+
+    /**
+     * Detiene el servidor, cierra todas las conexiones y detiene las reservas de tableros.
+     */
+    @Override
+    public void close() {
+        activo = false;
+        selector.wakeup();
+        try {
+            if (hilo.isAlive() && hilo != Thread.currentThread()) hilo.join();
+            generadores.shutdownNow();
+            for (SelectionKey llave : selector.keys()) llave.channel().close();
+            selector.close();
+        } catch (IOException e) {
+            REGISTRO.log(System.Logger.Level.WARNING, "No se pudo cerrar el servidor", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gestor.detener();
+    }
+
+    /**
+     * Bucle de eventos: acepta conexiones, lee pedidos, escribe respuestas, responde los tableros generados en
+     * otros hilos y cada tanto purga las partidas inactivas.
+     */
+    private void atender() {
+        long proximaPurga = System.currentTimeMillis() + INTERVALO_PURGA_MS;
+        while (activo) {
+            try {
+                selector.select(INTERVALO_PURGA_MS);
+            } catch (IOException e) {
+                REGISTRO.log(System.Logger.Level.ERROR, "Error en el servidor", e);
+                return;
+            }
+            Iterator<SelectionKey> listas = selector.selectedKeys().iterator();
+            while (listas.hasNext()) {
+                SelectionKey llave = listas.next();
+                listas.remove();
+                try {
+                    if (!llave.isValid()) continue;
+                    if (llave.isAcceptable()) {
+                        aceptar();
+                        continue;
+                    }
+                    if (llave.isReadable()) leer(llave);
+                    if (llave.isValid() && llave.isWritable()) escribir(llave);
+                } catch (IOException e) {
+                    desconectar(llave);
+                }
+            }
+            for (SelectionKey llave; (llave = generadas.poll()) != null; ) {
+                try {
+                    completarNuevo(llave);
+                } catch (IOException e) {
+                    desconectar(llave);
+                }
+            }
+            if (System.currentTimeMillis() >= proximaPurga) {
+                gestor.purgarInactivas(INACTIVIDAD_NANOS);
+                proximaPurga = System.currentTimeMillis() + INTERVALO_PURGA_MS;
+            }
+        }
+    }
+
+    private void aceptar() throws IOException {
+        SocketChannel cliente = canal.accept();
+        if (cliente == null) return;
+        cliente.configureBlocking(false);
+        cliente.register(selector, SelectionKey.OP_READ, new Conexion());
+    }
+
+    /**
+     * Lee lo disponible del socket, atiende cada línea completa y envía las respuestas.
+     */
+    private void leer(SelectionKey llave) throws IOException {
+        SocketChannel cliente = (SocketChannel) llave.channel();
+        Conexion conexion = (Conexion) llave.attachment();
+        lectura.clear();
+        if (cliente.read(lectura) < 0) {
+            desconectar(llave);
+            return;
+        }
+        lectura.flip();
+        while (lectura.hasRemaining() && !conexion.esperando && !conexion.cerrarAlTerminar) {
+            consumir(llave, conexion, (char) (lectura.get() & 0xFF));
+        }
+        while (lectura.hasRemaining() && conexion.esperando) {
+            conexion.pendiente.append((char) (lectura.get() & 0xFF));
+        }
+        escribir(llave);
+    }
+
+    /**
+     * Agrega un carácter a la línea en curso y atiende la línea cuando se completa.
+     */
+    private void consumir(SelectionKey llave, Conexion conexion, char caracter) {
+        if (caracter == '\n') {
+            respuesta.setLength(0);
+            if (atenderPedido(llave, conexion.linea, respuesta)) conexion.responder(respuesta.append('\n'));
+            conexion.linea.setLength(0);
+        } else if (caracter != '\r') {
+            if (conexion.linea.length() == LARGO_MAXIMO_LINEA) {
+                conexion.responder("ERROR línea demasiado larga\n");
+                conexion.cerrarAlTerminar = true;
+                return;
+            }
+            conexion.linea.append(caracter);
+        }
+    }
+
+    /**
+     * Genera en un hilo de trabajo el tablero de un {@code NUEVO} cuya reserva está vacía. Mientras tanto la
+     * conexión no lee más pedidos, así sus respuestas salen en orden, y las demás conexiones siguen atendidas.
+     */
+    private void generarAparte(SelectionKey llave, FuenteSudokus fuente) {
+        Conexion conexion = (Conexion) llave.attachment();
+        conexion.esperando = true;
+        generadores.execute(() -> {
+            try {
+                conexion.generado = fuente.tomar();
+            } catch (RuntimeException e) {
+                conexion.errorGeneracion = e;
+            }
+            generadas.offer(llave);
+            selector.wakeup();
+        });
+    }
+
+    /**
+     * Responde el {@code NUEVO} de un tablero generado aparte y atiende los pedidos que llegaron mientras tanto.
+     */
+    private void completarNuevo(SelectionKey llave) throws IOException {
+        Conexion conexion = (Conexion) llave.attachment();
+        Sudoku sudoku = conexion.generado;
+        RuntimeException error = conexion.errorGeneracion;
+        conexion.generado = null;
+        conexion.errorGeneracion = null;
+        conexion.esperando = false;
+        if (!llave.isValid()) return;
+        respuesta.setLength(0);
+        try {
+            if (error != null) throw error;
+            escribirNuevo(gestor.crear(sudoku), respuesta);
+        } catch (RuntimeException e) {
+            responderError(e, "NUEVO", respuesta);
+        }
+        conexion.responder(respuesta.append('\n'));
+        int leidos = 0;
+        while (leidos < conexion.pendiente.length() && !conexion.esperando && !conexion.cerrarAlTerminar) {
+            consumir(llave, conexion, conexion.pendiente.charAt(leidos++));
+        }
+        conexion.pendiente.delete(0, leidos);
+        escribir(llave);
+    }
+
+    /**
+     * Envía lo pendiente y se suscribe a la escritura solo mientras quede algo; deja de leer a un cliente
+     * que no recibe sus respuestas.
+     */
+    private void escribir(SelectionKey llave) throws IOException {
+        Conexion conexion = (Conexion) llave.attachment();
+        conexion.salida.flip();
+        ((SocketChannel) llave.channel()).write(conexion.salida);
+        conexion.salida.compact();
+        int pendiente = conexion.salida.position();
+        if (pendiente == 0 && conexion.cerrarAlTerminar) {
+            desconectar(llave);
+            return;
+        }
+        int interes = conexion.cerrarAlTerminar || conexion.esperando || pendiente > PENDIENTE_MAXIMO
+                ? 0 : SelectionKey.OP_READ;
+        llave.interestOps(pendiente > 0 ? interes | SelectionKey.OP_WRITE : interes);
+    }
+
+    private void desconectar(SelectionKey llave) {
+        llave.cancel();
+        try {
+            llave.channel().close();
+        } catch (IOException e) {
+            // La conexión ya no se usa.
+        }
+    }
+
+    /**
+     * Ejecuta un pedido y escribe su respuesta, sin salto de línea final. Cualquier excepción del pedido se
+     * responde con {@code ERROR}.
+     * @return false si el pedido quedó esperando un tablero que se genera aparte y todavía no hay respuesta
+     */
+    private boolean atenderPedido(SelectionKey llave, CharSequence linea, StringBuilder destino) {
+        String[] partes = linea.toString().trim().split("\\s+");
+        try {
+            switch (partes[0].toUpperCase()) {
+                case "NUEVO": {
+                    Geometria geometria = Geometria.de(partes.length > 1 ? Integer.parseInt(partes[1]) : 9);
+                    Dificultad dificultad = partes.length > 2 ? Dificultad.valueOf(partes[2].toUpperCase()) : null;
+                    FuenteSudokus fuente = gestor.fuente(geometria, dificultad);
+                    Sudoku sudoku = fuente.tomarSinEsperar();
+                    if (sudoku == null) {
+                        generarAparte(llave, fuente);
+                        return false;
+                    }
+                    escribirNuevo(gestor.crear(sudoku), destino);
+                    break;
+                }
+                case "MOVER": {
+                    exigir(partes, 5);
+                    int id = Integer.parseInt(partes[1]);
+                    ResultadoMovimiento resultado = gestor.mover(id, Integer.parseInt(partes[2]),
+                            Integer.parseInt(partes[3]), Integer.parseInt(partes[4]));
+                    destino.append("OK ").append(resultado);
+                    if (resultado == ResultadoMovimiento.COMPLETO) destino.append(' ').append(gestor.segundos(id));
+                    break;
+                }
+                case "PISTA": {
+                    exigir(partes, 2);
+                    int id = Integer.parseInt(partes[1]);
+                    escribirPista(id, destino);
+                    break;
+                }
+                case "ESTADO": {
+                    exigir(partes, 2);
+                    int id = Integer.parseInt(partes[1]);
+                    destino.append("OK ");
+                    FormatoTexto.escribir(gestor.tablero(id), destino);
+                    destino.append(' ').append(gestor.segundos(id));
+                    if (gestor.completa(id)) destino.append(" COMPLETO");
+                    break;
+                }
+                case "CERRAR":
+                    exigir(partes, 2);
+                    gestor.cerrar(Integer.parseInt(partes[1]));
+                    destino.append("OK");
+                    break;
+                default:
+                    destino.append("ERROR comando desconocido: ").append(partes[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            destino.setLength(0);
+            destino.append("ERROR ").append(e.getMessage());
+        } catch (RuntimeException e) {
+            responderError(e, linea, destino);
+        }
+        return true;
+    }
+
+    /**
+     * Responde un fallo inesperado; solo afecta a este pedido y el bucle de eventos sigue atendiendo a los demás.
+     */
+    private static void responderError(RuntimeException e, CharSequence pedido, StringBuilder destino) {
+        REGISTRO.log(System.Logger.Level.WARNING, "Falló el pedido: " + pedido, e);
+        destino.setLength(0);
+        destino.append("ERROR ").append(e.getMessage() != null ? e.getMessage() : "error interno");
+    }
+
+    private void escribirNuevo(int id, StringBuilder destino) {
+        destino.append("OK ").append(id).append(' ');
+        FormatoTexto.escribir(gestor.tablero(id), destino);
+    }
+
+    /**
+     * Responde con el siguiente paso lógico, o con el número correcto de la primera celda vacía
+     * cuando la lógica no alcanza o el tablero tiene un error.
+     */
+    private void escribirPista(int id, StringBuilder destino) {
+        Geometria geometria = gestor.geometria(id);
+        PasoLogico paso = gestor.pista(id);
+        int celda;
+        int numero;
+        String tecnica;
+        if (paso != null && paso.esColocacion()) {
+            celda = paso.getCelda();
+            numero = paso.getNumero();
+            tecnica = paso.getTecnica().name();
+        } else {
+            celda = gestor.primeraVacia(id);
+            if (celda < 0) {
+                destino.append("ERROR el tablero está completo");
+                return;
+            }
+            numero = gestor.numeroCorrecto(id, celda);
+            tecnica = "SOLUCION";
+        }
+        destino.append("OK ").append(geometria.fila(celda)).append(' ').append(geometria.columna(celda))
+                .append(' ').append(numero).append(' ').append(tecnica);
+    }
+
+    private static void exigir(String[] partes, int cantidad) {
+        if (partes.length != cantidad) {
+            throw new IllegalArgumentException(partes[0].toUpperCase() + " espera " + (cantidad - 1) + " argumentos");
+        }
+    }
+
+    /**
+     * Estado de una conexión: la línea a medio leer, las respuestas a medio enviar y, mientras se genera su
+     * tablero aparte, lo que llegó después. El hilo de trabajo deja el tablero o el error antes de encolar la
+     * conexión en {@link #generadas}, y la cola publica esos campos al bucle de eventos.
+     */
+    private static final class Conexion {
+        final StringBuilder linea = new StringBuilder();
+        final StringBuilder pendiente = new StringBuilder();
+        ByteBuffer salida = ByteBuffer.allocate(1 << 9);
+        boolean cerrarAlTerminar;
+        boolean esperando;
+        Sudoku generado;
+        RuntimeException errorGeneracion;
+
+        /**
+         * Agrega una respuesta a la salida pendiente; el protocolo es ASCII salvo los mensajes de error,
+         * que se envían en UTF-8.
+         */
+        void responder(CharSequence texto) {
+            byte[] bytes = texto.toString().getBytes(StandardCharsets.UTF_8);
+            if (salida.remaining() < bytes.length) {
+                ByteBuffer mayor = ByteBuffer.allocate(Math.max(salida.capacity() * 2, salida.position() + bytes.length));
+                salida.flip();
+                salida = mayor.put(salida);
+            }
+            salida.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.miniproject2.servidor;
+
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+
+/**
+ * Partida de una sesión del servidor. Solo guarda lo propio de la partida: el tablero de juego y sus tiempos;
+ * el {@link Sudoku} es inmutable y los motores de ayuda los comparte el {@link GestorSesiones}.
+ * Un 9x9 ocupa unos cientos de bytes y no tiene temporizador propio: el tiempo se calcula a partir de los instantes.
+ */
+final class SesionJuego {
+    final Sudoku sudoku;
+    final TableroBits tablero;
+    final long inicio;
+    long ultimaActividad;
+    /** Instante en que se completó el tablero, o 0 mientras se juega. */
+    long fin;
+
+    SesionJuego(Sudoku sudoku, long ahora) {
+        this.sudoku = sudoku;
+        this.tablero = new TableroBits(sudoku.getGeometria());
+        sudoku.copiarPistasEn(tablero);
+        this.inicio = ahora;
+        this.ultimaActividad = ahora;
+    }
+
+    /**
+     * Calcula el tiempo de juego, que se detiene al completar el tablero.
+     * @param ahora Instante actual en nanosegundos
+     * @return Segundos transcurridos
+     */
+    int segundos(long ahora) {
+        return (int) (((fin != 0 ? fin : ahora) - inicio) / 1_000_000_000L);
+    }
+}
@@ -5,150 +5,41 @@ import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import java.util.Optional;
 
 /**
  * Clase que representa la vista del juego y la interacción con el usuario.
+ * El tablero en sí es una {@link VistaTablero} que elige el controlador y se coloca en el centro de la ventana.
  */
 public class SudokuView {
-    @FXML private GridPane cuadricula;
-    @FXML private Button btnNuevoJuego, btnAyuda, btnReiniciar, btnReglas, btnSalir;
+    @FXML private StackPane contenedorTablero;
+    @FXML private Button btnNuevoJuego, btnAyuda, btnReiniciar, btnDeshacer, btnRehacer, btnMejoresTiempos, btnReglas, btnSalir;
+    @FXML private ToggleButton btnNotas;
+    @FXML private CheckBox chkEliminarNotas;
     @FXML private Label lblTemporizador, lblJugador, lblMensaje;
 
-    private TextField[][] celdas = new TextField[6][6];
+    private VistaTablero tablero;
     private SudokuController controlador;
 
     /**
-     * Metodo de inicialización que Configura la cuadrícula y los botones del juego.
+     * Metodo de inicialización que configura los botones del juego.
+     * El tablero se coloca después, cuando el controlador lo elige según la geometría.
      */
     @FXML
     public void initialize() {
-        configurarCuadricula();
         configurarBotones();
     }
 
     /**
-     * Resalta y parpadea temporalmente las celdas no iniciales al reiniciar el juego.
+     * Coloca en la ventana el tablero con que se jugará.
+     * @param tablero Representación del tablero elegida por el controlador
      */
-    public void resaltarReinicio() {
-        for (int fila = 0; fila < 6; fila++) {
-            for (int columna = 0; columna < 6; columna++) {
-                if (!controlador.esCeldaInicial(fila, columna)) {
-                    String estiloBase = (fila / 2 + columna / 3) % 2 == 0 ?
-                            "-fx-control-inner-background: #f0f0f0;" :
-                            "-fx-control-inner-background: white;";
-                    celdas[fila][columna].setStyle(estiloBase + "-fx-background-color: #FFA07A;");
-                }
-            }
-        }
-
-        Timeline timeline = new Timeline(
-                new KeyFrame(Duration.seconds(0.3), e -> {
-                    for (int fila = 0; fila < 6; fila++) {
-                        for (int columna = 0; columna < 6; columna++) {
-                            if (!controlador.esCeldaInicial(fila, columna)) {
-                                actualizarEstiloCelda(celdas[fila][columna], fila, columna);
-                            }
-                        }
-                    }
-                }),
-                new KeyFrame(Duration.seconds(0.6), e -> {
-                    for (int fila = 0; fila < 6; fila++) {
-                        for (int columna = 0; columna < 6; columna++) {
-                            if (!controlador.esCeldaInicial(fila, columna)) {
-                                String estiloBase = (fila / 2 + columna / 3) % 2 == 0 ?
-                                        "-fx-control-inner-background: #f0f0f0;" :
-                                        "-fx-control-inner-background: white;";
-                                celdas[fila][columna].setStyle(estiloBase + "-fx-background-color: #FFA07A;");
-                            }
-                        }
-                    }
-                }),
-                new KeyFrame(Duration.seconds(0.9), e -> {
-                    for (int fila = 0; fila < 6; fila++) {
-                        for (int columna = 0; columna < 6; columna++) {
-                            actualizarEstiloCelda(celdas[fila][columna], fila, columna);
-                        }
-                    }
-                })
-        );
-        timeline.play();
-    }
-
-    /**
-     * Configura la cuadrícula de 6x6 celdas para el juego.
-     */
-    private void configurarCuadricula() {
-        for (int fila = 0; fila < 6; fila++) {
-            for (int columna = 0; columna < 6; columna++) {
-                TextField celda = new TextField();
-                configurarCelda(celda, fila, columna);
-                celdas[fila][columna] = celda;
-                cuadricula.add(celda, columna, fila);
-            }
-        }
-    }
-
-    /**
-     * Configura el tamaño del texto y su posición, el color de la celda, entre otros parametros
-     */
-    private void configurarCelda(TextField celda, int fila, int columna) {
-        celda.setPrefSize(50, 50);
-        celda.setAlignment(javafx.geometry.Pos.CENTER);
-        celda.setFont(javafx.scene.text.Font.font(18));
-        celda.setEditable(false);
-
-        String estiloBase = (fila / 2 + columna / 3) % 2 == 0 ?
-                "-fx-control-inner-background: #f0f0f0;" :
-                "-fx-control-inner-background: white;";
-
-        if (controlador != null && controlador.esCeldaInicial(fila, columna)) {
-            celda.setStyle(estiloBase + "-fx-font-weight: bold;");
-        } else {
-            celda.setStyle(estiloBase);
-        }
-
-        celda.setOnMouseEntered(e -> {
-            if (controlador != null && !controlador.esCeldaInicial(fila, columna)) {
-                celda.setStyle(estiloBase + "-fx-background-color: #e6f3ff;");
-            }
-        });
-
-        celda.setOnMouseExited(e -> actualizarEstiloCelda(celda, fila, columna));
-
-        celda.textProperty().addListener((obs, oldVal, newVal) -> {
-            if (!newVal.matches("[1-6]?")) {
-                celda.setText(oldVal);
-            }
-        });
-
-        celda.setOnKeyReleased(e -> {
-            if (controlador != null && celda.isEditable()) {
-                if (!celda.getText().isEmpty()) {
-                    controlador.validarEntrada(fila, columna, Integer.parseInt(celda.getText()));
-                } else {
-                    controlador.validarEntrada(fila, columna, 0);
-                }
-            }
-        });
-    }
-
-    /**
-     * Actualiza el estilo de las celdas cuando se detecta algun evento sobre ella
-     */
-    private void actualizarEstiloCelda(TextField celda, int fila, int columna) {
-        String estiloBase = (fila / 2 + columna / 3) % 2 == 0 ?
-                "-fx-control-inner-background: #f0f0f0;" :
-                "-fx-control-inner-background: white;";
-
-        if (controlador != null && controlador.esCeldaInicial(fila, columna)) {
-            celda.setStyle(estiloBase + "-fx-font-weight: bold;");
-        } else {
-            celda.setStyle(estiloBase);
-        }
+    public void mostrarTablero(VistaTablero tablero) {
+        this.tablero = tablero;
+        contenedorTablero.getChildren().setAll(tablero.getNodo());
     }
 
     /**
@@ -162,6 +53,11 @@ public class SudokuView {
         });
         btnAyuda.setOnAction(e -> controlador.solicitarAyuda());
         btnReiniciar.setOnAction(e -> controlador.reiniciarJuego());
+        btnDeshacer.setOnAction(e -> controlador.deshacerMovimiento());
+        btnRehacer.setOnAction(e -> controlador.rehacerMovimiento());
+        btnNotas.setOnAction(e -> controlador.setModoNotas(btnNotas.isSelected()));
+        chkEliminarNotas.setOnAction(e -> controlador.setEliminarNotas(chkEliminarNotas.isSelected()));
+        btnMejoresTiempos.setOnAction(e -> controlador.mostrarMejoresTiempos());
         btnReglas.setOnAction(e -> mostrarReglasEnVentana());
         btnSalir.setOnAction(e -> confirmarSalida());
     }
@@ -223,64 +119,18 @@ public class SudokuView {
      * Muestra el tablero vacío con el mensaje inicial de inicia del juego.
      */
     public void mostrarTableroVacio() {
-        limpiarTablero();
+        tablero.limpiar();
         mostrarMensaje("Presione 'Nuevo Juego' para comenzar", "inicial");
     }
 
     /**
-     * Actualiza el valor mostrado en una celda específica posterior a algún cambio en el que se implemente
-     */
-    public void actualizarCelda(int fila, int columna, int numero) {
-        celdas[fila][columna].setText(numero == 0 ? "" : String.valueOf(numero));
-    }
-
-    /**
-     * Resalta la celda para indicar que se esta ingresando un valor invalido
+     * Habilita o deshabilita los botones de deshacer y rehacer.
+     * @param puedeDeshacer true si hay un movimiento que deshacer
+     * @param puedeRehacer true si hay un movimiento que rehacer
      */
-    public void resaltarError(int fila, int columna) {
-        String estiloActual = celdas[fila][columna].getStyle();
-        celdas[fila][columna].setStyle(estiloActual + "-fx-border-color: red; -fx-border-width: 2px;");
-    }
-
-    /**
-     * Resalta una celda con un color específico de acuerdo al uso en que se le vaya a dar
-     *
-     * @param fila    Fila de la celda (0-5)
-     * @param columna Columna de la celda (0-5)
-     * @param color   Color en formato hexadecimal (ej. "#FFD700")
-     */
-    public void resaltarCelda(int fila, int columna, String color) {
-        celdas[fila][columna].setStyle("-fx-background-color: " + color + ";");
-    }
-
-    /**
-     * Limpia todos los resaltados de las celdas.
-     */
-    public void limpiarResaltados() {
-        for (int fila = 0; fila < 6; fila++) {
-            for (int columna = 0; columna < 6; columna++) {
-                String estiloActual = celdas[fila][columna].getStyle();
-                if (estiloActual != null) {
-                    celdas[fila][columna].setStyle(
-                            estiloActual.replace("-fx-border-color: red;", "")
-                                    .replace("-fx-border-width: 2px;", "")
-                    );
-                }
-            }
-        }
-    }
-
-    /**
-     * Limpia todo el tablero, dejando todas las celdas vacías.
-     */
-    public void limpiarTablero() {
-        for (int fila = 0; fila < 6; fila++) {
-            for (int columna = 0; columna < 6; columna++) {
-                celdas[fila][columna].setText("");
-                celdas[fila][columna].setEditable(false);
-                actualizarEstiloCelda(celdas[fila][columna], fila, columna);
-            }
-        }
+    public void actualizarHistorial(boolean puedeDeshacer, boolean puedeRehacer) {
+        btnDeshacer.setDisable(!puedeDeshacer);
+        btnRehacer.setDisable(!puedeRehacer);
     }
 
     /**
@@ -299,20 +149,6 @@ public class SudokuView {
         lblTemporizador.setText("Tiempo: " + tiempo);
     }
 
-    /**
-     * Habilita o deshabilita la edición de celdas no iniciales.
-     * @param editable true para habilitar edición, false para lo contrario
-     */
-    public void setCeldasEditables(boolean editable) {
-        for (int fila = 0; fila < 6; fila++) {
-            for (int columna = 0; columna < 6; columna++) {
-                if (controlador != null && !controlador.esCeldaInicial(fila, columna)) {
-                    celdas[fila][columna].setEditable(editable);
-                }
-            }
-        }
-    }
-
     /**
      * Establece el controlador para esta vista.
      * @param controlador El controlador del juego Sudoku
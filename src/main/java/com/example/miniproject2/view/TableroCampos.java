@@ -0,0 +1,300 @@
+package com.example.miniproject2.view;
+
+import com.example.miniproject2.controller.SudokuController;
+import com.example.miniproject2.model.Geometria;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+import java.util.Arrays;
+
+/**
+ * Tablero formado por un {@link TextField} por celda dentro de un {@link GridPane}.
+ * Los estados de las celdas (inicial, sobrevolada, error, pista, destello y notas) son pseudo-clases
+ * definidas en sudoku.css, así que cambiar de estado no construye ni vuelve a analizar estilos en línea.
+ * Las notas de una celda vacía se muestran como el texto de sugerencia de su propio campo, en letra más pequeña,
+ * sin agregar nodos a la cuadrícula.
+ * Es adecuado para tableros pequeños; para tableros grandes conviene {@link TableroLienzo}.
+ */
+public class TableroCampos implements VistaTablero {
+    private static final double LADO_CUADRICULA = 360;
+    private static final double LADO_MAXIMO_CELDA = 50;
+    private static final PseudoClass INICIAL = PseudoClass.getPseudoClass("inicial");
+    private static final PseudoClass SOBREVOLADA = PseudoClass.getPseudoClass("sobrevolada");
+    private static final PseudoClass ERROR = PseudoClass.getPseudoClass("error");
+    private static final PseudoClass PISTA = PseudoClass.getPseudoClass("pista");
+    private static final PseudoClass DESTELLO = PseudoClass.getPseudoClass("destello");
+    private static final PseudoClass NOTAS = PseudoClass.getPseudoClass("notas");
+
+    private final GridPane cuadricula = new GridPane();
+    private TextField[][] celdas = new TextField[0][0];
+    private int[] notas = new int[0];
+    private int[] celdasConError = new int[0];
+    private int cantidadConError;
+    private int celdaConPista = -1;
+    private boolean celdasEditables;
+    private Geometria geometria;
+    private SudokuController controlador;
+
+    /**
+     * Crea la cuadrícula vacía; las celdas se crean al llamar a {@link #construir(Geometria)}.
+     */
+    public TableroCampos() {
+        cuadricula.getStyleClass().add("grid-pane");
+        cuadricula.setHgap(1);
+        cuadricula.setVgap(1);
+        cuadricula.setAlignment(javafx.geometry.Pos.CENTER);
+    }
+
+    @Override
+    public Node getNodo() {
+        return cuadricula;
+    }
+
+    @Override
+    public void setControlador(SudokuController controlador) {
+        this.controlador = controlador;
+    }
+
+    /**
+     * Construye la cuadrícula de N×N celdas para el juego según la geometría del tablero,
+     * reemplazando la que hubiera antes.
+     * @param geometria Geometría del tablero a mostrar
+     */
+    @Override
+    public void construir(Geometria geometria) {
+        this.geometria = geometria;
+        int tamano = geometria.getTamano();
+        celdas = new TextField[tamano][tamano];
+        notas = new int[tamano * tamano];
+        celdasConError = new int[tamano * tamano];
+        cantidadConError = 0;
+        celdaConPista = -1;
+        cuadricula.getChildren().clear();
+        // El tamaño de letra depende del tablero y se fija una sola vez; las celdas lo heredan y la hoja de estilos
+        // decide el peso y lo reduce para las notas
+        double lado = Math.min(LADO_MAXIMO_CELDA, LADO_CUADRICULA / tamano);
+        cuadricula.setStyle("-fx-font-size: " + Math.max(9, Math.round(lado * 0.36)) + "px;");
+        for (int fila = 0; fila < tamano; fila++) {
+            for (int columna = 0; columna < tamano; columna++) {
+                TextField celda = new TextField();
+                configurarCelda(celda, fila, columna);
+                celdas[fila][columna] = celda;
+                cuadricula.add(celda, columna, fila);
+            }
+        }
+    }
+
+    /**
+     * Indica si la celda pertenece a un bloque sombreado, alternando el tono entre bloques vecinos.
+     */
+    private boolean enBloqueSombreado(int fila, int columna) {
+        return (fila / geometria.getAltoBloque() + columna / geometria.getAnchoBloque()) % 2 == 0;
+    }
+
+    /**
+     * Configura el tamaño del texto y su posición, el color de la celda, entre otros parametros
+     */
+    private void configurarCelda(TextField celda, int fila, int columna) {
+        double lado = Math.min(LADO_MAXIMO_CELDA, LADO_CUADRICULA / geometria.getTamano());
+        celda.setPrefSize(lado, lado);
+        celda.setMinSize(lado, lado);
+        celda.setAlignment(javafx.geometry.Pos.CENTER);
+        celda.setEditable(false);
+        celda.getStyleClass().add("celda");
+        if (enBloqueSombreado(fila, columna)) {
+            celda.getStyleClass().add("celda-sombreada");
+        }
+
+        celda.setOnMouseEntered(e -> celda.pseudoClassStateChanged(SOBREVOLADA,
+                controlador != null && !controlador.esCeldaInicial(fila, columna)));
+
+        celda.setOnMouseExited(e -> celda.pseudoClassStateChanged(SOBREVOLADA, false));
+
+        celda.textProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.length() > 1 || (newVal.length() == 1 && geometria.numero(newVal.charAt(0)) == 0)) {
+                celda.setText(oldVal);
+            } else if (!newVal.equals(newVal.toUpperCase())) {
+                celda.setText(newVal.toUpperCase());
+            } else {
+                celda.pseudoClassStateChanged(NOTAS, newVal.isEmpty() && notas[geometria.indice(fila, columna)] != 0);
+            }
+        });
+
+        // En modo notas las teclas no llegan al campo: el símbolo se anota y Retroceso o Suprimir borran las notas
+        celda.addEventFilter(KeyEvent.KEY_TYPED, e -> {
+            if (controlador == null || !controlador.enModoNotas()) return;
+            e.consume();
+            if (celda.isEditable() && e.getCharacter().length() == 1) {
+                int numero = geometria.numero(e.getCharacter().charAt(0));
+                if (numero != 0) controlador.anotar(fila, columna, numero);
+            }
+        });
+        celda.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (controlador != null && controlador.enModoNotas() && celda.isEditable()
+                    && (e.getCode() == KeyCode.BACK_SPACE || e.getCode() == KeyCode.DELETE)) {
+                e.consume();
+                controlador.anotar(fila, columna, 0);
+            }
+        });
+
+        celda.setOnKeyReleased(e -> {
+            if (controlador != null && celda.isEditable() && !controlador.enModoNotas()) {
+                if (!celda.getText().isEmpty()) {
+                    controlador.validarEntrada(fila, columna, geometria.numero(celda.getText().charAt(0)));
+                } else {
+                    controlador.validarEntrada(fila, columna, 0);
+                }
+            }
+        });
+    }
+
+    /**
+     * Actualiza el valor mostrado en una celda específica posterior a algún cambio en el que se implemente,
+     * junto con su estilo y si puede editarse según sea o no una celda inicial.
+     * Si la celda tenía la pista resaltada, el resaltado se retira.
+     */
+    @Override
+    public void actualizarCelda(int fila, int columna, int numero, boolean inicial) {
+        TextField celda = celdas[fila][columna];
+        celda.setText(numero == 0 ? "" : String.valueOf(geometria.simbolo(numero)));
+        celda.setEditable(celdasEditables && !inicial);
+        celda.pseudoClassStateChanged(INICIAL, inicial);
+        if (celdaConPista == geometria.indice(fila, columna)) {
+            celda.pseudoClassStateChanged(PISTA, false);
+            celdaConPista = -1;
+        }
+    }
+
+    /**
+     * Muestra las notas como texto de sugerencia del campo, que solo se ve mientras la celda está vacía.
+     */
+    @Override
+    public void mostrarNotas(int fila, int columna, int mascara) {
+        TextField celda = celdas[fila][columna];
+        notas[geometria.indice(fila, columna)] = mascara;
+        celda.setPromptText(textoNotas(mascara));
+        celda.pseudoClassStateChanged(NOTAS, mascara != 0 && celda.getText().isEmpty());
+    }
+
+    /**
+     * Escribe los símbolos anotados en orden, recorriendo solo los bits encendidos de la máscara.
+     */
+    private String textoNotas(int mascara) {
+        if (mascara == 0) return "";
+        StringBuilder texto = new StringBuilder(Integer.bitCount(mascara));
+        for (int resto = mascara; resto != 0; resto &= resto - 1) {
+            texto.append(geometria.simbolo(Integer.numberOfTrailingZeros(resto) + 1));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Resalta la celda para indicar que se esta ingresando un valor invalido
+     */
+    @Override
+    public void resaltarError(int fila, int columna) {
+        int indice = geometria.indice(fila, columna);
+        for (int i = 0; i < cantidadConError; i++) {
+            if (celdasConError[i] == indice) return;
+        }
+        celdas[fila][columna].pseudoClassStateChanged(ERROR, true);
+        celdasConError[cantidadConError++] = indice;
+    }
+
+    @Override
+    public void resaltarPista(int fila, int columna) {
+        if (celdaConPista >= 0) {
+            celdas[geometria.fila(celdaConPista)][geometria.columna(celdaConPista)].pseudoClassStateChanged(PISTA, false);
+        }
+        celdas[fila][columna].pseudoClassStateChanged(PISTA, true);
+        celdaConPista = geometria.indice(fila, columna);
+    }
+
+    /**
+     * Limpia los resaltados de error, recorriendo solo las celdas que los tienen.
+     */
+    @Override
+    public void limpiarResaltados() {
+        for (int i = 0; i < cantidadConError; i++) {
+            int fila = geometria.fila(celdasConError[i]);
+            int columna = geometria.columna(celdasConError[i]);
+            celdas[fila][columna].pseudoClassStateChanged(ERROR, false);
+        }
+        cantidadConError = 0;
+    }
+
+    /**
+     * Resalta y parpadea temporalmente las celdas no iniciales al reiniciar el juego.
+     */
+    @Override
+    public void resaltarReinicio() {
+        marcarDestello(true);
+        Timeline timeline = new Timeline(
+                new KeyFrame(Duration.seconds(0.3), e -> marcarDestello(false)),
+                new KeyFrame(Duration.seconds(0.6), e -> marcarDestello(true)),
+                new KeyFrame(Duration.seconds(0.9), e -> marcarDestello(false))
+        );
+        timeline.play();
+    }
+
+    /**
+     * Enciende o apaga el destello de las celdas no iniciales.
+     */
+    private void marcarDestello(boolean activo) {
+        for (int fila = 0; fila < celdas.length; fila++) {
+            for (int columna = 0; columna < celdas.length; columna++) {
+                if (!controlador.esCeldaInicial(fila, columna)) {
+                    celdas[fila][columna].pseudoClassStateChanged(DESTELLO, activo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Limpia todo el tablero, dejando todas las celdas vacías.
+     */
+    @Override
+    public void limpiar() {
+        celdasEditables = false;
+        cantidadConError = 0;
+        celdaConPista = -1;
+        Arrays.fill(notas, 0);
+        for (int fila = 0; fila < celdas.length; fila++) {
+            for (int columna = 0; columna < celdas.length; columna++) {
+                TextField celda = celdas[fila][columna];
+                celda.setText("");
+                celda.setPromptText("");
+                celda.pseudoClassStateChanged(NOTAS, false);
+                celda.setEditable(false);
+                celda.pseudoClassStateChanged(INICIAL, false);
+                celda.pseudoClassStateChanged(ERROR, false);
+                celda.pseudoClassStateChanged(PISTA, false);
+                celda.pseudoClassStateChanged(DESTELLO, false);
+            }
+        }
+    }
+
+    /**
+     * Habilita o deshabilita la edición de celdas no iniciales.
+     * Solo recorre el tablero cuando el estado cambia; durante el juego cada celda se ajusta al actualizarla.
+     * @param editable true para habilitar edición, false para lo contrario
+     */
+    @Override
+    public void setCeldasEditables(boolean editable) {
+        if (celdasEditables == editable) return;
+        celdasEditables = editable;
+        for (int fila = 0; fila < celdas.length; fila++) {
+            for (int columna = 0; columna < celdas.length; columna++) {
+                if (controlador != null && !controlador.esCeldaInicial(fila, columna)) {
+                    celdas[fila][columna].setEditable(editable);
+                }
+            }
+        }
+    }
+}
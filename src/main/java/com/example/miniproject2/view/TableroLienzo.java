@@ -0,0 +1,435 @@
+package com.example.miniproject2.view;
+
+import com.example.miniproject2.controller.SudokuController;
+import com.example.miniproject2.model.Geometria;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+import java.util.Arrays;
+
+/**
+ * Tablero dibujado sobre un único {@link Canvas}, pensado para tableros de 16x16 o 25x25.
+ * El estado de cada celda se guarda en arreglos primitivos y solo se vuelve a pintar la celda que cambia,
+ * así que la escena tiene un solo nodo sea cual sea el tamaño del tablero.
+ * El jugador elige la celda con el ratón o con las flechas y escribe el símbolo con el teclado;
+ * Retroceso o Suprimir la vacían. En modo notas el símbolo se anota o se retira de los candidatos de la celda,
+ * que se dibujan en pequeño dentro de ella, uno por posición de una rejilla con la forma de un bloque.
+ */
+public class TableroLienzo implements VistaTablero {
+    private static final double LADO_CUADRICULA = 360;
+    private static final double LADO_MAXIMO_CELDA = 50;
+    private static final double MARGEN = 10;
+    private static final double SEPARACION = 1;
+    private static final double SEPARACION_BLOQUE = 3;
+
+    private static final Color FONDO = Color.WHITE;
+    private static final Color FONDO_SOMBREADO = Color.web("#f0f0f0");
+    private static final Color FONDO_SOBREVOLADO = Color.web("#e6f3ff");
+    private static final Color FONDO_PISTA = Color.web("#FFD700");
+    private static final Color FONDO_DESTELLO = Color.web("#FFA07A");
+    private static final Color LINEA = Color.web("#d0d0d0");
+    private static final Color LINEA_BLOQUE = Color.web("#808080");
+    private static final Color BORDE_ERROR = Color.RED;
+    private static final Color BORDE_SELECCION = Color.web("#5a7fb5");
+    private static final Color TEXTO = Color.BLACK;
+    private static final Color TEXTO_NOTAS = Color.web("#5a7fb5");
+
+    private final Canvas lienzo = new Canvas();
+    private final GraphicsContext grafico = lienzo.getGraphicsContext2D();
+    private Geometria geometria;
+    private SudokuController controlador;
+    private int tamano;
+    private double lado;
+    private Font fuente;
+    private Font fuenteNegrita;
+    private Font fuenteNotas;
+    private String[] simbolos = new String[0];
+
+    private byte[] valores = new byte[0];
+    private boolean[] iniciales = new boolean[0];
+    private int[] notas = new int[0];
+    private boolean[] errores = new boolean[0];
+    private int[] celdasConError = new int[0];
+    private int cantidadConError;
+    private int celdaConPista = -1;
+    private int celdaSobrevolada = -1;
+    private int celdaSeleccionada = -1;
+    private boolean destello;
+    private boolean celdasEditables;
+
+    /**
+     * Crea el lienzo y registra los eventos de ratón y teclado; el tablero se dibuja al llamar a
+     * {@link #construir(Geometria)}.
+     */
+    public TableroLienzo() {
+        lienzo.setFocusTraversable(true);
+        grafico.setTextAlign(TextAlignment.CENTER);
+        grafico.setTextBaseline(VPos.CENTER);
+        lienzo.setOnMousePressed(this::alPresionar);
+        lienzo.setOnMouseMoved(e -> sobrevolar(celdaEn(e.getX(), e.getY())));
+        lienzo.setOnMouseExited(e -> sobrevolar(-1));
+        lienzo.setOnKeyPressed(this::alPresionarTecla);
+        lienzo.setOnKeyTyped(this::alEscribir);
+    }
+
+    @Override
+    public Node getNodo() {
+        return lienzo;
+    }
+
+    @Override
+    public void setControlador(SudokuController controlador) {
+        this.controlador = controlador;
+    }
+
+    /**
+     * Ajusta el lienzo a la geometría, reserva el estado de las celdas y dibuja el tablero vacío.
+     * @param geometria Geometría del tablero a mostrar
+     */
+    @Override
+    public void construir(Geometria geometria) {
+        this.geometria = geometria;
+        this.tamano = geometria.getTamano();
+        int celdas = geometria.getCeldas();
+        lado = Math.floor(Math.min(LADO_MAXIMO_CELDA, LADO_CUADRICULA / tamano));
+        fuente = Font.font("Arial", Math.max(9, Math.round(lado * 0.36)));
+        fuenteNegrita = Font.font("Arial", FontWeight.BOLD, Math.max(9, Math.round(lado * 0.36)));
+        int ladoRejilla = Math.max(geometria.getAltoBloque(), geometria.getAnchoBloque());
+        fuenteNotas = Font.font("Arial", Math.max(5, Math.floor(lado / ladoRejilla * 0.8)));
+        simbolos = new String[tamano + 1];
+        for (int numero = 1; numero <= tamano; numero++) {
+            simbolos[numero] = String.valueOf(geometria.simbolo(numero));
+        }
+
+        valores = new byte[celdas];
+        iniciales = new boolean[celdas];
+        notas = new int[celdas];
+        errores = new boolean[celdas];
+        celdasConError = new int[celdas];
+        cantidadConError = 0;
+        celdaConPista = -1;
+        celdaSobrevolada = -1;
+        celdaSeleccionada = -1;
+        destello = false;
+
+        lienzo.setWidth(origen(tamano - 1, geometria.getAnchoBloque()) + lado + MARGEN);
+        lienzo.setHeight(origen(tamano - 1, geometria.getAltoBloque()) + lado + MARGEN);
+        dibujarTodo();
+    }
+
+    @Override
+    public void actualizarCelda(int fila, int columna, int numero, boolean inicial) {
+        int celda = geometria.indice(fila, columna);
+        valores[celda] = (byte) numero;
+        iniciales[celda] = inicial;
+        if (celdaConPista == celda) celdaConPista = -1;
+        dibujarCelda(celda);
+    }
+
+    @Override
+    public void mostrarNotas(int fila, int columna, int notas) {
+        int celda = geometria.indice(fila, columna);
+        this.notas[celda] = notas;
+        if (valores[celda] == 0) dibujarCelda(celda);
+    }
+
+    @Override
+    public void resaltarError(int fila, int columna) {
+        int celda = geometria.indice(fila, columna);
+        if (errores[celda]) return;
+        errores[celda] = true;
+        celdasConError[cantidadConError++] = celda;
+        dibujarCelda(celda);
+    }
+
+    @Override
+    public void resaltarPista(int fila, int columna) {
+        int anterior = celdaConPista;
+        celdaConPista = geometria.indice(fila, columna);
+        if (anterior >= 0) dibujarCelda(anterior);
+        dibujarCelda(celdaConPista);
+    }
+
+    /**
+     * Limpia los resaltados de error, volviendo a pintar solo las celdas que los tienen.
+     */
+    @Override
+    public void limpiarResaltados() {
+        for (int i = 0; i < cantidadConError; i++) {
+            errores[celdasConError[i]] = false;
+            dibujarCelda(celdasConError[i]);
+        }
+        cantidadConError = 0;
+    }
+
+    /**
+     * Resalta y parpadea temporalmente las celdas no iniciales al reiniciar el juego.
+     */
+    @Override
+    public void resaltarReinicio() {
+        marcarDestello(true);
+        Timeline timeline = new Timeline(
+                new KeyFrame(Duration.seconds(0.3), e -> marcarDestello(false)),
+                new KeyFrame(Duration.seconds(0.6), e -> marcarDestello(true)),
+                new KeyFrame(Duration.seconds(0.9), e -> marcarDestello(false))
+        );
+        timeline.play();
+    }
+
+    /**
+     * Enciende o apaga el destello y vuelve a pintar las celdas no iniciales.
+     */
+    private void marcarDestello(boolean activo) {
+        destello = activo;
+        for (int celda = 0; celda < valores.length; celda++) {
+            if (!iniciales[celda]) dibujarCelda(celda);
+        }
+    }
+
+    @Override
+    public void limpiar() {
+        celdasEditables = false;
+        Arrays.fill(valores, (byte) 0);
+        Arrays.fill(iniciales, false);
+        Arrays.fill(notas, 0);
+        Arrays.fill(errores, false);
+        cantidadConError = 0;
+        celdaConPista = -1;
+        destello = false;
+        dibujarTodo();
+    }
+
+    /**
+     * Habilita o deshabilita la edición de celdas no iniciales. No requiere volver a dibujar.
+     * @param editable true para habilitar edición, false para lo contrario
+     */
+    @Override
+    public void setCeldasEditables(boolean editable) {
+        celdasEditables = editable;
+    }
+
+    /**
+     * Selecciona la celda bajo el puntero y toma el foco del teclado.
+     */
+    private void alPresionar(MouseEvent evento) {
+        lienzo.requestFocus();
+        int celda = celdaEn(evento.getX(), evento.getY());
+        if (celda >= 0) seleccionar(celda);
+    }
+
+    /**
+     * Mueve la selección con las flechas y vacía la celda con Retroceso o Suprimir.
+     */
+    private void alPresionarTecla(KeyEvent evento) {
+        if (geometria == null) return;
+        int fila = celdaSeleccionada < 0 ? 0 : geometria.fila(celdaSeleccionada);
+        int columna = celdaSeleccionada < 0 ? 0 : geometria.columna(celdaSeleccionada);
+        switch (evento.getCode()) {
+            case UP:
+                fila = Math.max(0, fila - 1);
+                break;
+            case DOWN:
+                fila = Math.min(tamano - 1, fila + 1);
+                break;
+            case LEFT:
+                columna = Math.max(0, columna - 1);
+                break;
+            case RIGHT:
+                columna = Math.min(tamano - 1, columna + 1);
+                break;
+            case BACK_SPACE:
+            case DELETE:
+                ingresar(0);
+                evento.consume();
+                return;
+            default:
+                return;
+        }
+        seleccionar(geometria.indice(fila, columna));
+        evento.consume();
+    }
+
+    /**
+     * Ingresa en la celda seleccionada el número del símbolo escrito, si es válido para el tablero.
+     */
+    private void alEscribir(KeyEvent evento) {
+        String caracter = evento.getCharacter();
+        if (geometria == null || caracter.length() != 1) return;
+        int numero = geometria.numero(caracter.charAt(0));
+        if (numero != 0) {
+            ingresar(numero);
+            evento.consume();
+        }
+    }
+
+    /**
+     * Muestra el número en la celda seleccionada y lo envía al controlador para validarlo.
+     * Como en las celdas de texto, un número inválido queda a la vista, resaltado, hasta corregirlo.
+     * En modo notas el número se envía como nota y la celda se pinta cuando el modelo confirma el cambio.
+     */
+    private void ingresar(int numero) {
+        int celda = celdaSeleccionada;
+        if (controlador == null || !celdasEditables || celda < 0 || iniciales[celda]) return;
+        if (controlador.enModoNotas()) {
+            controlador.anotar(geometria.fila(celda), geometria.columna(celda), numero);
+            return;
+        }
+        valores[celda] = (byte) numero;
+        dibujarCelda(celda);
+        controlador.validarEntrada(geometria.fila(celda), geometria.columna(celda), numero);
+    }
+
+    /**
+     * Cambia la celda seleccionada, pintando de nuevo solo la anterior y la nueva.
+     */
+    private void seleccionar(int celda) {
+        int anterior = celdaSeleccionada;
+        celdaSeleccionada = celda;
+        if (anterior >= 0) dibujarCelda(anterior);
+        dibujarCelda(celda);
+    }
+
+    /**
+     * Cambia la celda bajo el puntero, pintando de nuevo solo la anterior y la nueva.
+     */
+    private void sobrevolar(int celda) {
+        if (celda == celdaSobrevolada) return;
+        int anterior = celdaSobrevolada;
+        celdaSobrevolada = celda;
+        if (anterior >= 0) dibujarCelda(anterior);
+        if (celda >= 0) dibujarCelda(celda);
+    }
+
+    /**
+     * Calcula la coordenada donde empieza la fila o columna indicada, sumando las separaciones
+     * entre celdas y la separación más ancha entre bloques.
+     * @param indice Fila o columna
+     * @param porBloque Filas o columnas por bloque en esa dirección
+     */
+    private double origen(int indice, int porBloque) {
+        return MARGEN + indice * (lado + SEPARACION) + (indice / porBloque) * (SEPARACION_BLOQUE - SEPARACION);
+    }
+
+    /**
+     * Convierte una coordenada del lienzo en fila o columna, invirtiendo {@link #origen(int, int)}.
+     * @return La fila o columna, o -1 si la coordenada cae en un margen o una separación
+     */
+    private int indiceEn(double posicion, int porBloque) {
+        double relativa = posicion - MARGEN;
+        if (relativa < 0) return -1;
+        double paso = lado + SEPARACION;
+        double pasoBloque = porBloque * paso + (SEPARACION_BLOQUE - SEPARACION);
+        int bloque = (int) (relativa / pasoBloque);
+        double resto = relativa - bloque * pasoBloque;
+        int dentro = (int) (resto / paso);
+        if (dentro >= porBloque || resto - dentro * paso >= lado) return -1;
+        int indice = bloque * porBloque + dentro;
+        return indice < tamano ? indice : -1;
+    }
+
+    /**
+     * Busca la celda que contiene el punto indicado.
+     * @return Índice plano de la celda, o -1 si el punto no cae sobre ninguna
+     */
+    private int celdaEn(double x, double y) {
+        if (geometria == null) return -1;
+        int columna = indiceEn(x, geometria.getAnchoBloque());
+        int fila = indiceEn(y, geometria.getAltoBloque());
+        return fila < 0 || columna < 0 ? -1 : geometria.indice(fila, columna);
+    }
+
+    /**
+     * Pinta el fondo, las separaciones entre bloques y todas las celdas.
+     */
+    private void dibujarTodo() {
+        if (geometria == null) return;
+        grafico.setFill(FONDO);
+        grafico.fillRect(0, 0, lienzo.getWidth(), lienzo.getHeight());
+        double fin = lienzo.getWidth() - MARGEN;
+        grafico.setFill(LINEA_BLOQUE);
+        grafico.fillRect(MARGEN, MARGEN, fin - MARGEN, lienzo.getHeight() - 2 * MARGEN);
+
+        int alto = geometria.getAltoBloque();
+        int ancho = geometria.getAnchoBloque();
+        grafico.setFill(LINEA);
+        for (int fila = 0; fila < tamano; fila += alto) {
+            for (int columna = 0; columna < tamano; columna += ancho) {
+                double x = origen(columna, ancho);
+                double y = origen(fila, alto);
+                grafico.fillRect(x, y, origen(columna + ancho - 1, ancho) + lado - x,
+                        origen(fila + alto - 1, alto) + lado - y);
+            }
+        }
+        for (int celda = 0; celda < valores.length; celda++) {
+            dibujarCelda(celda);
+        }
+    }
+
+    /**
+     * Pinta una sola celda dentro de su rectángulo, sin tocar las separaciones ni las celdas vecinas.
+     */
+    private void dibujarCelda(int celda) {
+        int fila = geometria.fila(celda);
+        int columna = geometria.columna(celda);
+        double x = origen(columna, geometria.getAnchoBloque());
+        double y = origen(fila, geometria.getAltoBloque());
+        boolean inicial = iniciales[celda];
+
+        Color fondo;
+        if (destello && !inicial) {
+            fondo = FONDO_DESTELLO;
+        } else if (celda == celdaConPista) {
+            fondo = FONDO_PISTA;
+        } else if (celda == celdaSobrevolada && !inicial) {
+            fondo = FONDO_SOBREVOLADO;
+        } else if ((fila / geometria.getAltoBloque() + columna / geometria.getAnchoBloque()) % 2 == 0) {
+            fondo = FONDO_SOMBREADO;
+        } else {
+            fondo = FONDO;
+        }
+        grafico.setFill(fondo);
+        grafico.fillRect(x, y, lado, lado);
+
+        if (errores[celda] || celda == celdaSeleccionada) {
+            grafico.setStroke(errores[celda] ? BORDE_ERROR : BORDE_SELECCION);
+            grafico.setLineWidth(2);
+            grafico.strokeRect(x + 1, y + 1, lado - 2, lado - 2);
+        }
+
+        int valor = valores[celda];
+        if (valor != 0) {
+            grafico.setFont(inicial ? fuenteNegrita : fuente);
+            grafico.setFill(TEXTO);
+            grafico.fillText(simbolos[valor], x + lado / 2, y + lado / 2);
+        } else if (notas[celda] != 0) {
+            dibujarNotas(notas[celda], x, y);
+        }
+    }
+
+    /**
+     * Pinta los candidatos anotados de una celda vacía, recorriendo solo los bits encendidos de la máscara.
+     * El número n ocupa la posición n-1 de una rejilla de {@code altoBloque} filas por {@code anchoBloque} columnas.
+     */
+    private void dibujarNotas(int mascara, double x, double y) {
+        int ancho = geometria.getAnchoBloque();
+        double anchoNota = lado / ancho;
+        double altoNota = lado / geometria.getAltoBloque();
+        grafico.setFont(fuenteNotas);
+        grafico.setFill(TEXTO_NOTAS);
+        for (int resto = mascara; resto != 0; resto &= resto - 1) {
+            int posicion = Integer.numberOfTrailingZeros(resto);
+            grafico.fillText(simbolos[posicion + 1],
+                    x + (posicion % ancho + 0.5) * anchoNota, y + (posicion / ancho + 0.5) * altoNota);
+        }
+    }
+}
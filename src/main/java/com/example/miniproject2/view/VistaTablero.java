@@ -0,0 +1,83 @@
+package com.example.miniproject2.view;
+
+import com.example.miniproject2.controller.SudokuController;
+import com.example.miniproject2.model.Geometria;
+import javafx.scene.Node;
+
+/**
+ * Representación gráfica del tablero de juego.
+ * El controlador solo conoce esta interfaz, así que puede trabajar con celdas de texto ({@link TableroCampos})
+ * o con un único lienzo ({@link TableroLienzo}) según el tamaño del tablero.
+ */
+public interface VistaTablero {
+
+    /**
+     * Obtiene el nodo que se coloca en la escena.
+     * @return Nodo raíz del tablero
+     */
+    Node getNodo();
+
+    /**
+     * Establece el controlador al que se envían las entradas del jugador.
+     * @param controlador El controlador del juego Sudoku
+     */
+    void setControlador(SudokuController controlador);
+
+    /**
+     * Prepara el tablero para la geometría indicada, reemplazando el que hubiera antes.
+     * @param geometria Geometría del tablero a mostrar
+     */
+    void construir(Geometria geometria);
+
+    /**
+     * Muestra el valor de una celda y si es una celda inicial.
+     * @param fila Fila de la celda (0 a N-1)
+     * @param columna Columna de la celda (0 a N-1)
+     * @param numero Número a mostrar, o 0 para dejarla vacía
+     * @param inicial true si la celda es una pista del tablero
+     */
+    void actualizarCelda(int fila, int columna, int numero, boolean inicial);
+
+    /**
+     * Muestra los candidatos que el jugador anotó en una celda. Las notas solo se ven mientras la celda está vacía.
+     * @param fila Fila de la celda (0 a N-1)
+     * @param columna Columna de la celda (0 a N-1)
+     * @param notas Máscara de los números anotados, con el bit {@code numero - 1} para cada uno
+     */
+    void mostrarNotas(int fila, int columna, int notas);
+
+    /**
+     * Resalta una celda con un valor inválido.
+     * @param fila Fila de la celda (0 a N-1)
+     * @param columna Columna de la celda (0 a N-1)
+     */
+    void resaltarError(int fila, int columna);
+
+    /**
+     * Resalta la celda cuyo número se sugirió como ayuda, retirando el resaltado de la sugerencia anterior.
+     * @param fila Fila de la celda (0 a N-1)
+     * @param columna Columna de la celda (0 a N-1)
+     */
+    void resaltarPista(int fila, int columna);
+
+    /**
+     * Retira los resaltados de error.
+     */
+    void limpiarResaltados();
+
+    /**
+     * Hace parpadear las celdas no iniciales al reiniciar el juego.
+     */
+    void resaltarReinicio();
+
+    /**
+     * Deja todas las celdas vacías, sin resaltados y sin posibilidad de edición.
+     */
+    void limpiar();
+
+    /**
+     * Habilita o deshabilita la edición de las celdas no iniciales.
+     * @param editable true para habilitar edición, false para lo contrario
+     */
+    void setCeldasEditables(boolean editable);
+}
@@ -1,13 +1,20 @@
 module com.example.miniproject2 {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.jfr;
 
 
     opens com.example.miniproject2 to javafx.fxml;
     opens com.example.miniproject2.view to javafx.fxml;
 
     exports com.example.miniproject2;
+    exports com.example.miniproject2.analisis;
+    exports com.example.miniproject2.cli;
     exports com.example.miniproject2.controller;
+    exports com.example.miniproject2.metricas;
     exports com.example.miniproject2.model;
+    exports com.example.miniproject2.persistencia;
+    exports com.example.miniproject2.servidor;
     exports com.example.miniproject2.view;
 }
\ No newline at end of file
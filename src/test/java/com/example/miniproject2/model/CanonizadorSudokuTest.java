@@ -0,0 +1,181 @@
+package com.example.miniproject2.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Invariancia de la forma canónica: cada tablero se transforma con las simetrías del Sudoku, una por una y
+ * combinadas al azar, y su huella y su forma canónica no deben cambiar.
+ */
+class CanonizadorSudokuTest {
+    private static final int TABLEROS = 5;
+    private static final int TRANSFORMACIONES = 40;
+
+    @Test
+    void esInvarianteEn4x4() {
+        comprobarInvariancia(Geometria.de(4));
+    }
+
+    @Test
+    void esInvarianteEn6x6() {
+        comprobarInvariancia(Geometria.de(6));
+    }
+
+    @Test
+    void esInvarianteEn9x9() {
+        comprobarInvariancia(Geometria.de(9));
+    }
+
+    @Test
+    void distingueTablerosNoEquivalentes() {
+        Geometria geometria = Geometria.de(9);
+        CanonizadorSudoku canonizador = new CanonizadorSudoku(geometria);
+        Sudoku sudoku = generar(geometria, 1);
+        Sudoku otro = generar(geometria, 2);
+        assertNotEquals(canonizador.huella(sudoku), canonizador.huella(otro));
+
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        sudoku.copiarPistasEn(pistas);
+        sudoku.copiarSolucionEn(solucion);
+        int celda = 0;
+        while (pistas.obtener(celda) == 0) celda++;
+        pistas.establecer(celda, 0);
+        assertNotEquals(canonizador.huella(sudoku), canonizador.huella(Sudoku.desde(pistas, solucion)));
+    }
+
+    private static void comprobarInvariancia(Geometria geometria) {
+        CanonizadorSudoku canonizador = new CanonizadorSudoku(geometria);
+        int tamano = geometria.getTamano();
+        boolean trasponer = geometria.getAltoBloque() == geometria.getAnchoBloque();
+        Random aleatorio = new Random(tamano);
+        for (int t = 0; t < TABLEROS; t++) {
+            Sudoku sudoku = generar(geometria, 31L * tamano + t);
+            long huella = canonizador.huella(sudoku);
+            Sudoku canonico = canonizador.canonizar(sudoku);
+
+            comprobar(canonizador, huella, canonico, new Simetria(geometria).renombrar(aleatorio).aplicar(sudoku));
+            comprobar(canonizador, huella, canonico, new Simetria(geometria).permutarFilas(aleatorio).aplicar(sudoku));
+            comprobar(canonizador, huella, canonico, new Simetria(geometria).permutarBandas(aleatorio).aplicar(sudoku));
+            comprobar(canonizador, huella, canonico, new Simetria(geometria).permutarColumnas(aleatorio).aplicar(sudoku));
+            comprobar(canonizador, huella, canonico, new Simetria(geometria).permutarPilas(aleatorio).aplicar(sudoku));
+            if (trasponer) comprobar(canonizador, huella, canonico, new Simetria(geometria).trasponer().aplicar(sudoku));
+            for (int i = 0; i < TRANSFORMACIONES; i++) {
+                Simetria simetria = new Simetria(geometria).renombrar(aleatorio).permutarFilas(aleatorio)
+                        .permutarBandas(aleatorio).permutarColumnas(aleatorio).permutarPilas(aleatorio);
+                if (trasponer && aleatorio.nextBoolean()) simetria.trasponer();
+                comprobar(canonizador, huella, canonico, simetria.aplicar(sudoku));
+            }
+        }
+    }
+
+    private static void comprobar(CanonizadorSudoku canonizador, long huella, Sudoku canonico, Sudoku transformado) {
+        assertEquals(huella, canonizador.huella(transformado));
+        Sudoku otroCanonico = canonizador.canonizar(transformado);
+        for (int celda = 0; celda < canonico.getGeometria().getCeldas(); celda++) {
+            assertEquals(canonico.obtenerPista(celda), otroCanonico.obtenerPista(celda));
+            assertEquals(canonico.obtenerSolucion(celda), otroCanonico.obtenerSolucion(celda));
+        }
+    }
+
+    private static Sudoku generar(Geometria geometria, long semilla) {
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        new GeneradorSudoku(geometria, semilla).generar(pistas, solucion, geometria.pistasPorDefecto());
+        return Sudoku.desde(pistas, solucion);
+    }
+
+    /**
+     * Composición de simetrías del Sudoku: la celda (f, c) del resultado toma la celda (filas[f], columnas[c])
+     * del original, o (columnas[c], filas[f]) si se traspone, con sus números renombrados.
+     */
+    private static final class Simetria {
+        private final Geometria geometria;
+        private final int[] filas;
+        private final int[] columnas;
+        private final int[] nombres;
+        private boolean traspuesta;
+
+        Simetria(Geometria geometria) {
+            this.geometria = geometria;
+            int tamano = geometria.getTamano();
+            this.filas = identidad(tamano);
+            this.columnas = identidad(tamano);
+            this.nombres = identidad(tamano + 1);
+        }
+
+        Simetria renombrar(Random aleatorio) {
+            mezclar(nombres, 1, geometria.getTamano(), aleatorio);
+            return this;
+        }
+
+        Simetria permutarFilas(Random aleatorio) {
+            int alto = geometria.getAltoBloque();
+            for (int inicio = 0; inicio < geometria.getTamano(); inicio += alto) mezclar(filas, inicio, alto, aleatorio);
+            return this;
+        }
+
+        Simetria permutarColumnas(Random aleatorio) {
+            int ancho = geometria.getAnchoBloque();
+            for (int inicio = 0; inicio < geometria.getTamano(); inicio += ancho) mezclar(columnas, inicio, ancho, aleatorio);
+            return this;
+        }
+
+        Simetria permutarBandas(Random aleatorio) {
+            permutarGrupos(filas, geometria.getAltoBloque(), aleatorio);
+            return this;
+        }
+
+        Simetria permutarPilas(Random aleatorio) {
+            permutarGrupos(columnas, geometria.getAnchoBloque(), aleatorio);
+            return this;
+        }
+
+        Simetria trasponer() {
+            traspuesta = !traspuesta;
+            return this;
+        }
+
+        Sudoku aplicar(Sudoku sudoku) {
+            TableroBits pistas = new TableroBits(geometria);
+            TableroBits solucion = new TableroBits(geometria);
+            for (int f = 0; f < geometria.getTamano(); f++) {
+                for (int c = 0; c < geometria.getTamano(); c++) {
+                    int origen = traspuesta ? geometria.indice(columnas[c], filas[f])
+                            : geometria.indice(filas[f], columnas[c]);
+                    int celda = geometria.indice(f, c);
+                    pistas.establecer(celda, nombres[sudoku.obtenerPista(origen)]);
+                    solucion.establecer(celda, nombres[sudoku.obtenerSolucion(origen)]);
+                }
+            }
+            return Sudoku.desde(pistas, solucion);
+        }
+
+        private static void permutarGrupos(int[] indices, int largo, Random aleatorio) {
+            int grupos = indices.length / largo;
+            int[] orden = identidad(grupos);
+            mezclar(orden, 0, grupos, aleatorio);
+            int[] anterior = indices.clone();
+            for (int g = 0; g < grupos; g++) System.arraycopy(anterior, orden[g] * largo, indices, g * largo, largo);
+        }
+
+        private static int[] identidad(int largo) {
+            int[] indices = new int[largo];
+            for (int i = 0; i < largo; i++) indices[i] = i;
+            return indices;
+        }
+
+        private static void mezclar(int[] indices, int inicio, int largo, Random aleatorio) {
+            for (int i = largo - 1; i > 0; i--) {
+                int j = aleatorio.nextInt(i + 1);
+                int temporal = indices[inicio + i];
+                indices[inicio + i] = indices[inicio + j];
+                indices[inicio + j] = temporal;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.miniproject2.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deshacer y rehacer en el {@link HistorialMovimientos}: ida y vuelta de los movimientos, descarte de lo que podía
+ * rehacerse al registrar uno nuevo y olvido de los más viejos cuando el arreglo circular se llena.
+ */
+class HistorialMovimientosTest {
+    private static final int CAPACIDAD = 1 << 12;
+
+    @Test
+    void empaquetaCeldaYNumerosDelTableroMasGrande() {
+        Geometria geometria = Geometria.de(Geometria.TAMANO_MAXIMO);
+        int ultimaCelda = geometria.getCeldas() - 1;
+        for (int anterior = 0; anterior <= geometria.getTamano(); anterior++) {
+            for (int nuevo = 0; nuevo <= geometria.getTamano(); nuevo++) {
+                int movimiento = HistorialMovimientos.empaquetar(ultimaCelda, anterior, nuevo);
+                assertEquals(ultimaCelda, HistorialMovimientos.celda(movimiento));
+                assertEquals(anterior, HistorialMovimientos.anterior(movimiento));
+                assertEquals(nuevo, HistorialMovimientos.nuevo(movimiento));
+            }
+        }
+    }
+
+    @Test
+    void deshaceYRehaceEnOrden() {
+        HistorialMovimientos historial = new HistorialMovimientos(CAPACIDAD);
+        assertFalse(historial.puedeDeshacer());
+        assertFalse(historial.puedeRehacer());
+        for (int i = 0; i < 5; i++) historial.registrar(movimiento(i));
+        assertEquals(5, historial.getActual());
+        assertEquals(5, historial.getUltima());
+
+        for (int i = 4; i >= 0; i--) {
+            assertTrue(historial.puedeDeshacer());
+            assertEquals(movimiento(i), historial.deshacer());
+        }
+        assertFalse(historial.puedeDeshacer());
+        assertEquals(0, historial.getActual());
+        assertEquals(5, historial.getUltima());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(historial.puedeRehacer());
+            assertEquals(movimiento(i), historial.rehacer());
+        }
+        assertFalse(historial.puedeRehacer());
+        assertEquals(5, historial.getActual());
+    }
+
+    @Test
+    void registrarDescartaLoQueSePodiaRehacer() {
+        HistorialMovimientos historial = new HistorialMovimientos(CAPACIDAD);
+        for (int i = 0; i < 5; i++) historial.registrar(movimiento(i));
+        historial.deshacer();
+        historial.deshacer();
+        assertTrue(historial.puedeRehacer());
+
+        historial.registrar(movimiento(99));
+        assertFalse(historial.puedeRehacer());
+        assertEquals(4, historial.getActual());
+        assertEquals(4, historial.getUltima());
+        assertEquals(movimiento(99), historial.deshacer());
+        assertEquals(movimiento(2), historial.deshacer());
+    }
+
+    @Test
+    void olvidaLosMasViejosAlLlenarse() {
+        HistorialMovimientos historial = new HistorialMovimientos(CAPACIDAD);
+        int extra = 10;
+        for (int i = 0; i < CAPACIDAD + extra; i++) historial.registrar(movimiento(i));
+        assertEquals(extra, historial.getPrimera());
+        assertEquals(CAPACIDAD + extra, historial.getActual());
+
+        for (int i = CAPACIDAD + extra - 1; i >= extra; i--) {
+            assertTrue(historial.puedeDeshacer());
+            assertEquals(movimiento(i), historial.deshacer());
+        }
+        assertFalse(historial.puedeDeshacer());
+        assertEquals(extra, historial.getActual());
+
+        for (int i = extra; i < CAPACIDAD + extra; i++) assertEquals(movimiento(i), historial.rehacer());
+        assertFalse(historial.puedeRehacer());
+    }
+
+    @Test
+    void redondeaLaCapacidadAUnaPotenciaDeDos() {
+        HistorialMovimientos historial = new HistorialMovimientos(5);
+        for (int i = 0; i < 9; i++) historial.registrar(movimiento(i));
+        assertEquals(1, historial.getPrimera());
+        historial.limpiar();
+        assertEquals(0, historial.getPrimera());
+        assertEquals(0, historial.getActual());
+        assertEquals(0, historial.getUltima());
+        assertFalse(historial.puedeDeshacer());
+    }
+
+    /** Movimiento distinto para cada posición de las pruebas, con celda y números válidos en 25x25. */
+    private static int movimiento(int i) {
+        return HistorialMovimientos.empaquetar(i % 625, i / 625, i % 26);
+    }
+}
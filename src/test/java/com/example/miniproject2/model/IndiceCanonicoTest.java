@@ -0,0 +1,80 @@
+package com.example.miniproject2.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Agregado concurrente al {@link IndiceCanonico}: varios hilos agregan las mismas huellas a la vez y cada una
+ * debe resultar nueva exactamente una vez.
+ */
+class IndiceCanonicoTest {
+    private static final int HILOS = 8;
+    private static final int HUELLAS = 50_000;
+
+    @Test
+    void cadaHuellaEsNuevaUnaSolaVezEntreHilos() throws Exception {
+        IndiceCanonico indice = new IndiceCanonico(HUELLAS);
+        CyclicBarrier largada = new CyclicBarrier(HILOS);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<int[]>> nuevas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                int desplazamiento = h * (HUELLAS / HILOS);
+                nuevas.add(hilos.submit(() -> {
+                    int[] veces = new int[HUELLAS];
+                    largada.await();
+                    for (int i = 0; i < HUELLAS; i++) {
+                        int huella = (i + desplazamiento) % HUELLAS;
+                        if (indice.agregar(huella(huella))) veces[huella]++;
+                    }
+                    return veces;
+                }));
+            }
+            int[] total = new int[HUELLAS];
+            for (Future<int[]> parcial : nuevas) {
+                int[] veces = parcial.get();
+                for (int i = 0; i < HUELLAS; i++) total[i] += veces[i];
+            }
+            for (int i = 0; i < HUELLAS; i++) assertEquals(1, total[i], "huella " + i);
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertEquals(HUELLAS, indice.getCantidad());
+        for (int i = 0; i < HUELLAS; i++) assertTrue(indice.contiene(huella(i)));
+        assertFalse(indice.contiene(huella(HUELLAS)));
+    }
+
+    @Test
+    void guardaLaHuellaCero() {
+        IndiceCanonico indice = new IndiceCanonico(4);
+        assertFalse(indice.contiene(0L));
+        assertTrue(indice.agregar(0L));
+        assertTrue(indice.contiene(0L));
+        assertFalse(indice.agregar(0L));
+        assertEquals(1, indice.getCantidad());
+    }
+
+    @Test
+    void rechazaHuellasNuevasAlLlenarse() {
+        IndiceCanonico indice = new IndiceCanonico(3);
+        for (int i = 0; i < 3; i++) assertTrue(indice.agregar(huella(i)));
+        assertFalse(indice.agregar(huella(1)));
+        assertThrows(IllegalStateException.class, () -> indice.agregar(huella(3)));
+        assertEquals(3, indice.getCantidad());
+    }
+
+    private static long huella(int i) {
+        return AleatorioSplitMix.mezclar(i + 2L);
+    }
+}
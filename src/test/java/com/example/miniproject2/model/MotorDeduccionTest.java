@@ -0,0 +1,116 @@
+package com.example.miniproject2.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pasos de {@link MotorDeduccion}: en tableros generados cada colocación coincide con la solución y ningún
+ * descarte quita el número correcto, y en tableros fijos cada técnica es la primera que encuentra el motor.
+ */
+class MotorDeduccionTest {
+    private static final int[] TAMANOS = {4, 6, 8, 9, 12, 16};
+    private static final int TABLEROS = 3;
+
+    @Test
+    void cadaPasoRespetaLaSolucion() {
+        for (int tamano : TAMANOS) {
+            Geometria geometria = Geometria.de(tamano);
+            for (int t = 0; t < TABLEROS; t++) {
+                TableroBits tablero = new TableroBits(geometria);
+                TableroBits solucion = new TableroBits(geometria);
+                new GeneradorSudoku(geometria, 13L * tamano + t).generar(tablero, solucion, geometria.pistasPorDefecto());
+                MotorDeduccion motor = new MotorDeduccion(tablero);
+                for (PasoLogico paso = motor.siguientePaso(); paso != null; paso = motor.siguientePaso()) {
+                    comprobarPaso(paso, solucion, tamano + "x" + tamano + " tablero " + t);
+                    if (paso.esColocacion()) tablero.establecer(paso.getCelda(), paso.getNumero());
+                }
+            }
+        }
+    }
+
+    @Test
+    void encuentraUnUnicoDesnudo() {
+        comprobarTecnica(Tecnica.UNICO_DESNUDO,
+                "49.....26.5.6.....8.6.1...7....2...99.38...7.2.4.713.....38..9.549...8.3.........");
+    }
+
+    @Test
+    void encuentraUnUnicoOculto() {
+        comprobarTecnica(Tecnica.UNICO_OCULTO,
+                "49.....26.5.6.....8.6.1...7....2...99.38...7.2.4.713.....38..9.549.6.813.........");
+    }
+
+    @Test
+    void encuentraUnParDesnudo() {
+        comprobarTecnica(Tecnica.PAR_DESNUDO,
+                "124.5.67357.6132.43.6742.1.631.9..272.7136.....5.273617....1..2.1.2..7....237.14.");
+    }
+
+    @Test
+    void encuentraUnParOculto() {
+        comprobarTecnica(Tecnica.PAR_OCULTO,
+                "92385617467.142..31.43796..246913587.....7.61.1.6...3..61.98...49.23...65.276....");
+    }
+
+    @Test
+    void encuentraUnApuntado() {
+        comprobarTecnica(Tecnica.APUNTADO,
+                "49.51328..856924.3.3287495..2..365.....7..62956.2...3.27.....9..5.1....2....27865");
+    }
+
+    @Test
+    void encuentraUnaReduccionBloqueLinea() {
+        comprobarTecnica(Tecnica.RECLAMO,
+                ".1.9.27.36.7413.98.93.57...3.4.7..2..7..2.3....93.4.7.581246937736591...942738..6");
+    }
+
+    @Test
+    void informaUnaCeldaSinCandidatos() {
+        TableroBits tablero = leer(Geometria.de(4), "123....4........");
+        PasoLogico paso = new MotorDeduccion(tablero).siguientePaso();
+        assertNotNull(paso);
+        assertEquals(Tecnica.CONTRADICCION, paso.getTecnica());
+        assertEquals(3, paso.getCelda());
+    }
+
+    /** Comprueba que el primer paso de un motor nuevo use la técnica esperada y respete la solución. */
+    private static void comprobarTecnica(Tecnica tecnica, String texto) {
+        TableroBits tablero = leer(Geometria.de(9), texto);
+        TableroBits solucion = new TableroBits(tablero.getGeometria());
+        solucion.copiarDe(tablero);
+        assertTrue(new SolucionadorDLX(tablero.getGeometria()).resolver(solucion));
+
+        PasoLogico paso = new MotorDeduccion(tablero).siguientePaso();
+        assertNotNull(paso);
+        assertEquals(tecnica, paso.getTecnica());
+        assertEquals(tecnica == Tecnica.UNICO_DESNUDO || tecnica == Tecnica.UNICO_OCULTO, paso.esColocacion());
+        comprobarPaso(paso, solucion, tecnica.name());
+    }
+
+    private static void comprobarPaso(PasoLogico paso, TableroBits solucion, String contexto) {
+        assertNotEquals(Tecnica.CONTRADICCION, paso.getTecnica(), contexto);
+        if (paso.esColocacion()) {
+            assertEquals(solucion.obtener(paso.getCelda()), paso.getNumero(), contexto);
+            return;
+        }
+        assertTrue(paso.getCantidadDescartes() > 0, contexto);
+        for (int i = 0; i < paso.getCantidadDescartes(); i++) {
+            int celda = paso.getCeldaDescarte(i);
+            assertEquals(0, paso.getDescarte(i) & 1 << (solucion.obtener(celda) - 1), contexto + " celda " + celda);
+        }
+    }
+
+    /** Lee un tablero escrito fila por fila, con un dígito por celda y un punto para las vacías. */
+    private static TableroBits leer(Geometria geometria, String texto) {
+        TableroBits tablero = new TableroBits(geometria);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            char c = texto.charAt(celda);
+            if (c != '.') tablero.establecer(celda, c - '0');
+        }
+        return tablero;
+    }
+}
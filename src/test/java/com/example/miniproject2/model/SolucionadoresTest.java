@@ -0,0 +1,152 @@
+package com.example.miniproject2.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Acuerdo entre {@link SolucionadorBacktracking} y {@link SolucionadorDLX}: sobre los mismos tableros, con una,
+ * varias o ninguna solución, deben contar las mismas soluciones y, si hay una sola, encontrar la misma.
+ */
+class SolucionadoresTest {
+    private static final int[] TAMANOS = {4, 6, 8, 9, 12};
+    private static final int TABLEROS = 4;
+
+    @Test
+    void coincidenEnTablerosDeSolucionUnica() {
+        for (int tamano : TAMANOS) {
+            Geometria geometria = Geometria.de(tamano);
+            for (int t = 0; t < TABLEROS; t++) {
+                Sudoku sudoku = generar(geometria, 17L * tamano + t);
+                TableroBits pistas = new TableroBits(geometria);
+                sudoku.copiarPistasEn(pistas);
+                for (Solucionador solucionador : solucionadores(geometria)) {
+                    assertEquals(1, contar(solucionador, pistas, 2), nombre(solucionador, tamano));
+                    TableroBits tablero = copia(pistas);
+                    assertTrue(solucionador.resolver(tablero), nombre(solucionador, tamano));
+                    for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+                        assertEquals(sudoku.obtenerSolucion(celda), tablero.obtener(celda), nombre(solucionador, tamano));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void coincidenEnTablerosConVariasSoluciones() {
+        for (int tamano : TAMANOS) {
+            Geometria geometria = Geometria.de(tamano);
+            Sudoku sudoku = generar(geometria, 5L * tamano);
+            TableroBits pistas = new TableroBits(geometria);
+            sudoku.copiarPistasEn(pistas);
+            quitarPistas(pistas);
+
+            for (TableroBits abierto : new TableroBits[] {new TableroBits(geometria), pistas}) {
+                for (Solucionador solucionador : solucionadores(geometria)) {
+                    assertEquals(2, contar(solucionador, abierto, 2), nombre(solucionador, tamano));
+                    TableroBits tablero = copia(abierto);
+                    assertTrue(solucionador.resolver(tablero), nombre(solucionador, tamano));
+                    comprobarCompleto(abierto, tablero);
+                }
+            }
+        }
+    }
+
+    @Test
+    void coincidenEnTablerosSinSolucion() {
+        for (int tamano : TAMANOS) {
+            Geometria geometria = Geometria.de(tamano);
+            Sudoku sudoku = generar(geometria, 7L * tamano);
+            TableroBits pistas = new TableroBits(geometria);
+            sudoku.copiarPistasEn(pistas);
+            colocarNumeroEquivocado(pistas, sudoku);
+
+            for (Solucionador solucionador : solucionadores(geometria)) {
+                assertEquals(0, contar(solucionador, pistas, 2), nombre(solucionador, tamano));
+                TableroBits tablero = copia(pistas);
+                assertFalse(solucionador.resolver(tablero), nombre(solucionador, tamano));
+                comprobarIguales(pistas, tablero);
+            }
+        }
+    }
+
+    private static Solucionador[] solucionadores(Geometria geometria) {
+        return new Solucionador[] {new SolucionadorBacktracking(geometria), new SolucionadorDLX(geometria)};
+    }
+
+    /** Cuenta las soluciones y comprueba que el tablero quedó como estaba. */
+    static int contar(Solucionador solucionador, TableroBits tablero, int limite) {
+        TableroBits antes = copia(tablero);
+        int soluciones = solucionador.contarSoluciones(tablero, limite);
+        comprobarIguales(antes, tablero);
+        return soluciones;
+    }
+
+    /**
+     * Vacía las dos primeras filas, que comparten banda: intercambiarlas en la solución conocida da otra
+     * solución que respeta las pistas restantes.
+     */
+    private static void quitarPistas(TableroBits pistas) {
+        Geometria geometria = pistas.getGeometria();
+        for (int f = 0; f < 2; f++) {
+            for (int c = 0; c < geometria.getTamano(); c++) pistas.establecer(geometria.indice(f, c), 0);
+        }
+    }
+
+    /**
+     * Coloca en una celda vacía un número que ninguna de sus unidades descarta pero que no es el de la solución;
+     * como la solución es única, el tablero resultante no tiene ninguna.
+     */
+    private static void colocarNumeroEquivocado(TableroBits pistas, Sudoku sudoku) {
+        for (int celda = 0; celda < pistas.getGeometria().getCeldas(); celda++) {
+            if (pistas.obtener(celda) != 0) continue;
+            for (int numero = 1; numero <= pistas.getGeometria().getTamano(); numero++) {
+                if (numero != sudoku.obtenerSolucion(celda) && pistas.puedeColocar(celda, numero)) {
+                    pistas.establecer(celda, numero);
+                    return;
+                }
+            }
+        }
+        throw new AssertionError("ninguna celda admite un número equivocado");
+    }
+
+    /** Comprueba que la solución respete las pistas y no repita números en ninguna unidad. */
+    private static void comprobarCompleto(TableroBits pistas, TableroBits solucion) {
+        Geometria geometria = pistas.getGeometria();
+        int completa = (1 << geometria.getTamano()) - 1;
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            assertTrue(solucion.obtener(celda) != 0);
+            if (pistas.obtener(celda) != 0) assertEquals(pistas.obtener(celda), solucion.obtener(celda));
+        }
+        for (int unidad = 0; unidad < 3 * geometria.getTamano(); unidad++) {
+            int vistos = 0;
+            for (int celda : geometria.celdasDeUnidad(unidad)) vistos |= 1 << (solucion.obtener(celda) - 1);
+            assertEquals(completa, vistos, "unidad " + unidad);
+        }
+    }
+
+    static void comprobarIguales(TableroBits esperado, TableroBits tablero) {
+        for (int celda = 0; celda < esperado.getGeometria().getCeldas(); celda++) {
+            assertEquals(esperado.obtener(celda), tablero.obtener(celda), "celda " + celda);
+        }
+    }
+
+    static TableroBits copia(TableroBits tablero) {
+        TableroBits copia = new TableroBits(tablero.getGeometria());
+        copia.copiarDe(tablero);
+        return copia;
+    }
+
+    static String nombre(Solucionador solucionador, int tamano) {
+        return solucionador.getClass().getSimpleName() + " en " + tamano + "x" + tamano;
+    }
+
+    static Sudoku generar(Geometria geometria, long semilla) {
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        new GeneradorSudoku(geometria, semilla).generar(pistas, solucion, geometria.pistasPorDefecto());
+        return Sudoku.desde(pistas, solucion);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.TableroBits;
+import com.example.miniproject2.model.Tecnica;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ida y vuelta de tableros por el {@link FormatoBinario}: se escriben bibliotecas de todos los tamaños,
+ * de las versiones 1 y 2, y se comparan celda por celda al leerlas con {@link BibliotecaSudokus}.
+ */
+class BibliotecaSudokusTest {
+    private static final int TABLEROS_POR_TAMANO = 1000;
+    private static final int TAMANO_MINIMO = 4;
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void conservaTodosLosTablerosDeLaVersion2EnTodosLosTamanos() throws IOException {
+        int total = 0;
+        for (int tamano = TAMANO_MINIMO; tamano <= Geometria.TAMANO_MAXIMO; tamano++) {
+            Geometria geometria = Geometria.de(tamano);
+            Path archivo = carpeta.resolve("v2-" + tamano + ".sdkb");
+            try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, geometria)) {
+                for (int i = 0; i < TABLEROS_POR_TAMANO; i++) {
+                    TableroBits[] tablero = tablero(geometria, i);
+                    escritor.agregar(tablero[0], tablero[1], calificacion(i));
+                }
+            }
+            try (BibliotecaSudokus biblioteca = new BibliotecaSudokus(archivo)) {
+                assertEquals(geometria, biblioteca.getGeometria());
+                assertEquals(TABLEROS_POR_TAMANO, biblioteca.getCantidad());
+                comprobar(biblioteca, geometria, true);
+            }
+            total += TABLEROS_POR_TAMANO;
+        }
+        assertTrue(total >= 20_000);
+    }
+
+    @Test
+    void leeLaVersion1SinCalificacion() throws IOException {
+        for (int tamano : new int[] {4, 6, 9, 12, 16, 25}) {
+            Geometria geometria = Geometria.de(tamano);
+            Path archivo = carpeta.resolve("v1-" + tamano + ".sdkb");
+            escribirVersion1(archivo, geometria, TABLEROS_POR_TAMANO);
+            try (BibliotecaSudokus biblioteca = new BibliotecaSudokus(archivo)) {
+                assertEquals(TABLEROS_POR_TAMANO, biblioteca.getCantidad());
+                comprobar(biblioteca, geometria, false);
+            }
+        }
+    }
+
+    @Test
+    void leeBibliotecasDeVariosSegmentos() throws IOException {
+        Geometria geometria = Geometria.de(9);
+        int bytesSegmento = 100 * FormatoBinario.bytesPorRegistro(geometria) + 7;
+        Path archivo = carpeta.resolve("segmentos.sdkb");
+        try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, geometria)) {
+            for (int i = 0; i < TABLEROS_POR_TAMANO + 37; i++) {
+                TableroBits[] tablero = tablero(geometria, i);
+                escritor.agregar(tablero[0], tablero[1], calificacion(i));
+            }
+        }
+        try (BibliotecaSudokus biblioteca = new BibliotecaSudokus(archivo, bytesSegmento)) {
+            assertEquals(TABLEROS_POR_TAMANO + 37, biblioteca.getCantidad());
+            comprobar(biblioteca, geometria, true);
+            assertThrows(IndexOutOfBoundsException.class,
+                    () -> biblioteca.copiarEn(biblioteca.getCantidad(), new TableroBits(geometria), new TableroBits(geometria)));
+        }
+    }
+
+    @Test
+    void rechazaUnaBibliotecaTruncada() throws IOException {
+        Geometria geometria = Geometria.de(6);
+        Path archivo = carpeta.resolve("truncada.sdkb");
+        try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, geometria)) {
+            for (int i = 0; i < 10; i++) {
+                TableroBits[] tablero = tablero(geometria, i);
+                escritor.agregar(tablero[0], tablero[1]);
+            }
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 1);
+        }
+        assertThrows(IOException.class, () -> new BibliotecaSudokus(archivo));
+    }
+
+    @Test
+    void rechazaUnTamanoImposibleEnLaCabecera() throws IOException {
+        Geometria geometria = Geometria.de(9);
+        Path archivo = carpeta.resolve("danada.sdkb");
+        try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, geometria)) {
+            TableroBits[] tablero = tablero(geometria, 0);
+            escritor.agregar(tablero[0], tablero[1]);
+        }
+        for (int tamano : new int[] {0, Geometria.TAMANO_MAXIMO + 1, 0xFF}) {
+            try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+                canal.write(ByteBuffer.wrap(new byte[] {(byte) tamano}), 5);
+            }
+            assertThrows(IOException.class, () -> new BibliotecaSudokus(archivo), "tamaño " + tamano);
+        }
+    }
+
+    /**
+     * Compara cada tablero leído con el que se escribió en esa posición.
+     */
+    private static void comprobar(BibliotecaSudokus biblioteca, Geometria geometria, boolean calificada) {
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        for (int i = 0; i < biblioteca.getCantidad(); i++) {
+            TableroBits[] esperado = tablero(geometria, i);
+            biblioteca.copiarEn(i, pistas, solucion);
+            for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+                assertEquals(esperado[0].obtener(celda), pistas.obtener(celda), "pista " + geometria + " #" + i);
+                assertEquals(esperado[1].obtener(celda), solucion.obtener(celda), "solución " + geometria + " #" + i);
+            }
+            assertEquals(esperado[0].vacias(), pistas.vacias());
+            Calificacion leida = biblioteca.getCalificacion(i);
+            if (!calificada) {
+                assertNull(leida);
+            } else if (calificacion(i) == null) {
+                assertNull(leida);
+            } else {
+                assertEquals(calificacion(i).getDificultad(), leida.getDificultad());
+                assertEquals(calificacion(i).getTecnicaMaxima(), leida.getTecnicaMaxima());
+                assertEquals(Math.min(calificacion(i).getPuntaje(), 0xFFFF), leida.getPuntaje());
+            }
+        }
+    }
+
+    /**
+     * Escribe una biblioteca de la versión 1, cuyos registros no tienen los bytes de calificación.
+     */
+    private static void escribirVersion1(Path archivo, Geometria geometria, int cantidad) throws IOException {
+        int bytesV1 = FormatoBinario.bytesPorRegistro(geometria, 1);
+        ByteBuffer contenido = ByteBuffer.allocate(FormatoBinario.BYTES_CABECERA + cantidad * bytesV1);
+        FormatoBinario.escribirCabecera(contenido, geometria, cantidad);
+        contenido.put(4, (byte) 1);
+        ByteBuffer registro = ByteBuffer.allocate(FormatoBinario.bytesPorRegistro(geometria));
+        for (int i = 0; i < cantidad; i++) {
+            TableroBits[] tablero = tablero(geometria, i);
+            registro.clear();
+            FormatoBinario.codificar(tablero[0], tablero[1], registro);
+            contenido.put(registro.array(), 0, bytesV1);
+        }
+        contenido.flip();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contenido.hasRemaining()) canal.write(contenido);
+        }
+    }
+
+    /**
+     * Arma el tablero número {@code i}: una solución válida por patrón con los números permutados al azar
+     * y un subconjunto al azar de sus celdas como pistas. Con el mismo índice devuelve siempre el mismo tablero.
+     * @return Las pistas en la posición 0 y la solución en la 1
+     */
+    private static TableroBits[] tablero(Geometria geometria, int i) {
+        int tamano = geometria.getTamano();
+        SplittableRandom aleatorio = new SplittableRandom(tamano * 1_000_003L + i);
+        int[] etiquetas = new int[tamano];
+        for (int k = 0; k < tamano; k++) etiquetas[k] = k + 1;
+        for (int k = tamano - 1; k > 0; k--) {
+            int j = aleatorio.nextInt(k + 1);
+            int cambio = etiquetas[k];
+            etiquetas[k] = etiquetas[j];
+            etiquetas[j] = cambio;
+        }
+        int alto = geometria.getAltoBloque();
+        int ancho = geometria.getAnchoBloque();
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            int fila = geometria.fila(celda);
+            int columna = geometria.columna(celda);
+            int numero = etiquetas[(ancho * (fila % alto) + fila / alto + columna) % tamano];
+            solucion.establecer(celda, numero);
+            if (aleatorio.nextInt(3) == 0) pistas.establecer(celda, numero);
+        }
+        return new TableroBits[] {pistas, solucion};
+    }
+
+    /**
+     * Calificación del tablero número {@code i}, o null para uno de cada cinco; recorre todas las dificultades
+     * y técnicas, y puntajes que no caben en 16 bits.
+     */
+    private static Calificacion calificacion(int i) {
+        if (i % 5 == 0) return null;
+        Dificultad[] dificultades = Dificultad.values();
+        Tecnica[] tecnicas = Tecnica.values();
+        Tecnica tecnica = i % 7 == 0 ? null : tecnicas[i % tecnicas.length];
+        return new Calificacion(dificultades[i % dificultades.length], tecnica, i * 97);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Calificacion;
+import com.example.miniproject2.model.CalificadorSudoku;
+import com.example.miniproject2.model.GeneradorSudoku;
+import com.example.miniproject2.model.Geometria;
+import com.example.miniproject2.model.Sudoku;
+import com.example.miniproject2.model.TableroBits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperación de partidas desde el {@link DiarioPartida}: se escribe un diario, se corta o se daña como lo
+ * dejaría un corte de luz y se comprueba qué entrega {@link DiarioPartida#recuperar(Path)}.
+ */
+class DiarioPartidaTest {
+    /** Tipo, celda, número, segundos y CRC. */
+    private static final int BYTES_MOVIMIENTO = 12;
+    /** Tipo, segundos y CRC. */
+    private static final int BYTES_TIEMPO = 9;
+
+    @TempDir
+    Path carpeta;
+
+    private Path archivo;
+    private Sudoku sudoku;
+    private TableroBits tablero;
+    private int[] vacias;
+
+    @BeforeEach
+    void preparar() {
+        archivo = carpeta.resolve("partida.diario");
+        Geometria geometria = Geometria.de(6);
+        TableroBits pistas = new TableroBits(geometria);
+        TableroBits solucion = new TableroBits(geometria);
+        new GeneradorSudoku(geometria, 7).generar(pistas, solucion, geometria.pistasPorDefecto());
+        sudoku = Sudoku.desde(pistas, solucion);
+        tablero = new TableroBits(geometria);
+        tablero.copiarDe(pistas);
+        vacias = new int[geometria.getCeldas() - sudoku.cantidadPistas()];
+        for (int celda = 0, i = 0; celda < geometria.getCeldas(); celda++) {
+            if (pistas.obtener(celda) == 0) vacias[i++] = celda;
+        }
+    }
+
+    @Test
+    void sinDiarioNoHayPartida() throws IOException {
+        assertNull(DiarioPartida.recuperar(archivo));
+    }
+
+    @Test
+    void rechazaUnArchivoQueNoEsUnDiario() throws IOException {
+        Files.write(archivo, new byte[] {1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> DiarioPartida.recuperar(archivo));
+    }
+
+    @Test
+    void repiteLosMovimientosPosterioresALaInstantanea() throws IOException {
+        try (DiarioPartida diario = new DiarioPartida(archivo)) {
+            diario.registrarInstantanea(new EstadoPartida(sudoku, tablero, "Ana", 12));
+            diario.registrarMovimiento(vacias[0], sudoku.obtenerSolucion(vacias[0]), 15);
+            diario.registrarMovimiento(vacias[1], sudoku.obtenerSolucion(vacias[1]), 18);
+            diario.registrarMovimiento(vacias[0], 0, 20);
+            diario.registrarTiempo(30);
+        }
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertNotNull(estado);
+        assertEquals("Ana", estado.getNombreJugador());
+        assertEquals(30, estado.getSegundos());
+        assertEquals(0, estado.obtener(vacias[0]));
+        assertEquals(sudoku.obtenerSolucion(vacias[1]), estado.obtener(vacias[1]));
+        comprobarSudoku(estado);
+    }
+
+    @Test
+    void ignoraUnRegistroFinalAMedioEscribir() throws IOException {
+        escribirDosMovimientos();
+        truncar(5);
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertEquals(sudoku.obtenerSolucion(vacias[0]), estado.obtener(vacias[0]));
+        assertEquals(0, estado.obtener(vacias[1]));
+        assertEquals(15, estado.getSegundos());
+    }
+
+    @Test
+    void conUnCrcDanadoDescartaEseRegistroYLosSiguientes() throws IOException {
+        escribirDosMovimientos();
+        long primerMovimiento = Files.size(archivo) - 2L * BYTES_MOVIMIENTO;
+        danar(primerMovimiento + 3);
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertEquals(0, estado.obtener(vacias[0]));
+        assertEquals(0, estado.obtener(vacias[1]));
+        assertEquals(10, estado.getSegundos());
+        comprobarSudoku(estado);
+    }
+
+    @Test
+    void unaInstantaneaDanadaNoEntregaPartida() throws IOException {
+        escribirDosMovimientos();
+        danar(20);
+        assertNull(DiarioPartida.recuperar(archivo));
+    }
+
+    @Test
+    void laInstantaneaNuevaReemplazaAlDiarioPorElTemporal() throws IOException {
+        try (DiarioPartida diario = new DiarioPartida(archivo)) {
+            diario.registrarInstantanea(new EstadoPartida(sudoku, tablero, "Ana", 10));
+            diario.registrarMovimiento(vacias[0], sudoku.obtenerSolucion(vacias[0]), 15);
+            diario.registrarTiempo(16);
+            tablero.establecer(vacias[0], sudoku.obtenerSolucion(vacias[0]));
+            tablero.establecer(vacias[2], sudoku.obtenerSolucion(vacias[2]));
+            diario.registrarInstantanea(new EstadoPartida(sudoku, tablero, "Ana", 40));
+            diario.registrarMovimiento(vacias[3], sudoku.obtenerSolucion(vacias[3]), 45);
+        }
+        long soloInstantanea = Files.size(archivo) - BYTES_MOVIMIENTO;
+        assertFalse(Files.exists(archivo.resolveSibling(archivo.getFileName() + ".tmp")));
+
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertEquals(45, estado.getSegundos());
+        assertEquals(sudoku.obtenerSolucion(vacias[0]), estado.obtener(vacias[0]));
+        assertEquals(sudoku.obtenerSolucion(vacias[2]), estado.obtener(vacias[2]));
+        assertEquals(sudoku.obtenerSolucion(vacias[3]), estado.obtener(vacias[3]));
+
+        truncar(BYTES_MOVIMIENTO);
+        assertEquals(soloInstantanea, Files.size(archivo));
+        estado = DiarioPartida.recuperar(archivo);
+        assertEquals(40, estado.getSegundos());
+        assertEquals(0, estado.obtener(vacias[3]));
+    }
+
+    @Test
+    void conservaLaCalificacionYLaSemilla() throws IOException {
+        Geometria geometria = sudoku.getGeometria();
+        Sudoku generado = new CalificadorSudoku(geometria).regenerar(new GeneradorSudoku(geometria), 0x5EED,
+                geometria.pistasPorDefecto());
+        TableroBits progreso = new TableroBits(geometria);
+        generado.copiarPistasEn(progreso);
+        try (DiarioPartida diario = new DiarioPartida(archivo)) {
+            diario.registrarInstantanea(new EstadoPartida(generado, progreso, "Ana", 5));
+        }
+        Sudoku leido = DiarioPartida.recuperar(archivo).getSudoku();
+        Calificacion calificacion = generado.getCalificacion();
+        assertEquals(calificacion.getDificultad(), leido.getCalificacion().getDificultad());
+        assertEquals(calificacion.getTecnicaMaxima(), leido.getCalificacion().getTecnicaMaxima());
+        assertEquals(calificacion.getPuntaje(), leido.getCalificacion().getPuntaje());
+        assertTrue(leido.tieneSemilla());
+        assertEquals(0x5EED, leido.getSemilla());
+
+        try (DiarioPartida diario = new DiarioPartida(archivo)) {
+            diario.registrarInstantanea(new EstadoPartida(sudoku, tablero, "Ana", 5));
+        }
+        leido = DiarioPartida.recuperar(archivo).getSudoku();
+        assertNull(leido.getCalificacion());
+        assertFalse(leido.tieneSemilla());
+    }
+
+    @Test
+    void leeDiariosDeLaVersion1SinCalificacion() throws IOException {
+        Geometria geometria = sudoku.getGeometria();
+        byte[] nombre = "Ana".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer registro = ByteBuffer.allocate(5 + 1 + 1 + 4 + 2 + nombre.length + 3 * geometria.getCeldas() + 4);
+        registro.putInt(DiarioPartida.MARCA).put((byte) 1);
+        registro.put((byte) 1).put((byte) geometria.getTamano()).putInt(33).putShort((short) nombre.length).put(nombre);
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) registro.put((byte) sudoku.obtenerPista(celda));
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) registro.put((byte) sudoku.obtenerSolucion(celda));
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) registro.put((byte) tablero.obtener(celda));
+        CRC32C crc = new CRC32C();
+        crc.update(registro.array(), 5, registro.position() - 5);
+        registro.putInt((int) crc.getValue());
+        Files.write(archivo, registro.array());
+
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertEquals(33, estado.getSegundos());
+        assertNull(estado.getSudoku().getCalificacion());
+        comprobarSudoku(estado);
+    }
+
+    @Test
+    void unTemporalAbandonadoNoAfectaLaRecuperacion() throws IOException {
+        escribirDosMovimientos();
+        Files.write(archivo.resolveSibling(archivo.getFileName() + ".tmp"), new byte[] {0x53, 0x44});
+        EstadoPartida estado = DiarioPartida.recuperar(archivo);
+        assertEquals(sudoku.obtenerSolucion(vacias[1]), estado.obtener(vacias[1]));
+    }
+
+    /**
+     * Escribe una instantánea a los 10 segundos, un tiempo y dos movimientos, el último a los 18 segundos.
+     */
+    private void escribirDosMovimientos() throws IOException {
+        try (DiarioPartida diario = new DiarioPartida(archivo)) {
+            diario.registrarInstantanea(new EstadoPartida(sudoku, tablero, "Ana", 10));
+            diario.registrarTiempo(10);
+            diario.registrarMovimiento(vacias[0], sudoku.obtenerSolucion(vacias[0]), 15);
+            diario.registrarMovimiento(vacias[1], sudoku.obtenerSolucion(vacias[1]), 18);
+        }
+        assertEquals(BYTES_TIEMPO + 2 * BYTES_MOVIMIENTO, Files.size(archivo) - tamanoInstantanea());
+    }
+
+    private long tamanoInstantanea() {
+        int celdas = sudoku.getGeometria().getCeldas();
+        return 5 + 1 + 1 + 4 + 2 + "Ana".length() + FormatoBinario.BYTES_CALIFICACION + 1 + 8 + 3L * celdas + 4;
+    }
+
+    private void comprobarSudoku(EstadoPartida estado) {
+        for (int celda = 0; celda < sudoku.getGeometria().getCeldas(); celda++) {
+            assertEquals(sudoku.obtenerPista(celda), estado.getSudoku().obtenerPista(celda));
+            assertEquals(sudoku.obtenerSolucion(celda), estado.getSudoku().obtenerSolucion(celda));
+            if (sudoku.obtenerPista(celda) != 0) assertEquals(sudoku.obtenerPista(celda), estado.obtener(celda));
+        }
+    }
+
+    private void truncar(int bytes) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - bytes);
+        }
+    }
+
+    private void danar(long posicion) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer octeto = ByteBuffer.allocate(1);
+            canal.read(octeto, posicion);
+            octeto.put(0, (byte) (octeto.get(0) ^ 0x5A));
+            octeto.rewind();
+            canal.write(octeto, posicion);
+        }
+    }
+}
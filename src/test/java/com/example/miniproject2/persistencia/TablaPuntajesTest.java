@@ -0,0 +1,183 @@
+package com.example.miniproject2.persistencia;
+
+import com.example.miniproject2.model.Dificultad;
+import com.example.miniproject2.model.Geometria;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga, índice y formato de la {@link TablaPuntajes}: posiciones con empates, mejores K, mejor personal después
+ * de reabrir, registros dañados que se saltan y recorte de un registro final incompleto.
+ */
+class TablaPuntajesTest {
+    /** Marca y versión. */
+    private static final int BYTES_CABECERA = 5;
+    /** Tamaño, dificultad, segundos, fecha, longitud del nombre y CRC. */
+    private static final int BYTES_FIJOS_REGISTRO = 1 + 1 + 4 + 8 + 2 + 4;
+
+    private static final Geometria NUEVE = Geometria.de(9);
+    private static final Geometria SEIS = Geometria.de(6);
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void ordenaPorTiempoYLosEmpatesPorAntiguedad() throws IOException {
+        try (TablaPuntajes tabla = new TablaPuntajes(carpeta.resolve("puntajes.bin"))) {
+            assertEquals(1, registrar(tabla, "ana", NUEVE, Dificultad.FACIL, 300));
+            assertEquals(1, registrar(tabla, "beto", NUEVE, Dificultad.FACIL, 200));
+            assertEquals(2, registrar(tabla, "carla", NUEVE, Dificultad.FACIL, 200));
+            assertEquals(4, registrar(tabla, "dani", NUEVE, Dificultad.FACIL, 500));
+            assertEquals(3, registrar(tabla, "eva", NUEVE, Dificultad.FACIL, 200));
+
+            assertEquals(List.of("beto", "carla", "eva", "ana", "dani"),
+                    nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 10)));
+            assertEquals(List.of("beto", "carla"), nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 2)));
+
+            assertEquals(1, tabla.posicion(NUEVE, Dificultad.FACIL, 100));
+            assertEquals(4, tabla.posicion(NUEVE, Dificultad.FACIL, 200));
+            assertEquals(5, tabla.posicion(NUEVE, Dificultad.FACIL, 300));
+            assertEquals(6, tabla.posicion(NUEVE, Dificultad.FACIL, 999));
+        }
+    }
+
+    @Test
+    void separaLasCategoriasPorTamanoYDificultad() throws IOException {
+        try (TablaPuntajes tabla = new TablaPuntajes(carpeta.resolve("puntajes.bin"))) {
+            registrar(tabla, "ana", NUEVE, Dificultad.FACIL, 300);
+            registrar(tabla, "ana", NUEVE, Dificultad.DIFICIL, 900);
+            registrar(tabla, "ana", SEIS, Dificultad.FACIL, 60);
+            registrar(tabla, "ana", NUEVE, null, 100);
+
+            assertEquals(1, tabla.mejores(NUEVE, Dificultad.FACIL, 10).size());
+            assertEquals(900, tabla.mejores(NUEVE, Dificultad.DIFICIL, 10).get(0).getSegundos());
+            assertEquals(6, tabla.mejores(SEIS, Dificultad.FACIL, 10).get(0).getTamano());
+            assertNull(tabla.mejores(NUEVE, null, 10).get(0).getDificultad());
+            assertTrue(tabla.mejores(SEIS, Dificultad.DIFICIL, 10).isEmpty());
+            assertEquals(1, tabla.posicion(SEIS, Dificultad.DIFICIL, 10));
+        }
+    }
+
+    @Test
+    void conservaLosMejoresPersonalesAlReabrir() throws IOException {
+        Path archivo = carpeta.resolve("puntajes.bin");
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            registrar(tabla, "ana", NUEVE, Dificultad.MEDIO, 400);
+            registrar(tabla, "ana", NUEVE, Dificultad.MEDIO, 250);
+            registrar(tabla, "ana", NUEVE, Dificultad.MEDIO, 320);
+            registrar(tabla, "beto", NUEVE, Dificultad.MEDIO, 260);
+            registrar(tabla, "ana", SEIS, Dificultad.MEDIO, 90);
+        }
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(5, tabla.getCantidad());
+            Puntaje mejor = tabla.mejorPersonal("ana", NUEVE, Dificultad.MEDIO);
+            assertEquals(250, mejor.getSegundos());
+            assertEquals("ana", mejor.getNombreJugador());
+            assertEquals(Dificultad.MEDIO, mejor.getDificultad());
+            assertEquals(90, tabla.mejorPersonal("ana", SEIS, Dificultad.MEDIO).getSegundos());
+            assertEquals(260, tabla.mejorPersonal("beto", NUEVE, Dificultad.MEDIO).getSegundos());
+            assertNull(tabla.mejorPersonal("beto", SEIS, Dificultad.MEDIO));
+            assertNull(tabla.mejorPersonal("carla", NUEVE, Dificultad.MEDIO));
+            assertEquals(List.of(250, 260, 320, 400), segundos(tabla.mejores(NUEVE, Dificultad.MEDIO, 10)));
+
+            assertEquals(2, registrar(tabla, "ana", NUEVE, Dificultad.MEDIO, 255));
+            assertEquals(250, tabla.mejorPersonal("ana", NUEVE, Dificultad.MEDIO).getSegundos());
+            registrar(tabla, "beto", NUEVE, Dificultad.MEDIO, 200);
+            assertEquals(200, tabla.mejorPersonal("beto", NUEVE, Dificultad.MEDIO).getSegundos());
+        }
+    }
+
+    @Test
+    void recortaUnRegistroFinalIncompleto() throws IOException {
+        Path archivo = carpeta.resolve("puntajes.bin");
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            registrar(tabla, "ana", NUEVE, Dificultad.FACIL, 300);
+            registrar(tabla, "beto", NUEVE, Dificultad.FACIL, 200);
+            registrar(tabla, "carla", NUEVE, Dificultad.FACIL, 100);
+        }
+        long completos = BYTES_CABECERA + tamanoRegistro("ana") + tamanoRegistro("beto");
+        assertEquals(completos + tamanoRegistro("carla"), Files.size(archivo));
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(completos + tamanoRegistro("carla") - 3);
+        }
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(2, tabla.getCantidad());
+            assertEquals(List.of("beto", "ana"), nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 10)));
+            assertEquals(completos, Files.size(archivo));
+            registrar(tabla, "dani", NUEVE, Dificultad.FACIL, 150);
+        }
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(3, tabla.getCantidad());
+            assertEquals(List.of("dani", "beto", "ana"), nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 10)));
+        }
+    }
+
+    @Test
+    void saltaUnRegistroDanadoSinPerderLosSiguientes() throws IOException {
+        Path archivo = carpeta.resolve("puntajes.bin");
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            registrar(tabla, "ana", NUEVE, Dificultad.FACIL, 300);
+            registrar(tabla, "beto", NUEVE, Dificultad.FACIL, 200);
+            registrar(tabla, "carla", NUEVE, Dificultad.FACIL, 100);
+        }
+        byte[] datos = Files.readAllBytes(archivo);
+        datos[BYTES_CABECERA + tamanoRegistro("ana") + 3] ^= 1;
+        Files.write(archivo, datos);
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(2, tabla.getCantidad());
+            assertEquals(List.of("carla", "ana"), nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 10)));
+            assertEquals(datos.length, Files.size(archivo));
+            registrar(tabla, "dani", NUEVE, Dificultad.FACIL, 150);
+        }
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(List.of("carla", "dani", "ana"), nombres(tabla.mejores(NUEVE, Dificultad.FACIL, 10)));
+        }
+    }
+
+    @Test
+    void noTocaUnArchivoAjeno() throws IOException {
+        Path archivo = carpeta.resolve("puntajes.bin");
+        byte[] ajeno = "no es una tabla".getBytes(StandardCharsets.UTF_8);
+        Files.write(archivo, ajeno);
+
+        try (TablaPuntajes tabla = new TablaPuntajes(archivo)) {
+            assertEquals(0, tabla.getCantidad());
+            assertEquals(1, registrar(tabla, "ana", NUEVE, Dificultad.FACIL, 300));
+        }
+        assertEquals(ajeno.length, Files.size(archivo));
+    }
+
+    private static int registrar(TablaPuntajes tabla, String nombre, Geometria geometria, Dificultad dificultad,
+                                 int segundos) {
+        return tabla.registrar(nombre, geometria, dificultad, segundos).join();
+    }
+
+    private static int tamanoRegistro(String nombre) {
+        return BYTES_FIJOS_REGISTRO + nombre.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static List<String> nombres(List<Puntaje> puntajes) {
+        return puntajes.stream().map(Puntaje::getNombreJugador).toList();
+    }
+
+    private static List<Integer> segundos(List<Puntaje> puntajes) {
+        return puntajes.stream().map(Puntaje::getSegundos).toList();
+    }
+}